@@ -2,10 +2,21 @@ package org.ozaii.magEconomy.API;
 
 import org.bukkit.OfflinePlayer;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.economy.models.Bank;
+import org.ozaii.magEconomy.economy.models.Currency;
+import org.ozaii.magEconomy.economy.models.IdempotencyRecord;
+import org.ozaii.magEconomy.economy.models.LeaderboardEntry;
 import org.ozaii.magEconomy.economy.models.PlayerEconomy;
+import org.ozaii.magEconomy.economy.models.TransferBatchResult;
+import org.ozaii.magEconomy.economy.models.TransferLeg;
+import org.ozaii.magEconomy.economy.services.BankService;
+import org.ozaii.magEconomy.economy.services.CurrencyService;
 import org.ozaii.magEconomy.economy.services.PlayerEconomyService;
+import org.ozaii.magEconomy.economy.services.RateService;
 
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
@@ -208,6 +219,24 @@ public enum MagEconomyAPI {
                 });
     }
 
+    /**
+     * Oyuncunun bakiyesinden idempotency anahtarı ile para çıkarır.
+     * Zaman aşımı sonrası aynı anahtarla tekrar denenirse para iki kez çekilmez, ilk sonuç döner.
+     * @param idempotencyKey İşleme özel benzersiz anahtar (en fazla 128 karakter)
+     */
+    public CompletableFuture<Boolean> withdraw(UUID playerUUID, double amount, String idempotencyKey) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        validateIdempotencyKey(idempotencyKey);
+
+        return economyService.withdraw(playerUUID, amount, idempotencyKey)
+                .exceptionally(throwable -> {
+                    logError("Para çekme hatası", throwable);
+                    return false;
+                });
+    }
+
     /**
      * Oyuncunun bakiyesine para ekler
      */
@@ -235,6 +264,24 @@ public enum MagEconomyAPI {
                 });
     }
 
+    /**
+     * Oyuncunun bakiyesine idempotency anahtarı ile para ekler.
+     * Zaman aşımı sonrası aynı anahtarla tekrar denenirse para iki kez eklenmez, ilk sonuç döner.
+     * @param idempotencyKey İşleme özel benzersiz anahtar (en fazla 128 karakter)
+     */
+    public CompletableFuture<Boolean> deposit(UUID playerUUID, double amount, String idempotencyKey) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        validateIdempotencyKey(idempotencyKey);
+
+        return economyService.deposit(playerUUID, amount, idempotencyKey)
+                .exceptionally(throwable -> {
+                    logError("Para yatırma hatası", throwable);
+                    return false;
+                });
+    }
+
     /**
      * Oyuncunun bakiyesini ayarlar
      */
@@ -270,6 +317,596 @@ public enum MagEconomyAPI {
                 });
     }
 
+    /**
+     * İki oyuncu arasında idempotency anahtarı ile para transferi yapar.
+     * Zaman aşımı sonrası aynı anahtarla tekrar denenirse transfer iki kez uygulanmaz.
+     */
+    public CompletableFuture<Boolean> transfer(UUID fromUUID, UUID toUUID, double amount, String idempotencyKey) {
+        checkInitialized();
+        validateUUID(fromUUID);
+        validateUUID(toUUID);
+        validatePositiveAmount(amount);
+        validateIdempotencyKey(idempotencyKey);
+
+        if (fromUUID.equals(toUUID)) {
+            throw new IllegalArgumentException("Gönderici ve alıcı aynı olamaz!");
+        }
+
+        return economyService.transfer(fromUUID, toUUID, amount, idempotencyKey)
+                .exceptionally(throwable -> {
+                    logError("Transfer hatası", throwable);
+                    return false;
+                });
+    }
+
+    /**
+     * Birden fazla transferi tek işlem olarak yapar (maaş ödemeleri, hesaplaşmalar vb.)
+     * @param legs         Sırayla uygulanacak transfer adımları
+     * @param allOrNothing true ise bir adım reddedildiğinde hiçbiri uygulanmaz,
+     *                     false ise sadece reddedilen adımlar atlanır
+     */
+    public CompletableFuture<TransferBatchResult> transferBatch(List<TransferLeg> legs, boolean allOrNothing) {
+        checkInitialized();
+        validateLegs(legs);
+
+        return economyService.transferBatch(legs, allOrNothing)
+                .exceptionally(throwable -> {
+                    logError("Toplu transfer hatası", throwable);
+                    return TransferBatchResult.failed(legs);
+                });
+    }
+
+    /**
+     * Birden fazla oyuncuya tek işlemle para yatırır. Limiti aşacak oyuncular atlanır.
+     * @param amounts Oyuncu UUID -> miktar
+     * @return Uygulanan oyuncuların yeni bakiyeleri
+     */
+    public CompletableFuture<Map<UUID, Double>> depositAll(Map<UUID, Double> amounts) {
+        checkInitialized();
+        validateAmounts(amounts);
+
+        return economyService.depositAll(amounts)
+                .exceptionally(throwable -> {
+                    logError("Toplu para yatırma hatası", throwable);
+                    return Map.of();
+                });
+    }
+
+    /**
+     * Birden fazla oyuncudan tek işlemle para çeker. Bakiyesi yetmeyen oyuncular atlanır.
+     * @param amounts Oyuncu UUID -> miktar
+     * @return Uygulanan oyuncuların yeni bakiyeleri
+     */
+    public CompletableFuture<Map<UUID, Double>> withdrawAll(Map<UUID, Double> amounts) {
+        checkInitialized();
+        validateAmounts(amounts);
+
+        return economyService.withdrawAll(amounts)
+                .exceptionally(throwable -> {
+                    logError("Toplu para çekme hatası", throwable);
+                    return Map.of();
+                });
+    }
+
+    // === BLOKLAMAYAN İŞLEMLER (ANA THREAD) ===
+    // Sadece bellekteki hesaplar üzerinde çalışır, veritabanını hiçbir zaman beklemez.
+    // Online oyuncuların hesapları giriş sırasında belleğe yüklenir (cache açık olmalıdır).
+
+    /**
+     * Hesap bellekteyse bakiyesini hemen döndürür
+     * @return Bakiye, hesap bellekte değilse boş
+     */
+    public OptionalDouble getBalanceIfLoaded(UUID playerUUID) {
+        checkInitialized();
+        validateUUID(playerUUID);
+
+        try {
+            return economyService.getBalanceIfLoaded(playerUUID);
+        } catch (Exception e) {
+            logError("Bakiye getirme hatası", e);
+            return OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * Hesap bellekteyse hemen para çeker, kalıcı yazma arka planda yapılır.
+     * economy.yml'de write-behind.enabled ve write-behind.journal.enabled açık olmalıdır (varsayılan);
+     * write-through modunda her zaman false döner, bkz. {@link #canApplyNow}.
+     * @return Para çekildiyse true; hesap bellekte değilse veya bakiye yetersizse false
+     */
+    public boolean tryWithdrawNow(UUID playerUUID, double amount) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+
+        try {
+            return economyService.tryWithdrawNow(playerUUID, amount);
+        } catch (Exception e) {
+            logError("Para çekme hatası", e);
+            return false;
+        }
+    }
+
+    /**
+     * Hesap bellekteyse hemen para yatırır, kalıcı yazma arka planda yapılır.
+     * economy.yml'de write-behind.enabled ve write-behind.journal.enabled açık olmalıdır (varsayılan);
+     * write-through modunda her zaman false döner, bkz. {@link #canApplyNow}.
+     * @return Para eklendiyse true; hesap bellekte değilse veya limit aşılıyorsa false
+     */
+    public boolean tryDepositNow(UUID playerUUID, double amount) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+
+        try {
+            return economyService.tryDepositNow(playerUUID, amount);
+        } catch (Exception e) {
+            logError("Para yatırma hatası", e);
+            return false;
+        }
+    }
+
+    /**
+     * Hesap bellekte mi? (true ise getBalanceIfLoaded bu hesap için çalışır)
+     */
+    public boolean isLoaded(UUID playerUUID) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        return economyService.isLoaded(playerUUID);
+    }
+
+    /**
+     * tryWithdrawNow / tryDepositNow bu hesap için çalışır mı? Hesabın bellekte olması ve
+     * write-behind ile journal'ın açık olması gerekir. Anında işlemler veritabanını beklemez;
+     * write-behind.journal.wait-immediate kapatılmışsa journal kaydını da beklemez ve çökmede
+     * son işlemler kaybolabilir.
+     */
+    public boolean canApplyNow(UUID playerUUID) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        return economyService.canApplyNow(playerUUID);
+    }
+
+    // === PARA BİRİMLERİ ===
+    // Tüm bakiye metodlarının ilk parametresi para birimi olan karşılıkları. Varsayılan para birimi
+    // verildiğinde yukarıdaki metodlara gidilir; diğer birimler bellekte tutulur ve anında sonuçlanır.
+    // Hesap (hasAccount, createAccount, isLoaded) tüm para birimlerinde ortaktır.
+
+    /**
+     * Kayıtlı para birimlerinin id'leri, ilk eleman varsayılan para birimidir
+     */
+    public List<String> getCurrencies() {
+        checkInitialized();
+        return CurrencyService.getInstance().getCurrencies().stream().map(Currency::getId).toList();
+    }
+
+    public String getDefaultCurrencyId() {
+        checkInitialized();
+        return CurrencyService.getInstance().getDefaultId();
+    }
+
+    public CompletableFuture<Double> getBalance(String currencyId, OfflinePlayer player) {
+        validatePlayer(player);
+        return getBalance(currencyId, player.getUniqueId());
+    }
+
+    public CompletableFuture<Double> getBalance(String currencyId, UUID playerUUID) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return getBalance(playerUUID);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().getBalance(currency, playerUUID));
+    }
+
+    public CompletableFuture<Boolean> has(String currencyId, OfflinePlayer player, double amount) {
+        validatePlayer(player);
+        return has(currencyId, player.getUniqueId(), amount);
+    }
+
+    public CompletableFuture<Boolean> has(String currencyId, UUID playerUUID, double amount) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validateAmount(amount);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return has(playerUUID, amount);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().getBalance(currency, playerUUID) >= amount);
+    }
+
+    public CompletableFuture<Boolean> withdraw(String currencyId, OfflinePlayer player, double amount) {
+        validatePlayer(player);
+        return withdraw(currencyId, player.getUniqueId(), amount);
+    }
+
+    public CompletableFuture<Boolean> withdraw(String currencyId, UUID playerUUID, double amount) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return withdraw(playerUUID, amount);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().withdraw(currency, playerUUID, amount).isApplied());
+    }
+
+    public CompletableFuture<Boolean> withdraw(String currencyId, UUID playerUUID, double amount, String idempotencyKey) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        validateIdempotencyKey(idempotencyKey);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return withdraw(playerUUID, amount, idempotencyKey);
+        }
+        Currency currency = requireCurrency(currencyId);
+        CurrencyService currencyService = CurrencyService.getInstance();
+        return currencyService.idempotent(idempotencyKey, "withdraw", currency, amount,
+                        () -> currencyService.withdraw(currency, playerUUID, amount).isApplied(), playerUUID)
+                .exceptionally(throwable -> {
+                    logError("Para çekme hatası", throwable);
+                    return false;
+                });
+    }
+
+    public CompletableFuture<Boolean> deposit(String currencyId, OfflinePlayer player, double amount) {
+        validatePlayer(player);
+        return deposit(currencyId, player.getUniqueId(), amount);
+    }
+
+    public CompletableFuture<Boolean> deposit(String currencyId, UUID playerUUID, double amount) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return deposit(playerUUID, amount);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().deposit(currency, playerUUID, amount).isApplied());
+    }
+
+    public CompletableFuture<Boolean> deposit(String currencyId, UUID playerUUID, double amount, String idempotencyKey) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        validateIdempotencyKey(idempotencyKey);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return deposit(playerUUID, amount, idempotencyKey);
+        }
+        Currency currency = requireCurrency(currencyId);
+        CurrencyService currencyService = CurrencyService.getInstance();
+        return currencyService.idempotent(idempotencyKey, "deposit", currency, amount,
+                        () -> currencyService.deposit(currency, playerUUID, amount).isApplied(), playerUUID)
+                .exceptionally(throwable -> {
+                    logError("Para yatırma hatası", throwable);
+                    return false;
+                });
+    }
+
+    public CompletableFuture<Boolean> setBalance(String currencyId, UUID playerUUID, double balance) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validateAmount(balance);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return setBalance(playerUUID, balance);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().setBalance(currency, playerUUID, balance));
+    }
+
+    public CompletableFuture<Boolean> transfer(String currencyId, UUID fromUUID, UUID toUUID, double amount) {
+        checkInitialized();
+        validateUUID(fromUUID);
+        validateUUID(toUUID);
+        validatePositiveAmount(amount);
+        if (fromUUID.equals(toUUID)) {
+            throw new IllegalArgumentException("Gönderici ve alıcı aynı olamaz!");
+        }
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return transfer(fromUUID, toUUID, amount);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().transfer(currency, fromUUID, toUUID, amount));
+    }
+
+    public CompletableFuture<Boolean> transfer(String currencyId, UUID fromUUID, UUID toUUID, double amount, String idempotencyKey) {
+        checkInitialized();
+        validateUUID(fromUUID);
+        validateUUID(toUUID);
+        validatePositiveAmount(amount);
+        validateIdempotencyKey(idempotencyKey);
+        if (fromUUID.equals(toUUID)) {
+            throw new IllegalArgumentException("Gönderici ve alıcı aynı olamaz!");
+        }
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return transfer(fromUUID, toUUID, amount, idempotencyKey);
+        }
+        Currency currency = requireCurrency(currencyId);
+        CurrencyService currencyService = CurrencyService.getInstance();
+        return currencyService.idempotent(idempotencyKey, "transfer", currency, amount,
+                        () -> currencyService.transfer(currency, fromUUID, toUUID, amount), fromUUID, toUUID)
+                .exceptionally(throwable -> {
+                    logError("Transfer hatası", throwable);
+                    return false;
+                });
+    }
+
+    public CompletableFuture<TransferBatchResult> transferBatch(String currencyId, List<TransferLeg> legs, boolean allOrNothing) {
+        checkInitialized();
+        validateLegs(legs);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return transferBatch(legs, allOrNothing);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().transferBatch(currency, legs, allOrNothing));
+    }
+
+    public CompletableFuture<Map<UUID, Double>> depositAll(String currencyId, Map<UUID, Double> amounts) {
+        checkInitialized();
+        validateAmounts(amounts);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return depositAll(amounts);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().applyBulk(currency, amounts, true));
+    }
+
+    public CompletableFuture<Map<UUID, Double>> withdrawAll(String currencyId, Map<UUID, Double> amounts) {
+        checkInitialized();
+        validateAmounts(amounts);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return withdrawAll(amounts);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().applyBulk(currency, amounts, false));
+    }
+
+    /**
+     * Varsayılan olmayan para birimleri her zaman bellektedir; sütun yüklenene kadar boş döner
+     */
+    public OptionalDouble getBalanceIfLoaded(String currencyId, UUID playerUUID) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return getBalanceIfLoaded(playerUUID);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return currency.getColumn().isLoaded()
+                ? OptionalDouble.of(CurrencyService.getInstance().getBalance(currency, playerUUID))
+                : OptionalDouble.empty();
+    }
+
+    public boolean tryWithdrawNow(String currencyId, UUID playerUUID, double amount) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return tryWithdrawNow(playerUUID, amount);
+        }
+        return CurrencyService.getInstance().withdraw(requireCurrency(currencyId), playerUUID, amount).isApplied();
+    }
+
+    public boolean tryDepositNow(String currencyId, UUID playerUUID, double amount) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        validatePositiveAmount(amount);
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return tryDepositNow(playerUUID, amount);
+        }
+        return CurrencyService.getInstance().deposit(requireCurrency(currencyId), playerUUID, amount).isApplied();
+    }
+
+    public String format(String currencyId, double amount) {
+        checkInitialized();
+        validateAmount(amount);
+        return requireCurrency(currencyId).format(amount);
+    }
+
+    public String getCurrencyName(String currencyId) {
+        checkInitialized();
+        return requireCurrency(currencyId).getSingular();
+    }
+
+    public String getCurrencyNamePlural(String currencyId) {
+        checkInitialized();
+        return requireCurrency(currencyId).getPlural();
+    }
+
+    public int getFractionalDigits(String currencyId) {
+        checkInitialized();
+        return requireCurrency(currencyId).getFractionalDigits();
+    }
+
+    public double getStartingBalance(String currencyId) {
+        checkInitialized();
+        return requireCurrency(currencyId).getStartingBalance();
+    }
+
+    public double getMaxBalance(String currencyId) {
+        checkInitialized();
+        return requireCurrency(currencyId).getMaxBalance();
+    }
+
+    public double getMinBalance(String currencyId) {
+        checkInitialized();
+        return requireCurrency(currencyId).getMinBalance();
+    }
+
+    /**
+     * En zengin oyuncular. Varsayılan olmayan birimlerde dönen kayıtların bakiyesi o birimdeki bakiyedir.
+     */
+    public CompletableFuture<List<PlayerEconomy>> getTopPlayers(String currencyId, int limit) {
+        checkInitialized();
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return getTopPlayers(limit);
+        }
+        if (limit <= 0 || limit > 1000) {
+            throw new IllegalArgumentException("Limit 1 ile 1000 arasında olmalıdır!");
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().getTopPlayers(currency, limit));
+    }
+
+    public CompletableFuture<Double> getTotalEconomicValue(String currencyId) {
+        checkInitialized();
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return getTotalEconomicValue();
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(CurrencyService.getInstance().getTotalValue(currency));
+    }
+
+    public CompletableFuture<List<PlayerEconomy>> getPlayersByBalanceRange(String currencyId, double minBalance, double maxBalance) {
+        checkInitialized();
+        validateAmount(minBalance);
+        validateAmount(maxBalance);
+        if (minBalance > maxBalance) {
+            throw new IllegalArgumentException("Minimum bakiye maksimum bakiyeden büyük olamaz!");
+        }
+        if (CurrencyService.getInstance().isDefault(currencyId)) {
+            return getPlayersByBalanceRange(minBalance, maxBalance);
+        }
+        Currency currency = requireCurrency(currencyId);
+        return CompletableFuture.completedFuture(
+                CurrencyService.getInstance().getPlayersByBalanceRange(currency, minBalance, maxBalance));
+    }
+
+    // === FAİZ / VERGİ ===
+
+    /**
+     * Faiz/vergi taramasını zamanını beklemeden başlatır. Tarama zaten sürüyorsa mevcut tarama döner.
+     *
+     * @return Tarama bitince tamamlanan CompletableFuture
+     */
+    public CompletableFuture<RateService.SweepProgress> runRateSweep() {
+        checkInitialized();
+        return RateService.getInstance().runSweep();
+    }
+
+    /**
+     * Süren veya bu oturumdaki son taramanın ilerlemesi (taranan hesap, değişen hesap, saniyedeki hesap)
+     *
+     * @return İlerleme, bu oturumda tarama yapılmadıysa null
+     */
+    public RateService.SweepProgress getRateSweepProgress() {
+        checkInitialized();
+        return RateService.getInstance().getProgress();
+    }
+
+    // === BANKALAR ===
+    // Banka bakiyeleri bellekte tutulur; okuma, yatırma ve çekme veritabanını beklemez.
+
+    /**
+     * Yeni banka oluşturur
+     * @return CompletableFuture<Boolean> Aynı isimde banka varsa false
+     */
+    public CompletableFuture<Boolean> createBank(String name, UUID ownerUUID) {
+        checkInitialized();
+        validateBankName(name);
+        validateUUID(ownerUUID);
+
+        return BankService.getInstance().createBank(name, ownerUUID).exceptionally(throwable -> {
+            logError("Banka oluşturma hatası", throwable);
+            return false;
+        });
+    }
+
+    /**
+     * Bankayı ve üyeliklerini siler
+     */
+    public CompletableFuture<Boolean> deleteBank(String name) {
+        checkInitialized();
+        validateBankName(name);
+
+        return BankService.getInstance().deleteBank(name).exceptionally(throwable -> {
+            logError("Banka silme hatası", throwable);
+            return false;
+        });
+    }
+
+    /**
+     * Banka bakiyesi
+     * @return Bakiye, banka yoksa boş
+     */
+    public OptionalDouble getBankBalance(String name) {
+        checkInitialized();
+        validateBankName(name);
+        return BankService.getInstance().getBalance(name);
+    }
+
+    /**
+     * Bankaya para yatırır
+     * @return Yatırıldıysa true; banka yoksa veya limit aşılıyorsa false
+     */
+    public boolean bankDeposit(String name, double amount) {
+        checkInitialized();
+        validateBankName(name);
+        validatePositiveAmount(amount);
+        return BankService.getInstance().deposit(name, amount);
+    }
+
+    /**
+     * Bankadan para çeker
+     * @return Çekildiyse true; banka yoksa veya bakiye yetersizse false
+     */
+    public boolean bankWithdraw(String name, double amount) {
+        checkInitialized();
+        validateBankName(name);
+        validatePositiveAmount(amount);
+        return BankService.getInstance().withdraw(name, amount);
+    }
+
+    /**
+     * Bankaya üye ekler
+     */
+    public CompletableFuture<Boolean> addBankMember(String name, UUID playerUUID) {
+        checkInitialized();
+        validateBankName(name);
+        validateUUID(playerUUID);
+
+        return BankService.getInstance().addMember(name, playerUUID).exceptionally(throwable -> {
+            logError("Banka üyesi ekleme hatası", throwable);
+            return false;
+        });
+    }
+
+    /**
+     * Bankadan üye çıkarır
+     */
+    public CompletableFuture<Boolean> removeBankMember(String name, UUID playerUUID) {
+        checkInitialized();
+        validateBankName(name);
+        validateUUID(playerUUID);
+
+        return BankService.getInstance().removeMember(name, playerUUID).exceptionally(throwable -> {
+            logError("Banka üyesi çıkarma hatası", throwable);
+            return false;
+        });
+    }
+
+    public boolean isBankOwner(String name, UUID playerUUID) {
+        checkInitialized();
+        validateBankName(name);
+        validateUUID(playerUUID);
+        return BankService.getInstance().isOwner(name, playerUUID);
+    }
+
+    /**
+     * Oyuncu bankanın üyesi mi? Sahip de üye sayılır.
+     */
+    public boolean isBankMember(String name, UUID playerUUID) {
+        checkInitialized();
+        validateBankName(name);
+        validateUUID(playerUUID);
+        return BankService.getInstance().isMember(name, playerUUID);
+    }
+
+    public List<String> getBanks() {
+        checkInitialized();
+        return BankService.getInstance().getBankNames();
+    }
+
     // === FORMAT VE PARA BİRİMİ ===
 
     /**
@@ -431,6 +1068,105 @@ public enum MagEconomyAPI {
                 });
     }
 
+    // === SIRALAMA ===
+
+    /**
+     * Sıralamanın bir sayfasını döndürür. Sıralama bellekte tutulur, veritabanına gitmez.
+     * @param page     Sayfa (1'den başlar)
+     * @param pageSize Sayfa boyutu
+     * @return Sayfadaki hesaplar, sıralama henüz yüklenmediyse boş liste
+     */
+    public List<LeaderboardEntry> getLeaderboardPage(int page, int pageSize) {
+        checkInitialized();
+        if (page <= 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Sayfa ve sayfa boyutu pozitif olmalıdır!");
+        }
+        if (pageSize > 1000) {
+            throw new IllegalArgumentException("Sayfa boyutu 1000'den büyük olamaz!");
+        }
+        return economyService.getLeaderboard((page - 1) * pageSize + 1, pageSize);
+    }
+
+    /**
+     * Oyuncunun zenginlik sırası (1 en zengin)
+     * @return Sıra, hesap yoksa veya sıralama henüz yüklenmediyse -1
+     */
+    public int getRank(OfflinePlayer player) {
+        checkInitialized();
+        validatePlayer(player);
+        return economyService.getRank(player.getUniqueId());
+    }
+
+    /**
+     * Oyuncunun zenginlik sırası (1 en zengin)
+     * @return Sıra, hesap yoksa veya sıralama henüz yüklenmediyse -1
+     */
+    public int getRank(UUID playerUUID) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        return economyService.getRank(playerUUID);
+    }
+
+    /**
+     * Oyuncunun çevresindeki hesaplar: üstündeki ve altındaki radius kadar hesap ve kendisi
+     * @return Hesap yoksa veya sıralama henüz yüklenmediyse boş liste
+     */
+    public List<LeaderboardEntry> getPlayersAround(UUID playerUUID, int radius) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        if (radius < 0 || radius > 500) {
+            throw new IllegalArgumentException("Radius 0 ile 500 arasında olmalıdır!");
+        }
+        return economyService.getPlayersAround(playerUUID, radius);
+    }
+
+    /**
+     * Oyuncunun yaklaşık yüzdelik dilimi: hesapların yüzde kaçı oyuncunun altında (0-100).
+     * Sabit bellekli bakiye histogramından hesaplanır, 97 ve üstü en zengin %3 demektir.
+     * @return Yüzdelik, hesap yoksa veya histogram kullanılamıyorsa -1
+     */
+    public CompletableFuture<Double> getPercentile(UUID playerUUID) {
+        checkInitialized();
+        validateUUID(playerUUID);
+        return economyService.getPercentile(playerUUID)
+                .exceptionally(throwable -> {
+                    logError("Yüzdelik hesaplama hatası", throwable);
+                    return -1.0;
+                });
+    }
+
+    /**
+     * Oyuncunun yaklaşık yüzdelik dilimi (0-100)
+     * @return Yüzdelik, hesap yoksa veya histogram kullanılamıyorsa -1
+     */
+    public CompletableFuture<Double> getPercentile(OfflinePlayer player) {
+        checkInitialized();
+        validatePlayer(player);
+        return getPercentile(player.getUniqueId());
+    }
+
+    /**
+     * Bakiyenin histograma göre yaklaşık sırası (1 en zengin)
+     * @return Sıra, histogram kullanılamıyorsa -1
+     */
+    public long getApproximateRank(double balance) {
+        checkInitialized();
+        return economyService.getApproximateRank(balance);
+    }
+
+    /**
+     * Hesapların yüzde percentile kadarının altında kaldığı yaklaşık bakiye
+     * (örneğin 97 en zengin %3'e girmek için gereken bakiye)
+     * @return Bakiye, histogram kullanılamıyorsa -1
+     */
+    public double getBalanceAtPercentile(double percentile) {
+        checkInitialized();
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Yüzdelik 0 ile 100 arasında olmalıdır!");
+        }
+        return economyService.getBalanceAtPercentile(percentile);
+    }
+
     // === VALİDASYON METODLARİ ===
 
     private void checkInitialized() {
@@ -476,6 +1212,63 @@ public enum MagEconomyAPI {
         }
     }
 
+    private void validateAmounts(Map<UUID, Double> amounts) {
+        if (amounts == null) {
+            throw new IllegalArgumentException("Miktar listesi null olamaz!");
+        }
+        amounts.forEach((playerUUID, amount) -> {
+            validateUUID(playerUUID);
+            if (amount == null) {
+                throw new IllegalArgumentException("Miktar null olamaz!");
+            }
+            validatePositiveAmount(amount);
+        });
+    }
+
+    private void validateLegs(List<TransferLeg> legs) {
+        if (legs == null) {
+            throw new IllegalArgumentException("Transfer listesi null olamaz!");
+        }
+        for (TransferLeg leg : legs) {
+            if (leg == null) {
+                throw new IllegalArgumentException("Transfer adımı null olamaz!");
+            }
+            validatePositiveAmount(leg.getAmount());
+            if (leg.getFromUUID().equals(leg.getToUUID())) {
+                throw new IllegalArgumentException("Gönderici ve alıcı aynı olamaz!");
+            }
+        }
+    }
+
+    private Currency requireCurrency(String currencyId) {
+        if (currencyId == null || currencyId.isEmpty()) {
+            throw new IllegalArgumentException("Para birimi null veya boş olamaz!");
+        }
+        Currency currency = CurrencyService.getInstance().getCurrency(currencyId);
+        if (currency == null) {
+            throw new IllegalArgumentException("Bilinmeyen para birimi: " + currencyId);
+        }
+        return currency;
+    }
+
+    private void validateBankName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Banka adı null veya boş olamaz!");
+        }
+        if (name.length() > Bank.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Banka adı " + Bank.MAX_NAME_LENGTH + " karakterden uzun olamaz!");
+        }
+    }
+
+    private void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+            throw new IllegalArgumentException("Idempotency anahtarı null veya boş olamaz!");
+        }
+        if (idempotencyKey.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency anahtarı " + IdempotencyRecord.MAX_KEY_LENGTH + " karakterden uzun olamaz!");
+        }
+    }
+
     private void logError(String message, Throwable throwable) {
         if (logger != null) {
             logger.severe(message + ": " + throwable.getMessage());
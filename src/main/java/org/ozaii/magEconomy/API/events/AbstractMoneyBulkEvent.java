@@ -0,0 +1,45 @@
+package org.ozaii.magEconomy.API.events;
+
+import org.bukkit.event.Event;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * MoneyBulkEvent ve AsyncMoneyBulkEvent'in ortak verisi. Dinleyiciler bu sınıfı değil,
+ * kendi HandlerList'i olan alt sınıflardan birini dinler.
+ */
+public abstract class AbstractMoneyBulkEvent extends Event {
+
+    private final Plugin plugin;
+    private final MoneyBulkEvent.Type type;
+    private final Map<UUID, Double> amounts;
+    private final Map<UUID, Double> newBalances;
+
+    protected AbstractMoneyBulkEvent(boolean async, Plugin plugin, MoneyBulkEvent.Type type,
+                                     Map<UUID, Double> amounts, Map<UUID, Double> newBalances) {
+        super(async);
+        this.plugin = plugin;
+        this.type = type;
+        this.amounts = Map.copyOf(amounts);
+        this.newBalances = Map.copyOf(newBalances);
+    }
+
+    public Plugin getPlugin() { return plugin; }
+    public MoneyBulkEvent.Type getType() { return type; }
+
+    /**
+     * Uygulanan oyuncular ve miktarları (atlanan oyuncular bulunmaz)
+     */
+    public Map<UUID, Double> getAmounts() { return amounts; }
+    public Map<UUID, Double> getNewBalances() { return newBalances; }
+
+    public double getTotalAmount() {
+        double total = 0;
+        for (double amount : amounts.values()) {
+            total += amount;
+        }
+        return total;
+    }
+}
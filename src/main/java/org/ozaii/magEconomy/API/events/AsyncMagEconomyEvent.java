@@ -0,0 +1,42 @@
+package org.ozaii.magEconomy.API.events;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+
+/**
+ * Ana thread dışında çağrılan ekonomi event'lerinin temeli. İşlem tamamlandıktan hemen sonra,
+ * tick beklenmeden çağrılır; dinleyiciler Bukkit API'sinin thread-safe olmayan kısımlarını
+ * kullanmamalıdır. Ana thread gerektiren dinleyiciler senkron event'leri (MoneyDepositEvent vb.) dinlemelidir.
+ */
+public abstract class AsyncMagEconomyEvent extends Event {
+
+    private static final HandlerList handlers = new HandlerList();
+    protected final UUID playerUUID;
+    protected final Plugin plugin;
+
+    public AsyncMagEconomyEvent(UUID playerUUID, Plugin plugin) {
+        super(true);
+        this.playerUUID = playerUUID;
+        this.plugin = plugin;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,28 @@
+package org.ozaii.magEconomy.API.events;
+
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * MoneyBulkEvent'in ana thread dışında çağrılan karşılığı
+ */
+public class AsyncMoneyBulkEvent extends AbstractMoneyBulkEvent {
+
+    private static final HandlerList handlers = new HandlerList();
+
+    public AsyncMoneyBulkEvent(Plugin plugin, MoneyBulkEvent.Type type, Map<UUID, Double> amounts, Map<UUID, Double> newBalances) {
+        super(true, plugin, type, amounts, newBalances);
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,20 @@
+package org.ozaii.magEconomy.API.events;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+
+// MoneyTransferEvent'in ana thread dışında çağrılan karşılığı
+public class AsyncMoneyTransferEvent extends AsyncMagEconomyEvent {
+    private final UUID toPlayerUUID;
+    private final double amount;
+
+    public AsyncMoneyTransferEvent(UUID fromPlayerUUID, UUID toPlayerUUID, Plugin plugin, double amount) {
+        super(fromPlayerUUID, plugin);
+        this.toPlayerUUID = toPlayerUUID;
+        this.amount = amount;
+    }
+
+    public UUID getToPlayerUUID() { return toPlayerUUID; }
+    public double getAmount() { return amount; }
+}
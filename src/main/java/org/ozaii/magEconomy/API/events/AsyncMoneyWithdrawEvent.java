@@ -0,0 +1,20 @@
+package org.ozaii.magEconomy.API.events;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+
+// MoneyWithdrawEvent'in ana thread dışında çağrılan karşılığı
+public class AsyncMoneyWithdrawEvent extends AsyncMagEconomyEvent {
+    private final double amount;
+    private final double newBalance;
+
+    public AsyncMoneyWithdrawEvent(UUID playerUUID, Plugin plugin, double amount, double newBalance) {
+        super(playerUUID, plugin);
+        this.amount = amount;
+        this.newBalance = newBalance;
+    }
+
+    public double getAmount() { return amount; }
+    public double getNewBalance() { return newBalance; }
+}
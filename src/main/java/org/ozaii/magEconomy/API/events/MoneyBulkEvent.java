@@ -0,0 +1,33 @@
+package org.ozaii.magEconomy.API.events;
+
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Toplu yatırma/çekme işlemi commit edildikten sonra tek sefer çağrılır.
+ * Tek tek MoneyDepositEvent / MoneyWithdrawEvent çağrılmaz.
+ */
+public class MoneyBulkEvent extends AbstractMoneyBulkEvent {
+
+    public enum Type {
+        DEPOSIT, WITHDRAW
+    }
+
+    private static final HandlerList handlers = new HandlerList();
+
+    public MoneyBulkEvent(Plugin plugin, Type type, Map<UUID, Double> amounts, Map<UUID, Double> newBalances) {
+        super(false, plugin, type, amounts, newBalances);
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
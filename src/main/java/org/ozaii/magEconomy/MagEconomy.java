@@ -8,7 +8,12 @@ import org.ozaii.magEconomy.API.MagEconomyAPI;
 import org.ozaii.magEconomy.command.EconomyCommand;
 import org.ozaii.magEconomy.config.ConfigManager;
 import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.services.BankService;
+import org.ozaii.magEconomy.economy.services.CurrencyService;
+import org.ozaii.magEconomy.economy.services.EventDispatcher;
 import org.ozaii.magEconomy.economy.services.PlayerEconomyService;
+import org.ozaii.magEconomy.economy.services.RateService;
+import org.ozaii.magEconomy.economy.services.WorldGroupService;
 import org.ozaii.magEconomy.listeners.PlayerAccountChecker;
 import org.ozaii.magEconomy.placeholder.core.PlaceholderRegistry;
 
@@ -91,6 +96,8 @@ public final class MagEconomy extends JavaPlugin {
 
             shutdownPlaceholders();
 
+            shutdownEconomyService();
+
             shutdownDatabase();
 
             instance = null;
@@ -119,6 +126,21 @@ public final class MagEconomy extends JavaPlugin {
             PlayerEconomyService.getInstance().initialize(this);
             getLogger().fine("PlayerEconomyService başlatıldı");
 
+            EventDispatcher.getInstance().initialize(this);
+            getLogger().fine("EventDispatcher başlatıldı");
+
+            BankService.getInstance().initialize(this);
+            getLogger().fine("BankService başlatıldı");
+
+            WorldGroupService.getInstance().initialize(this);
+            getLogger().fine("WorldGroupService başlatıldı");
+
+            CurrencyService.getInstance().initialize(this);
+            getLogger().fine("CurrencyService başlatıldı");
+
+            RateService.getInstance().initialize(this);
+            getLogger().fine("RateService başlatıldı");
+
             return true;
         } catch (Exception e) {
             getLogger().severe("Core servisler başlatılırken hata: " + e.getMessage());
@@ -284,6 +306,40 @@ public final class MagEconomy extends JavaPlugin {
         }
     }
 
+    /**
+     * PlayerEconomyService'i güvenli şekilde kapatır (write-behind değişikliklerini yazar)
+     */
+    private void shutdownEconomyService() {
+        try {
+            RateService.getInstance().shutdown();
+            getLogger().fine("RateService kapatıldı");
+        } catch (Exception e) {
+            getLogger().warning("RateService kapatılırken hata: " + e.getMessage());
+        }
+
+        try {
+            BankService.getInstance().shutdown();
+            getLogger().fine("BankService kapatıldı");
+        } catch (Exception e) {
+            getLogger().warning("BankService kapatılırken hata: " + e.getMessage());
+        }
+
+        try {
+            PlayerEconomyService.getInstance().shutdown();
+            getLogger().fine("PlayerEconomyService kapatıldı");
+        } catch (Exception e) {
+            getLogger().warning("PlayerEconomyService kapatılırken hata: " + e.getMessage());
+        }
+
+        try {
+            // Kapanış sırasında tamamlanan işlemlerin event'leri de çağrılır
+            EventDispatcher.getInstance().shutdown();
+            getLogger().fine("EventDispatcher kapatıldı");
+        } catch (Exception e) {
+            getLogger().warning("EventDispatcher kapatılırken hata: " + e.getMessage());
+        }
+    }
+
     /**
      * Database'i güvenli şekilde kapatır
      */
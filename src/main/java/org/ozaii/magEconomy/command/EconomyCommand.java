@@ -8,21 +8,33 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.database.DatabaseExecutor;
 import org.ozaii.magEconomy.database.DatabaseManager;
 import org.ozaii.magEconomy.economy.models.PlayerEconomy;
+import org.ozaii.magEconomy.economy.services.BankService;
+import org.ozaii.magEconomy.economy.services.CurrencyService;
+import org.ozaii.magEconomy.economy.services.EventDispatcher;
 import org.ozaii.magEconomy.economy.services.PlayerEconomyService;
+import org.ozaii.magEconomy.economy.services.RateService;
+import org.ozaii.magEconomy.economy.services.WorldGroupService;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 
 public class EconomyCommand implements CommandExecutor, TabCompleter {
 
     private final JavaPlugin plugin;
     private final PlayerEconomyService economyService;
+    private final AtomicBoolean reloading = new AtomicBoolean(false);
 
     public EconomyCommand(JavaPlugin plugin) {
         this.plugin = plugin;
@@ -102,7 +114,38 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
                 sender.sendMessage("§aMinimum Bakiye: §e" + economyService.format(economyService.getMinBalance()));
                 sender.sendMessage("§aMaksimum Bakiye: §e" + economyService.format(economyService.getMaxBalance()));
                 sender.sendMessage("§aBaşlangıç Bakiyesi: §e" + economyService.format(economyService.getStartingBalance()));
-                sender.sendMessage("§aCache Boyutu: §e" + economyService.getCacheSize());
+                sender.sendMessage("§aCache: §e" + economyService.getCacheStats()
+                        + " §7(~" + economyService.getCacheMemoryBytes() / 1024 + " KB)");
+                DatabaseExecutor databaseExecutor = DatabaseManager.getInstance().getExecutor();
+                if (databaseExecutor != null) {
+                    sender.sendMessage("§aVeritabanı: §e" + databaseExecutor.getStats());
+                }
+                if (economyService.isWriteBehindEnabled()) {
+                    sender.sendMessage("§aWrite-Behind: §e" + economyService.getWriteBehindStats());
+                }
+                String groupCommitStats = economyService.getGroupCommitStats();
+                if (groupCommitStats != null) {
+                    sender.sendMessage("§aGroup Commit: §e" + groupCommitStats);
+                }
+                String leaderboardStats = economyService.getLeaderboardStats();
+                if (leaderboardStats != null) {
+                    sender.sendMessage("§aSıralama: §e" + leaderboardStats);
+                }
+                String histogramStats = economyService.getHistogramStats();
+                if (histogramStats != null) {
+                    sender.sendMessage("§aYüzdelikler: §e" + histogramStats);
+                }
+                String idempotencyStats = economyService.getIdempotencyStats();
+                if (idempotencyStats != null) {
+                    sender.sendMessage("§aIdempotency: §e" + idempotencyStats);
+                }
+                if (WorldGroupService.getInstance().isEnabled() || CurrencyService.getInstance().getCurrencies().size() > 1) {
+                    sender.sendMessage("§aBakiye Sütunları: §e" + economyService.getColumnStore().getStats());
+                }
+                sender.sendMessage("§aEvent'ler: §e" + EventDispatcher.getInstance().getStats());
+                if (BankService.getInstance().isEnabled()) {
+                    sender.sendMessage("§aBankalar: §e" + BankService.getInstance().getStats());
+                }
             } catch (Exception e) {
                 sender.sendMessage("§cBilgiler alınırken hata oluştu!");
                 plugin.getLogger().warning("Economy info komutu hatası: " + e.getMessage());
@@ -132,6 +175,12 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
             case "set":
                 handleAdminSet(sender, args);
                 break;
+            case "giveall":
+                handleAdminBulk(sender, args, true);
+                break;
+            case "takeall":
+                handleAdminBulk(sender, args, false);
+                break;
             case "reset":
                 handleAdminReset(sender, args);
                 break;
@@ -144,6 +193,12 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
             case "check":
                 handleAdminCheck(sender, args);
                 break;
+            case "rates":
+                handleAdminRates(sender, args);
+                break;
+            case "bank":
+                handleAdminBank(sender, args);
+                break;
             default:
                 sendAdminHelp(sender);
                 break;
@@ -270,6 +325,67 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
         });
     }
 
+    /**
+     * Admin giveall/takeall komutu - Tüm çevrimiçi oyunculara tek işlemle para ekler veya çıkarır
+     */
+    private void handleAdminBulk(CommandSender sender, String[] args, boolean deposit) {
+        if (!checkAdminPermission(sender)) return;
+
+        String usage = deposit ? "giveall" : "takeall";
+        if (args.length < 3) {
+            sender.sendMessage("§cKullanım: /eco admin " + usage + " <miktar>");
+            return;
+        }
+
+        double amount;
+
+        try {
+            amount = Double.parseDouble(args[2]);
+            if (amount <= 0) {
+                sender.sendMessage("§cMiktar pozitif bir sayı olmalıdır!");
+                return;
+            }
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cGeçersiz miktar!");
+            return;
+        }
+
+        Map<UUID, Double> amounts = new HashMap<>();
+        Bukkit.getOnlinePlayers().forEach(player -> amounts.put(player.getUniqueId(), amount));
+        if (amounts.isEmpty()) {
+            sender.sendMessage("§cÇevrimiçi oyuncu yok!");
+            return;
+        }
+
+        CompletableFuture<Map<UUID, Double>> result = deposit
+                ? economyService.depositAll(amounts)
+                : economyService.withdrawAll(amounts);
+
+        result.thenAccept(newBalances -> {
+            int skipped = amounts.size() - newBalances.size();
+            if (deposit) {
+                sender.sendMessage("§a" + newBalances.size() + " oyuncuya " + economyService.format(amount) + " eklendi!"
+                        + (skipped > 0 ? " §7(" + skipped + " oyuncu limit nedeniyle atlandı)" : ""));
+            } else {
+                sender.sendMessage("§a" + newBalances.size() + " oyuncudan " + economyService.format(amount) + " çıkarıldı!"
+                        + (skipped > 0 ? " §7(" + skipped + " oyuncu yetersiz bakiye nedeniyle atlandı)" : ""));
+            }
+
+            for (UUID playerUUID : newBalances.keySet()) {
+                Player player = Bukkit.getPlayer(playerUUID);
+                if (player != null) {
+                    player.sendMessage(deposit
+                            ? "§aHesabınıza " + economyService.format(amount) + " eklendi!"
+                            : "§cHesabınızdan " + economyService.format(amount) + " çıkarıldı!");
+                }
+            }
+        }).exceptionally(throwable -> {
+            sender.sendMessage("§cToplu işlem sırasında hata oluştu!");
+            plugin.getLogger().warning("Economy " + usage + " komutu hatası: " + throwable.getMessage());
+            return null;
+        });
+    }
+
     private void handleAdminReset(CommandSender sender, String[] args) {
         if (!checkAdminPermission(sender)) return;
 
@@ -377,21 +493,147 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
         });
     }
 
-    private void handleAdminReload(CommandSender sender) {
+    /**
+     * Admin bank komutu - Banka bilgisini gösterir, üye ekler veya çıkarır
+     */
+    private void handleAdminBank(CommandSender sender, String[] args) {
         if (!checkAdminPermission(sender)) return;
 
-        sender.sendMessage("§eYeniden yükleme başlatılıyor...");
+        BankService bankService = BankService.getInstance();
+        if (!bankService.isReady()) {
+            sender.sendMessage("§cBanka sistemi kapalı veya henüz yüklenmedi!");
+            return;
+        }
+
+        if (args.length < 4) {
+            sender.sendMessage("§cKullanım: /eco admin bank <info|addmember|removemember> <banka> [oyuncu]");
+            return;
+        }
+
+        String action = args[2].toLowerCase();
+        String bankName = args[3];
+        if (!bankService.exists(bankName)) {
+            sender.sendMessage("§cBanka bulunamadı!");
+            return;
+        }
+
+        if (action.equals("info")) {
+            UUID ownerUUID = bankService.getOwner(bankName);
+            String ownerName = ownerUUID != null ? Bukkit.getOfflinePlayer(ownerUUID).getName() : null;
+            sender.sendMessage("§6§l=== " + bankName + " Banka Bilgileri ===");
+            sender.sendMessage("§eSahip: §f" + (ownerName != null ? ownerName : ownerUUID));
+            sender.sendMessage("§eBakiye: §a" + economyService.format(bankService.getBalance(bankName).orElse(0)));
+            List<String> memberNames = new ArrayList<>();
+            for (UUID memberUUID : bankService.getMembers(bankName)) {
+                String memberName = Bukkit.getOfflinePlayer(memberUUID).getName();
+                memberNames.add(memberName != null ? memberName : memberUUID.toString());
+            }
+            sender.sendMessage("§eÜyeler: §f" + (memberNames.isEmpty() ? "-" : String.join(", ", memberNames)));
+            return;
+        }
 
-        DatabaseManager.getInstance().reload().thenAccept(success -> {
+        if (!action.equals("addmember") && !action.equals("removemember")) {
+            sender.sendMessage("§cKullanım: /eco admin bank <info|addmember|removemember> <banka> [oyuncu]");
+            return;
+        }
+        if (args.length < 5) {
+            sender.sendMessage("§cKullanım: /eco admin bank " + action + " <banka> <oyuncu>");
+            return;
+        }
+
+        OfflinePlayer target = Bukkit.getOfflinePlayer(args[4]);
+        if (!target.hasPlayedBefore() && !target.isOnline()) {
+            sender.sendMessage("§cOyuncu bulunamadı!");
+            return;
+        }
+
+        boolean add = action.equals("addmember");
+        CompletableFuture<Boolean> result = add
+                ? bankService.addMember(bankName, target.getUniqueId())
+                : bankService.removeMember(bankName, target.getUniqueId());
+        result.thenAccept(success -> {
             if (success) {
-                sender.sendMessage("§aVeritabanı başarıyla yeniden yüklendi!");
+                sender.sendMessage("§a" + target.getName() + (add ? " bankaya üye olarak eklendi!" : " bankanın üyeliğinden çıkarıldı!"));
             } else {
-                sender.sendMessage("§cVeritabanı yeniden yüklenemedi!");
+                sender.sendMessage(add ? "§cÜye eklenemedi! Oyuncu zaten üye olabilir." : "§cÜye çıkarılamadı! Oyuncu üye olmayabilir veya bankanın sahibidir.");
             }
+        }).exceptionally(throwable -> {
+            sender.sendMessage("§cBanka üyeliği güncellenirken hata oluştu: " + throwable.getMessage());
+            return null;
         });
+    }
+
+    /**
+     * Admin rates komutu - Faiz/vergi taramasının durumunu gösterir veya taramayı hemen başlatır
+     */
+    private void handleAdminRates(CommandSender sender, String[] args) {
+        if (!checkAdminPermission(sender)) return;
 
-        economyService.reloadSettings();
-        sender.sendMessage("§aEconomy ayarları yeniden yüklendi!");
+        RateService rateService = RateService.getInstance();
+        if (args.length >= 3 && args[2].equalsIgnoreCase("run")) {
+            sender.sendMessage("§aFaiz/vergi taraması başlatıldı...");
+            rateService.runSweep().thenAccept(progress -> {
+                sender.sendMessage((progress.isFailed() ? "§c" : "§a") + "Faiz/vergi taraması bitti: §e" + progress);
+            }).exceptionally(throwable -> {
+                sender.sendMessage("§cTarama başlatılamadı: " + throwable.getMessage());
+                return null;
+            });
+            return;
+        }
+
+        sender.sendMessage("§6§l=== Faiz / Vergi ===");
+        sender.sendMessage("§aZamanlayıcı: §e" + (rateService.isEnabled() ? "Açık" : "Kapalı"));
+        sender.sendMessage("§aFaiz Dilimleri: §e" + rateService.getInterest().getTierCount()
+                + " §aVergi Dilimleri: §e" + rateService.getTax().getTierCount());
+        long lastRun = rateService.getLastRun();
+        sender.sendMessage("§aSon Tarama: §e" + (lastRun == 0 ? "Hiç" : new Date(lastRun).toString()));
+        RateService.SweepProgress progress = rateService.getProgress();
+        if (progress != null) {
+            sender.sendMessage("§aİlerleme: §e" + progress);
+        }
+    }
+
+    private void handleAdminReload(CommandSender sender) {
+        if (!checkAdminPermission(sender)) return;
+
+        if (!reloading.compareAndSet(false, true)) {
+            sender.sendMessage("§cYeniden yükleme zaten sürüyor!");
+            return;
+        }
+        sender.sendMessage("§eYeniden yükleme başlatılıyor...");
+
+        // Bekleyen bakiyeler bağlantılar kapanmadan senkron yazılır; ana thread bekletilmez
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                RateService.getInstance().prepareReload();
+                BankService.getInstance().prepareReload();
+                economyService.prepareReload();
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Servisler yeniden yüklemeye hazırlanamadı", e);
+            }
+
+            DatabaseManager.getInstance().reload().thenAcceptAsync(success -> {
+                if (success) {
+                    sender.sendMessage("§aVeritabanı başarıyla yeniden yüklendi!");
+                } else {
+                    sender.sendMessage("§cVeritabanı yeniden yüklenemedi!");
+                }
+                // Servisler yeni executor ve bağlantı havuzuyla başlatılır
+                economyService.reloadSettings();
+                BankService.getInstance().reloadSettings();
+                WorldGroupService.getInstance().reloadSettings();
+                CurrencyService.getInstance().reloadSettings();
+                RateService.getInstance().reloadSettings();
+                EventDispatcher.getInstance().reloadSettings();
+                sender.sendMessage("§aEconomy ayarları yeniden yüklendi!");
+            }).whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Economy ayarları yeniden yüklenemedi", throwable);
+                    sender.sendMessage("§cEconomy ayarları yeniden yüklenemedi: " + throwable.getMessage());
+                }
+                reloading.set(false);
+            });
+        });
     }
 
     private void handleTop(CommandSender sender, String[] args) {
@@ -472,9 +714,13 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage("§c/eco admin add <oyuncu> <miktar> §7- Para ekle");
             sender.sendMessage("§c/eco admin remove <oyuncu> <miktar> §7- Para çıkar");
             sender.sendMessage("§c/eco admin set <oyuncu> <miktar> §7- Bakiye ayarla");
+            sender.sendMessage("§c/eco admin giveall <miktar> §7- Tüm çevrimiçi oyunculara para ekle");
+            sender.sendMessage("§c/eco admin takeall <miktar> §7- Tüm çevrimiçi oyunculardan para çıkar");
             sender.sendMessage("§c/eco admin reset <oyuncu> §7- Bakiyeyi sıfırla");
             sender.sendMessage("§c/eco admin see <oyuncu> §7- Bakiye görüntüle");
             sender.sendMessage("§c/eco admin check <oyuncu> §7- Hesap durumu kontrol et");
+            sender.sendMessage("§c/eco admin rates [run] §7- Faiz/vergi durumu veya hemen uygula");
+            sender.sendMessage("§c/eco admin bank <info|addmember|removemember> <banka> [oyuncu] §7- Banka üyeliklerini yönet");
             sender.sendMessage("§c/eco admin reload §7- Ayarları yenile");
         }
     }
@@ -484,9 +730,13 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§c/eco admin add <oyuncu> <miktar> §7- Para ekle");
         sender.sendMessage("§c/eco admin remove <oyuncu> <miktar> §7- Para çıkar");
         sender.sendMessage("§c/eco admin set <oyuncu> <miktar> §7- Bakiye ayarla");
+        sender.sendMessage("§c/eco admin giveall <miktar> §7- Tüm çevrimiçi oyunculara para ekle");
+        sender.sendMessage("§c/eco admin takeall <miktar> §7- Tüm çevrimiçi oyunculardan para çıkar");
         sender.sendMessage("§c/eco admin reset <oyuncu> §7- Bakiyeyi sıfırla");
         sender.sendMessage("§c/eco admin see <oyuncu> §7- Bakiye görüntüle");
         sender.sendMessage("§c/eco admin check <oyuncu> §7- Hesap durumu kontrol et");
+        sender.sendMessage("§c/eco admin rates [run] §7- Faiz/vergi durumu veya hemen uygula");
+        sender.sendMessage("§c/eco admin bank <info|addmember|removemember> <banka> [oyuncu] §7- Banka üyeliklerini yönet");
         sender.sendMessage("§c/eco admin reload §7- Ayarları yenile");
     }
 
@@ -501,7 +751,7 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
             }
         } else if (args.length == 2) {
             if (args[0].equalsIgnoreCase("admin") && hasAdminPermission(sender)) {
-                completions.addAll(Arrays.asList("add", "remove", "set", "reset", "see", "check", "reload"));
+                completions.addAll(Arrays.asList("add", "remove", "set", "giveall", "takeall", "reset", "see", "check", "rates", "bank", "reload"));
             } else if (args[0].equalsIgnoreCase("balance") && sender.hasPermission("mageconomy.balance.others")) {
                 // Online oyuncuları öner
                 Bukkit.getOnlinePlayers().forEach(player -> completions.add(player.getName()));
@@ -511,7 +761,13 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
         } else if (args.length == 3) {
             if (args[0].equalsIgnoreCase("admin") && hasAdminPermission(sender)) {
                 String subCmd = args[1].toLowerCase();
-                if (subCmd.equals("add") || subCmd.equals("remove") || subCmd.equals("set") ||
+                if (subCmd.equals("giveall") || subCmd.equals("takeall")) {
+                    completions.addAll(Arrays.asList("100", "1000", "10000", "100000"));
+                } else if (subCmd.equals("rates")) {
+                    completions.add("run");
+                } else if (subCmd.equals("bank")) {
+                    completions.addAll(Arrays.asList("info", "addmember", "removemember"));
+                } else if (subCmd.equals("add") || subCmd.equals("remove") || subCmd.equals("set") ||
                         subCmd.equals("reset") || subCmd.equals("see") || subCmd.equals("check")) {
                     // Online oyuncuları öner
                     Bukkit.getOnlinePlayers().forEach(player -> completions.add(player.getName()));
@@ -522,8 +778,15 @@ public class EconomyCommand implements CommandExecutor, TabCompleter {
                 String subCmd = args[1].toLowerCase();
                 if (subCmd.equals("add") || subCmd.equals("remove") || subCmd.equals("set")) {
                     completions.addAll(Arrays.asList("100", "1000", "10000", "100000"));
+                } else if (subCmd.equals("bank")) {
+                    completions.addAll(BankService.getInstance().getBankNames());
                 }
             }
+        } else if (args.length == 5) {
+            if (args[0].equalsIgnoreCase("admin") && args[1].equalsIgnoreCase("bank") && hasAdminPermission(sender)) {
+                // Online oyuncuları öner
+                Bukkit.getOnlinePlayers().forEach(player -> completions.add(player.getName()));
+            }
         }
 
         // Girilen metinle başlayanları filtrele
@@ -0,0 +1,220 @@
+package org.ozaii.magEconomy.database;
+
+import org.bukkit.Bukkit;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Veritabanı I/O işlemleri için ayrılmış executor.
+ *
+ * Bloklayan JDBC çağrıları ortak ForkJoinPool yerine burada çalışır. Aynı anda çalışan
+ * işlem sayısı Hikari havuz boyutuyla sınırlıdır, fazlası sınırlı bir kuyrukta bekler.
+ * Kuyruk dolduğunda seçilen politika uygulanır:
+ * <ul>
+ *     <li>ABORT: İşlem hemen reddedilir, future hata ile tamamlanır</li>
+ *     <li>BLOCK: Kuyrukta yer açılması belirli bir süre beklenir, açılmazsa reddedilir.
+ *     Ana thread hiçbir zaman bekletilmez, orada ABORT gibi davranır.</li>
+ * </ul>
+ * İşlemler hiçbir durumda çağıran thread'de çalıştırılmaz; çağıran ana thread olabilir veya
+ * bir segment kilidi tutuyor olabilir.
+ */
+public class DatabaseExecutor implements Executor {
+
+    public enum Type {
+        PLATFORM, VIRTUAL
+    }
+
+    public enum RejectionPolicy {
+        BLOCK, ABORT
+    }
+
+    private final Type type;
+    private final RejectionPolicy rejectionPolicy;
+    private final int threads;
+    private final int queueCapacity;
+    private final long blockTimeoutMillis;
+
+    private final ExecutorService delegate;
+    // Çalışan + kuyrukta bekleyen işlem sınırı (her iki tipte de)
+    private final Semaphore capacity;
+    // Sanal thread'lerde aynı anda veritabanına giden işlem sınırı
+    private final Semaphore running;
+
+    // Metrikler
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int maxQueued;
+
+    public DatabaseExecutor(Type type, int threads, int queueCapacity, RejectionPolicy rejectionPolicy, long blockTimeoutMillis) {
+        this.type = type;
+        this.threads = Math.max(1, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.rejectionPolicy = rejectionPolicy;
+        this.blockTimeoutMillis = Math.max(0, blockTimeoutMillis);
+        this.capacity = new Semaphore(this.threads + this.queueCapacity);
+
+        if (type == Type.VIRTUAL) {
+            this.running = new Semaphore(this.threads);
+            this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("MagEconomy-DB-", 0).factory());
+        } else {
+            this.running = null;
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "MagEconomy-DB-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+            // Sınırı semaphore uyguladığı için kuyruk hiçbir zaman dolmaz
+            this.delegate = new ThreadPoolExecutor(this.threads, this.threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(this.queueCapacity + this.threads), factory);
+        }
+    }
+
+    /**
+     * Config değerinden tip okur, geçersizse PLATFORM
+     */
+    public static Type parseType(String value) {
+        try {
+            return Type.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            return Type.PLATFORM;
+        }
+    }
+
+    /**
+     * Config değerinden politika okur, geçersizse ABORT (eski "caller-runs" değeri dahil)
+     */
+    public static RejectionPolicy parseRejectionPolicy(String value) {
+        try {
+            return RejectionPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (Exception e) {
+            return RejectionPolicy.ABORT;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!capacity.tryAcquire()) {
+            if (rejectionPolicy != RejectionPolicy.BLOCK || Bukkit.isPrimaryThread()) {
+                throw reject();
+            }
+            try {
+                if (!capacity.tryAcquire(blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw reject();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            }
+        }
+
+        int depth = queued.incrementAndGet();
+        if (depth > maxQueued) {
+            maxQueued = depth;
+        }
+
+        try {
+            delegate.execute(() -> run(command));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            capacity.release();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command) {
+        boolean acquired = false;
+        try {
+            if (running != null) {
+                running.acquire();
+                acquired = true;
+            }
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            Thread.currentThread().interrupt();
+        } finally {
+            if (acquired) {
+                running.release();
+            }
+            capacity.release();
+        }
+    }
+
+    private RejectedExecutionException reject() {
+        rejected.incrementAndGet();
+        return new RejectedExecutionException("Veritabanı kuyruğu dolu! (kapasite: " + queueCapacity + ")");
+    }
+
+    /**
+     * Yeni işlem kabul etmeyi bırakır ve kuyruktaki işlemlerin bitmesini bekler
+     * @param timeoutMillis Maksimum bekleme süresi
+     */
+    public void shutdown(long timeoutMillis) {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Kuyrukta bekleyen işlem sayısı
+     * @return kuyruk derinliği
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Executor istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        return String.format(
+                "DB Executor Stats - Type: %s, Threads: %d, Active: %d, Queue: %d/%d, Max Queue: %d, Completed: %d, Rejected: %d, Policy: %s",
+                type,
+                threads,
+                active.get(),
+                queued.get(),
+                queueCapacity,
+                maxQueued,
+                completed.get(),
+                rejected.get(),
+                rejectionPolicy
+        );
+    }
+}
@@ -3,7 +3,7 @@ package org.ozaii.magEconomy.database;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
-import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.DataSourceConnectionSource;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.TableUtils;
 import com.zaxxer.hikari.HikariConfig;
@@ -28,6 +28,7 @@ public class DatabaseManager {
     private ConnectionSource connectionSource;
     private DatabaseType currentDatabaseType;
     private Map<Class<?>, Dao<?, ?>> daoCache;
+    private volatile DatabaseExecutor executor;
 
 
     public enum DatabaseType {
@@ -99,12 +100,22 @@ public class DatabaseManager {
             dbConfig.set("sqlite.filename", "database.db");
         }
 
+        // Veritabanı executor ayarları
+        if (!dbConfig.contains("executor")) {
+            dbConfig.set("executor.type", "platform"); // platform / virtual
+            dbConfig.set("executor.threads", 0); // 0 = Hikari havuz boyutu
+            dbConfig.set("executor.queue-capacity", 1000);
+            dbConfig.set("executor.rejection-policy", "abort"); // abort / block
+            dbConfig.set("executor.block-timeout-ms", 1000);
+        }
+        // caller-runs kaldırıldı: kuyruk doluyken işlem ana thread'de, segment kilidi altında çalışıyordu
+        if ("caller-runs".equalsIgnoreCase(dbConfig.getString("executor.rejection-policy", ""))) {
+            dbConfig.set("executor.rejection-policy", "abort");
+        }
+
         ConfigManager.getInstance().saveConfig("database");
     }
 
-    /**
-     * Veritabanı bağlantısını başlatır (önce MySQL, başarısız olursa SQLite)
-     */
     /**
      * Veritabanı bağlantısını başlatır (önce MySQL, başarısız olursa SQLite)
      */
@@ -116,6 +127,7 @@ public class DatabaseManager {
             if (initializeMySQL()) {
                 plugin.getLogger().info("MySQL veritabanına başarıyla bağlanıldı!");
                 currentDatabaseType = DatabaseType.MYSQL;
+                initializeExecutor();
                 return;
             } else {
                 // Sadece SQLite'a geçiş mesajı göster
@@ -127,12 +139,35 @@ public class DatabaseManager {
         if (initializeSQLite()) {
             plugin.getLogger().info("SQLite veritabanı başarıyla başlatıldı!");
             currentDatabaseType = DatabaseType.SQLITE;
+            initializeExecutor();
         } else {
             plugin.getLogger().severe("Hiçbir veritabanı türü başlatılamadı!");
             throw new RuntimeException("Veritabanı başlatılamadı!");
         }
     }
 
+    /**
+     * Veritabanı executor'ını oluşturur. Thread sayısı varsayılan olarak Hikari havuz boyutuna
+     * eşittir; daha fazla thread bağlantı beklemekten başka bir şey yapmaz.
+     */
+    private void initializeExecutor() {
+        FileConfiguration dbConfig = ConfigManager.getInstance().getConfig("database");
+
+        int threads = dbConfig.getInt("executor.threads", 0);
+        if (threads <= 0) {
+            threads = dataSource.getMaximumPoolSize();
+        }
+
+        executor = new DatabaseExecutor(
+                DatabaseExecutor.parseType(dbConfig.getString("executor.type", "platform")),
+                threads,
+                dbConfig.getInt("executor.queue-capacity", 1000),
+                DatabaseExecutor.parseRejectionPolicy(dbConfig.getString("executor.rejection-policy", "abort")),
+                dbConfig.getLong("executor.block-timeout-ms", 1000)
+        );
+        plugin.getLogger().info("Veritabanı executor'ı başlatıldı: " + executor.getStats());
+    }
+
     private void disableHikariLogging() {
         try {
             // HikariCP'nin kendi logger'ını kapat
@@ -198,7 +233,8 @@ public class DatabaseManager {
             // Test bağlantısı yap ama sessizce
             try (Connection testConnection = this.dataSource.getConnection()) {
                 if (testConnection.isValid(3)) {
-                    this.connectionSource = new JdbcConnectionSource(jdbcUrl, username, password);
+                    // ORMLite de Hikari havuzunu kullanır (JdbcConnectionSource tek bağlantılıdır ve thread-safe değildir)
+                    this.connectionSource = new DataSourceConnectionSource(this.dataSource, jdbcUrl);
                     return true;
                 }
             }
@@ -241,7 +277,7 @@ public class DatabaseManager {
             config.setPoolName("SQLite-Pool");
 
             dataSource = new HikariDataSource(config);
-            connectionSource = new JdbcConnectionSource(jdbcUrl);
+            connectionSource = new DataSourceConnectionSource(dataSource, jdbcUrl);
 
             return true;
 
@@ -265,7 +301,7 @@ public class DatabaseManager {
             } catch (SQLException e) {
                 plugin.getLogger().log(Level.SEVERE, "Tablo oluşturulamadı: " + clazz.getSimpleName(), e);
             }
-        });
+        }, getExecutor());
     }
 
     /**
@@ -298,6 +334,14 @@ public class DatabaseManager {
         return dataSource.getConnection();
     }
 
+    /**
+     * Veritabanı I/O işlemleri için ayrılmış executor'ı döndürür
+     * @return DatabaseExecutor
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+
     /**
      * ConnectionSource döndürür
      * @return ConnectionSource
@@ -356,6 +400,10 @@ public class DatabaseManager {
      */
     public void close() {
         try {
+            // Kuyruktaki işlemler bağlantılar kapanmadan önce tamamlansın
+            if (executor != null) {
+                executor.shutdown(5000);
+            }
             if (connectionSource != null) {
                 connectionSource.close();
             }
@@ -3,9 +3,13 @@ package org.ozaii.magEconomy.economy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.economy.models.BalanceChange;
+import org.ozaii.magEconomy.economy.services.BankService;
 import org.ozaii.magEconomy.economy.services.PlayerEconomyService;
+import org.ozaii.magEconomy.economy.services.WorldGroupService;
 
 import java.util.List;
+import java.util.OptionalDouble;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -16,6 +20,8 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
 
     private static Economy instance;
     private PlayerEconomyService economyService;
+    private BankService bankService;
+    private WorldGroupService worldGroupService;
     private JavaPlugin plugin;
     private boolean enabled = false;
 
@@ -37,10 +43,18 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
     public void initialize(JavaPlugin plugin) {
         this.plugin = plugin;
         this.economyService = PlayerEconomyService.getInstance();
+        this.bankService = BankService.getInstance();
+        this.worldGroupService = WorldGroupService.getInstance();
         this.enabled = true;
         plugin.getLogger().info("Economy sistemi başlatıldı!");
     }
 
+    /*
+     * Vault çoğunlukla ana thread'den çağrılır. Online oyuncuların hesapları bellekte olduğu için
+     * cevaplar bellekteki tablodan anında verilir, kalıcı yazma arka planda yapılır. Sadece
+     * bellekte olmayan (offline) hesaplarda veritabanı beklenir.
+     */
+
     /**
      * CompletableFuture'ı senkron olarak bekler
      * @param future CompletableFuture
@@ -83,7 +97,7 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
 
     @Override
     public boolean hasBankSupport() {
-        return false; // Şimdilik bank desteği yok
+        return bankService != null && bankService.isEnabled();
     }
 
     @Override
@@ -116,6 +130,10 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
     @Override
     public boolean hasAccount(OfflinePlayer player) {
         if (economyService == null || player == null) return false;
+        Boolean known = economyService.hasAccountIfKnown(player.getUniqueId());
+        if (known != null) {
+            return known;
+        }
         return waitForResult(economyService.hasAccount(player), false);
     }
 
@@ -127,7 +145,7 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
 
     @Override
     public boolean hasAccount(OfflinePlayer player, String worldName) {
-        // World desteği şimdilik yok
+        // Hesap tüm dünya gruplarında ortaktır, sadece bakiyeler ayrıdır
         return hasAccount(player);
     }
 
@@ -140,6 +158,10 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
     @Override
     public double getBalance(OfflinePlayer player) {
         if (economyService == null || player == null) return 0;
+        OptionalDouble balance = economyService.getBalanceIfLoaded(player.getUniqueId());
+        if (balance.isPresent()) {
+            return balance.getAsDouble();
+        }
         return waitForResult(economyService.getBalance(player), 0.0);
     }
 
@@ -151,8 +173,11 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
 
     @Override
     public double getBalance(OfflinePlayer player, String world) {
-        // World desteği şimdilik yok
-        return getBalance(player);
+        WorldGroupService.WorldGroup group = worldGroupService != null ? worldGroupService.resolve(world) : null;
+        if (group == null || player == null) {
+            return getBalance(player);
+        }
+        return worldGroupService.getBalance(group, player.getUniqueId());
     }
 
     @Override
@@ -164,6 +189,10 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
     @Override
     public boolean has(OfflinePlayer player, double amount) {
         if (economyService == null || player == null) return false;
+        OptionalDouble balance = economyService.getBalanceIfLoaded(player.getUniqueId());
+        if (balance.isPresent()) {
+            return balance.getAsDouble() >= amount;
+        }
         return waitForResult(economyService.has(player, amount), false);
     }
 
@@ -175,8 +204,11 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
 
     @Override
     public boolean has(OfflinePlayer player, String worldName, double amount) {
-        // World desteği şimdilik yok
-        return has(player, amount);
+        WorldGroupService.WorldGroup group = worldGroupService != null ? worldGroupService.resolve(worldName) : null;
+        if (group == null || player == null) {
+            return has(player, amount);
+        }
+        return worldGroupService.getBalance(group, player.getUniqueId()) >= amount;
     }
 
     @Override
@@ -198,13 +230,16 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
                     "Negatif miktar giremezsiniz");
         }
 
-        boolean success = waitForResult(economyService.withdraw(player, amount), false);
-        double newBalance = getBalance(player);
+        // Write-behind açıksa bellekteki hesapta anında uygulanır; değilse yazmanın sonucu beklenir
+        BalanceChange change = economyService.withdrawNow(player.getUniqueId(), amount);
+        if (change.getStatus() == BalanceChange.Status.NOT_LOADED) {
+            change = waitForResult(economyService.withdrawDetailed(player.getUniqueId(), amount), BalanceChange.notLoaded());
+        }
 
-        if (success) {
-            return createResponse(amount, newBalance, EconomyResponse.ResponseType.SUCCESS, "");
+        if (change.isApplied()) {
+            return createResponse(amount, change.getBalance(), EconomyResponse.ResponseType.SUCCESS, "");
         } else {
-            return createResponse(amount, newBalance, EconomyResponse.ResponseType.FAILURE,
+            return createResponse(amount, change.getBalance(), EconomyResponse.ResponseType.FAILURE,
                     "Yetersiz bakiye veya işlem başarısız");
         }
     }
@@ -217,8 +252,18 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
 
     @Override
     public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount) {
-        // World desteği şimdilik yok
-        return withdrawPlayer(player, amount);
+        WorldGroupService.WorldGroup group = worldGroupService != null ? worldGroupService.resolve(worldName) : null;
+        if (group == null || player == null) {
+            return withdrawPlayer(player, amount);
+        }
+
+        if (amount < 0) {
+            return createResponse(amount, worldGroupService.getBalance(group, player.getUniqueId()),
+                    EconomyResponse.ResponseType.FAILURE, "Negatif miktar giremezsiniz");
+        }
+
+        BalanceChange change = worldGroupService.withdraw(group, player.getUniqueId(), amount);
+        return worldGroupResponse(change, amount, "Yetersiz bakiye veya işlem başarısız");
     }
 
     @Override
@@ -240,13 +285,16 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
                     "Negatif miktar giremezsiniz");
         }
 
-        boolean success = waitForResult(economyService.deposit(player, amount), false);
-        double newBalance = getBalance(player);
+        // Write-behind açıksa bellekteki hesapta anında uygulanır; değilse yazmanın sonucu beklenir
+        BalanceChange change = economyService.depositNow(player.getUniqueId(), amount);
+        if (change.getStatus() == BalanceChange.Status.NOT_LOADED) {
+            change = waitForResult(economyService.depositDetailed(player.getUniqueId(), amount), BalanceChange.notLoaded());
+        }
 
-        if (success) {
-            return createResponse(amount, newBalance, EconomyResponse.ResponseType.SUCCESS, "");
+        if (change.isApplied()) {
+            return createResponse(amount, change.getBalance(), EconomyResponse.ResponseType.SUCCESS, "");
         } else {
-            return createResponse(amount, newBalance, EconomyResponse.ResponseType.FAILURE,
+            return createResponse(amount, change.getBalance(), EconomyResponse.ResponseType.FAILURE,
                     "Maksimum bakiye aşıldı veya işlem başarısız");
         }
     }
@@ -259,81 +307,159 @@ public class Economy implements net.milkbowl.vault.economy.Economy {
 
     @Override
     public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount) {
-        // World desteği şimdilik yok
-        return depositPlayer(player, amount);
+        WorldGroupService.WorldGroup group = worldGroupService != null ? worldGroupService.resolve(worldName) : null;
+        if (group == null || player == null) {
+            return depositPlayer(player, amount);
+        }
+
+        if (amount < 0) {
+            return createResponse(amount, worldGroupService.getBalance(group, player.getUniqueId()),
+                    EconomyResponse.ResponseType.FAILURE, "Negatif miktar giremezsiniz");
+        }
+
+        BalanceChange change = worldGroupService.deposit(group, player.getUniqueId(), amount);
+        return worldGroupResponse(change, amount, "Maksimum bakiye aşıldı veya işlem başarısız");
     }
 
-    // Bank işlemleri - şimdilik desteklenmiyor
+    private EconomyResponse worldGroupResponse(BalanceChange change, double amount, String failureMessage) {
+        if (change.isApplied()) {
+            return createResponse(amount, change.getBalance(), EconomyResponse.ResponseType.SUCCESS, "");
+        }
+        if (change.getStatus() == BalanceChange.Status.NOT_LOADED) {
+            return createResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "Dünya grubu bakiyeleri yükleniyor");
+        }
+        return createResponse(amount, change.getBalance(), EconomyResponse.ResponseType.FAILURE, failureMessage);
+    }
+
+    // Bank işlemleri: bakiyeler bellekte tutulur, cevaplar anında verilir
+
+    private EconomyResponse bankUnavailable(double amount) {
+        return createResponse(amount, 0, EconomyResponse.ResponseType.FAILURE,
+                bankService != null && bankService.isEnabled() ? "Banka sistemi yükleniyor" : "Banka sistemi kapalı");
+    }
+
+    private EconomyResponse bankNotFound(double amount) {
+        return createResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "Banka bulunamadı");
+    }
+
+    private double bankBalanceOrZero(String name) {
+        return bankService.getBalance(name).orElse(0);
+    }
 
     @Override
     public EconomyResponse createBank(String name, String player) {
+        // PlayerName ile banka oluşturma - deprecated
         return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+                "Oyuncu adı ile banka işlemleri desteklenmiyor");
     }
 
     @Override
     public EconomyResponse createBank(String name, OfflinePlayer player) {
-        return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(0);
+        if (player == null) {
+            return createResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Geçersiz oyuncu");
+        }
+
+        boolean success = waitForResult(bankService.createBank(name, player.getUniqueId()), false);
+        return success
+                ? createResponse(0, 0, EconomyResponse.ResponseType.SUCCESS, "")
+                : createResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Banka oluşturulamadı (isim kullanılıyor veya geçersiz)");
     }
 
     @Override
     public EconomyResponse deleteBank(String name) {
-        return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(0);
+        if (!bankService.exists(name)) return bankNotFound(0);
+
+        boolean success = waitForResult(bankService.deleteBank(name), false);
+        return success
+                ? createResponse(0, 0, EconomyResponse.ResponseType.SUCCESS, "")
+                : createResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Banka silinemedi");
     }
 
     @Override
     public EconomyResponse bankBalance(String name) {
-        return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(0);
+        OptionalDouble balance = bankService.getBalance(name);
+        if (balance.isEmpty()) return bankNotFound(0);
+
+        return createResponse(0, balance.getAsDouble(), EconomyResponse.ResponseType.SUCCESS, "");
     }
 
     @Override
     public EconomyResponse bankHas(String name, double amount) {
-        return createResponse(amount, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(amount);
+        OptionalDouble balance = bankService.getBalance(name);
+        if (balance.isEmpty()) return bankNotFound(amount);
+
+        return balance.getAsDouble() >= amount
+                ? createResponse(amount, balance.getAsDouble(), EconomyResponse.ResponseType.SUCCESS, "")
+                : createResponse(amount, balance.getAsDouble(), EconomyResponse.ResponseType.FAILURE, "Yetersiz bakiye");
     }
 
     @Override
     public EconomyResponse bankWithdraw(String name, double amount) {
-        return createResponse(amount, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(amount);
+        if (amount <= 0) {
+            return createResponse(amount, bankBalanceOrZero(name), EconomyResponse.ResponseType.FAILURE, "Geçersiz miktar");
+        }
+        if (!bankService.exists(name)) return bankNotFound(amount);
+
+        boolean success = bankService.withdraw(name, amount);
+        return success
+                ? createResponse(amount, bankBalanceOrZero(name), EconomyResponse.ResponseType.SUCCESS, "")
+                : createResponse(amount, bankBalanceOrZero(name), EconomyResponse.ResponseType.FAILURE, "Yetersiz bakiye");
     }
 
     @Override
     public EconomyResponse bankDeposit(String name, double amount) {
-        return createResponse(amount, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(amount);
+        if (amount <= 0) {
+            return createResponse(amount, bankBalanceOrZero(name), EconomyResponse.ResponseType.FAILURE, "Geçersiz miktar");
+        }
+        if (!bankService.exists(name)) return bankNotFound(amount);
+
+        boolean success = bankService.deposit(name, amount);
+        return success
+                ? createResponse(amount, bankBalanceOrZero(name), EconomyResponse.ResponseType.SUCCESS, "")
+                : createResponse(amount, bankBalanceOrZero(name), EconomyResponse.ResponseType.FAILURE, "Maksimum bakiye aşılıyor");
     }
 
     @Override
     public EconomyResponse isBankOwner(String name, String playerName) {
         return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+                "Oyuncu adı ile banka işlemleri desteklenmiyor");
     }
 
     @Override
     public EconomyResponse isBankOwner(String name, OfflinePlayer player) {
-        return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(0);
+        if (!bankService.exists(name)) return bankNotFound(0);
+
+        return player != null && bankService.isOwner(name, player.getUniqueId())
+                ? createResponse(0, bankBalanceOrZero(name), EconomyResponse.ResponseType.SUCCESS, "")
+                : createResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Banka sahibi değil");
     }
 
     @Override
     public EconomyResponse isBankMember(String name, String playerName) {
         return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+                "Oyuncu adı ile banka işlemleri desteklenmiyor");
     }
 
     @Override
     public EconomyResponse isBankMember(String name, OfflinePlayer player) {
-        return createResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED,
-                "Bank sistemi henüz desteklenmiyor");
+        if (bankService == null || !bankService.isReady()) return bankUnavailable(0);
+        if (!bankService.exists(name)) return bankNotFound(0);
+
+        return player != null && bankService.isMember(name, player.getUniqueId())
+                ? createResponse(0, bankBalanceOrZero(name), EconomyResponse.ResponseType.SUCCESS, "")
+                : createResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Banka üyesi değil");
     }
 
     @Override
     public List<String> getBanks() {
-        return List.of(); // Boş liste döndür
+        return bankService != null ? bankService.getBankNames() : List.of();
     }
 
     @Override
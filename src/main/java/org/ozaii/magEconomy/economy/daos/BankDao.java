@@ -0,0 +1,178 @@
+package org.ozaii.magEconomy.economy.daos;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.UpdateBuilder;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.models.Bank;
+import org.ozaii.magEconomy.economy.models.BankMember;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+public class BankDao {
+
+    private final JavaPlugin plugin;
+    private final Dao<Bank, String> bankDao;
+    private final Dao<BankMember, Long> memberDao;
+    private final DatabaseManager databaseManager;
+
+    public BankDao(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = DatabaseManager.getInstance();
+        this.bankDao = databaseManager.getDao(Bank.class);
+        this.memberDao = databaseManager.getDao(BankMember.class);
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, databaseManager.getExecutor());
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("Veritabanı işlemi reddedildi: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Yeni banka oluşturur
+     * @param bank Banka
+     * @return CompletableFuture<Boolean> Aynı isimde banka varsa false
+     */
+    public CompletableFuture<Boolean> create(Bank bank) {
+        return supplyAsync(() -> {
+            try {
+                if (bankDao.idExists(bank.getKey())) {
+                    return false;
+                }
+                return bankDao.create(bank) == 1;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Banka oluşturulamadı: " + bank.getName(), e);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Bankayı ve tüm üyeliklerini tek transaction'da siler
+     * @param bankKey Banka anahtarı
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> delete(String bankKey) {
+        return supplyAsync(() -> {
+            try {
+                return TransactionManager.callInTransaction(databaseManager.getConnectionSource(), () -> {
+                    DeleteBuilder<BankMember, Long> deleteBuilder = memberDao.deleteBuilder();
+                    deleteBuilder.where().eq("bank_key", bankKey);
+                    deleteBuilder.delete();
+                    return bankDao.deleteById(bankKey) == 1;
+                });
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Banka silinemedi: " + bankKey, e);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Tüm bankaları getirir
+     * @return CompletableFuture<List<Bank>>
+     */
+    public CompletableFuture<List<Bank>> getAllBanks() {
+        return supplyAsync(() -> {
+            try {
+                return bankDao.queryForAll();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Bankalar okunamadı", e);
+            }
+        });
+    }
+
+    /**
+     * Tüm banka üyeliklerini getirir
+     * @return CompletableFuture<List<BankMember>>
+     */
+    public CompletableFuture<List<BankMember>> getAllMembers() {
+        return supplyAsync(() -> {
+            try {
+                return memberDao.queryForAll();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Banka üyelikleri okunamadı", e);
+            }
+        });
+    }
+
+    /**
+     * Banka bakiyesini yazar
+     * @param bankKey Banka anahtarı
+     * @param balance Bakiye
+     * @param balanceMinor Bakiyenin en küçük birim karşılığı
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> updateBalance(String bankKey, double balance, long balanceMinor) {
+        return supplyAsync(() -> {
+            try {
+                UpdateBuilder<Bank, String> updateBuilder = bankDao.updateBuilder();
+                updateBuilder.where().eq("bank_key", bankKey);
+                updateBuilder.updateColumnValue("balance", balance);
+                updateBuilder.updateColumnValue("balance_minor", balanceMinor);
+                updateBuilder.updateColumnValue("updated_at", System.currentTimeMillis());
+                return updateBuilder.update() == 1;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Banka bakiyesi yazılamadı: " + bankKey, e);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Bankaya üye ekler
+     * @param member Üyelik
+     * @return CompletableFuture<Boolean> Zaten üyeyse false
+     */
+    public CompletableFuture<Boolean> addMember(BankMember member) {
+        return supplyAsync(() -> {
+            try {
+                if (findMember(member.getBankKey(), member.getMemberUUID()) != null) {
+                    return false;
+                }
+                return memberDao.create(member) == 1;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Banka üyesi eklenemedi: " + member, e);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Bankadan üye çıkarır
+     * @param bankKey Banka anahtarı
+     * @param memberUUID Üye UUID
+     * @return CompletableFuture<Boolean> Üye değilse false
+     */
+    public CompletableFuture<Boolean> removeMember(String bankKey, UUID memberUUID) {
+        return supplyAsync(() -> {
+            try {
+                DeleteBuilder<BankMember, Long> deleteBuilder = memberDao.deleteBuilder();
+                deleteBuilder.where().eq("bank_key", bankKey).and().eq("member_uuid", memberUUID.toString());
+                return deleteBuilder.delete() > 0;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Banka üyesi çıkarılamadı: " + memberUUID, e);
+                return false;
+            }
+        });
+    }
+
+    private BankMember findMember(String bankKey, UUID memberUUID) throws SQLException {
+        return memberDao.queryBuilder().where()
+                .eq("bank_key", bankKey)
+                .and().eq("member_uuid", memberUUID.toString())
+                .queryForFirst();
+    }
+}
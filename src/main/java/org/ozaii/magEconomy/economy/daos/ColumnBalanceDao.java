@@ -0,0 +1,149 @@
+package org.ozaii.magEconomy.economy.daos;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.ledger.MinorUnits;
+import org.ozaii.magEconomy.economy.models.ColumnBalance;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+public class ColumnBalanceDao {
+
+    private final JavaPlugin plugin;
+    private final Dao<ColumnBalance, Long> dao;
+    private final DatabaseManager databaseManager;
+
+    public ColumnBalanceDao(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = DatabaseManager.getInstance();
+        this.dao = databaseManager.getDao(ColumnBalance.class);
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, databaseManager.getExecutor());
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("Veritabanı işlemi reddedildi: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Bir sütundaki tüm bakiyeleri akış halinde okur, tüm satırlar belleğe alınmaz
+     * @param columnKey Sütun anahtarı
+     * @param consumer Her satır için (UUID, bakiye)
+     * @return CompletableFuture<Integer> Okunan satır sayısı, hata durumunda -1
+     */
+    public CompletableFuture<Integer> forEachBalance(String columnKey, ObjDoubleConsumer<UUID> consumer) {
+        return supplyAsync(() -> {
+            try (Connection connection = databaseManager.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT player_uuid, balance FROM economy_balance_columns WHERE column_key = ?")) {
+                statement.setFetchSize(1000);
+                statement.setString(1, columnKey);
+                int count = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        try {
+                            consumer.accept(UUID.fromString(resultSet.getString(1)), resultSet.getDouble(2));
+                            count++;
+                        } catch (IllegalArgumentException e) {
+                            plugin.getLogger().warning("Geçersiz UUID atlandı: " + resultSet.getString(1));
+                        }
+                    }
+                }
+                return count;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Bakiye sütunu okunamadı: " + columnKey, e);
+                return -1;
+            }
+        });
+    }
+
+    /**
+     * Bir sütundaki bakiyeleri tek transaction'da yazar, satırı olmayan oyuncular için satır oluşturur
+     * @param columnKey Sütun anahtarı
+     * @param balances UUID -> bakiye (sütunun en küçük birimi)
+     * @param minorUnits Sütunun birim dönüşümü
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> writeBalances(String columnKey, Map<UUID, Long> balances, MinorUnits minorUnits) {
+        return supplyAsync(() -> writeBalancesSync(columnKey, balances, minorUnits));
+    }
+
+    private boolean writeBalancesSync(String columnKey, Map<UUID, Long> balances, MinorUnits minorUnits) {
+        if (balances.isEmpty()) {
+            return true;
+        }
+        // Satırlar her zaman aynı sırada kilitlenir (deadlock önlemi)
+        TreeMap<UUID, Long> ordered = new TreeMap<>(PlayerEconomyDao.ROW_ORDER);
+        ordered.putAll(balances);
+
+        String sql = databaseManager.getCurrentDatabaseType() == DatabaseManager.DatabaseType.SQLITE
+                ? "INSERT INTO economy_balance_columns (player_uuid, column_key, balance, balance_minor, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?) ON CONFLICT (player_uuid, column_key) DO UPDATE SET " +
+                "balance = excluded.balance, balance_minor = excluded.balance_minor, updated_at = excluded.updated_at"
+                : "INSERT INTO economy_balance_columns (player_uuid, column_key, balance, balance_minor, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "balance = VALUES(balance), balance_minor = VALUES(balance_minor), updated_at = VALUES(updated_at)";
+
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                long now = System.currentTimeMillis();
+                for (Map.Entry<UUID, Long> entry : ordered.entrySet()) {
+                    statement.setString(1, entry.getKey().toString());
+                    statement.setString(2, columnKey);
+                    statement.setDouble(3, minorUnits.toMajor(entry.getValue()));
+                    statement.setLong(4, entry.getValue());
+                    statement.setLong(5, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Bakiye sütunu yazılamadı: " + columnKey + " (" + balances.size() + " hesap)", e);
+            return false;
+        }
+    }
+
+    /**
+     * Oyuncunun tüm sütunlardaki bakiyelerini siler
+     * @param playerUUID Oyuncunun UUID'si
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> deletePlayer(UUID playerUUID) {
+        return supplyAsync(() -> {
+            try {
+                DeleteBuilder<ColumnBalance, Long> deleteBuilder = dao.deleteBuilder();
+                deleteBuilder.where().eq("player_uuid", playerUUID.toString());
+                deleteBuilder.delete();
+                return true;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Oyuncunun sütun bakiyeleri silinemedi: " + playerUUID, e);
+                return false;
+            }
+        });
+    }
+}
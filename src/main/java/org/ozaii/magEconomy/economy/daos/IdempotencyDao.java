@@ -0,0 +1,164 @@
+package org.ozaii.magEconomy.economy.daos;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.UpdateBuilder;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.models.IdempotencyRecord;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+public class IdempotencyDao {
+
+    private final JavaPlugin plugin;
+    private final Dao<IdempotencyRecord, String> dao;
+    private final DatabaseManager databaseManager;
+
+    public IdempotencyDao(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = DatabaseManager.getInstance();
+        this.dao = databaseManager.getDao(IdempotencyRecord.class);
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, databaseManager.getExecutor());
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("Veritabanı işlemi reddedildi: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Eski tabloya parmak izi ve bekleme kolonlarını ekler (senkron)
+     * @return Başarılı ise true
+     */
+    public boolean migrateSync() {
+        try (Connection connection = databaseManager.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                if (!hasColumn(connection, "economy_idempotency", "fingerprint")) {
+                    statement.executeUpdate("ALTER TABLE economy_idempotency ADD COLUMN fingerprint VARCHAR("
+                            + IdempotencyRecord.MAX_FINGERPRINT_LENGTH + ")");
+                    plugin.getLogger().info("economy_idempotency tablosuna fingerprint kolonu eklendi.");
+                }
+                if (!hasColumn(connection, "economy_idempotency", "pending")) {
+                    statement.executeUpdate("ALTER TABLE economy_idempotency ADD COLUMN pending BOOLEAN NOT NULL DEFAULT 0");
+                    plugin.getLogger().info("economy_idempotency tablosuna pending kolonu eklendi.");
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "economy_idempotency migrasyonu başarısız!", e);
+            return false;
+        }
+    }
+
+    private boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+            if (columns.next()) {
+                return true;
+            }
+        }
+        // Bazı sürücüler isimleri büyük harfle saklar
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table.toUpperCase(), column.toUpperCase())) {
+            return columns.next();
+        }
+    }
+
+    /**
+     * Anahtarı işlem uygulanmadan önce "pending" olarak ekler. Anahtar birincil anahtar olduğu için
+     * aynı anahtarı aynı anda sadece bir istek alabilir.
+     * @param key Idempotency anahtarı
+     * @param fingerprint Anahtarın bağlandığı işlem
+     * @param notBefore Bu zamandan eski kayıtlar süresi dolmuş sayılır ve silinir
+     * @return CompletableFuture<IdempotencyRecord> Anahtar alındıysa null, daha önce alındıysa mevcut kayıt;
+     *         veritabanı hatasında exceptionally tamamlanır
+     */
+    public CompletableFuture<IdempotencyRecord> claim(String key, String fingerprint, long notBefore) {
+        return supplyAsync(() -> {
+            try {
+                DeleteBuilder<IdempotencyRecord, String> deleteBuilder = dao.deleteBuilder();
+                deleteBuilder.where().eq("idempotency_key", key).and().lt("created_at", notBefore);
+                deleteBuilder.delete();
+                try {
+                    dao.create(new IdempotencyRecord(key, fingerprint));
+                    return null;
+                } catch (SQLException duplicate) {
+                    IdempotencyRecord existing = dao.queryForId(key);
+                    if (existing == null) {
+                        throw duplicate;
+                    }
+                    return existing;
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Idempotency kaydı eklenemedi: " + key, e);
+                throw new IllegalStateException("Idempotency kaydı eklenemedi: " + key, e);
+            }
+        });
+    }
+
+    /**
+     * Bekleyen kaydı işlemin sonucuyla tamamlar
+     * @param key Idempotency anahtarı
+     * @param result İşlem sonucu
+     * @return CompletableFuture<Boolean> Kayıt güncellendiyse true; veritabanı hatasında exceptionally tamamlanır
+     */
+    public CompletableFuture<Boolean> complete(String key, boolean result) {
+        return supplyAsync(() -> {
+            try {
+                UpdateBuilder<IdempotencyRecord, String> updateBuilder = dao.updateBuilder();
+                updateBuilder.updateColumnValue("result", result);
+                updateBuilder.updateColumnValue("pending", false);
+                updateBuilder.where().eq("idempotency_key", key);
+                return updateBuilder.update() == 1;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Idempotency sonucu yazılamadı: " + key, e);
+                throw new IllegalStateException("Idempotency sonucu yazılamadı: " + key, e);
+            }
+        });
+    }
+
+    /**
+     * Uygulanamayan işlemin bekleyen kaydını siler, anahtar tekrar kullanılabilir
+     * @param key Idempotency anahtarı
+     * @return CompletableFuture<Boolean> Silindiyse true
+     */
+    public CompletableFuture<Boolean> release(String key) {
+        return supplyAsync(() -> {
+            try {
+                return dao.deleteById(key) > 0;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Idempotency kaydı silinemedi: " + key, e);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Zaman penceresi dışına çıkan kayıtları siler
+     * @param cutoff Bu zamandan eski kayıtlar silinir
+     * @return CompletableFuture<Integer> Silinen kayıt sayısı
+     */
+    public CompletableFuture<Integer> purgeOlderThan(long cutoff) {
+        return supplyAsync(() -> {
+            try {
+                DeleteBuilder<IdempotencyRecord, String> deleteBuilder = dao.deleteBuilder();
+                deleteBuilder.where().lt("created_at", cutoff);
+                return deleteBuilder.delete();
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Eski idempotency kayıtları silinemedi", e);
+                return 0;
+            }
+        });
+    }
+}
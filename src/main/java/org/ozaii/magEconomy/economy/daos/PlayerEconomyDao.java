@@ -6,33 +6,129 @@ import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.stmt.UpdateBuilder;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.ledger.MinorUnits;
 import org.ozaii.magEconomy.economy.models.PlayerEconomy;
+import org.ozaii.magEconomy.economy.models.RateSweepState;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class PlayerEconomyDao {
 
+    // Birden fazla satır güncellenirken kilitlerin alındığı sıra (birincil anahtar sırası)
+    static final Comparator<UUID> ROW_ORDER = Comparator.comparing(UUID::toString);
+    private static final int SELECT_CHUNK_SIZE = 500;
+
     private final JavaPlugin plugin;
     private final Dao<PlayerEconomy, String> dao;
     private final DatabaseManager databaseManager;
 
+    // Bakiye saklama modu: fixed-point açıkken balance_minor esas alınır
+    private volatile MinorUnits minorUnits = new MinorUnits(2);
+    private volatile boolean fixedPoint = false;
+
     public PlayerEconomyDao(JavaPlugin plugin) {
         this.plugin = plugin;
         this.databaseManager = DatabaseManager.getInstance();
         this.dao = databaseManager.getDao(PlayerEconomy.class);
     }
 
+    /**
+     * İşlemi veritabanı executor'ında çalıştırır (ortak ForkJoinPool'u bloklamamak için)
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, databaseManager.getExecutor());
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("Veritabanı işlemi reddedildi: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Bakiye saklama modunu ayarlar
+     * @param minorUnits En küçük birim dönüşümleri
+     * @param fixedPoint true ise aritmetik balance_minor (long) üzerinde yapılır
+     */
+    public void configureBalanceStorage(MinorUnits minorUnits, boolean fixedPoint) {
+        this.minorUnits = minorUnits;
+        this.fixedPoint = fixedPoint;
+    }
+
+    /**
+     * balance_minor kolonunu oluşturur ve mevcut balance kolonundan doldurur (senkron)
+     * Kolon yoksa eklenir; fractional-digits değiştiyse tüm değerler yeni ölçeğe göre yeniden hesaplanır.
+     * Her iki kolon da her yazmada güncellendiği için balance kolonu her zaman kaynak olarak kullanılabilir.
+     * @param rescale Kolon mevcut olsa bile değerleri yeniden hesapla
+     * @return Başarılı ise true
+     */
+    public boolean migrateMinorUnitsSync(boolean rescale) {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean exists = hasColumn(connection, "player_economy", "balance_minor");
+
+            try (Statement statement = connection.createStatement()) {
+                if (!exists) {
+                    statement.executeUpdate("ALTER TABLE player_economy ADD COLUMN balance_minor BIGINT NOT NULL DEFAULT 0");
+                    plugin.getLogger().info("player_economy tablosuna balance_minor kolonu eklendi.");
+                }
+            }
+
+            if (!exists || rescale) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "UPDATE player_economy SET balance_minor = ROUND(balance * ?)")) {
+                    statement.setDouble(1, minorUnits.getScale());
+                    int updated = statement.executeUpdate();
+                    plugin.getLogger().info("balance_minor kolonu dolduruldu (" + updated + " hesap, ölçek: " + minorUnits.getScale() + ")");
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "balance_minor migrasyonu başarısız!", e);
+            return false;
+        }
+    }
+
+    private boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+            if (columns.next()) {
+                return true;
+            }
+        }
+        // Bazı sürücüler isimleri büyük harfle saklar
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table.toUpperCase(), column.toUpperCase())) {
+            return columns.next();
+        }
+    }
+
     /**
      * Oyuncu hesabını oluşturur
      * @param playerEconomy PlayerEconomy nesnesi
      * @return CompletableFuture<Boolean>
      */
     public CompletableFuture<Boolean> createAccount(PlayerEconomy playerEconomy) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 dao.create(playerEconomy);
                 return true;
@@ -49,7 +145,7 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<PlayerEconomy>
      */
     public CompletableFuture<PlayerEconomy> getByUUID(UUID playerUUID) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 return dao.queryForId(playerUUID.toString());
             } catch (SQLException e) {
@@ -65,7 +161,7 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<PlayerEconomy>
      */
     public CompletableFuture<PlayerEconomy> getByName(String playerName) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 QueryBuilder<PlayerEconomy, String> queryBuilder = dao.queryBuilder();
                 queryBuilder.where().eq("player_name", playerName);
@@ -83,7 +179,7 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<Boolean>
      */
     public CompletableFuture<Boolean> exists(UUID playerUUID) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 return dao.idExists(playerUUID.toString());
             } catch (SQLException e) {
@@ -93,13 +189,80 @@ public class PlayerEconomyDao {
         });
     }
 
+    /**
+     * Tüm hesapların UUID'lerini sırayla okur (tek sorgu, satırlar nesneye dönüştürülmez)
+     * @param consumer Her UUID için çağrılır
+     * @return CompletableFuture<Integer> Okunan hesap sayısı, hata durumunda -1
+     */
+    public CompletableFuture<Integer> forEachUUID(Consumer<UUID> consumer) {
+        return supplyAsync(() -> {
+            try (Connection connection = databaseManager.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT player_uuid FROM player_economy")) {
+                statement.setFetchSize(1000);
+                int count = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        try {
+                            consumer.accept(UUID.fromString(resultSet.getString(1)));
+                            count++;
+                        } catch (IllegalArgumentException e) {
+                            plugin.getLogger().warning("Geçersiz UUID atlandı: " + resultSet.getString(1));
+                        }
+                    }
+                }
+                return count;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Hesap UUID'leri okunamadı!", e);
+                return -1;
+            }
+        });
+    }
+
+    /**
+     * Tüm hesapların UUID, ad ve bakiyelerini sırayla okur (tek sorgu). Fixed-point modunda
+     * bakiye balance_minor kolonundan hesaplanır.
+     * @param consumer Her hesap için çağrılır
+     * @return CompletableFuture<Integer> Okunan hesap sayısı, hata durumunda -1
+     */
+    public CompletableFuture<Integer> forEachAccount(Consumer<PlayerEconomy> consumer) {
+        return supplyAsync(() -> {
+            MinorUnits units = minorUnits;
+            boolean useMinor = fixedPoint;
+            try (Connection connection = databaseManager.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT player_uuid, player_name, balance, balance_minor FROM player_economy")) {
+                statement.setFetchSize(1000);
+                int count = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        try {
+                            UUID playerUUID = UUID.fromString(resultSet.getString(1));
+                            long balanceMinor = resultSet.getLong(4);
+                            double balance = useMinor ? units.toMajor(balanceMinor) : resultSet.getDouble(3);
+                            PlayerEconomy playerEconomy = new PlayerEconomy(playerUUID, resultSet.getString(2), balance);
+                            playerEconomy.setBalance(balance, balanceMinor);
+                            consumer.accept(playerEconomy);
+                            count++;
+                        } catch (IllegalArgumentException e) {
+                            plugin.getLogger().warning("Geçersiz UUID atlandı: " + resultSet.getString(1));
+                        }
+                    }
+                }
+                return count;
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Hesaplar okunamadı!", e);
+                return -1;
+            }
+        });
+    }
+
     /**
      * Oyuncu bilgilerini günceller
      * @param playerEconomy Güncellenecek PlayerEconomy nesnesi
      * @return CompletableFuture<Boolean>
      */
     public CompletableFuture<Boolean> update(PlayerEconomy playerEconomy) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 playerEconomy.setUpdatedAt(System.currentTimeMillis());
                 dao.update(playerEconomy);
@@ -118,11 +281,12 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<Boolean>
      */
     public CompletableFuture<Boolean> updateBalance(UUID playerUUID, double newBalance) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 UpdateBuilder<PlayerEconomy, String> updateBuilder = dao.updateBuilder();
                 updateBuilder.where().eq("player_uuid", playerUUID.toString());
                 updateBuilder.updateColumnValue("balance", newBalance);
+                updateBuilder.updateColumnValue("balance_minor", minorUnits.toMinor(newBalance));
                 updateBuilder.updateColumnValue("updated_at", System.currentTimeMillis());
 
                 int result = updateBuilder.update();
@@ -135,29 +299,475 @@ public class PlayerEconomyDao {
     }
 
     /**
-     * Oyuncu hesabını siler
+     * Oyuncunun bakiyesinden tek bir koşullu UPDATE ile para çeker
+     * Okuma ve yazma veritabanında tek adımda yapılır, farklı thread'ler ve sunucular için güvenlidir
      * @param playerUUID Oyuncunun UUID'si
-     * @return CompletableFuture<Boolean>
+     * @param amount Çekilecek miktar
+     * @param minBalance İşlem sonrası izin verilen minimum bakiye
+     * @return CompletableFuture<Double> Yeni bakiye, yetersiz bakiye veya hesap yoksa null
      */
-    public CompletableFuture<Boolean> delete(UUID playerUUID) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<Double> withdrawDelta(UUID playerUUID, double amount, double minBalance) {
+        return supplyAsync(() -> applyDelta(playerUUID, -amount, minBalance, Double.MAX_VALUE));
+    }
+
+    /**
+     * Oyuncunun bakiyesine tek bir koşullu UPDATE ile para ekler
+     * @param playerUUID Oyuncunun UUID'si
+     * @param amount Eklenecek miktar
+     * @param maxBalance İşlem sonrası izin verilen maksimum bakiye
+     * @return CompletableFuture<Double> Yeni bakiye, limit aşıldıysa veya hesap yoksa null
+     */
+    public CompletableFuture<Double> depositDelta(UUID playerUUID, double amount, double maxBalance) {
+        return supplyAsync(() -> applyDelta(playerUUID, amount, -Double.MAX_VALUE, maxBalance));
+    }
+
+    private Double applyDelta(UUID playerUUID, double delta, double minBalance, double maxBalance) {
+        // Yeni bakiye UPDATE'in kendisinden döner, transaction gerekmez
+        try (Connection connection = databaseManager.getConnection()) {
+            return applyDeltaSync(connection, playerUUID, delta, minBalance, maxBalance);
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu bakiyesi güncellenemedi (delta: " + delta + "): " + playerUUID, e);
+            return null;
+        }
+    }
+
+    /**
+     * İki hesap arasında tek bir transaction içinde para transferi yapar.
+     * Satırlar UUID sırasına göre güncellenir; böylece ters yönde eşzamanlı transferler
+     * birbirini kilitleyemez (deadlock). Herhangi bir koşul sağlanmazsa transaction geri alınır.
+     * @param fromUUID Gönderen
+     * @param toUUID Alan
+     * @param amount Miktar
+     * @param minBalance Gönderenin işlem sonrası minimum bakiyesi
+     * @param maxBalance Alanın işlem sonrası maksimum bakiyesi
+     * @return CompletableFuture<double[]> {gönderenin yeni bakiyesi, alanın yeni bakiyesi}, reddedildiyse null
+     */
+    public CompletableFuture<double[]> transfer(UUID fromUUID, UUID toUUID, double amount,
+                                                double minBalance, double maxBalance) {
+        return supplyAsync(() -> transferSync(fromUUID, toUUID, amount, minBalance, maxBalance));
+    }
+
+    private double[] transferSync(UUID fromUUID, UUID toUUID, double amount, double minBalance, double maxBalance) {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
             try {
-                int result = dao.deleteById(playerUUID.toString());
-                return result > 0;
+                boolean fromFirst = ROW_ORDER.compare(fromUUID, toUUID) < 0;
+                Double first = fromFirst
+                        ? applyDeltaSync(connection, fromUUID, -amount, minBalance, Double.MAX_VALUE)
+                        : applyDeltaSync(connection, toUUID, amount, -Double.MAX_VALUE, maxBalance);
+                Double second = null;
+                if (first != null) {
+                    second = fromFirst
+                            ? applyDeltaSync(connection, toUUID, amount, -Double.MAX_VALUE, maxBalance)
+                            : applyDeltaSync(connection, fromUUID, -amount, minBalance, Double.MAX_VALUE);
+                }
+
+                if (second == null) {
+                    connection.rollback();
+                    return null;
+                }
+                connection.commit();
+                return fromFirst ? new double[]{first, second} : new double[]{second, first};
             } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Oyuncu hesabı silinemedi: " + playerUUID, e);
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Transfer başarısız: " + fromUUID + " -> " + toUUID + " (" + amount + ")", e);
+            return null;
+        }
+    }
+
+    /**
+     * Verilen bağlantı üzerinde koşullu delta güncellemesi yapar. Yeni bakiye UPDATE'in yazdığı
+     * değerdir: SQLite'ta RETURNING ile, MySQL'de UPDATE içinde atanan oturum değişkeninden okunur.
+     * @param connection JDBC bağlantısı
+     * @param playerUUID Oyuncunun UUID'si
+     * @param delta Bakiyeye eklenecek miktar (negatif ise çekme)
+     * @param minBalance İşlem sonrası minimum bakiye
+     * @param maxBalance İşlem sonrası maksimum bakiye
+     * @return Yeni bakiye, koşul sağlanmadıysa veya hesap yoksa null
+     * @throws SQLException
+     */
+    public Double applyDeltaSync(Connection connection, UUID playerUUID, double delta,
+                                 double minBalance, double maxBalance) throws SQLException {
+        boolean sqlite = isSQLite();
+        // MySQL'de yeni değer oturum değişkenine atanır; satır tekrar okunmaz
+        String assigned = sqlite ? "" : "@new_balance := ";
+
+        // SET sırası önemli: MySQL atamaları soldan sağa güncel değerle değerlendirir,
+        // bu yüzden türetilen kolon her zaman önce yazılır
+        String update;
+        String returning;
+        if (fixedPoint) {
+            update = "UPDATE player_economy SET balance = (balance_minor + ?) / ?, balance_minor = (" + assigned + "balance_minor + ?), updated_at = ? " +
+                    "WHERE player_uuid = ? AND balance_minor + ? >= ? AND balance_minor + ? <= ?";
+            returning = "balance_minor";
+        } else {
+            update = "UPDATE player_economy SET balance_minor = ROUND((balance + ?) * ?), balance = (" + assigned + "balance + ?), updated_at = ? " +
+                    "WHERE player_uuid = ? AND balance + ? >= ? AND balance + ? <= ?";
+            returning = "balance";
+        }
+
+        if (sqlite) {
+            // SQLite 3.35+ RETURNING ile yeni bakiye tek round trip'te döner
+            try (PreparedStatement statement = connection.prepareStatement(update + " RETURNING " + returning)) {
+                bindDelta(statement, playerUUID, delta, minBalance, maxBalance);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? readBalance(resultSet) : null;
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(update)) {
+            bindDelta(statement, playerUUID, delta, minBalance, maxBalance);
+            // Satır güncellenmediyse değişken bu bağlantının önceki bir değerini taşır, okunmaz
+            if (statement.executeUpdate() == 0) {
+                return null;
+            }
+        }
+
+        // Tabloya dokunmayan, satır kilidi beklemeyen sorgu; değişken bağlantıya özeldir
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT @new_balance")) {
+            return resultSet.next() ? readBalance(resultSet) : null;
+        }
+    }
+
+    private double readBalance(ResultSet resultSet) throws SQLException {
+        return fixedPoint ? minorUnits.toMajor(resultSet.getLong(1)) : resultSet.getDouble(1);
+    }
+
+    private void bindDelta(PreparedStatement statement, UUID playerUUID, double delta,
+                           double minBalance, double maxBalance) throws SQLException {
+        if (fixedPoint) {
+            // Tüm aritmetik veritabanında tam sayı üzerinde yapılır
+            long deltaMinor = minorUnits.toMinor(delta);
+            statement.setLong(1, deltaMinor);
+            statement.setDouble(2, minorUnits.getScale());
+            statement.setLong(3, deltaMinor);
+            statement.setLong(4, System.currentTimeMillis());
+            statement.setString(5, playerUUID.toString());
+            statement.setLong(6, deltaMinor);
+            statement.setLong(7, minorUnits.toMinor(minBalance));
+            statement.setLong(8, deltaMinor);
+            statement.setLong(9, minorUnits.toMinor(maxBalance));
+            return;
+        }
+
+        statement.setDouble(1, delta);
+        statement.setDouble(2, minorUnits.getScale());
+        statement.setDouble(3, delta);
+        statement.setLong(4, System.currentTimeMillis());
+        statement.setString(5, playerUUID.toString());
+        statement.setDouble(6, delta);
+        statement.setDouble(7, minBalance);
+        statement.setDouble(8, delta);
+        statement.setDouble(9, maxBalance);
+    }
+
+    private boolean isSQLite() {
+        return databaseManager.getCurrentDatabaseType() == DatabaseManager.DatabaseType.SQLITE;
+    }
+
+    /**
+     * Birden fazla hesabı tek transaction içinde oku-hesapla-yaz şeklinde günceller.
+     * Satırlar birincil anahtar sırasıyla kilitlenir (MySQL'de SELECT ... FOR UPDATE), güncel
+     * bakiyeler planlayıcıya verilir ve dönen yeni bakiyeler tek bir JDBC batch ile yazılır.
+     * @param accounts Etkilenecek hesaplar
+     * @param planner Güncel bakiyeler (sadece var olan hesaplar) -> yazılacak yeni bakiyeler
+     * @return CompletableFuture<Boolean> Transaction commit edildiyse true
+     */
+    public CompletableFuture<Boolean> updateBalancesAtomically(Collection<UUID> accounts,
+                                                               Function<Map<UUID, Double>, Map<UUID, Double>> planner) {
+        return updateBalancesAtomically(accounts, planner, null);
+    }
+
+    /**
+     * updateBalancesAtomically ile aynıdır; faiz/vergi taramasının imleci de aynı transaction'da yazılır
+     * @param sweepState Yazılacak tarama imleci, null ise yazılmaz
+     */
+    public CompletableFuture<Boolean> updateBalancesAtomically(Collection<UUID> accounts,
+                                                               Function<Map<UUID, Double>, Map<UUID, Double>> planner,
+                                                               RateSweepState sweepState) {
+        return supplyAsync(() -> {
+            List<UUID> ordered = new ArrayList<>(accounts);
+            ordered.sort(ROW_ORDER);
+
+            try (Connection connection = databaseManager.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    Map<UUID, Double> current = lockBalances(connection, ordered);
+                    Map<UUID, Double> updates = planner.apply(current);
+                    if (updates != null && !updates.isEmpty()) {
+                        writeBalances(connection, updates);
+                    }
+                    if (sweepState != null) {
+                        writeSweepState(connection, sweepState);
+                    }
+                    connection.commit();
+                    return true;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Toplu hesap güncellemesi başarısız! Hesap sayısı: " + accounts.size(), e);
                 return false;
             }
         });
     }
 
+    private Map<UUID, Double> lockBalances(Connection connection, List<UUID> ordered) throws SQLException {
+        Map<UUID, Double> balances = new HashMap<>();
+        String column = fixedPoint ? "balance_minor" : "balance";
+        for (int start = 0; start < ordered.size(); start += SELECT_CHUNK_SIZE) {
+            List<UUID> chunk = ordered.subList(start, Math.min(ordered.size(), start + SELECT_CHUNK_SIZE));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            String sql = "SELECT " + column + ", player_uuid FROM player_economy WHERE player_uuid IN (" + placeholders + ")"
+                    + " ORDER BY player_uuid" + (isSQLite() ? "" : " FOR UPDATE");
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i).toString());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        balances.put(UUID.fromString(resultSet.getString(2)), readBalance(resultSet));
+                    }
+                }
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * @return Satırı bulunamayan (güncellenmeyen) hesaplar
+     */
+    private Set<UUID> writeBalances(Connection connection, Map<UUID, Double> balances) throws SQLException {
+        TreeMap<UUID, Double> ordered = new TreeMap<>(ROW_ORDER);
+        ordered.putAll(balances);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE player_economy SET balance = ?, balance_minor = ?, updated_at = ? WHERE player_uuid = ?")) {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<UUID, Double> entry : ordered.entrySet()) {
+                statement.setDouble(1, entry.getValue());
+                statement.setLong(2, minorUnits.toMinor(entry.getValue()));
+                statement.setLong(3, now);
+                statement.setString(4, entry.getKey().toString());
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+
+            Set<UUID> missing = new HashSet<>();
+            int index = 0;
+            for (UUID playerUUID : ordered.keySet()) {
+                // Sürücü sayı döndürmüyorsa (SUCCESS_NO_INFO) satır güncellendi kabul edilir
+                if (index < counts.length && counts[index] == 0) {
+                    missing.add(playerUUID);
+                }
+                index++;
+            }
+            return missing;
+        }
+    }
+
+    /**
+     * Birden fazla oyuncunun bakiyesini tek bir JDBC batch transaction'ı ile asenkron günceller
+     * @param balances UUID -> yeni bakiye
+     * @return CompletableFuture<Boolean> Transaction commit edildiyse true
+     */
+    public CompletableFuture<Boolean> updateBalancesBatch(Map<UUID, Double> balances) {
+        return supplyAsync(() -> updateBalancesBatchSync(balances));
+    }
+
+    /**
+     * updateBalancesBatch ile aynıdır; faiz/vergi taramasının imleci de aynı transaction'da yazılır
+     * @param sweepState Yazılacak tarama imleci, null ise yazılmaz
+     */
+    public CompletableFuture<Boolean> updateBalancesBatch(Map<UUID, Double> balances, RateSweepState sweepState) {
+        return supplyAsync(() -> updateBalancesBatchSync(balances, sweepState));
+    }
+
+    /**
+     * Birden fazla oyuncunun bakiyesini tek bir JDBC batch transaction'ı ile günceller (senkron)
+     * Write-behind flush'ı için kullanılır, ana thread'de çağrılmamalı.
+     * Satırlar UUID sırasına göre güncellenir (transferlerle aynı kilit sırası).
+     * @param balances UUID -> yeni bakiye
+     * @return Transaction commit edildiyse true
+     */
+    public boolean updateBalancesBatchSync(Map<UUID, Double> balances) {
+        return updateBalancesBatchSync(balances, null);
+    }
+
+    /**
+     * updateBalancesBatchSync ile aynıdır; faiz/vergi taramasının imleci de aynı transaction'da yazılır
+     * @param sweepState Yazılacak tarama imleci, null ise yazılmaz
+     */
+    public boolean updateBalancesBatchSync(Map<UUID, Double> balances, RateSweepState sweepState) {
+        if (balances.isEmpty() && sweepState == null) {
+            return true;
+        }
+
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                if (!balances.isEmpty()) {
+                    writeBalances(connection, balances);
+                }
+                if (sweepState != null) {
+                    writeSweepState(connection, sweepState);
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Toplu bakiye güncellemesi başarısız! Hesap sayısı: " + balances.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Birden fazla çağıranın bakiye yazmalarını tek transaction ile commit eder (group commit, senkron)
+     * @param balances UUID -> yeni bakiye
+     * @return Satırı bulunamayan hesaplar, transaction başarısız olursa null
+     */
+    public Set<UUID> commitBalancesSync(Map<UUID, Double> balances) {
+        if (balances.isEmpty()) {
+            return Set.of();
+        }
+
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Set<UUID> missing = writeBalances(connection, balances);
+                connection.commit();
+                return missing;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Group commit başarısız! Hesap sayısı: " + balances.size(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Tarama imlecini verilen transaction içinde yazar (tabloda tek satır tutulur)
+     */
+    private void writeSweepState(Connection connection, RateSweepState sweepState) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM rate_sweep_state WHERE id = ?")) {
+            delete.setInt(1, RateSweepState.ROW_ID);
+            delete.executeUpdate();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO rate_sweep_state (id, sweep_id, after_uuid) VALUES (?, ?, ?)")) {
+            insert.setInt(1, RateSweepState.ROW_ID);
+            insert.setLong(2, sweepState.getSweepId());
+            insert.setString(3, sweepState.getAfterUUID());
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Faiz/vergi taramasının kayıtlı imlecini getirir
+     * @return CompletableFuture<RateSweepState>, kayıt yoksa null; hata durumunda exceptionally tamamlanır
+     */
+    public CompletableFuture<RateSweepState> getSweepState() {
+        return supplyAsync(() -> {
+            try (Connection connection = databaseManager.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT sweep_id, after_uuid FROM rate_sweep_state WHERE id = ?")) {
+                statement.setInt(1, RateSweepState.ROW_ID);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? new RateSweepState(resultSet.getLong(1), resultSet.getString(2)) : null;
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Tarama imleci okunamadı", e);
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Oyuncu hesabını siler
+     * @param playerUUID Oyuncunun UUID'si
+     * @return CompletableFuture<Double> Silinen satırın bakiyesi, hesap yoksa veya silinemediyse null
+     */
+    public CompletableFuture<Double> delete(UUID playerUUID) {
+        return supplyAsync(() -> {
+            String column = fixedPoint ? "balance_minor" : "balance";
+            try (Connection connection = databaseManager.getConnection()) {
+                if (isSQLite()) {
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "DELETE FROM player_economy WHERE player_uuid = ? RETURNING " + column)) {
+                        statement.setString(1, playerUUID.toString());
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            return resultSet.next() ? readBalance(resultSet) : null;
+                        }
+                    }
+                }
+
+                // MySQL: satır kilitlenir, silinmeden önce okunan bakiye silinenle aynıdır
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    Double balance = null;
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "SELECT " + column + " FROM player_economy WHERE player_uuid = ? FOR UPDATE")) {
+                        statement.setString(1, playerUUID.toString());
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            if (resultSet.next()) {
+                                balance = readBalance(resultSet);
+                            }
+                        }
+                    }
+                    if (balance != null) {
+                        try (PreparedStatement statement = connection.prepareStatement(
+                                "DELETE FROM player_economy WHERE player_uuid = ?")) {
+                            statement.setString(1, playerUUID.toString());
+                            if (statement.executeUpdate() == 0) {
+                                balance = null;
+                            }
+                        }
+                    }
+                    connection.commit();
+                    return balance;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Oyuncu hesabı silinemedi: " + playerUUID, e);
+                return null;
+            }
+        });
+    }
+
     /**
      * En zengin oyuncuları getirir
      * @param limit Limit (varsayılan 10)
      * @return CompletableFuture<List<PlayerEconomy>>
      */
     public CompletableFuture<List<PlayerEconomy>> getTopPlayers(int limit) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 QueryBuilder<PlayerEconomy, String> queryBuilder = dao.queryBuilder();
                 queryBuilder.orderBy("balance", false); // DESC
@@ -175,7 +785,7 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<Long>
      */
     public CompletableFuture<Long> getTotalPlayers() {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 return dao.countOf();
             } catch (SQLException e) {
@@ -192,7 +802,7 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<List<PlayerEconomy>>
      */
     public CompletableFuture<List<PlayerEconomy>> getPlayersByBalanceRange(double minBalance, double maxBalance) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 QueryBuilder<PlayerEconomy, String> queryBuilder = dao.queryBuilder();
                 queryBuilder.where()
@@ -207,12 +817,42 @@ public class PlayerEconomyDao {
         });
     }
 
+    /**
+     * Birincil anahtar sırasıyla bir sonraki hesap grubunu getirir (keyset sayfalama).
+     * Offset kullanılmadığı için her grup indeks üzerinden tek aralık okumasıdır.
+     * @param afterUUID  Bu anahtardan sonraki hesaplar, ilk grup için null
+     * @param limit      En fazla hesap sayısı
+     * @param minBalance Sadece bakiyesi bundan büyük hesaplar
+     * @return CompletableFuture<List<PlayerEconomy>>, hata durumunda exceptionally tamamlanır
+     */
+    public CompletableFuture<List<PlayerEconomy>> getAccountsAfter(String afterUUID, int limit, double minBalance) {
+        return supplyAsync(() -> {
+            try {
+                QueryBuilder<PlayerEconomy, String> queryBuilder = dao.queryBuilder();
+                if (afterUUID == null) {
+                    queryBuilder.where().gt("balance", minBalance);
+                } else {
+                    queryBuilder.where()
+                            .gt("player_uuid", afterUUID)
+                            .and()
+                            .gt("balance", minBalance);
+                }
+                queryBuilder.orderBy("player_uuid", true);
+                queryBuilder.limit((long) limit);
+                return queryBuilder.query();
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Hesap grubu getirilemedi: " + afterUUID, e);
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
     /**
      * Toplam ekonomik değeri hesaplar
      * @return CompletableFuture<Double>
      */
     public CompletableFuture<Double> getTotalEconomicValue() {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 QueryBuilder<PlayerEconomy, String> queryBuilder = dao.queryBuilder();
                 queryBuilder.selectRaw("SUM(balance)");
@@ -238,7 +878,7 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<List<PlayerEconomy>>
      */
     public CompletableFuture<List<PlayerEconomy>> getAllPlayers() {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 return dao.queryForAll();
             } catch (SQLException e) {
@@ -254,7 +894,7 @@ public class PlayerEconomyDao {
      * @return CompletableFuture<List<PlayerEconomy>>
      */
     public CompletableFuture<List<PlayerEconomy>> getInactivePlayers(long inactiveTimeMillis) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 long cutoffTime = System.currentTimeMillis() - inactiveTimeMillis;
                 QueryBuilder<PlayerEconomy, String> queryBuilder = dao.queryBuilder();
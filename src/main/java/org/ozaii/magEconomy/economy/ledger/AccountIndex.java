@@ -0,0 +1,105 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Veritabanında hesabı olan UUID'lerin kompakt kümesi.
+ *
+ * UUID'ler iki paralel long dizisinde açık adresleme (linear probing) ile tutulur; hesap başına
+ * yaklaşık 24-48 byte yer kaplar ve nesne oluşturmaz. Küme başlangıçta veritabanından yüklenir,
+ * hesap oluşturma ve silme ile güncel tutulur. Yüklenene kadar hiçbir sorguya kesin cevap vermez.
+ *
+ * Okumalar paylaşımlı, yazmalar özel kilit altında yapılır.
+ */
+public final class AccountIndex {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final UuidSlots slots = new UuidSlots(MIN_CAPACITY, UuidSlots.NO_VALUES);
+    private volatile boolean loaded;
+
+    /**
+     * Küme veritabanından tamamen yüklendiyse true; aksi halde negatif cevaplar kesin değildir
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Kümeyi boşaltır ve yüklenmemiş duruma döndürür
+     */
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            slots.reset(MIN_CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID playerUUID) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        lock.readLock().lock();
+        try {
+            return slots.find(hi, lo) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(UUID playerUUID) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        lock.writeLock().lock();
+        try {
+            if (slots.find(hi, lo) < 0) {
+                slots.insert(hi, lo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID playerUUID) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        lock.writeLock().lock();
+        try {
+            int slot = slots.find(hi, lo);
+            if (slot >= 0) {
+                slots.remove(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Yaklaşık bellek kullanımı (byte)
+     */
+    public long estimateMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slots.capacity() * (8 + 8 + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
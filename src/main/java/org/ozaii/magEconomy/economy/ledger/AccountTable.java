@@ -0,0 +1,573 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UUID anahtarlı, primitive dizilerle tutulan eşzamanlı hesap tablosu.
+ *
+ * UUID'nin iki long'u doğrudan anahtar olarak saklanır (UUID nesnesi, Long timestamp
+ * veya PlayerEconomy tutulmaz). Tablo, her biri kendi kilidine sahip segmentlere
+ * bölünmüştür; her segment lineer probing ile açık adresleme yapan küçük bir hash
+ * tablosudur ({@link UuidSlots}). Aynı hesaba yapılan tüm işlemler aynı segment kilidi altında yapılır,
+ * farklı segmentlerdeki hesaplar birbirini bekletmez.
+ *
+ * Bakiye, tablo tarafından yorumlanmayan bir long olarak saklanır; fixed-point
+ * modunda en küçük birim, diğer durumda double'ın bit karşılığıdır.
+ *
+ * Tablo boyutu sınırlanabilir. Sınır segment başına uygulanır: dolu bir segmente
+ * yeni hesap eklenirken CLOCK ile bir kurban seçilir ve TinyLFU frekans tahmini
+ * yeni hesabın kurbandan daha sık erişildiğini gösteriyorsa kurban çıkarılır.
+ * Yazılmamış değişikliği olan ve sabitlenmiş (pinned, örn. online oyuncu) hesaplar
+ * hiçbir zaman çıkarılmaz.
+ */
+public final class AccountTable {
+
+    public static final int FLAG_PRESENT = 1;
+    public static final int FLAG_DIRTY = 1 << 1;
+    public static final int FLAG_FLUSHING = 1 << 2;
+    public static final int FLAG_REFERENCED = 1 << 3;
+    public static final int FLAG_PINNED = 1 << 4;
+
+    private static final int NOT_EVICTABLE = FLAG_DIRTY | FLAG_FLUSHING | FLAG_PINNED;
+
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+    private final AtomicInteger pinnedCount = new AtomicInteger();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private volatile int maximumSize;
+
+    /**
+     * @param minSegments Minimum segment sayısı (2'nin kuvvetine yuvarlanır)
+     */
+    public AccountTable(int minSegments) {
+        int count = Integer.highestOneBit(Math.max(1, minSegments - 1)) << 1;
+        this.segments = new Segment[count];
+        this.segmentMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Tablonun maksimum hesap sayısını ayarlar
+     * @param maximumSize Maksimum hesap sayısı, 0 veya negatifse sınırsız
+     */
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+        int perSegment = this.maximumSize == 0 ? 0 : Math.max(1, (this.maximumSize + segments.length - 1) / segments.length);
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                segment.limit = perSegment;
+                segment.sketch = perSegment == 0 ? null : new FrequencySketch(perSegment);
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Süresi dolmuş ve yazılmamış değişikliği olmayan hesapları tablodan çıkarır
+     * @param now    Şu anki zaman
+     * @param maxAge Maksimum yaş (milisaniye)
+     * @return çıkarılan hesap sayısı
+     */
+    public int expire(long now, long maxAge) {
+        int removed = 0;
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                removed += segment.expire(now, maxAge);
+            } finally {
+                segment.unlock();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Sabitlenmiş hesap sayısı
+     * @return pinned hesap sayısı
+     */
+    public int getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    /**
+     * İşlemci sayısına göre ölçeklenen varsayılan tablo
+     * @return AccountTable
+     */
+    public static AccountTable forAvailableProcessors() {
+        return new AccountTable(Math.max(64, Runtime.getRuntime().availableProcessors() * 16));
+    }
+
+    /**
+     * Hesabın bulunduğu segmenti döndürür. Segment üzerindeki tüm işlemler
+     * segment kilitliyken yapılmalıdır.
+     * @param playerUUID Oyuncunun UUID'si
+     * @return Segment
+     */
+    public Segment segmentFor(UUID playerUUID) {
+        return segments[segmentIndexFor(playerUUID)];
+    }
+
+    /**
+     * Hesabın segment numarası. Birden fazla segment kilitlenecekse kilitler
+     * bu numaraya göre artan sırada alınmalıdır (deadlock önlemi).
+     * @param playerUUID Oyuncunun UUID'si
+     * @return segment numarası
+     */
+    public int segmentIndexFor(UUID playerUUID) {
+        long hash = hash(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits());
+        return (int) (hash >>> 32) & segmentMask;
+    }
+
+    public Segment segmentAt(int index) {
+        return segments[index];
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Toplam hesap sayısı (segmentler tek tek kilitlenerek toplanır)
+     * @return hesap sayısı
+     */
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                total += segment.size();
+            } finally {
+                segment.unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Veritabanına yazılmamış değişikliği olan hesap sayısı
+     * @return dirty hesap sayısı
+     */
+    public int getDirtyCount() {
+        return dirtyCount.get();
+    }
+
+    /**
+     * Tablodaki tüm hesapların kapladığı yaklaşık bellek (byte)
+     * @return byte cinsinden bellek
+     */
+    public long estimateMemoryBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                // 4 long dizi + 1 int dizi + 1 boolean dizi + 1 referans dizisi (sıkıştırılmış referans)
+                total += (long) segment.capacity() * (4 * Long.BYTES + Integer.BYTES + 1 + 4);
+            } finally {
+                segment.unlock();
+            }
+        }
+        return total;
+    }
+
+    static long hash(long mostSignificantBits, long leastSignificantBits) {
+        long hash = mostSignificantBits ^ leastSignificantBits;
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+
+    /**
+     * Tablonun kilitli bir bölümü. Slot indeksleri sadece kilit tutulduğu sürece geçerlidir.
+     */
+    public final class Segment extends ReentrantLock {
+
+        private final UuidSlots slots;
+        private long[] balances;
+        private long[] timestamps;
+        private int[] flags;
+        private String[] names;
+        private int dirty;
+        private long dirtySince;
+        private int limit;
+        private int clockHand;
+        private FrequencySketch sketch;
+
+        private Segment() {
+            allocate(INITIAL_SEGMENT_CAPACITY);
+            slots = new UuidSlots(INITIAL_SEGMENT_CAPACITY, new SlotValues());
+        }
+
+        private void allocate(int capacity) {
+            balances = new long[capacity];
+            timestamps = new long[capacity];
+            flags = new int[capacity];
+            names = new String[capacity];
+        }
+
+        /**
+         * Hesabın slotunu bulur
+         * @param playerUUID Oyuncunun UUID'si
+         * @return slot indeksi veya yoksa -1
+         */
+        public int find(UUID playerUUID) {
+            return slots.find(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits());
+        }
+
+        /**
+         * Hesabı bulur ve erişimi kaydeder (frekans tahmini ve CLOCK referans biti)
+         * @param playerUUID Oyuncunun UUID'si
+         * @return slot indeksi veya yoksa -1
+         */
+        public int lookup(UUID playerUUID) {
+            if (sketch != null) {
+                sketch.increment(hash(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits()));
+            }
+            int slot = find(playerUUID);
+            if (slot >= 0) {
+                flags[slot] |= FLAG_REFERENCED;
+            }
+            return slot;
+        }
+
+        /**
+         * Hesap yoksa ekler, varsa mevcut slotu döndürür (mevcut değerler korunur).
+         * Segment doluysa admission kararına bakılmaksızın bir kurban çıkarılır.
+         * @return slot indeksi
+         */
+        public int putIfAbsent(UUID playerUUID, String playerName, long balance, long timestamp) {
+            return insert(playerUUID, playerName, balance, timestamp, true);
+        }
+
+        /**
+         * Hesap yoksa TinyLFU admission kararına göre ekler
+         * @return slot indeksi veya hesap kabul edilmediyse -1
+         */
+        public int tryPutIfAbsent(UUID playerUUID, String playerName, long balance, long timestamp) {
+            return insert(playerUUID, playerName, balance, timestamp, false);
+        }
+
+        private int insert(UUID playerUUID, String playerName, long balance, long timestamp, boolean force) {
+            int existing = find(playerUUID);
+            if (existing >= 0) {
+                return existing;
+            }
+
+            if (limit > 0 && slots.size() >= limit) {
+                int victim = selectVictim();
+                if (victim >= 0) {
+                    long candidateHash = hash(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits());
+                    if (!force && sketch.frequency(candidateHash) <= sketch.frequency(hash(slots.hiAt(victim), slots.loAt(victim)))) {
+                        rejections.increment();
+                        return -1;
+                    }
+                    remove(victim);
+                    evictions.increment();
+                }
+                // Kurban yoksa (tüm hesaplar dirty) sınır geçici olarak aşılır
+            }
+
+            int slot = slots.insert(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits());
+            balances[slot] = balance;
+            timestamps[slot] = timestamp;
+            flags[slot] = FLAG_PRESENT;
+            names[slot] = playerName;
+            return slot;
+        }
+
+        /**
+         * Slotu siler (backward-shift deletion, mezar taşı bırakmaz)
+         * @param slot Silinecek slot
+         */
+        public void remove(int slot) {
+            if ((flags[slot] & FLAG_DIRTY) != 0) {
+                clearDirtyCount();
+            }
+            if ((flags[slot] & FLAG_PINNED) != 0) {
+                pinnedCount.decrementAndGet();
+            }
+            slots.remove(slot);
+        }
+
+        /**
+         * CLOCK ile çıkarılacak hesabı seçer: referans biti olan hesaplara ikinci şans verilir,
+         * yazılmamış değişikliği olan ve sabitlenmiş hesaplar atlanır
+         * @return kurban slot veya uygun hesap yoksa -1
+         */
+        private int selectVictim() {
+            int capacity = slots.capacity();
+            for (int i = 0; i < capacity * 2; i++) {
+                int slot = clockHand;
+                clockHand = (clockHand + 1) & (capacity - 1);
+                int slotFlags = flags[slot];
+                if ((slotFlags & FLAG_PRESENT) == 0 || (slotFlags & NOT_EVICTABLE) != 0) {
+                    continue;
+                }
+                if ((slotFlags & FLAG_REFERENCED) != 0) {
+                    flags[slot] = slotFlags & ~FLAG_REFERENCED;
+                    continue;
+                }
+                return slot;
+            }
+            return -1;
+        }
+
+        private int expire(long now, long maxAge) {
+            int removed = 0;
+            int slot = 0;
+            while (slot < slots.capacity()) {
+                if ((flags[slot] & FLAG_PRESENT) != 0
+                        && (flags[slot] & NOT_EVICTABLE) == 0
+                        && now - timestamps[slot] > maxAge) {
+                    // Backward shift sonraki bir hesabı bu slota taşıyabilir, slot tekrar kontrol edilir
+                    remove(slot);
+                    removed++;
+                    continue;
+                }
+                slot++;
+            }
+            if (removed > 0) {
+                expirations.add(removed);
+            }
+            return removed;
+        }
+
+        /**
+         * Anahtarlar taşındıkça veya tablo büyüdükçe hesap verilerini de taşır
+         */
+        private final class SlotValues implements UuidSlots.Values {
+
+            @Override
+            public void resize(int capacity, int[] moves) {
+                long[] oldBalances = balances;
+                long[] oldTimestamps = timestamps;
+                int[] oldFlags = flags;
+                String[] oldNames = names;
+
+                allocate(capacity);
+                clockHand = 0;
+                for (int i = 0; i < moves.length; i++) {
+                    int slot = moves[i];
+                    if (slot >= 0) {
+                        balances[slot] = oldBalances[i];
+                        timestamps[slot] = oldTimestamps[i];
+                        flags[slot] = oldFlags[i];
+                        names[slot] = oldNames[i];
+                    }
+                }
+            }
+
+            @Override
+            public void move(int from, int to) {
+                balances[to] = balances[from];
+                timestamps[to] = timestamps[from];
+                flags[to] = flags[from];
+                names[to] = names[from];
+            }
+
+            @Override
+            public void clear(int slot) {
+                flags[slot] = 0;
+                names[slot] = null;
+            }
+        }
+
+        /**
+         * Segmentteki tüm hesapları siler
+         */
+        public void clear() {
+            if (dirty > 0) {
+                dirtyCount.addAndGet(-dirty);
+            }
+            for (int flag : flags) {
+                if ((flag & FLAG_PINNED) != 0) {
+                    pinnedCount.decrementAndGet();
+                }
+            }
+            allocate(INITIAL_SEGMENT_CAPACITY);
+            slots.reset(INITIAL_SEGMENT_CAPACITY);
+            clockHand = 0;
+            dirty = 0;
+            dirtySince = 0;
+        }
+
+        public boolean isPresent(int slot) {
+            return (flags[slot] & FLAG_PRESENT) != 0;
+        }
+
+        public UUID uuidAt(int slot) {
+            return slots.uuidAt(slot);
+        }
+
+        public String nameAt(int slot) {
+            return names[slot];
+        }
+
+        public long balanceAt(int slot) {
+            return balances[slot];
+        }
+
+        public void setBalance(int slot, long balance) {
+            balances[slot] = balance;
+        }
+
+        public long timestampAt(int slot) {
+            return timestamps[slot];
+        }
+
+        public void touch(int slot, long timestamp) {
+            timestamps[slot] = timestamp;
+        }
+
+        public int flagsAt(int slot) {
+            return flags[slot];
+        }
+
+        public boolean isDirty(int slot) {
+            return (flags[slot] & FLAG_DIRTY) != 0;
+        }
+
+        /**
+         * Hesabın veritabanına yazılmamış veya yazılmakta olan değişikliği var mı?
+         * Bu hesaplar tablodan düşürülmemelidir.
+         */
+        public boolean hasUnflushedChanges(int slot) {
+            return (flags[slot] & (FLAG_DIRTY | FLAG_FLUSHING)) != 0;
+        }
+
+        /**
+         * Hesap tablodan çıkarılabilir mi? (dirty, flush'ta veya sabitlenmiş değil)
+         */
+        public boolean isEvictable(int slot) {
+            return (flags[slot] & NOT_EVICTABLE) == 0;
+        }
+
+        public boolean isPinned(int slot) {
+            return (flags[slot] & FLAG_PINNED) != 0;
+        }
+
+        /**
+         * Hesabı sabitler; sabitlenen hesap süre dolumu veya boyut sınırı ile çıkarılmaz
+         */
+        public void pin(int slot) {
+            if ((flags[slot] & FLAG_PINNED) == 0) {
+                flags[slot] |= FLAG_PINNED;
+                pinnedCount.incrementAndGet();
+            }
+        }
+
+        public void unpin(int slot) {
+            if ((flags[slot] & FLAG_PINNED) != 0) {
+                flags[slot] &= ~FLAG_PINNED;
+                pinnedCount.decrementAndGet();
+            }
+        }
+
+        /**
+         * Hesabı dirty olarak işaretler
+         * @param slot Slot
+         * @param now Şu anki zaman (flush gecikmesi ölçümü için)
+         */
+        public void markDirty(int slot, long now) {
+            if ((flags[slot] & FLAG_DIRTY) != 0) {
+                return;
+            }
+            flags[slot] |= FLAG_DIRTY;
+            if (dirty++ == 0) {
+                dirtySince = now;
+            }
+            dirtyCount.incrementAndGet();
+        }
+
+        /**
+         * Dirty hesabı flush'a alır: DIRTY kalkar, yazma bitene kadar FLUSHING kalır
+         */
+        public void beginFlush(int slot) {
+            flags[slot] = (flags[slot] & ~FLAG_DIRTY) | FLAG_FLUSHING;
+            clearDirtyCount();
+        }
+
+        /**
+         * Flush sonucunu uygular. Başarısızsa hesap tekrar dirty olur.
+         */
+        public void endFlush(int slot, boolean success, long now) {
+            flags[slot] &= ~FLAG_FLUSHING;
+            if (!success) {
+                markDirty(slot, now);
+            }
+        }
+
+        /**
+         * Write-through yazması başladı: yazma bitene kadar hesap tablodan çıkarılmaz
+         */
+        public void beginWrite(int slot) {
+            flags[slot] |= FLAG_FLUSHING;
+        }
+
+        public void endWrite(int slot) {
+            flags[slot] &= ~FLAG_FLUSHING;
+        }
+
+        private void clearDirtyCount() {
+            dirty--;
+            dirtyCount.decrementAndGet();
+        }
+
+        public int getDirty() {
+            return dirty;
+        }
+
+        public long getDirtySince() {
+            return dirtySince;
+        }
+
+        public int capacity() {
+            return slots.capacity();
+        }
+
+        public int size() {
+            return slots.size();
+        }
+
+        @Override
+        public String toString() {
+            return "Segment{size=" + slots.size() + ", capacity=" + slots.capacity() + ", dirty=" + dirty + "}";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AccountTable{segments=" + segments.length + ", size=" + size() + ", dirty=" + dirtyCount.get()
+                + ", pinned=" + pinnedCount.get() + "}";
+    }
+}
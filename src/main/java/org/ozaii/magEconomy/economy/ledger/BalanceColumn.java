@@ -0,0 +1,385 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Ana bakiyenin dışındaki bir bakiye türünün (dünya grubu, para birimi) tüm oyunculardaki değerleri.
+ *
+ * Her tür ayrı bir sütun olarak tutulur: UUID -> en küçük birim cinsinden bakiye, paralel primitive
+ * dizilerde açık adresleme ile. Hesap başına nesne oluşmaz; bir tür eklemek sadece o türde bakiyesi
+ * olan oyuncular kadar yer kaplar. Segment kilitleri altında aynı hesaba yapılan değişiklikler atomiktir.
+ *
+ * Değişen hesaplar dirty olarak işaretlenir ve {@link #drainDirty()} ile toplu yazılır.
+ */
+public final class BalanceColumn {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final String key;
+    private final Segment[] segments;
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+    private final WriteSlot writeSlot = new WriteSlot();
+    private volatile boolean loaded;
+
+    private static final class Segment implements UuidSlots.Values {
+        final ReentrantLock lock = new ReentrantLock();
+        final UuidSlots slots;
+        long[] values;
+        boolean[] dirty;
+
+        Segment(int capacity) {
+            values = new long[capacity];
+            dirty = new boolean[capacity];
+            slots = new UuidSlots(capacity, this);
+        }
+
+        int find(long hi, long lo) {
+            return slots.find(hi, lo);
+        }
+
+        int insert(long hi, long lo, long value) {
+            int slot = slots.insert(hi, lo);
+            values[slot] = value;
+            return slot;
+        }
+
+        @Override
+        public void resize(int capacity, int[] moves) {
+            long[] oldValues = values;
+            boolean[] oldDirty = dirty;
+            values = new long[capacity];
+            dirty = new boolean[capacity];
+            for (int i = 0; i < moves.length; i++) {
+                if (moves[i] >= 0) {
+                    values[moves[i]] = oldValues[i];
+                    dirty[moves[i]] = oldDirty[i];
+                }
+            }
+        }
+
+        @Override
+        public void move(int from, int to) {
+            values[to] = values[from];
+            dirty[to] = dirty[from];
+        }
+
+        @Override
+        public void clear(int slot) {
+            values[slot] = 0;
+            dirty[slot] = false;
+        }
+    }
+
+    public BalanceColumn(String key) {
+        this.key = key;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(MIN_SEGMENT_CAPACITY);
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Sütun veritabanından tamamen yüklendiyse true. Yüklenmeden yapılan işlemler reddedilmelidir.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    private Segment segmentFor(long hi, long lo) {
+        return segments[segmentIndex(hi, lo)];
+    }
+
+    private static int segmentIndex(long hi, long lo) {
+        return (int) (AccountTable.hash(hi, lo) >>> 32) & (SEGMENT_COUNT - 1);
+    }
+
+    /**
+     * @param absent Oyuncunun bu sütunda kaydı yoksa dönecek değer
+     * @return Bakiye (en küçük birim)
+     */
+    public long get(UUID playerUUID, long absent) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        Segment segment = segmentFor(hi, lo);
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hi, lo);
+            return slot >= 0 ? segment.values[slot] : absent;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Bakiyeye delta ekler. Sonuç [min, max] aralığı dışına çıkıyorsa değişiklik yapılmaz.
+     *
+     * @param absent Kayıt yoksa başlangıç bakiyesi
+     * @return Yeni bakiye, limit aşılıyorsa null
+     */
+    public Long add(UUID playerUUID, long delta, long min, long max, long absent) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        Segment segment = segmentFor(hi, lo);
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hi, lo);
+            long current = slot >= 0 ? segment.values[slot] : absent;
+            long updated;
+            try {
+                updated = Math.addExact(current, delta);
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            if (updated < min || updated > max) {
+                return null;
+            }
+            if (slot < 0) {
+                slot = segment.insert(hi, lo, updated);
+            } else {
+                segment.values[slot] = updated;
+            }
+            markDirtyLocked(segment, slot);
+            return updated;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Birden fazla hesabı tek adımda okur ve günceller. İlgili segmentler artan sırada kilitlenir
+     * (deadlock önlemi); planlayıcı çalışırken bu hesaplara başka işlem yapılamaz.
+     *
+     * @param accounts Etkilenecek hesaplar
+     * @param absent   Kaydı olmayan hesapların başlangıç bakiyesi
+     * @param planner  Güncel bakiyeler -> yazılacak yeni bakiyeler (boş ise değişiklik yapılmaz)
+     * @return Yazılan yeni bakiyeler
+     */
+    public Map<UUID, Long> applyBatch(Collection<UUID> accounts, long absent,
+                                      Function<Map<UUID, Long>, Map<UUID, Long>> planner) {
+        boolean[] involved = new boolean[SEGMENT_COUNT];
+        for (UUID playerUUID : accounts) {
+            involved[segmentIndex(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits())] = true;
+        }
+
+        int locked = 0;
+        int[] order = new int[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            if (involved[i]) {
+                segments[i].lock.lock();
+                order[locked++] = i;
+            }
+        }
+        try {
+            Map<UUID, Long> current = new LinkedHashMap<>();
+            for (UUID playerUUID : accounts) {
+                long hi = playerUUID.getMostSignificantBits();
+                long lo = playerUUID.getLeastSignificantBits();
+                Segment segment = segmentFor(hi, lo);
+                int slot = segment.find(hi, lo);
+                current.put(playerUUID, slot >= 0 ? segment.values[slot] : absent);
+            }
+
+            Map<UUID, Long> updates = planner.apply(current);
+            if (updates == null || updates.isEmpty()) {
+                return Map.of();
+            }
+            for (Map.Entry<UUID, Long> entry : updates.entrySet()) {
+                long hi = entry.getKey().getMostSignificantBits();
+                long lo = entry.getKey().getLeastSignificantBits();
+                Segment segment = segmentFor(hi, lo);
+                int slot = segment.find(hi, lo);
+                if (slot < 0) {
+                    slot = segment.insert(hi, lo, entry.getValue());
+                } else {
+                    segment.values[slot] = entry.getValue();
+                }
+                markDirtyLocked(segment, slot);
+            }
+            return updates;
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                segments[order[i]].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Sütundaki tüm kayıtları gezer. Segmentler sırayla kilitlenir, anlık görüntü tutarlı değildir.
+     */
+    public void forEach(ObjLongConsumer<UUID> consumer) {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                for (int slot = 0; slot < segment.slots.capacity(); slot++) {
+                    if (segment.slots.isUsed(slot)) {
+                        consumer.accept(segment.slots.uuidAt(slot), segment.values[slot]);
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Bakiyeyi doğrudan ayarlar
+     * @param dirty Değişiklik veritabanına yazılacaksa true (yüklemede false)
+     */
+    public void set(UUID playerUUID, long value, boolean dirty) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        Segment segment = segmentFor(hi, lo);
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hi, lo);
+            if (slot < 0) {
+                slot = segment.insert(hi, lo, value);
+            } else {
+                segment.values[slot] = value;
+            }
+            if (dirty) {
+                markDirtyLocked(segment, slot);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Yazılamayan bir hesabı tekrar dirty işaretler
+     */
+    public void markDirty(UUID playerUUID) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        Segment segment = segmentFor(hi, lo);
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hi, lo);
+            if (slot >= 0) {
+                markDirtyLocked(segment, slot);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private void markDirtyLocked(Segment segment, int slot) {
+        if (!segment.dirty[slot]) {
+            segment.dirty[slot] = true;
+            dirtyCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Dirty hesapların güncel bakiyelerini toplar ve işaretlerini temizler
+     * @return UUID -> bakiye (en küçük birim)
+     */
+    public Map<UUID, Long> drainDirty() {
+        Map<UUID, Long> batch = new LinkedHashMap<>();
+        if (dirtyCount.get() == 0) {
+            return batch;
+        }
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                for (int slot = 0; slot < segment.slots.capacity(); slot++) {
+                    if (segment.slots.isUsed(slot) && segment.dirty[slot]) {
+                        segment.dirty[slot] = false;
+                        dirtyCount.decrementAndGet();
+                        batch.put(segment.slots.uuidAt(slot), segment.values[slot]);
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Hesabı sütundan çıkarır (hesap silindiğinde)
+     */
+    public void remove(UUID playerUUID) {
+        long hi = playerUUID.getMostSignificantBits();
+        long lo = playerUUID.getLeastSignificantBits();
+        Segment segment = segmentFor(hi, lo);
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hi, lo);
+            if (slot < 0) {
+                return;
+            }
+            if (segment.dirty[slot]) {
+                dirtyCount.decrementAndGet();
+            }
+            segment.slots.remove(slot);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public int getDirtyCount() {
+        return dirtyCount.get();
+    }
+
+    public boolean tryBeginWrite() {
+        return writeSlot.tryAcquire();
+    }
+
+    /**
+     * Süren yazmanın bitmesini en fazla timeout kadar bekler (senkron flush için)
+     */
+    public boolean beginWrite(long timeout, TimeUnit unit) {
+        return writeSlot.acquire(timeout, unit);
+    }
+
+    public void endWrite() {
+        writeSlot.release();
+    }
+
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                total += segment.slots.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Yaklaşık bellek kullanımı (byte)
+     */
+    public long estimateMemoryBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                total += (long) segment.slots.capacity() * (8 + 8 + 8 + 1 + 1);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return total;
+    }
+}
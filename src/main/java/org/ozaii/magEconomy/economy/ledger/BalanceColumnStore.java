@@ -0,0 +1,254 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.economy.daos.ColumnBalanceDao;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Ana bakiye dışındaki bakiye sütunlarını (dünya grupları, para birimleri) yönetir.
+ *
+ * Sütunlar kayıt edilirken veritabanından akış halinde tamamen belleğe yüklenir. Yazmalar sütun
+ * başına birleştirilir: aynı anda en fazla bir batch yazma yapılır, bu sırada değişen hesaplar
+ * bir sonraki batch'e girer. Sütundaki değer her zaman en güncel bakiyedir, sıra karışmaz.
+ *
+ * Dayanıklılık: işlemler bellekten onaylanır ve journal'a yazılmaz. Başarısız bir batch artan
+ * aralıklarla (1 sn'den 30 sn'ye) yeni değişiklik beklemeden tekrar denenir; sunucu yazma
+ * başarılı olmadan çökerse son onaylanan değişiklikler kaybolabilir.
+ */
+public class BalanceColumnStore {
+
+    private final JavaPlugin plugin;
+    private final ColumnBalanceDao columnBalanceDao;
+    private final CompletableFuture<Void> tableReady;
+    private final Map<String, BalanceColumn> columns = new ConcurrentHashMap<>();
+    private final Map<String, MinorUnits> units = new ConcurrentHashMap<>();
+    // Başarısız yazması olan sütunların bir sonraki tekrar deneme aralığı
+    private final Map<String, Long> retryDelays = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retryScheduler;
+
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    // İstatistikler
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder writtenAccounts = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+
+    /**
+     * @param tableReady Sütun tablosu oluşturulunca tamamlanan future, yüklemeler bunu bekler
+     */
+    public BalanceColumnStore(JavaPlugin plugin, ColumnBalanceDao columnBalanceDao, CompletableFuture<Void> tableReady) {
+        this.plugin = plugin;
+        this.columnBalanceDao = columnBalanceDao;
+        this.tableReady = tableReady;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-ColumnRetry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sütunu kaydeder ve veritabanından yükler. Sütun zaten kayıtlıysa mevcut sütun döner.
+     *
+     * @param key        Sütun anahtarı
+     * @param minorUnits Sütunun birim dönüşümü
+     * @return Yükleme bitince tamamlanan CompletableFuture
+     */
+    public CompletableFuture<BalanceColumn> register(String key, MinorUnits minorUnits) {
+        BalanceColumn created = new BalanceColumn(key);
+        BalanceColumn existing = columns.putIfAbsent(key, created);
+        if (existing != null) {
+            return CompletableFuture.completedFuture(existing);
+        }
+        units.put(key, minorUnits);
+
+        return tableReady.thenCompose(ignored -> columnBalanceDao.forEachBalance(key,
+                (playerUUID, balance) -> created.set(playerUUID, minorUnits.toMinor(balance), false)
+        )).thenApply(count -> {
+            if (count < 0) {
+                plugin.getLogger().severe("Bakiye sütunu yüklenemedi, işlemler reddedilecek: " + key);
+            } else {
+                created.markLoaded();
+                plugin.getLogger().info("Bakiye sütunu yüklendi: " + key + " (" + count + " hesap)");
+            }
+            return created;
+        });
+    }
+
+    /**
+     * @return Kayıtlı sütun, yoksa null
+     */
+    public BalanceColumn get(String key) {
+        return columns.get(key);
+    }
+
+    public MinorUnits unitsOf(String key) {
+        return units.get(key);
+    }
+
+    /**
+     * Sütunda değişiklik olduğunu bildirir; yazma sürmüyorsa batch yazmayı başlatır
+     */
+    public void requestWrite(BalanceColumn column) {
+        if (column.tryBeginWrite()) {
+            writeColumn(column);
+        }
+    }
+
+    private void writeColumn(BalanceColumn column) {
+        Map<UUID, Long> batch = column.drainDirty();
+        if (batch.isEmpty()) {
+            column.endWrite();
+            // drainDirty ile endWrite arasında gelen değişiklik kaçırılmaz
+            if (column.getDirtyCount() > 0 && column.tryBeginWrite()) {
+                writeColumn(column);
+            }
+            return;
+        }
+
+        columnBalanceDao.writeBalances(column.getKey(), batch, units.get(column.getKey()))
+                .whenComplete((written, throwable) -> {
+                    boolean success = throwable == null && Boolean.TRUE.equals(written);
+                    if (success) {
+                        writes.increment();
+                        writtenAccounts.add(batch.size());
+                        retryDelays.remove(column.getKey());
+                    } else {
+                        batch.keySet().forEach(column::markDirty);
+                        failedWrites.increment();
+                    }
+                    column.endWrite();
+                    if (!success) {
+                        scheduleRetry(column);
+                    } else if (column.getDirtyCount() > 0 && column.tryBeginWrite()) {
+                        writeColumn(column);
+                    }
+                });
+    }
+
+    /**
+     * Başarısız yazmayı, yeni değişiklik beklemeden artan aralıklarla tekrar dener
+     */
+    private void scheduleRetry(BalanceColumn column) {
+        long delay = retryDelays.merge(column.getKey(), MIN_RETRY_DELAY_MILLIS,
+                (previous, ignored) -> Math.min(previous * 2, MAX_RETRY_DELAY_MILLIS));
+        plugin.getLogger().warning("Bakiye sütunu yazılamadı, " + delay + "ms sonra tekrar denenecek: " + column.getKey());
+        try {
+            retryScheduler.schedule(() -> {
+                // Sütun bu arada bırakıldıysa kapanış flush'ı yazar
+                if (columns.get(column.getKey()) == column && column.tryBeginWrite()) {
+                    writeColumn(column);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Kapanıyor; bekleyenler flushAll ile yazılır
+        }
+    }
+
+    /**
+     * Tekrar deneme zamanlayıcısını durdurur
+     */
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    /**
+     * Tüm sütunlardaki yazılmamış bakiyeleri senkron olarak yazar
+     */
+    public void flushAll() {
+        for (BalanceColumn column : columns.values()) {
+            flush(column);
+        }
+    }
+
+    private void flush(BalanceColumn column) {
+        if (column.getDirtyCount() == 0) {
+            return;
+        }
+        // Devam eden yazmanın bitmesi beklenir
+        if (!column.beginWrite(5, TimeUnit.SECONDS)) {
+            plugin.getLogger().severe("Bakiye sütunu yazılamadı (zaman aşımı): " + column.getKey());
+            return;
+        }
+        Map<UUID, Long> batch = column.drainDirty();
+        try {
+            if (!columnBalanceDao.writeBalances(column.getKey(), batch, units.get(column.getKey())).join()) {
+                batch.keySet().forEach(column::markDirty);
+                plugin.getLogger().severe("Bakiye sütunu yazılamadı: " + column.getKey());
+            }
+        } catch (Exception e) {
+            batch.keySet().forEach(column::markDirty);
+            plugin.getLogger().log(Level.SEVERE, "Bakiye sütunu yazılamadı: " + column.getKey(), e);
+        } finally {
+            column.endWrite();
+        }
+    }
+
+    /**
+     * Oyuncuyu tüm sütunlardan siler
+     */
+    public CompletableFuture<Boolean> deletePlayer(UUID playerUUID) {
+        for (BalanceColumn column : columns.values()) {
+            column.remove(playerUUID);
+        }
+        return columnBalanceDao.deletePlayer(playerUUID);
+    }
+
+    /**
+     * Sütunun bekleyen değişikliklerini yazar ve sütunu bırakır (ayarlar yeniden yüklenirken)
+     */
+    public void unregister(String key) {
+        BalanceColumn column = columns.get(key);
+        if (column == null) {
+            return;
+        }
+        flush(column);
+        columns.remove(key, column);
+        units.remove(key);
+    }
+
+    /**
+     * Yaklaşık bellek kullanımı (byte)
+     */
+    public long estimateMemoryBytes() {
+        long total = 0;
+        for (BalanceColumn column : columns.values()) {
+            total += column.estimateMemoryBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Sütun istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        int accounts = 0;
+        int pending = 0;
+        for (BalanceColumn column : columns.values()) {
+            accounts += column.size();
+            pending += column.getDirtyCount();
+        }
+        return String.format(
+                "Column Stats - Columns: %d, Entries: %d, Pending: %d, Writes: %d, Written Accounts: %d, Failed Writes: %d, Memory: ~%d KB",
+                columns.size(),
+                accounts,
+                pending,
+                writes.sum(),
+                writtenAccounts.sum(),
+                failedWrites.sum(),
+                estimateMemoryBytes() / 1024
+        );
+    }
+}
@@ -0,0 +1,222 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bakiyelerin logaritmik kovalara göre sayıldığı histogram (yaklaşık sıra ve yüzdelik).
+ *
+ * Her onluk (1-10, 10-100, ...) bucketsPerDecade eşit log genişlikte kovaya bölünür; 1'in
+ * altındaki bakiyeler ilk kovaya düşer. Kova sayıları bir Fenwick ağacında tutulur, böylece
+ * "bu bakiyenin altında kaç hesap var" ve "yüzde p'lik dilimin sınırı ne" soruları O(log kova)
+ * sürer. Bellek hesap sayısından bağımsızdır (kova başına 8 byte).
+ *
+ * Kova içindeki konum log ölçeğinde doğrusal varsayılır; hata en fazla bir kova genişliğidir.
+ * Güncellemeler kilitsizdir; eşzamanlı bir sorgu yarım uygulanmış bir güncellemeyi görebilir.
+ */
+public final class BalanceHistogram {
+
+    private final int bucketsPerDecade;
+    private final int bucketCount;
+    private volatile AtomicLongArray tree;
+    private volatile boolean loaded;
+
+    /**
+     * @param bucketsPerDecade Onluk başına kova sayısı (20 ile kova genişliği ~%12)
+     * @param maxBalance       Kapsanacak en yüksek bakiye, üstündekiler son kovaya düşer
+     */
+    public BalanceHistogram(int bucketsPerDecade, double maxBalance) {
+        this.bucketsPerDecade = Math.max(1, bucketsPerDecade);
+        int decades = (int) Math.ceil(Math.log10(Math.max(10.0, maxBalance))) + 1;
+        this.bucketCount = decades * this.bucketsPerDecade + 1;
+        this.tree = new AtomicLongArray(bucketCount + 1);
+    }
+
+    /**
+     * Histogram veritabanından tamamen yüklendiyse true
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Bakiyeleri toplamak için boş bir sayaç dizisi; dolduktan sonra {@link #replace} ile devreye alınır
+     */
+    public long[] newCounts() {
+        return new long[bucketCount];
+    }
+
+    /**
+     * Bakiyeyi sayaç dizisine ekler (yeniden oluşturma sırasında, tek thread)
+     */
+    public void count(long[] counts, double balance) {
+        counts[bucketOf(balance)]++;
+    }
+
+    /**
+     * Histogramı verilen kova sayılarıyla değiştirir ve yüklendi olarak işaretler
+     */
+    public void replace(long[] counts) {
+        // Fenwick ağacı O(kova) sürede kurulur
+        long[] built = new long[bucketCount + 1];
+        for (int i = 1; i <= bucketCount; i++) {
+            built[i] += counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= bucketCount) {
+                built[parent] += built[i];
+            }
+        }
+        this.tree = new AtomicLongArray(built);
+        this.loaded = true;
+    }
+
+    public void reset() {
+        this.tree = new AtomicLongArray(bucketCount + 1);
+        this.loaded = false;
+    }
+
+    public void add(double balance) {
+        update(bucketOf(balance), 1);
+    }
+
+    public void remove(double balance) {
+        update(bucketOf(balance), -1);
+    }
+
+    /**
+     * Hesabın bakiyesi değişti; kova değişmediyse hiçbir şey yapılmaz
+     */
+    public void move(double previousBalance, double balance) {
+        int from = bucketOf(previousBalance);
+        int to = bucketOf(balance);
+        if (from != to) {
+            AtomicLongArray current = tree;
+            update(current, from, -1);
+            update(current, to, 1);
+        }
+    }
+
+    public long getTotal() {
+        return Math.max(0, prefix(tree, bucketCount));
+    }
+
+    /**
+     * Bakiyenin altında kalan yaklaşık hesap sayısı
+     */
+    public double countBelow(double balance) {
+        AtomicLongArray current = tree;
+        int bucket = bucketOf(balance);
+        long below = Math.max(0, prefix(current, bucket));
+        long inBucket = Math.max(0, prefix(current, bucket + 1) - below);
+        return below + inBucket * positionInBucket(bucket, balance);
+    }
+
+    /**
+     * Bakiyenin yüzdelik dilimi: hesapların yüzde kaçı bu bakiyenin altında (0-100)
+     */
+    public double percentileOf(double balance) {
+        long total = getTotal();
+        if (total == 0) {
+            return 100.0;
+        }
+        return Math.min(100.0, countBelow(balance) * 100.0 / total);
+    }
+
+    /**
+     * Bakiyenin yaklaşık sırası (1 en zengin)
+     */
+    public long approximateRank(double balance) {
+        long total = getTotal();
+        return Math.max(1, Math.round(total - countBelow(balance)));
+    }
+
+    /**
+     * Hesapların yüzde percentile kadarının altında kaldığı yaklaşık bakiye
+     *
+     * @param percentile 0-100 arası (örneğin 97 = en zengin %3'ün alt sınırı)
+     */
+    public double balanceAt(double percentile) {
+        AtomicLongArray current = tree;
+        long total = Math.max(0, prefix(current, bucketCount));
+        if (total == 0) {
+            return 0.0;
+        }
+        double target = Math.max(0.0, Math.min(100.0, percentile)) / 100.0 * total;
+
+        // Fenwick üzerinde ikili arama: prefix toplamı target'ı geçmeyen en büyük kova sayısı
+        int position = 0;
+        double remaining = target;
+        for (int step = Integer.highestOneBit(bucketCount); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= bucketCount && current.get(next) < remaining) {
+                position = next;
+                remaining -= current.get(next);
+            }
+        }
+        int bucket = Math.min(position, bucketCount - 1);
+        long inBucket = Math.max(1, prefix(current, bucket + 1) - prefix(current, bucket));
+        return boundaryAt(bucket, Math.min(1.0, remaining / inBucket));
+    }
+
+    // === KOVALAR ===
+
+    private int bucketOf(double balance) {
+        if (!(balance >= 1.0)) {
+            return 0;
+        }
+        int bucket = 1 + (int) (Math.log10(balance) * bucketsPerDecade);
+        return Math.min(bucket, bucketCount - 1);
+    }
+
+    /**
+     * Bakiyenin kovası içindeki konumu (0 alt sınır, 1 üst sınır)
+     */
+    private double positionInBucket(int bucket, double balance) {
+        if (bucket == 0) {
+            return balance >= 0 ? Math.min(1.0, balance) : 0.0;
+        }
+        double position = Math.log10(balance) * bucketsPerDecade - (bucket - 1);
+        return Math.max(0.0, Math.min(1.0, position));
+    }
+
+    /**
+     * Kova içinde verilen konuma karşılık gelen bakiye
+     */
+    private double boundaryAt(int bucket, double position) {
+        if (bucket == 0) {
+            return position;
+        }
+        return Math.pow(10.0, (bucket - 1 + position) / bucketsPerDecade);
+    }
+
+    private void update(int bucket, long delta) {
+        update(tree, bucket, delta);
+    }
+
+    private void update(AtomicLongArray current, int bucket, long delta) {
+        for (int i = bucket + 1; i <= bucketCount; i += i & -i) {
+            current.addAndGet(i, delta);
+        }
+    }
+
+    /**
+     * İlk count kovanın toplamı
+     */
+    private static long prefix(AtomicLongArray current, int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += current.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Yaklaşık bellek kullanımı (byte)
+     */
+    public long estimateMemoryBytes() {
+        return (long) (bucketCount + 1) * 8;
+    }
+}
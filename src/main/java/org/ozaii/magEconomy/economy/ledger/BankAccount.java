@@ -0,0 +1,109 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bellekteki banka hesabı: sahip, üyeler ve hücrelere bölünmüş bakiye.
+ *
+ * Kalıcı yazma birleştirilir: aynı anda en fazla bir yazma yapılır, yazma sürerken gelen
+ * değişiklikler sadece hesabı dirty işaretler ve yazma bitince güncel toplam tekrar yazılır.
+ */
+public final class BankAccount {
+
+    private final String key;
+    private final String name;
+    private final UUID ownerUUID;
+    private final Set<UUID> members = ConcurrentHashMap.newKeySet();
+    private final StripedBalance balance;
+
+    private final WriteSlot writeSlot = new WriteSlot();
+    private volatile boolean dirty;
+    private volatile boolean deleted;
+
+    public BankAccount(String key, String name, UUID ownerUUID, long balanceMinor, int maxStripes) {
+        this.key = key;
+        this.name = name;
+        this.ownerUUID = ownerUUID;
+        this.balance = new StripedBalance(balanceMinor, maxStripes);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public UUID getOwnerUUID() {
+        return ownerUUID;
+    }
+
+    public StripedBalance getBalance() {
+        return balance;
+    }
+
+    public boolean isOwner(UUID playerUUID) {
+        return ownerUUID.equals(playerUUID);
+    }
+
+    /**
+     * Sahip de üye sayılır
+     */
+    public boolean isMember(UUID playerUUID) {
+        return isOwner(playerUUID) || members.contains(playerUUID);
+    }
+
+    public Set<UUID> getMembers() {
+        return Collections.unmodifiableSet(members);
+    }
+
+    public boolean addMember(UUID playerUUID) {
+        return members.add(playerUUID);
+    }
+
+    public boolean removeMember(UUID playerUUID) {
+        return members.remove(playerUUID);
+    }
+
+    // Yazma durumu
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public boolean tryBeginWrite() {
+        return writeSlot.tryAcquire();
+    }
+
+    /**
+     * Süren yazmanın bitmesini en fazla timeout kadar bekler (senkron flush için)
+     */
+    public boolean beginWrite(long timeout, TimeUnit unit) {
+        return writeSlot.acquire(timeout, unit);
+    }
+
+    public void endWrite() {
+        writeSlot.release();
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void markDeleted() {
+        deleted = true;
+    }
+}
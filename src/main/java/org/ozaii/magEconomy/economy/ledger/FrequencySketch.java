@@ -0,0 +1,82 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+/**
+ * TinyLFU admission politikası için 4-bit sayaçlı count-min sketch.
+ *
+ * Her long 16 adet 4-bit sayaç tutar; bir anahtar 4 farklı sayaçla temsil edilir ve
+ * frekansı bunların en küçüğüdür. Toplam artış örnek boyutuna ulaştığında tüm sayaçlar
+ * yarıya indirilir, böylece eski popülerlik zamanla unutulur.
+ *
+ * Thread-safe değildir; sahibi olan segmentin kilidi altında kullanılır.
+ */
+final class FrequencySketch {
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param maximumSize Takip edilecek yaklaşık eleman sayısı
+     */
+    FrequencySketch(int maximumSize) {
+        int length = Integer.highestOneBit(Math.max(8, maximumSize) - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * Math.max(8, maximumSize);
+    }
+
+    /**
+     * Anahtarın frekansını bir artırır
+     * @param keyHash Anahtarın hash'i
+     */
+    void increment(long keyHash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(keyHash, i);
+            int index = (int) (h >>> 4) & tableMask;
+            int offset = (int) (h & 15) << 2;
+            if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Anahtarın tahmini frekansı (0-15)
+     * @param keyHash Anahtarın hash'i
+     * @return frekans
+     */
+    int frequency(long keyHash) {
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(keyHash, i);
+            int index = (int) (h >>> 4) & tableMask;
+            int offset = (int) (h & 15) << 2;
+            frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xfL));
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static long spread(long keyHash, int depth) {
+        long h = (keyHash + SEEDS[depth]) * SEEDS[depth];
+        return h ^ (h >>> 29);
+    }
+}
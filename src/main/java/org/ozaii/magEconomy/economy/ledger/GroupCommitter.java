@@ -0,0 +1,270 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.daos.PlayerEconomyDao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Write-through modunda eşzamanlı bakiye yazmalarını ortak transaction'larda birleştirir (group commit).
+ *
+ * Süren bir commit varken gelen yazmalar bir grupta toplanır; grup, önceki commit bittiğinde,
+ * pencere dolduğunda veya grup belirli bir boyuta ulaştığında tek bir transaction ile commit
+ * edilir. SQLite'ta her yatırma için ayrı fsync yapılmaz. Süren commit yoksa yazma beklemeden
+ * commit edilir, yani boşta gecikme eklenmez. Her çağıranın future'ı ancak ortak commit başarılı
+ * olduktan sonra tamamlanır.
+ *
+ * Commit'ler çağıranın thread'inde (segment kilidi altında) başlatılmaz; hazır gruplar
+ * zamanlayıcı thread'ine bırakılır.
+ *
+ * Aynı hesabın yazmaları çağıran tarafta sıraya konur (bir yazma bitmeden sonraki gönderilmez),
+ * bu yüzden bir grupta bir hesap için en fazla bir güncel değer bulunur.
+ */
+public class GroupCommitter {
+
+    private final JavaPlugin plugin;
+    private final PlayerEconomyDao playerEconomyDao;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService timer;
+    private final Object lock = new Object();
+    private Group open;
+    private int inFlight;
+    private boolean closed;
+
+    // İstatistikler
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong failedCommits = new AtomicLong();
+    private final AtomicLong committedWrites = new AtomicLong();
+    private final AtomicLong committedRows = new AtomicLong();
+    private volatile int maxGroupSeen;
+
+    /**
+     * Bekleyen grup: hesapların son değerleri ve gruba katılan çağıranlar
+     */
+    private static final class Group {
+        final Map<UUID, Double> balances = new HashMap<>();
+        final List<Waiter> waiters = new ArrayList<>();
+    }
+
+    private static final class Waiter {
+        final Collection<UUID> accounts;
+        final CompletableFuture<Boolean> result;
+
+        Waiter(Collection<UUID> accounts, CompletableFuture<Boolean> result) {
+            this.accounts = accounts;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Commit'ler her seferinde DatabaseManager'ın güncel executor'ında çalışır; veritabanı yeniden
+     * yüklendiğinde kapanan executor tutulmaz.
+     *
+     * @param windowMillis Bir grubun açık kalacağı en uzun süre
+     * @param maxBatchSize Bu kadar hesaba ulaşan grup beklemeden commit edilir
+     */
+    public GroupCommitter(JavaPlugin plugin, PlayerEconomyDao playerEconomyDao,
+                          double windowMillis, int maxBatchSize) {
+        this.plugin = plugin;
+        this.playerEconomyDao = playerEconomyDao;
+        this.windowNanos = Math.max(1, (long) (windowMillis * 1_000_000L));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-GroupCommit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        plugin.getLogger().info("Group commit aktif! Pencere: " + windowMillis + "ms, Grup eşiği: " + this.maxBatchSize);
+    }
+
+    /**
+     * Tek hesabın bakiyesini bir sonraki ortak commit ile yazar
+     *
+     * @return Commit edildiyse ve satır bulunduysa true
+     */
+    public CompletableFuture<Boolean> submit(UUID playerUUID, double balance) {
+        return submit(Map.of(playerUUID, balance));
+    }
+
+    /**
+     * Birden fazla hesabı aynı ortak commit ile yazar; hesaplar aynı transaction'da kalır
+     *
+     * @return Commit edildiyse ve tüm satırlar bulunduysa true
+     */
+    public CompletableFuture<Boolean> submit(Map<UUID, Double> balances) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Group ready = null;
+
+        synchronized (lock) {
+            if (closed) {
+                return playerEconomyDao.updateBalancesBatch(balances);
+            }
+            if (open == null) {
+                Group group = new Group();
+                open = group;
+                if (inFlight > 0) {
+                    timer.schedule(() -> sealIfOpen(group), windowNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            open.balances.putAll(balances);
+            open.waiters.add(new Waiter(balances.keySet(), result));
+            // Süren commit yoksa beklemeye gerek yok
+            if (inFlight == 0 || open.balances.size() >= maxBatchSize) {
+                ready = open;
+                open = null;
+                inFlight++;
+            }
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return result;
+    }
+
+    /**
+     * Hazır grubu zamanlayıcı thread'ine bırakır; commit çağıranın thread'inde başlatılmaz
+     */
+    private void dispatch(Group group) {
+        try {
+            timer.execute(() -> commitAsync(group));
+        } catch (RejectedExecutionException e) {
+            // Zamanlayıcı kapandı (shutdown); commit yine veritabanı executor'ında çalışır
+            commitAsync(group);
+        }
+    }
+
+    /**
+     * Pencere doldu; grup boyut eşiği ile zaten commit edilmediyse şimdi edilir
+     */
+    private void sealIfOpen(Group group) {
+        synchronized (lock) {
+            if (open != group) {
+                return;
+            }
+            open = null;
+            inFlight++;
+        }
+        commitAsync(group);
+    }
+
+    /**
+     * Commit bitti; bu sırada toplanan grup varsa pencereyi beklemeden gönderilir
+     */
+    private void finishCommit() {
+        Group next = null;
+        synchronized (lock) {
+            inFlight--;
+            if (inFlight == 0 && open != null) {
+                next = open;
+                open = null;
+                inFlight++;
+            }
+        }
+        if (next != null) {
+            dispatch(next);
+        }
+    }
+
+    private void commitAsync(Group group) {
+        try {
+            DatabaseManager.getInstance().getExecutor().execute(() -> commit(group));
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("Veritabanı işlemi reddedildi: " + e.getMessage());
+            for (Waiter waiter : group.waiters) {
+                waiter.result.completeExceptionally(e);
+            }
+            finishCommit();
+        }
+    }
+
+    private void commit(Group group) {
+        Set<UUID> missing;
+        try {
+            missing = playerEconomyDao.commitBalancesSync(group.balances);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Group commit sırasında beklenmeyen hata", e);
+            missing = null;
+        }
+
+        if (missing == null) {
+            failedCommits.incrementAndGet();
+        } else {
+            commits.incrementAndGet();
+            committedWrites.addAndGet(group.waiters.size());
+            committedRows.addAndGet(group.balances.size());
+            maxGroupSeen = Math.max(maxGroupSeen, group.waiters.size());
+        }
+
+        for (Waiter waiter : group.waiters) {
+            boolean success = missing != null;
+            if (success && !missing.isEmpty()) {
+                for (UUID playerUUID : waiter.accounts) {
+                    if (missing.contains(playerUUID)) {
+                        success = false;
+                        break;
+                    }
+                }
+            }
+            waiter.result.complete(success);
+        }
+        finishCommit();
+    }
+
+    /**
+     * Yeni grup açılmasını durdurur ve açık grubu senkron olarak commit eder.
+     * Sonraki yazmalar doğrudan veritabanına gider.
+     */
+    public void shutdown() {
+        Group last;
+        synchronized (lock) {
+            closed = true;
+            last = open;
+            open = null;
+            if (last != null) {
+                inFlight++;
+            }
+        }
+        // Zamanlayıcıya bırakılmış ama başlamamış gruplar kaybolmasın
+        for (Runnable pending : timer.shutdownNow()) {
+            pending.run();
+        }
+        if (last != null) {
+            commit(last);
+        }
+    }
+
+    /**
+     * Group commit istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        long total = commits.get();
+        double averageGroup = total == 0 ? 0 : (double) committedWrites.get() / total;
+        return String.format(
+                "GroupCommit Stats - Commits: %d, Failed: %d, Writes: %d, Rows: %d, Avg Group: %.1f, Max Group: %d",
+                total,
+                failedCommits.get(),
+                committedWrites.get(),
+                committedRows.get(),
+                averageGroup,
+                maxGroupSeen
+        );
+    }
+}
@@ -0,0 +1,237 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.economy.daos.IdempotencyDao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Idempotency anahtarlı işlemlerin tekrar uygulanmasını engeller.
+ *
+ * Anahtarlar zaman penceresi boyunca iki katmanda tutulur:
+ * <ul>
+ *     <li>Bellek: Sınırlı boyutlu, ekleme sırasıyla düşen tablo. Devam eden işlemi de tutar,
+ *     böylece sonuç gelmeden yapılan tekrar aynı future'ı bekler.</li>
+ *     <li>Veritabanı: Anahtar işlem uygulanmadan önce benzersiz "pending" kayıt olarak eklenir ve
+ *     işlem bitince sonuçla güncellenir. Bellekten düşen veya yeniden başlatma öncesinde yapılan
+ *     işlemler buradan bulunur.</li>
+ * </ul>
+ * Aynı anahtarla gelen tekrar, işlemi yeniden uygulamadan ilk sonucu döndürür. Anahtar işlemin
+ * parametrelerine bağlıdır; farklı parametrelerle tekrar kullanımı reddedilir. Kaydı hâlâ
+ * "pending" olan (sürüyor veya sonucu kaydedilememiş) bir anahtarın tekrarı, işlemi uygulamadan
+ * hata ile biter: işlem en fazla bir kez uygulanır.
+ */
+public class IdempotencyGuard {
+
+    private final JavaPlugin plugin;
+    private final IdempotencyDao idempotencyDao;
+    private final long windowMillis;
+    private final int maxEntries;
+    private final CompletableFuture<Void> tableReady;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final ScheduledExecutorService purger;
+
+    // İstatistikler
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong rejectedReuses = new AtomicLong();
+    private final AtomicLong failedRecords = new AtomicLong();
+
+    private static final class Entry {
+        final CompletableFuture<Boolean> result;
+        final String fingerprint;
+        final long createdAt;
+
+        Entry(CompletableFuture<Boolean> result, String fingerprint, long createdAt) {
+            this.result = result;
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * @param tableReady   Tablo hazır ve migrasyon bitince tamamlanan future, işlemler bunu bekler
+     * @param windowMillis Bir anahtarın hatırlandığı süre
+     * @param maxEntries   Bellekte tutulacak maksimum anahtar sayısı
+     */
+    public IdempotencyGuard(JavaPlugin plugin, IdempotencyDao idempotencyDao, CompletableFuture<Void> tableReady,
+                            long windowMillis, int maxEntries) {
+        this.plugin = plugin;
+        this.idempotencyDao = idempotencyDao;
+        this.tableReady = tableReady;
+        this.windowMillis = Math.max(1000, windowMillis);
+        this.maxEntries = Math.max(16, maxEntries);
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-Idempotency");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Süresi dolan veritabanı kayıtlarını periyodik olarak silen görevi başlatır
+     */
+    public void start() {
+        long interval = Math.max(60_000, windowMillis / 2);
+        purger.scheduleWithFixedDelay(this::purge, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        purger.shutdownNow();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * İşlemi anahtar daha önce görülmediyse çalıştırır, görüldüyse ilk sonucu döndürür.
+     * İşlem hata ile biterse anahtar bırakılır, böylece tekrar denenebilir.
+     *
+     * @param key         Idempotency anahtarı
+     * @param fingerprint İşlemin parametreleri (bkz. IdempotencyRecord#fingerprint)
+     * @param operation   Uygulanacak işlem
+     * @return CompletableFuture<Boolean> İşlemin (ilk) sonucu; anahtar farklı parametrelerle
+     *         kullanılmışsa, işlemin sonucu bilinmiyorsa veya kaydedilemediyse exceptionally tamamlanır
+     */
+    public CompletableFuture<Boolean> execute(String key, String fingerprint, Supplier<CompletableFuture<Boolean>> operation) {
+        long now = System.currentTimeMillis();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && now - existing.createdAt < windowMillis) {
+                if (!existing.fingerprint.equals(fingerprint)) {
+                    return rejectReuse(key);
+                }
+                memoryHits.incrementAndGet();
+                return existing.result;
+            }
+            entries.remove(key);
+            entries.put(key, new Entry(result, fingerprint, now));
+            evictExpired(now);
+        }
+
+        tableReady.thenCompose(ignored -> idempotencyDao.claim(key, fingerprint, now - windowMillis)).thenCompose(stored -> {
+            if (stored == null) {
+                executions.incrementAndGet();
+                return applyClaimed(key, operation);
+            }
+            if (stored.getFingerprint() != null && !stored.getFingerprint().equals(fingerprint)) {
+                return rejectReuse(key);
+            }
+            if (stored.isPending()) {
+                return CompletableFuture.<Boolean>failedFuture(
+                        new IllegalStateException("İşlem sürüyor veya sonucu bilinmiyor: " + key));
+            }
+            databaseHits.incrementAndGet();
+            return CompletableFuture.completedFuture(stored.getResult());
+        }).whenComplete((success, throwable) -> {
+            if (throwable != null) {
+                synchronized (entries) {
+                    Entry entry = entries.get(key);
+                    if (entry != null && entry.result == result) {
+                        entries.remove(key);
+                    }
+                }
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(success);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Anahtarı alınmış işlemi uygular ve sonucu kaydeder
+     */
+    private CompletableFuture<Boolean> applyClaimed(String key, Supplier<CompletableFuture<Boolean>> operation) {
+        CompletableFuture<Boolean> applied;
+        try {
+            applied = operation.get();
+        } catch (RuntimeException e) {
+            applied = CompletableFuture.failedFuture(e);
+        }
+        return applied
+                // İşlem uygulanamadı: anahtar bırakılır ve hata iletilir
+                .exceptionallyCompose(throwable -> idempotencyDao.release(key)
+                        .handle((released, releaseError) -> null)
+                        .thenCompose(ignored -> CompletableFuture.<Boolean>failedFuture(throwable)))
+                .thenCompose(success -> idempotencyDao.complete(key, success).handle((recorded, throwable) -> {
+                    if (throwable == null && Boolean.TRUE.equals(recorded)) {
+                        return success;
+                    }
+                    // Kayıt "pending" kalır; tekrarlar işlemi yeniden uygulamaz, hata alır
+                    failedRecords.incrementAndGet();
+                    plugin.getLogger().severe("İşlem uygulandı (" + success + ") ama idempotency sonucu kaydedilemedi: " + key);
+                    throw new IllegalStateException("Idempotency sonucu kaydedilemedi: " + key, throwable);
+                }));
+    }
+
+    private CompletableFuture<Boolean> rejectReuse(String key) {
+        rejectedReuses.incrementAndGet();
+        return CompletableFuture.failedFuture(
+                new IllegalArgumentException("Idempotency anahtarı farklı bir işlem için kullanılmış: " + key));
+    }
+
+    /**
+     * Pencere dışına çıkan ve sınırı aşan en eski anahtarları düşürür. Kilit altında çağrılmalıdır.
+     */
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            if (entries.size() <= maxEntries && now - eldest.createdAt < windowMillis) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void purge() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            evictExpired(now);
+        }
+        try {
+            idempotencyDao.purgeOlderThan(now - windowMillis).join();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Idempotency temizliği sırasında hata", e);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Idempotency istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        return String.format(
+                "Idempotency Stats - Keys: %d/%d, Window: %d s, Memory Hits: %d, Database Hits: %d, Executions: %d, " +
+                        "Rejected Reuses: %d, Failed Records: %d",
+                size(),
+                maxEntries,
+                windowMillis / 1000,
+                memoryHits.get(),
+                databaseHits.get(),
+                executions.get(),
+                rejectedReuses.get(),
+                failedRecords.get()
+        );
+    }
+}
@@ -0,0 +1,328 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.ozaii.magEconomy.economy.models.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hesapların bakiyeye göre canlı sıralaması (order-statistic tree).
+ *
+ * Hesaplar bakiye azalan, eşitlikte UUID sırasıyla bir treap'te tutulur; her düğüm alt ağacının
+ * boyutunu bilir. Böylece sıra sorgusu, n'inci hesabı bulma ve sayfa başlangıcına gitme O(log n),
+ * sayfa okuma O(log n + sayfa boyutu) sürer. Sıralama başlangıçta veritabanından yüklenir ve her
+ * bakiye değişikliğinde güncellenir; sorgular veritabanına gitmez.
+ *
+ * Okumalar paylaşımlı, yazmalar özel kilit altında yapılır.
+ */
+public final class Leaderboard {
+
+    private static final class Node {
+        final long hi;
+        final long lo;
+        final int priority;
+        double balance;
+        String name;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long hi, long lo, String name, double balance) {
+            this.hi = hi;
+            this.lo = lo;
+            this.name = name;
+            this.balance = balance;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    private volatile boolean loaded;
+
+    /**
+     * Sıralama veritabanından tamamen yüklendiyse true
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Sıralamayı boşaltır ve yüklenmemiş duruma döndürür
+     */
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            nodes.clear();
+            root = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Hesabın bakiyesini günceller, hesap yoksa ekler
+     *
+     * @param name Oyuncu adı, null ise mevcut ad korunur
+     */
+    public void update(UUID playerUUID, String name, double balance) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.get(playerUUID);
+            if (node == null) {
+                node = new Node(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), name, balance);
+                nodes.put(playerUUID, node);
+                root = insert(root, node);
+                return;
+            }
+            if (name != null) {
+                node.name = name;
+            }
+            if (Double.compare(node.balance, balance) != 0) {
+                // Anahtar değişiyor: düğüm çıkarılır ve yeni yerine eklenir
+                root = erase(root, node);
+                node.left = null;
+                node.right = null;
+                node.size = 1;
+                node.balance = balance;
+                root = insert(root, node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Hesap sıralamada yoksa ekler. Yükleme sırasında kullanılır; yükleme başladıktan sonra
+     * güncellenen bakiyeler veritabanındaki eski değerle ezilmez.
+     */
+    public void putIfAbsent(UUID playerUUID, String name, double balance) {
+        lock.writeLock().lock();
+        try {
+            if (!nodes.containsKey(playerUUID)) {
+                Node node = new Node(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), name, balance);
+                nodes.put(playerUUID, node);
+                root = insert(root, node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID playerUUID) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.remove(playerUUID);
+            if (node != null) {
+                root = erase(root, node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hesabın sırası (1 en zengin)
+     *
+     * @return Sıra, hesap sıralamada yoksa -1
+     */
+    public int rankOf(UUID playerUUID) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(playerUUID);
+            return node != null ? rank(node) : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Belirli sıradan başlayan hesapları döndürür
+     *
+     * @param fromRank İlk sıra (1'den başlar)
+     * @param count    En fazla hesap sayısı
+     */
+    public List<LeaderboardEntry> range(int fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            int from = Math.max(0, fromRank - 1);
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.max(0, Math.min(count, size(root) - from)));
+            collect(root, from, from + count, 0, entries);
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hesabın çevresindeki hesaplar: üstündeki ve altındaki radius kadar hesap ve kendisi
+     *
+     * @return Hesap sıralamada yoksa boş liste
+     */
+    public List<LeaderboardEntry> around(UUID playerUUID, int radius) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(playerUUID);
+            if (node == null) {
+                return List.of();
+            }
+            int from = Math.max(0, rank(node) - 1 - radius);
+            List<LeaderboardEntry> entries = new ArrayList<>();
+            collect(root, from, rank(node) + radius, 0, entries);
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Yaklaşık bellek kullanımı (byte): düğüm, UUID anahtarı ve map girdisi
+     */
+    public long estimateMemoryBytes() {
+        return (long) size() * (56 + 32 + 48);
+    }
+
+    // === TREAP ===
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static void refresh(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    /**
+     * a, sıralamada b'den önce geliyorsa true (bakiye azalan, eşitlikte UUID artan)
+     */
+    private static boolean before(Node a, Node b) {
+        int byBalance = Double.compare(b.balance, a.balance);
+        if (byBalance != 0) {
+            return byBalance < 0;
+        }
+        int byHi = Long.compare(a.hi, b.hi);
+        return byHi != 0 ? byHi < 0 : Long.compare(a.lo, b.lo) < 0;
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (before(node, tree)) {
+            tree.left = insert(tree.left, node);
+            if (tree.left.priority > tree.priority) {
+                tree = rotateRight(tree);
+            }
+        } else {
+            tree.right = insert(tree.right, node);
+            if (tree.right.priority > tree.priority) {
+                tree = rotateLeft(tree);
+            }
+        }
+        refresh(tree);
+        return tree;
+    }
+
+    private static Node erase(Node tree, Node node) {
+        if (tree == null) {
+            return null;
+        }
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (before(node, tree)) {
+            tree.left = erase(tree.left, node);
+        } else {
+            tree.right = erase(tree.right, node);
+        }
+        refresh(tree);
+        return tree;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            refresh(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        refresh(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        refresh(node);
+        pivot.right = node;
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        refresh(node);
+        pivot.left = node;
+        return pivot;
+    }
+
+    private int rank(Node node) {
+        int before = 0;
+        Node current = root;
+        while (current != null) {
+            if (current == node) {
+                return before + size(current.left) + 1;
+            }
+            if (before(node, current)) {
+                current = current.left;
+            } else {
+                before += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * [from, to) aralığındaki düğümleri sırayla ekler; aralık dışındaki alt ağaçlara inilmez
+     *
+     * @param offset Alt ağacın ilk düğümünün sıralamadaki indeksi
+     */
+    private static void collect(Node tree, int from, int to, int offset, List<LeaderboardEntry> entries) {
+        if (tree == null || from >= to || offset >= to || offset + tree.size <= from) {
+            return;
+        }
+        collect(tree.left, from, to, offset, entries);
+        int index = offset + size(tree.left);
+        if (index >= from && index < to) {
+            entries.add(new LeaderboardEntry(index + 1, new UUID(tree.hi, tree.lo), tree.name, tree.balance));
+        }
+        collect(tree.right, from, to, index + 1, entries);
+    }
+}
@@ -0,0 +1,116 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Sıralama güncellemelerini mutasyonların kritik yolundan çıkarır.
+ *
+ * Mutasyonlar değişen bakiyeyi segment kilidi altında sadece kuyruğa koyar; sıralamanın global
+ * yazma kilidi ve treap güncellemesi tek bir arka plan thread'inde yapılır. Aynı hesabın bekleyen
+ * güncellemeleri birleştirilir (son bakiye kazanır), yani yoğun bir hesap kuyruğu büyütmez.
+ * Sorgular son güncellemeleri birkaç milisaniye geriden görebilir.
+ */
+public final class LeaderboardUpdater {
+
+    private static final class Pending {
+        final String name;
+        final double balance;
+
+        Pending(String name, double balance) {
+            this.name = name;
+            this.balance = balance;
+        }
+    }
+
+    private final JavaPlugin plugin;
+    private final Leaderboard leaderboard;
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService executor;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+
+    public LeaderboardUpdater(JavaPlugin plugin, Leaderboard leaderboard) {
+        this.plugin = plugin;
+        this.leaderboard = leaderboard;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-Leaderboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Hesabın yeni bakiyesini kuyruğa koyar, sıralamaya arka planda yansıtılır
+     *
+     * @param name Oyuncu adı, null ise mevcut ad korunur
+     */
+    public void submit(UUID playerUUID, String name, double balance) {
+        submitted.incrementAndGet();
+        pending.merge(playerUUID, new Pending(name, balance),
+                (previous, next) -> next.name != null ? next : new Pending(previous.name, next.balance));
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Kapanıyor; bekleyenler shutdown'da uygulanır
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        // Bayrak önce bırakılır; boşaltma sırasında gelen güncelleme yeni bir boşaltma planlar
+        drainScheduled.set(false);
+        try {
+            applyPending();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Sıralama güncellenemedi", e);
+        }
+    }
+
+    private void applyPending() {
+        Iterator<Map.Entry<UUID, Pending>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Pending> entry = iterator.next();
+            Pending update = entry.getValue();
+            // Sadece okunan değer çıkarılır; arada gelen yeni değer bir sonraki boşaltmaya kalır
+            if (pending.remove(entry.getKey(), update)) {
+                leaderboard.update(entry.getKey(), update.name, update.balance);
+                applied.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Bekleyen güncelleme sayısı
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Thread'i durdurur ve bekleyen güncellemeleri çağıran thread'de uygular
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        applyPending();
+    }
+
+    public String getStats() {
+        return String.format("Submitted: %d, Applied: %d, Pending: %d",
+                submitted.get(), applied.get(), pending.size());
+    }
+}
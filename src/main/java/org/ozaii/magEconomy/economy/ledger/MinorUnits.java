@@ -0,0 +1,66 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Bakiyelerin en küçük para birimi (kuruş) cinsinden long olarak tutulması için dönüşümler.
+ *
+ * fractional-digits = 2 iken 12.34 -> 1234 olarak saklanır. Toplama ve çıkarma
+ * long üzerinde yapıldığı için milyonlarca işlemden sonra bile kayma oluşmaz.
+ * |minor| < 10^15 aralığında double <-> long dönüşümü kayıpsızdır.
+ */
+public final class MinorUnits {
+
+    private static final int MAX_FRACTIONAL_DIGITS = 8;
+
+    private final int fractionalDigits;
+    private final long scale;
+
+    public MinorUnits(int fractionalDigits) {
+        this.fractionalDigits = Math.max(0, Math.min(MAX_FRACTIONAL_DIGITS, fractionalDigits));
+        long value = 1;
+        for (int i = 0; i < this.fractionalDigits; i++) {
+            value *= 10;
+        }
+        this.scale = value;
+    }
+
+    /**
+     * Tutarı en küçük birime çevirir (HALF_UP yuvarlama, long sınırlarında doyar)
+     * @param amount Tutar
+     * @return En küçük birim cinsinden tutar
+     */
+    public long toMinor(double amount) {
+        if (Double.isNaN(amount)) {
+            throw new IllegalArgumentException("Miktar geçersiz! (NaN)");
+        }
+        if (Double.isInfinite(amount) || Math.abs(amount) >= (double) Long.MAX_VALUE / scale) {
+            return amount > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return BigDecimal.valueOf(amount)
+                .movePointRight(fractionalDigits)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    /**
+     * En küçük birimi tutara çevirir (en yakın double)
+     * @param minor En küçük birim cinsinden tutar
+     * @return Tutar
+     */
+    public double toMajor(long minor) {
+        if (fractionalDigits == 0) {
+            return minor;
+        }
+        return BigDecimal.valueOf(minor, fractionalDigits).doubleValue();
+    }
+
+    public int getFractionalDigits() {
+        return fractionalDigits;
+    }
+
+    public long getScale() {
+        return scale;
+    }
+}
@@ -0,0 +1,84 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.Arrays;
+
+/**
+ * Bakiye dilimlerine göre kademeli oran (faiz veya vergi).
+ *
+ * Her oran sadece bakiyenin kendi dilimine düşen kısmına uygulanır; böylece dilim sınırını
+ * geçen bir hesabın tutarı sıçramaz. Örneğin [0: %1, 100000: %0.5] için 150000 bakiyeye
+ * 100000 * %1 + 50000 * %0.5 uygulanır. Hesap başına tutar üst sınırla kısıtlanabilir.
+ */
+public final class RateSchedule {
+
+    private static final RateSchedule EMPTY = new RateSchedule(new double[0], new double[0], 0.0);
+
+    // Artan sırada dilim alt sınırları ve oranları
+    private final double[] thresholds;
+    private final double[] rates;
+    private final double cap;
+
+    private RateSchedule(double[] thresholds, double[] rates, double cap) {
+        this.thresholds = thresholds;
+        this.rates = rates;
+        this.cap = cap;
+    }
+
+    /**
+     * @param thresholds Dilim alt sınırları (sırasız olabilir)
+     * @param rates      Dilim oranları (0.01 = %1)
+     * @param cap        Hesap başına en fazla tutar, 0 veya negatifse sınır yok
+     */
+    public static RateSchedule of(double[] thresholds, double[] rates, double cap) {
+        if (thresholds.length != rates.length) {
+            throw new IllegalArgumentException("Dilim ve oran sayısı eşit olmalı!");
+        }
+        Integer[] order = new Integer[thresholds.length];
+        for (int i = 0; i < order.length; i++) {
+            if (!(thresholds[i] >= 0) || !(rates[i] >= 0)) {
+                throw new IllegalArgumentException("Dilim sınırı ve oran negatif olamaz!");
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(thresholds[a], thresholds[b]));
+
+        double[] sortedThresholds = new double[order.length];
+        double[] sortedRates = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedThresholds[i] = thresholds[order[i]];
+            sortedRates[i] = rates[order[i]];
+        }
+        return new RateSchedule(sortedThresholds, sortedRates, cap);
+    }
+
+    public static RateSchedule empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return thresholds.length == 0;
+    }
+
+    /**
+     * Oranın etkilediği en düşük bakiye; bu değer ve altındaki hesaplar atlanabilir
+     */
+    public double getLowestThreshold() {
+        return isEmpty() ? Double.POSITIVE_INFINITY : thresholds[0];
+    }
+
+    public int getTierCount() {
+        return thresholds.length;
+    }
+
+    /**
+     * Bakiyeye uygulanacak tutar (her zaman pozitif veya sıfır)
+     */
+    public double amountFor(double balance) {
+        double amount = 0.0;
+        for (int i = 0; i < thresholds.length && balance > thresholds[i]; i++) {
+            double upper = i + 1 < thresholds.length ? Math.min(balance, thresholds[i + 1]) : balance;
+            amount += (upper - thresholds[i]) * rates[i];
+        }
+        return cap > 0 ? Math.min(amount, cap) : amount;
+    }
+}
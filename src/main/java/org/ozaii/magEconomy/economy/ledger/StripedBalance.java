@@ -0,0 +1,187 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Çok sayıda thread'in aynı anda para yatırdığı bakiyeler için hücrelere bölünmüş sayaç.
+ *
+ * Bakiye, her biri ayrı cache line'da duran hücrelerin toplamıdır. Okumalar tüm hücreleri toplar.
+ *
+ * Limit, hücrelere dağıtılan paylarla kilitsiz korunur: her hücrenin yanında, limite kalan boşluğun
+ * o hücreye ayrılmış kısmı (pay) tutulur. Yatırma, hücresinin payından CAS ile düşebiliyorsa kilitsizdir;
+ * çakışma görüldükçe kullanılan hücre sayısı ikiye katlanır (en fazla maxStripes). Pay yetmezse kilit
+ * alınır, kullanılmayan paylar toplanır, kesin bakiyeyle limit kontrol edilir ve boşluk yeniden
+ * dağıtılır. Dağıtılan payların toplamı hiçbir zaman boşluğu aşmadığı için limit aşılamaz.
+ *
+ * Çekme işlemleri aynı kilit altında sırayla yapılır: toplam yeterliyse miktar hücrelerden
+ * toplanır. Hücreleri sadece kilidi tutan thread azalttığı için hiçbir hücre ve toplam eksiye düşmez.
+ */
+public final class StripedBalance {
+
+    // Hücreler arasında 64 byte boşluk bırakılır (false sharing önlenir); pay, hücresiyle aynı cache line'dadır
+    private static final int PAD = 8;
+    private static final int BUDGET = 1;
+    private static final int MAX_STRIPES = 64;
+
+    private final AtomicLongArray cells;
+    private final int maxStripes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int stripes = 1;
+
+    // Payların dağıtıldığı limit; farklı limitle gelen yatırma payları kullanmaz
+    private volatile long budgetLimit = -1;
+    // Kilit altında: bakiye + henüz kullanılmamış paylar (bakiyenin ulaşabileceği en yüksek değer)
+    private long ceiling;
+
+    /**
+     * @param initial    Başlangıç bakiyesi (en küçük birim)
+     * @param maxStripes Kullanılabilecek en fazla hücre sayısı, ikinin kuvvetine yuvarlanır
+     */
+    public StripedBalance(long initial, int maxStripes) {
+        this.maxStripes = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maxStripes)));
+        this.cells = new AtomicLongArray(this.maxStripes * PAD);
+        this.ceiling = initial;
+        cells.set(0, initial);
+    }
+
+    /**
+     * Hücrelerin toplamı. Eşzamanlı işlemler sırasında işlemlerin önceki ve sonraki
+     * toplamları arasında bir değer döner.
+     */
+    public long sum() {
+        long total = 0;
+        for (int i = 0; i < maxStripes; i++) {
+            total += cells.get(i * PAD);
+        }
+        return total;
+    }
+
+    /**
+     * Toplam limiti aşmayacaksa ekler. Hücrenin payı yettiği sürece kilitsizdir.
+     *
+     * @param amount Eklenecek miktar (pozitif)
+     * @param limit  Toplamın üst sınırı
+     * @return Eklendiyse true, limit aşılıyorsa false
+     */
+    public boolean add(long amount, long limit) {
+        if (limit == budgetLimit) {
+            int stripe = stripeIndex();
+            int index = stripe * PAD + BUDGET;
+            long budget = cells.get(index);
+            if (budget >= amount) {
+                if (cells.compareAndSet(index, budget, budget - amount)) {
+                    addToCell(stripe, amount);
+                    return true;
+                }
+                grow();
+            }
+        }
+
+        lock.lock();
+        try {
+            // Payları dağıtılmış ama henüz hücreye eklenmemiş yatırmalar da bakiyeye dahildir
+            long balance = ceiling - drainBudgets();
+            if (amount > limit - balance) {
+                distribute(balance, limit);
+                return false;
+            }
+            addToCell(stripeIndex(), amount);
+            distribute(balance + amount, limit);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Toplam yeterliyse miktarı hücrelerden düşer
+     * @param amount Düşülecek miktar (pozitif)
+     * @return Düşüldüyse true, toplam yetersizse false
+     */
+    public boolean withdraw(long amount) {
+        lock.lock();
+        try {
+            // Kilit altındayken toplam sadece artabilir, bu yüzden kontrol sonrası toplama her zaman yeter
+            if (sum() < amount) {
+                return false;
+            }
+            long remaining = amount;
+            for (int i = 0; i < maxStripes && remaining > 0; i++) {
+                int index = i * PAD;
+                long current = cells.get(index);
+                long taken = Math.min(current, remaining);
+                while (taken > 0 && !cells.compareAndSet(index, current, current - taken)) {
+                    current = cells.get(index);
+                    taken = Math.min(current, remaining);
+                }
+                remaining -= Math.max(0, taken);
+            }
+            ceiling -= amount;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Şu an kullanılan hücre sayısı
+     */
+    public int getStripes() {
+        return stripes;
+    }
+
+    private void addToCell(int stripe, long amount) {
+        while (true) {
+            int index = stripe * PAD;
+            long current = cells.get(index);
+            if (cells.compareAndSet(index, current, current + amount)) {
+                return;
+            }
+            stripe = grow();
+        }
+    }
+
+    /**
+     * Kullanılmayan payları geri alır (kilit altında)
+     * @return Geri alınan payların toplamı
+     */
+    private long drainBudgets() {
+        long unused = 0;
+        for (int i = 0; i < maxStripes; i++) {
+            unused += cells.getAndSet(i * PAD + BUDGET, 0);
+        }
+        return unused;
+    }
+
+    /**
+     * Limite kalan boşluğu kullanılan hücrelere eşit paylaştırır (kilit altında, paylar boşken)
+     * @param balance Kesin bakiye
+     */
+    private void distribute(long balance, long limit) {
+        int count = stripes;
+        long share = balance < limit ? (limit - balance) / count : 0;
+        for (int i = 0; i < count && share > 0; i++) {
+            cells.set(i * PAD + BUDGET, share);
+        }
+        ceiling = balance + share * count;
+        budgetLimit = limit;
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().threadId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash >>> 16) & (stripes - 1);
+    }
+
+    /**
+     * CAS çakışmasında hücre sayısını artırır ve thread'in yeni hücresini döndürür
+     */
+    private int grow() {
+        int current = stripes;
+        if (current < maxStripes) {
+            stripes = current << 1;
+        }
+        return stripeIndex();
+    }
+}
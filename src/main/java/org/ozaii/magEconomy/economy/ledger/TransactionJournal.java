@@ -0,0 +1,548 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.economy.models.RateSweepState;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * Write-behind modu için çökmeye dayanıklı yerel işlem günlüğü.
+ *
+ * Kabul edilen her bakiye değişikliği, çağırana bildirilmeden önce segment dosyasına
+ * eklenir ve diske senkronlanır. Yazma işlemini tek bir thread yapar; bekleyen tüm
+ * kayıtlar tek write + tek fsync ile gruplanır (group commit).
+ *
+ * Kayıtlar hesabın değişiklik sonrası mutlak bakiyesini tutar, bu yüzden tekrar
+ * oynatma idempotenttir: her hesap için son kayıt geçerlidir. Flush başlarken yeni bir
+ * segmente geçilir ve flush başarılı olunca önceki segmentler silinir.
+ *
+ * Birden fazla hesabı etkileyen işlemler (örn. transfer) tek bir birim olarak yazılır;
+ * birimin tüm kayıtları okunamazsa hiçbiri uygulanmaz. Faiz/vergi grubunun birimi, grubun
+ * bakiyeleriyle birlikte tarama imlecini de taşır.
+ *
+ * Kayıt formatı (32 byte): UUID most (8) + UUID least (8) + bakiye bitleri (8)
+ * + birimde kalan kayıt sayısı (4) + CRC32 (4). İmleç kaydında UUID grubun son hesabı,
+ * bakiye bitleri tarama kimliğidir ve kalan kayıt sayısında SWEEP_FLAG biti açıktır.
+ */
+public final class TransactionJournal {
+
+    private static final int RECORD_SIZE = 32;
+    private static final int CHECKSUM_OFFSET = 28;
+    private static final int SWEEP_FLAG = 1 << 30;
+    private static final int MAX_GROUP_SIZE = 4096;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final JavaPlugin plugin;
+    private final File directory;
+    private final boolean fsync;
+
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Sadece writer thread'i erişir
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * MAX_GROUP_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer checksumScratch = ByteBuffer.allocate(CHECKSUM_OFFSET);
+    private FileChannel channel;
+    private long segmentId;
+
+    private final long firstSegmentId;
+
+    // İstatistikler
+    private final AtomicLong appendedRecords = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private volatile int lastGroupSize;
+    private volatile int maxGroupSize;
+
+    /**
+     * @param directory Segment dosyalarının bulunduğu klasör
+     * @param fsync     true ise her grup yazmasından sonra dosya diske senkronlanır
+     */
+    public TransactionJournal(JavaPlugin plugin, File directory, boolean fsync) throws IOException {
+        this.plugin = plugin;
+        this.directory = directory;
+        this.fsync = fsync;
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Journal klasörü oluşturulamadı: " + directory);
+        }
+
+        long lastId = 0;
+        for (File file : listSegments(directory)) {
+            lastId = Math.max(lastId, parseSegmentId(file));
+        }
+        this.firstSegmentId = lastId + 1;
+        this.segmentId = firstSegmentId;
+        this.channel = openSegment(segmentId);
+
+        this.writer = new Thread(this::writeLoop, "MagEconomy-Journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Bakiye değişikliğini günlüğe ekler. Aynı hesabın kayıtlarının sırası korunsun diye
+     * hesabın kilidi altında çağrılmalıdır (çağrı bloklamaz).
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param balance    Değişiklik sonrası bakiye
+     * @return Kayıt diske yazıldığında tamamlanan CompletableFuture
+     */
+    public CompletableFuture<Void> append(UUID playerUUID, double balance) {
+        return appendAll(new UUID[]{playerUUID}, new double[]{balance});
+    }
+
+    /**
+     * Birden fazla hesabın değişikliğini tek bir atomik birim olarak günlüğe ekler.
+     * İlgili tüm hesapların kilitleri altında çağrılmalıdır.
+     *
+     * @param playerUUIDs Hesaplar
+     * @param balances    Değişiklik sonrası bakiyeler (aynı sırada)
+     * @return Birim diske yazıldığında tamamlanan CompletableFuture
+     */
+    public CompletableFuture<Void> appendAll(UUID[] playerUUIDs, double[] balances) {
+        return appendAll(playerUUIDs, balances, null);
+    }
+
+    /**
+     * appendAll ile aynıdır; faiz/vergi taramasının imleci de aynı birimde yazılır
+     *
+     * @param sweepState Tarama imleci, null ise yazılmaz
+     */
+    public CompletableFuture<Void> appendAll(UUID[] playerUUIDs, double[] balances, RateSweepState sweepState) {
+        Request request = new Request(playerUUIDs, balances, sweepState, false);
+        if (!running) {
+            request.done.completeExceptionally(new IOException("Journal kapalı"));
+            return request.done;
+        }
+        queue.add(request);
+        return request.done;
+    }
+
+    /**
+     * Yeni bir segmente geçer. Bu çağrıdan önce eklenen tüm kayıtlar önceki segmentlerdedir.
+     *
+     * @return Kapatılan segmentin numarası, journal kapalıysa -1
+     */
+    public long rotate() {
+        if (!running) {
+            return -1;
+        }
+        Request request = new Request(new UUID[0], new double[0], null, true);
+        queue.add(request);
+        request.done.join();
+        return request.rotatedSegment;
+    }
+
+    /**
+     * Verilen segment ve öncesindeki (bu oturumda oluşturulmuş) segmentleri siler.
+     * Segmentlerdeki tüm kayıtlar veritabanına yazıldıktan sonra çağrılmalıdır.
+     *
+     * @param lastSegmentId Silinecek son segment
+     */
+    public void truncate(long lastSegmentId) {
+        for (File file : listSegments(directory)) {
+            long id = parseSegmentId(file);
+            if (id >= firstSegmentId && id <= lastSegmentId && !file.delete()) {
+                plugin.getLogger().warning("Journal segmenti silinemedi: " + file.getName());
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<Request> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_GROUP_SIZE - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Request> batch) {
+        List<Request> group = new ArrayList<>(batch.size());
+        for (Request request : batch) {
+            if (!request.rotate) {
+                group.add(request);
+                continue;
+            }
+
+            // Rotasyondan önce eklenen kayıtlar eski segmente yazılır
+            writeGroup(group);
+            group.clear();
+            try {
+                channel.close();
+                request.rotatedSegment = segmentId;
+                segmentId++;
+                channel = openSegment(segmentId);
+                request.done.complete(null);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Journal segmenti değiştirilemedi!", e);
+                request.done.completeExceptionally(e);
+            }
+        }
+        writeGroup(group);
+    }
+
+    private void writeGroup(List<Request> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+
+        long start = -1;
+        try {
+            start = channel.size();
+            buffer.clear();
+            for (Request request : group) {
+                int count = request.playerUUIDs.length + (request.sweepState != null ? 1 : 0);
+                if (count * RECORD_SIZE > buffer.remaining()) {
+                    writeBuffer();
+                }
+                // Tampondan büyük birimler ayrı bir tampon ile yazılır
+                ByteBuffer target = count * RECORD_SIZE > buffer.capacity() ? ByteBuffer.allocate(count * RECORD_SIZE) : buffer;
+                for (int i = 0; i < request.playerUUIDs.length; i++) {
+                    UUID playerUUID = request.playerUUIDs[i];
+                    putRecord(target, playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(),
+                            Double.doubleToRawLongBits(request.balances[i]), count - 1 - i);
+                }
+                if (request.sweepState != null) {
+                    // İmleç birimin son kaydıdır
+                    UUID afterUUID = request.sweepState.getAfterUUIDAsUUID();
+                    putRecord(target, afterUUID.getMostSignificantBits(), afterUUID.getLeastSignificantBits(),
+                            request.sweepState.getSweepId(), SWEEP_FLAG);
+                }
+                if (target != buffer) {
+                    target.flip();
+                    while (target.hasRemaining()) {
+                        channel.write(target);
+                    }
+                }
+            }
+            writeBuffer();
+            if (fsync) {
+                channel.force(false);
+                syncCount.incrementAndGet();
+            }
+
+            int records = 0;
+            for (Request request : group) {
+                records += request.playerUUIDs.length + (request.sweepState != null ? 1 : 0);
+            }
+            appendedRecords.addAndGet(records);
+            lastGroupSize = group.size();
+            maxGroupSize = Math.max(maxGroupSize, group.size());
+            for (Request request : group) {
+                request.done.complete(null);
+            }
+        } catch (IOException e) {
+            failedWrites.addAndGet(group.size());
+            plugin.getLogger().log(Level.SEVERE, "Journal yazılamadı! " + group.size() + " kayıt diske alınamadı.", e);
+            // Başarısız bildirilen kayıtlar dosyada kalırsa sonraki açılışta uygulanırdı
+            discardPartialGroup(start);
+            for (Request request : group) {
+                request.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Başarısız grubun dosyaya ulaşmış kısmını siler: segment grubun başladığı yere kesilir.
+     * Kesilemezse segment ".failed" olarak ayrılır (otomatik oynatılmaz) ve yeni segmente geçilir;
+     * segmentteki önceki kayıtlar bellekte dirty olduğundan bir sonraki flush ile yazılır.
+     *
+     * @param start Grup yazılmadan önceki dosya boyutu, bilinmiyorsa -1
+     */
+    private void discardPartialGroup(long start) {
+        buffer.clear();
+        try {
+            if (start < 0) {
+                throw new IOException("Grubun başlangıcı bilinmiyor");
+            }
+            if (channel.size() > start) {
+                channel.truncate(start);
+                channel.force(false);
+            }
+            return;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Yarım yazılan journal grubu silinemedi, segment ayrılıyor", e);
+        }
+
+        File file = new File(directory, segmentName(segmentId));
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Segment zaten ayrılıyor
+        }
+        if (!file.renameTo(new File(directory, file.getName() + ".failed"))) {
+            plugin.getLogger().severe("Journal segmenti ayrılamadı, sonraki açılışta yarım grup uygulanabilir: " + file.getName());
+        }
+        try {
+            segmentId++;
+            channel = openSegment(segmentId);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Yeni journal segmenti açılamadı!", e);
+        }
+    }
+
+    private void putRecord(ByteBuffer target, long mostSignificantBits, long leastSignificantBits,
+                           long balanceBits, int remaining) {
+        target.putLong(mostSignificantBits);
+        target.putLong(leastSignificantBits);
+        target.putLong(balanceBits);
+        target.putInt(remaining);
+        target.putInt(checksum(crc, checksumScratch, mostSignificantBits, leastSignificantBits, balanceBits, remaining));
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static int checksum(CRC32 crc, ByteBuffer scratch, long mostSignificantBits, long leastSignificantBits,
+                                long balanceBits, int remaining) {
+        scratch.clear();
+        scratch.putLong(mostSignificantBits).putLong(leastSignificantBits).putLong(balanceBits).putInt(remaining);
+        crc.reset();
+        crc.update(scratch.array(), 0, scratch.position());
+        return (int) crc.getValue();
+    }
+
+    private FileChannel openSegment(long id) throws IOException {
+        File file = new File(directory, segmentName(id));
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Bekleyen kayıtları yazar ve writer thread'ini durdurur
+     */
+    public void close() {
+        running = false;
+        try {
+            writer.join(10000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.done.completeExceptionally(new IOException("Journal kapandı"));
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Journal kapatılırken hata", e);
+        }
+
+        // Boş kalan son segment gereksizdir
+        File current = new File(directory, segmentName(segmentId));
+        if (current.length() == 0) {
+            current.delete();
+        }
+    }
+
+    /**
+     * Journal istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        return String.format(
+                "Journal Stats - Segment: %d, Records: %d, Syncs: %d, Failed: %d, Last Group: %d, Max Group: %d, Pending: %d",
+                segmentId,
+                appendedRecords.get(),
+                syncCount.get(),
+                failedWrites.get(),
+                lastGroupSize,
+                maxGroupSize,
+                queue.size()
+        );
+    }
+
+    /**
+     * Önceki oturumdan okunan kayıtlar: her hesabın son bakiyesi ve son tarama imleci
+     */
+    public static final class Recovered {
+        private final Map<UUID, Double> balances;
+        private final RateSweepState sweepState;
+
+        private Recovered(Map<UUID, Double> balances, RateSweepState sweepState) {
+            this.balances = balances;
+            this.sweepState = sweepState;
+        }
+
+        /**
+         * Hesap -> son bakiye (segment sırasına göre)
+         */
+        public Map<UUID, Double> getBalances() {
+            return balances;
+        }
+
+        /**
+         * Son tamamlanan faiz/vergi grubunun imleci, yoksa null
+         */
+        public RateSweepState getSweepState() {
+            return sweepState;
+        }
+    }
+
+    /**
+     * Önceki oturumdan kalan segmentleri okur; her hesap için son bakiye döndürülür.
+     * Yarım yazılmış (CRC'si tutmayan) kayıtta o segmentin okunması durur.
+     *
+     * @param directory Journal klasörü
+     * @return Okunan bakiyeler ve tarama imleci
+     */
+    public static Recovered readAll(JavaPlugin plugin, File directory) {
+        Map<UUID, Double> balances = new LinkedHashMap<>();
+        RateSweepState sweepState = null;
+        CRC32 crc = new CRC32();
+        ByteBuffer scratch = ByteBuffer.allocate(CHECKSUM_OFFSET);
+
+        for (File file : listSegments(directory)) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer data = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE, channel.size()));
+                while (data.hasRemaining() && channel.read(data) >= 0) {
+                    // dosyanın tamamını oku
+                }
+                data.flip();
+
+                // Birimin kayıtları, son kaydı (remaining = 0) okunana kadar bekletilir
+                Map<UUID, Double> unit = new LinkedHashMap<>();
+                RateSweepState unitSweepState = null;
+                while (data.remaining() >= RECORD_SIZE) {
+                    long mostSignificantBits = data.getLong();
+                    long leastSignificantBits = data.getLong();
+                    long balanceBits = data.getLong();
+                    int remaining = data.getInt();
+                    int storedChecksum = data.getInt();
+
+                    if (checksum(crc, scratch, mostSignificantBits, leastSignificantBits, balanceBits, remaining) != storedChecksum) {
+                        plugin.getLogger().warning("Journal segmentinde bozuk kayıt, segmentin geri kalanı atlandı: " + file.getName());
+                        break;
+                    }
+
+                    if ((remaining & SWEEP_FLAG) != 0) {
+                        unitSweepState = new RateSweepState(balanceBits, new UUID(mostSignificantBits, leastSignificantBits).toString());
+                        remaining &= ~SWEEP_FLAG;
+                    } else {
+                        unit.put(new UUID(mostSignificantBits, leastSignificantBits), Double.longBitsToDouble(balanceBits));
+                    }
+                    if (remaining == 0) {
+                        for (Map.Entry<UUID, Double> entry : unit.entrySet()) {
+                            balances.remove(entry.getKey()); // son kaydın sırası korunsun
+                            balances.put(entry.getKey(), entry.getValue());
+                        }
+                        if (unitSweepState != null) {
+                            sweepState = unitSweepState;
+                        }
+                        unit.clear();
+                        unitSweepState = null;
+                    }
+                }
+                if (!unit.isEmpty() || unitSweepState != null) {
+                    plugin.getLogger().warning("Journal segmentinde yarım kalan işlem atlandı: " + file.getName());
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Journal segmenti okunamadı: " + file.getName(), e);
+            }
+        }
+        return new Recovered(balances, sweepState);
+    }
+
+    /**
+     * Önceki oturumdan kalan segmentleri siler veya (başarısız replay'de) yeniden adlandırır
+     *
+     * @param directory Journal klasörü
+     * @param replayed  true ise dosyalar silinir, false ise ".failed" uzantısıyla saklanır
+     */
+    public static void discardExisting(JavaPlugin plugin, File directory, boolean replayed) {
+        for (File file : listSegments(directory)) {
+            boolean ok = replayed
+                    ? file.delete()
+                    : file.renameTo(new File(directory, file.getName() + ".failed"));
+            if (!ok) {
+                plugin.getLogger().warning("Journal segmenti temizlenemedi: " + file.getName());
+            }
+        }
+    }
+
+    /**
+     * Klasörde replay edilmemiş segment var mı?
+     */
+    public static boolean hasSegments(File directory) {
+        return !listSegments(directory).isEmpty();
+    }
+
+    private static List<File> listSegments(File directory) {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(parseSegmentId(a), parseSegmentId(b)));
+        List<File> result = new ArrayList<>(Arrays.asList(files));
+        result.removeIf(Predicate.not(File::isFile));
+        return result;
+    }
+
+    private static long parseSegmentId(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String segmentName(long id) {
+        return String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX);
+    }
+
+    private static final class Request {
+        private final UUID[] playerUUIDs;
+        private final double[] balances;
+        private final RateSweepState sweepState;
+        private final boolean rotate;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private long rotatedSegment;
+
+        private Request(UUID[] playerUUIDs, double[] balances, RateSweepState sweepState, boolean rotate) {
+            this.playerUUIDs = playerUUIDs;
+            this.balances = balances;
+            this.sweepState = sweepState;
+            this.rotate = rotate;
+        }
+    }
+}
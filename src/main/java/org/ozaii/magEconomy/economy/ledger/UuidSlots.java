@@ -0,0 +1,185 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * UUID anahtarlı açık adresleme (linear probing) tablosunun anahtar kısmı.
+ *
+ * UUID'nin iki long'u paralel dizilerde tutulur; arama, ekleme, büyütme ve mezar taşı bırakmayan
+ * backward-shift silme burada yapılır. Değerler kullanan sınıfın kendi paralel dizilerindedir:
+ * bir slot taşındığında, boşaldığında veya tablo büyüdüğünde {@link Values} ile haber verilir.
+ *
+ * Thread-safe değildir, kullanan sınıfın kilidi altında çağrılmalıdır.
+ */
+final class UuidSlots {
+
+    /**
+     * Slotlara paralel değer dizilerini tutan taraf
+     */
+    interface Values {
+
+        /**
+         * Tablo büyüdü: değer dizileri yeni kapasitede ayrılmalı ve eski slot i'deki değer moves[i]'ye
+         * taşınmalıdır (boş slotlar için -1)
+         */
+        void resize(int capacity, int[] moves);
+
+        void move(int from, int to);
+
+        void clear(int slot);
+    }
+
+    /**
+     * Değer dizisi olmayan tablolar (küme) için
+     */
+    static final Values NO_VALUES = new Values() {
+        @Override
+        public void resize(int capacity, int[] moves) {
+        }
+
+        @Override
+        public void move(int from, int to) {
+        }
+
+        @Override
+        public void clear(int slot) {
+        }
+    };
+
+    private final Values values;
+    private long[] keyHi;
+    private long[] keyLo;
+    private boolean[] used;
+    private int size;
+
+    /**
+     * @param capacity Başlangıç kapasitesi (2'nin kuvveti)
+     */
+    UuidSlots(int capacity, Values values) {
+        this.values = values;
+        reset(capacity);
+    }
+
+    /**
+     * Tüm anahtarları siler. Değer dizilerini sıfırlamak çağıranın işidir.
+     */
+    void reset(int capacity) {
+        keyHi = new long[capacity];
+        keyLo = new long[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    int capacity() {
+        return used.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isUsed(int slot) {
+        return used[slot];
+    }
+
+    long hiAt(int slot) {
+        return keyHi[slot];
+    }
+
+    long loAt(int slot) {
+        return keyLo[slot];
+    }
+
+    UUID uuidAt(int slot) {
+        return new UUID(keyHi[slot], keyLo[slot]);
+    }
+
+    /**
+     * @return slot indeksi veya yoksa -1
+     */
+    int find(long hi, long lo) {
+        int mask = used.length - 1;
+        int slot = (int) AccountTable.hash(hi, lo) & mask;
+        while (used[slot]) {
+            if (keyHi[slot] == hi && keyLo[slot] == lo) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Tabloda olmadığı bilinen anahtarı ekler; doluluk %75'i geçecekse önce tabloyu büyütür
+     * @return anahtarın slotu (değerleri çağıran yazar)
+     */
+    int insert(long hi, long lo) {
+        if ((size + 1) * 4 > used.length * 3) {
+            grow(used.length << 1);
+        }
+        int slot = probe(hi, lo);
+        keyHi[slot] = hi;
+        keyLo[slot] = lo;
+        used[slot] = true;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Slotu siler (backward-shift deletion, mezar taşı bırakmaz). Sonraki bir anahtar bu slota
+     * taşınabilir; slotu gezen çağıran onu tekrar kontrol etmelidir.
+     */
+    void remove(int slot) {
+        int mask = used.length - 1;
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        while (used[next]) {
+            int home = (int) AccountTable.hash(keyHi[next], keyLo[next]) & mask;
+            boolean inRange = hole < next ? (home > hole && home <= next) : (home > hole || home <= next);
+            if (!inRange) {
+                keyHi[hole] = keyHi[next];
+                keyLo[hole] = keyLo[next];
+                values.move(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        keyHi[hole] = 0;
+        keyLo[hole] = 0;
+        values.clear(hole);
+        size--;
+    }
+
+    private int probe(long hi, long lo) {
+        int mask = used.length - 1;
+        int slot = (int) AccountTable.hash(hi, lo) & mask;
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow(int capacity) {
+        long[] oldHi = keyHi;
+        long[] oldLo = keyLo;
+        boolean[] oldUsed = used;
+        int oldSize = size;
+
+        reset(capacity);
+        int[] moves = new int[oldUsed.length];
+        Arrays.fill(moves, -1);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = probe(oldHi[i], oldLo[i]);
+                keyHi[slot] = oldHi[i];
+                keyLo[slot] = oldLo[i];
+                used[slot] = true;
+                moves[i] = slot;
+            }
+        }
+        size = oldSize;
+        values.resize(capacity, moves);
+    }
+}
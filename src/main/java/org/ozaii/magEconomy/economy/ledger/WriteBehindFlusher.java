@@ -0,0 +1,294 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.economy.daos.PlayerEconomyDao;
+import org.ozaii.magEconomy.economy.models.RateSweepState;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongToDoubleFunction;
+import java.util.logging.Level;
+
+/**
+ * Write-behind modunda bakiye değişikliklerini bellekte biriktirip
+ * periyodik olarak tek bir JDBC batch transaction'ı ile veritabanına yazar.
+ *
+ * Bellekteki hesap tablosu tek doğru kaynaktır; her mutasyon hesabı tabloda "dirty"
+ * olarak işaretler. Flush, belirli aralıklarla veya dirty hesap sayısı
+ * eşiği aştığında tetiklenir.
+ */
+public class WriteBehindFlusher {
+
+    private final JavaPlugin plugin;
+    private final PlayerEconomyDao playerEconomyDao;
+    private final AccountTable accountTable;
+    private final LongToDoubleFunction balanceDecoder;
+    private final TransactionJournal journal;
+    private final long flushIntervalMillis;
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushRequested;
+    private final Object flushLock = new Object();
+    // Bir sonraki flush ile aynı transaction'da yazılacak faiz/vergi imleci
+    private final AtomicReference<RateSweepState> pendingSweepState = new AtomicReference<>();
+
+    // İstatistikler
+    private final AtomicLong totalFlushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong totalFlushedAccounts = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSizeSeen;
+    private volatile long lastFlushLagMillis;
+    private volatile long maxFlushLagMillis;
+    private volatile long lastFlushDurationMillis;
+    private volatile long lastFlushTime;
+
+    /**
+     * @param accountTable   Dirty işaretlerinin tutulduğu hesap tablosu
+     * @param balanceDecoder Tablodaki ham bakiyeyi tutara çeviren fonksiyon
+     * @param journal        Başarılı flush sonrası kısaltılacak işlem günlüğü (null olabilir)
+     */
+    public WriteBehindFlusher(JavaPlugin plugin, PlayerEconomyDao playerEconomyDao, AccountTable accountTable,
+                              LongToDoubleFunction balanceDecoder, TransactionJournal journal,
+                              long flushIntervalMillis, int maxBatchSize) {
+        this.plugin = plugin;
+        this.playerEconomyDao = playerEconomyDao;
+        this.accountTable = accountTable;
+        this.balanceDecoder = balanceDecoder;
+        this.journal = journal;
+        this.flushIntervalMillis = Math.max(50, flushIntervalMillis);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushRequested = new AtomicBoolean(false);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-WriteBehind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Periyodik flush görevini başlatır
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        plugin.getLogger().info("Write-behind aktif! Flush aralığı: " + flushIntervalMillis + "ms, Batch eşiği: " + maxBatchSize);
+    }
+
+    /**
+     * Bir hesap dirty olarak işaretlendikten sonra çağrılır, eşik aşıldıysa erken flush ister
+     */
+    public void onDirty() {
+        if (accountTable.getDirtyCount() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushSafely);
+        }
+    }
+
+    /**
+     * Faiz/vergi grubunun imlecini bir sonraki flush'a ekler. Grubun hesapları dirty olarak
+     * işaretlendikten sonra, onların segment kilitleri altında çağrılmalıdır; böylece grubun
+     * yeni bakiyelerini okuyan her flush imleci de görür.
+     */
+    public void attachSweepState(RateSweepState sweepState) {
+        pendingSweepState.set(sweepState);
+    }
+
+    /**
+     * Grubun değişiklikleri geri alındıysa imleci bekleyen flush'tan çıkarır
+     */
+    public void detachSweepState(RateSweepState sweepState) {
+        pendingSweepState.compareAndSet(sweepState, null);
+    }
+
+    /**
+     * Bekleyen değişiklik sayısı
+     * @return dirty hesap sayısı
+     */
+    public int getDirtyCount() {
+        return accountTable.getDirtyCount();
+    }
+
+    /**
+     * Flush'ı asenkron olarak tetikler
+     * @return Flush tamamlandığında biten CompletableFuture
+     */
+    public CompletableFuture<Boolean> flushAsync() {
+        if (accountTable.getDirtyCount() == 0 && pendingSweepState.get() == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return CompletableFuture.supplyAsync(this::flush, scheduler);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Write-behind flush sırasında beklenmeyen hata", e);
+        }
+    }
+
+    /**
+     * Dirty hesapları tek bir batch transaction ile yazar (senkron)
+     * @return Başarılı ise true
+     */
+    public boolean flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            if (accountTable.getDirtyCount() == 0 && pendingSweepState.get() == null) {
+                return true;
+            }
+
+            long startTime = System.currentTimeMillis();
+            long oldestDirtyTime = startTime;
+            Map<UUID, Double> batch = new LinkedHashMap<>();
+
+            // Journal'da yeni segmente geç: eski segmentlerdeki her kayıt, aşağıda okunan
+            // (aynı veya daha yeni) bakiyelerle birlikte yazılmış olacak
+            long journalSegment = -1;
+            if (journal != null) {
+                try {
+                    journalSegment = journal.rotate();
+                } catch (Exception e) {
+                    plugin.getLogger().log(Level.SEVERE, "Journal segmenti değiştirilemedi, kısaltma atlanıyor", e);
+                }
+            }
+
+            // Dirty hesaplar FLUSHING durumuna alınır; yazma bitene kadar tablodan düşürülmezler,
+            // bu sırada gelen mutasyonlar hesabı tekrar dirty yapar
+            for (int i = 0; i < accountTable.getSegmentCount(); i++) {
+                AccountTable.Segment segment = accountTable.segmentAt(i);
+                segment.lock();
+                try {
+                    if (segment.getDirty() == 0) {
+                        continue;
+                    }
+                    oldestDirtyTime = Math.min(oldestDirtyTime, segment.getDirtySince());
+                    for (int slot = 0; slot < segment.capacity(); slot++) {
+                        if (segment.isPresent(slot) && segment.isDirty(slot)) {
+                            segment.beginFlush(slot);
+                            batch.put(segment.uuidAt(slot), balanceDecoder.applyAsDouble(segment.balanceAt(slot)));
+                        }
+                    }
+                } finally {
+                    segment.unlock();
+                }
+            }
+
+            // İmleç hesaplar okunduktan sonra alınır. Okuma sırasında eklendiyse grubun bazı hesapları
+            // sonraki flush'a kalabilir; çökmede onları journal'daki birim geri yükler (journal
+            // kapalıysa kaybolabilirler, ama grup iki kez uygulanmaz)
+            RateSweepState sweepState = pendingSweepState.get();
+
+            if (batch.isEmpty() && sweepState == null) {
+                if (journalSegment >= 0) {
+                    journal.truncate(journalSegment);
+                }
+                return true;
+            }
+
+            boolean success = playerEconomyDao.updateBalancesBatchSync(batch, sweepState);
+            long endTime = System.currentTimeMillis();
+            finishFlush(batch, success, endTime);
+            if (success && sweepState != null) {
+                pendingSweepState.compareAndSet(sweepState, null);
+            }
+
+            if (!success) {
+                // Yazılamayan kayıtlar tekrar dirty oldu, bir sonraki flush'ta tekrar denenecek
+                failedFlushes.incrementAndGet();
+                plugin.getLogger().warning("Write-behind flush başarısız, " + batch.size() + " hesap tekrar denenecek.");
+                return false;
+            }
+
+            if (journalSegment >= 0) {
+                journal.truncate(journalSegment);
+            }
+
+            int batchSize = batch.size();
+            long lag = endTime - oldestDirtyTime;
+
+            totalFlushes.incrementAndGet();
+            totalFlushedAccounts.addAndGet(batchSize);
+            lastBatchSize = batchSize;
+            maxBatchSizeSeen = Math.max(maxBatchSizeSeen, batchSize);
+            lastFlushLagMillis = lag;
+            maxFlushLagMillis = Math.max(maxFlushLagMillis, lag);
+            lastFlushDurationMillis = endTime - startTime;
+            lastFlushTime = endTime;
+            return true;
+        }
+    }
+
+    /**
+     * Zamanlayıcıyı durdurur ve kalan tüm değişiklikleri yazar
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        if (!flush()) {
+            plugin.getLogger().severe("Kapanışta write-behind flush başarısız! Yazılamayan hesap sayısı: " + accountTable.getDirtyCount());
+        }
+    }
+
+    private void finishFlush(Map<UUID, Double> batch, boolean success, long now) {
+        for (UUID playerUUID : batch.keySet()) {
+            AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+            segment.lock();
+            try {
+                int slot = segment.find(playerUUID);
+                if (slot >= 0) {
+                    segment.endFlush(slot, success, now);
+                }
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * Write-behind istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        long total = totalFlushes.get();
+        double averageBatch = total == 0 ? 0 : (double) totalFlushedAccounts.get() / total;
+        return String.format(
+                "WriteBehind Stats - Pending: %d, Flushes: %d, Failed: %d, Last Batch: %d, Max Batch: %d, Avg Batch: %.1f, " +
+                        "Last Lag: %d ms, Max Lag: %d ms, Last Duration: %d ms, Last Flush: %d ms ago",
+                accountTable.getDirtyCount(),
+                total,
+                failedFlushes.get(),
+                lastBatchSize,
+                maxBatchSizeSeen,
+                averageBatch,
+                lastFlushLagMillis,
+                maxFlushLagMillis,
+                lastFlushDurationMillis,
+                lastFlushTime == 0 ? -1 : System.currentTimeMillis() - lastFlushTime
+        );
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public long getLastFlushLagMillis() {
+        return lastFlushLagMillis;
+    }
+}
@@ -0,0 +1,60 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Birleştirilmiş kalıcı yazmaların tek yazma hakkı: aynı anda en fazla bir yazma sürer.
+ *
+ * Arka plan yazmaları hakkı {@link #tryAcquire()} ile dener ve beklemez. Senkron flush ise süren
+ * yazmanın bitmesini {@link #acquire(long, TimeUnit)} ile döngüde dönmeden bekler.
+ */
+public final class WriteSlot {
+
+    // Süren yazma bitince tamamlanır, yazma yoksa null
+    private final AtomicReference<CompletableFuture<Void>> current = new AtomicReference<>();
+
+    public boolean tryAcquire() {
+        return current.get() == null && current.compareAndSet(null, new CompletableFuture<>());
+    }
+
+    /**
+     * Süren yazmanın bitmesini en fazla timeout kadar bekler ve hakkı alır
+     *
+     * @return Hak alındıysa true, süre dolduysa veya thread kesildiyse false
+     */
+    public boolean acquire(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!tryAcquire()) {
+            CompletableFuture<Void> running = current.get();
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (running == null) {
+                continue;
+            }
+            try {
+                running.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException ignored) {
+                // Yazmalar future'ı hata ile tamamlamaz
+            }
+        }
+        return true;
+    }
+
+    public void release() {
+        CompletableFuture<Void> running = current.getAndSet(null);
+        if (running != null) {
+            running.complete(null);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.ozaii.magEconomy.economy.models;
+
+/**
+ * Tek hesaplık bakiye değişikliğinin sonucu ve işlem sonrası bakiye
+ */
+public final class BalanceChange {
+
+    public enum Status {
+        // Değişiklik uygulandı, bakiye yeni bakiyedir
+        APPLIED,
+        // Değişiklik reddedildi (yetersiz bakiye veya limit), bakiye mevcut bakiyedir
+        REJECTED,
+        // Hesap bellekte değil veya hesap yok, bakiye bilinmiyor
+        NOT_LOADED
+    }
+
+    private static final BalanceChange NOT_LOADED = new BalanceChange(Status.NOT_LOADED, 0.0);
+
+    private final Status status;
+    private final double balance;
+
+    private BalanceChange(Status status, double balance) {
+        this.status = status;
+        this.balance = balance;
+    }
+
+    public static BalanceChange applied(double newBalance) {
+        return new BalanceChange(Status.APPLIED, newBalance);
+    }
+
+    public static BalanceChange rejected(double currentBalance) {
+        return new BalanceChange(Status.REJECTED, currentBalance);
+    }
+
+    public static BalanceChange notLoaded() {
+        return NOT_LOADED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceChange{" +
+                "status=" + status +
+                ", balance=" + balance +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package org.ozaii.magEconomy.economy.models;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Kasaba, klan gibi ortak kullanılan banka hesabı.
+ * Banka adı büyük/küçük harf duyarsızdır; anahtar olarak küçük harfli hali saklanır.
+ */
+@DatabaseTable(tableName = "economy_banks")
+public class Bank {
+
+    public static final int MAX_NAME_LENGTH = 64;
+
+    @DatabaseField(id = true, columnName = "bank_key", width = MAX_NAME_LENGTH)
+    private String key;
+
+    @DatabaseField(columnName = "bank_name", width = MAX_NAME_LENGTH)
+    private String name;
+
+    @DatabaseField(columnName = "owner_uuid")
+    private String ownerUUID;
+
+    @DatabaseField(columnName = "balance")
+    private double balance;
+
+    // Bakiyenin en küçük birim karşılığı
+    @DatabaseField(columnName = "balance_minor")
+    private long balanceMinor;
+
+    @DatabaseField(columnName = "created_at")
+    private long createdAt;
+
+    @DatabaseField(columnName = "updated_at")
+    private long updatedAt;
+
+    // Boş constructor (ORMLite için gerekli)
+    public Bank() {
+    }
+
+    public Bank(String name, UUID ownerUUID) {
+        this.key = keyOf(name);
+        this.name = name;
+        this.ownerUUID = ownerUUID.toString();
+        long now = System.currentTimeMillis();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Banka adının tablo anahtarı
+     */
+    public static String keyOf(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public UUID getOwnerUUID() {
+        return UUID.fromString(ownerUUID);
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    public long getBalanceMinor() {
+        return balanceMinor;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Bank{" +
+                "name='" + name + '\'' +
+                ", ownerUUID=" + ownerUUID +
+                ", balance=" + balance +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package org.ozaii.magEconomy.economy.models;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+import java.util.UUID;
+
+/**
+ * Bir bankanın üyesi. Banka sahibi ayrıca üye olarak kaydedilmez.
+ */
+@DatabaseTable(tableName = "economy_bank_members")
+public class BankMember {
+
+    @DatabaseField(generatedId = true, columnName = "id")
+    private long id;
+
+    @DatabaseField(columnName = "bank_key", width = Bank.MAX_NAME_LENGTH, uniqueCombo = true, index = true)
+    private String bankKey;
+
+    @DatabaseField(columnName = "member_uuid", uniqueCombo = true)
+    private String memberUUID;
+
+    @DatabaseField(columnName = "created_at")
+    private long createdAt;
+
+    // Boş constructor (ORMLite için gerekli)
+    public BankMember() {
+    }
+
+    public BankMember(String bankKey, UUID memberUUID) {
+        this.bankKey = bankKey;
+        this.memberUUID = memberUUID.toString();
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public String getBankKey() {
+        return bankKey;
+    }
+
+    public UUID getMemberUUID() {
+        return UUID.fromString(memberUUID);
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BankMember{" +
+                "bankKey='" + bankKey + '\'' +
+                ", memberUUID=" + memberUUID +
+                '}';
+    }
+}
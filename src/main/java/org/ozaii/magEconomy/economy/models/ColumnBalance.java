@@ -0,0 +1,66 @@
+package org.ozaii.magEconomy.economy.models;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+/**
+ * Ana bakiye dışındaki bir bakiye sütunundaki (dünya grubu, para birimi) tek bir oyuncunun değeri.
+ * Sadece o sütunda bakiyesi olan oyuncular için satır bulunur.
+ */
+@DatabaseTable(tableName = "economy_balance_columns")
+public class ColumnBalance {
+
+    public static final int MAX_COLUMN_KEY_LENGTH = 64;
+
+    @DatabaseField(generatedId = true, columnName = "id")
+    private long id;
+
+    @DatabaseField(columnName = "player_uuid", width = 36, uniqueCombo = true)
+    private String playerUUID;
+
+    @DatabaseField(columnName = "column_key", width = MAX_COLUMN_KEY_LENGTH, uniqueCombo = true, index = true)
+    private String columnKey;
+
+    @DatabaseField(columnName = "balance")
+    private double balance;
+
+    // Bakiyenin sütunun en küçük birimi cinsinden karşılığı
+    @DatabaseField(columnName = "balance_minor")
+    private long balanceMinor;
+
+    @DatabaseField(columnName = "updated_at")
+    private long updatedAt;
+
+    // Boş constructor (ORMLite için gerekli)
+    public ColumnBalance() {
+    }
+
+    public String getPlayerUUID() {
+        return playerUUID;
+    }
+
+    public String getColumnKey() {
+        return columnKey;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    public long getBalanceMinor() {
+        return balanceMinor;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnBalance{" +
+                "playerUUID='" + playerUUID + '\'' +
+                ", columnKey='" + columnKey + '\'' +
+                ", balance=" + balance +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package org.ozaii.magEconomy.economy.models;
+
+import org.ozaii.magEconomy.economy.ledger.BalanceColumn;
+import org.ozaii.magEconomy.economy.ledger.MinorUnits;
+
+/**
+ * Kayıtlı bir para birimi: isimleri, limitleri ve biçimlendirmesi.
+ *
+ * Varsayılan para birimi ana bakiyeyi (player_economy) kullanır ve sütunu yoktur; diğer para
+ * birimlerinin bakiyeleri kendi sütunlarında tutulur.
+ */
+public final class Currency {
+
+    private final String id;
+    private final String singular;
+    private final String plural;
+    private final MinorUnits minorUnits;
+    private final double startingBalance;
+    private final double minBalance;
+    private final double maxBalance;
+    private final long startingBalanceMinor;
+    private final long minBalanceMinor;
+    private final long maxBalanceMinor;
+    private final BalanceColumn column;
+
+    public Currency(String id, String singular, String plural, int fractionalDigits,
+                    double startingBalance, double minBalance, double maxBalance, BalanceColumn column) {
+        this.id = id;
+        this.singular = singular;
+        this.plural = plural;
+        this.minorUnits = new MinorUnits(fractionalDigits);
+        this.startingBalance = startingBalance;
+        this.minBalance = minBalance;
+        this.maxBalance = maxBalance;
+        this.startingBalanceMinor = minorUnits.toMinor(startingBalance);
+        this.minBalanceMinor = minorUnits.toMinor(minBalance);
+        this.maxBalanceMinor = minorUnits.toMinor(maxBalance);
+        this.column = column;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSingular() {
+        return singular;
+    }
+
+    public String getPlural() {
+        return plural;
+    }
+
+    public int getFractionalDigits() {
+        return minorUnits.getFractionalDigits();
+    }
+
+    public MinorUnits getMinorUnits() {
+        return minorUnits;
+    }
+
+    public double getStartingBalance() {
+        return startingBalance;
+    }
+
+    public double getMinBalance() {
+        return minBalance;
+    }
+
+    public double getMaxBalance() {
+        return maxBalance;
+    }
+
+    public long getStartingBalanceMinor() {
+        return startingBalanceMinor;
+    }
+
+    public long getMinBalanceMinor() {
+        return minBalanceMinor;
+    }
+
+    public long getMaxBalanceMinor() {
+        return maxBalanceMinor;
+    }
+
+    /**
+     * @return Bakiyelerin tutulduğu sütun, varsayılan para biriminde null
+     */
+    public BalanceColumn getColumn() {
+        return column;
+    }
+
+    public boolean isDefault() {
+        return column == null;
+    }
+
+    /**
+     * Miktarı para biriminin ondalık basamağı ve ismiyle biçimlendirir
+     */
+    public String format(double amount) {
+        return String.format("%." + getFractionalDigits() + "f %s", amount, amount == 1 ? singular : plural);
+    }
+
+    @Override
+    public String toString() {
+        return "Currency{" +
+                "id='" + id + '\'' +
+                ", singular='" + singular + '\'' +
+                ", fractionalDigits=" + getFractionalDigits() +
+                '}';
+    }
+}
@@ -0,0 +1,104 @@
+package org.ozaii.magEconomy.economy.models;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+import java.util.UUID;
+
+/**
+ * Idempotency anahtarı ile yapılmış bir işlemin sonucu.
+ * Aynı anahtarla tekrar gelen istek işlemi yeniden uygulamaz, bu sonucu döndürür.
+ *
+ * Kayıt işlem uygulanmadan önce "pending" olarak eklenir ve işlem bitince sonuçla güncellenir.
+ * Anahtar işlemin parametrelerine (işlem türü, para birimi, hesaplar, miktar) bağlıdır.
+ */
+@DatabaseTable(tableName = "economy_idempotency")
+public class IdempotencyRecord {
+
+    public static final int MAX_KEY_LENGTH = 128;
+    public static final int MAX_FINGERPRINT_LENGTH = 255;
+
+    @DatabaseField(id = true, columnName = "idempotency_key", width = MAX_KEY_LENGTH)
+    private String key;
+
+    @DatabaseField(columnName = "fingerprint", width = MAX_FINGERPRINT_LENGTH)
+    private String fingerprint;
+
+    @DatabaseField(columnName = "pending")
+    private boolean pending;
+
+    @DatabaseField(columnName = "result")
+    private boolean result;
+
+    @DatabaseField(columnName = "created_at", index = true)
+    private long createdAt;
+
+    // Boş constructor (ORMLite için gerekli)
+    public IdempotencyRecord() {
+    }
+
+    /**
+     * İşlem uygulanmadan önce eklenen bekleyen kayıt
+     */
+    public IdempotencyRecord(String key, String fingerprint) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.pending = true;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * İşlemin parametrelerinden anahtarın bağlı olduğu parmak izini oluşturur
+     *
+     * @param operation  İşlem türü (withdraw, deposit, transfer)
+     * @param currencyId Para birimi, ana bakiye için null
+     * @param amount     Miktar
+     * @param accounts   İşlemdeki hesaplar, sırasıyla
+     */
+    public static String fingerprint(String operation, String currencyId, double amount, UUID... accounts) {
+        StringBuilder builder = new StringBuilder(operation)
+                .append(':').append(currencyId != null ? currencyId : "")
+                .append(':').append(amount);
+        for (UUID account : accounts) {
+            builder.append(':').append(account);
+        }
+        return builder.length() > MAX_FINGERPRINT_LENGTH ? builder.substring(0, MAX_FINGERPRINT_LENGTH) : builder.toString();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Anahtarın bağlı olduğu işlem, eski kayıtlarda null
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * İşlem başladı ama sonucu kaydedilmedi (sürüyor veya sonucu bilinmiyor)
+     */
+    public boolean isPending() {
+        return pending;
+    }
+
+    public boolean getResult() {
+        return result;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "key='" + key + '\'' +
+                ", fingerprint='" + fingerprint + '\'' +
+                ", pending=" + pending +
+                ", result=" + result +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package org.ozaii.magEconomy.economy.models;
+
+import java.util.UUID;
+
+/**
+ * Sıralamadaki bir hesap: sıra (1'den başlar), oyuncu ve bakiye
+ */
+public final class LeaderboardEntry {
+
+    private final int rank;
+    private final UUID playerUUID;
+    private final String playerName;
+    private final double balance;
+
+    public LeaderboardEntry(int rank, UUID playerUUID, String playerName, double balance) {
+        this.rank = rank;
+        this.playerUUID = playerUUID;
+        this.playerName = playerName;
+        this.balance = balance;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    /**
+     * Oyuncu adı, bilinmiyorsa null
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+}
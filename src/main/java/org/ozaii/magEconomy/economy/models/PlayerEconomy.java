@@ -18,6 +18,10 @@ public class PlayerEconomy {
     @DatabaseField(columnName = "balance")
     private double balance;
 
+    // Bakiyenin en küçük birim (fractional-digits ile ölçeklenmiş) karşılığı, fixed-point modunda esas alınır
+    @DatabaseField(columnName = "balance_minor")
+    private long balanceMinor;
+
     @DatabaseField(columnName = "created_at")
     private long createdAt;
 
@@ -71,6 +75,21 @@ public class PlayerEconomy {
         this.updatedAt = System.currentTimeMillis();
     }
 
+    public long getBalanceMinor() {
+        return balanceMinor;
+    }
+
+    /**
+     * Bakiyeyi hem tutar hem de en küçük birim olarak ayarlar
+     * @param balance Tutar
+     * @param balanceMinor En küçük birim karşılığı
+     */
+    public void setBalance(double balance, long balanceMinor) {
+        this.balanceMinor = balanceMinor;
+        this.balance = balance;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
     public long getCreatedAt() {
         return createdAt;
     }
@@ -111,6 +130,7 @@ public class PlayerEconomy {
                 "playerUUID='" + playerUUID + '\'' +
                 ", playerName='" + playerName + '\'' +
                 ", balance=" + balance +
+                ", balanceMinor=" + balanceMinor +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
@@ -0,0 +1,67 @@
+package org.ozaii.magEconomy.economy.models;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Faiz/vergi taramasında işlenen bir hesap grubunun sonucu
+ */
+public final class RateChunk {
+
+    private final String lastUUID;
+    private final int scanned;
+    private final Map<UUID, Double> deltas;
+    private final Map<UUID, Double> newBalances;
+
+    public RateChunk(String lastUUID, int scanned, Map<UUID, Double> deltas, Map<UUID, Double> newBalances) {
+        this.lastUUID = lastUUID;
+        this.scanned = scanned;
+        this.deltas = deltas;
+        this.newBalances = newBalances;
+    }
+
+    /**
+     * Gruptaki son hesabın anahtarı, bir sonraki grup buradan devam eder
+     */
+    public String getLastUUID() {
+        return lastUUID;
+    }
+
+    /**
+     * Gruptaki hesap sayısı (değişmeyenler dahil)
+     */
+    public int getScanned() {
+        return scanned;
+    }
+
+    /**
+     * Bakiyesi değişen hesaplar ve uygulanan tutar (faiz pozitif, vergi negatif)
+     */
+    public Map<UUID, Double> getDeltas() {
+        return deltas;
+    }
+
+    public Map<UUID, Double> getNewBalances() {
+        return newBalances;
+    }
+
+    public double getTotalDeposited() {
+        double total = 0;
+        for (double delta : deltas.values()) {
+            if (delta > 0) {
+                total += delta;
+            }
+        }
+        return total;
+    }
+
+    public double getTotalWithdrawn() {
+        double total = 0;
+        for (double delta : deltas.values()) {
+            if (delta < 0) {
+                total -= delta;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,61 @@
+package org.ozaii.magEconomy.economy.models;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+import java.util.UUID;
+
+/**
+ * Faiz/vergi taramasının kaldığı yer: tarama ve son uygulanan grubun son hesabı.
+ *
+ * Tabloda tek satır bulunur. Satır, grubun bakiyeleriyle aynı transaction'da yazılır; böylece
+ * bir grup ya bakiyeleri ve imleciyle birlikte commit edilmiştir ya da hiç edilmemiştir.
+ */
+@DatabaseTable(tableName = "rate_sweep_state")
+public class RateSweepState {
+
+    public static final int ROW_ID = 1;
+
+    @DatabaseField(id = true, columnName = "id")
+    private int id;
+
+    @DatabaseField(columnName = "sweep_id")
+    private long sweepId;
+
+    @DatabaseField(columnName = "after_uuid", width = 36)
+    private String afterUUID;
+
+    // Boş constructor (ORMLite için gerekli)
+    public RateSweepState() {
+    }
+
+    /**
+     * @param sweepId   Taramanın kimliği (başlangıç zamanı)
+     * @param afterUUID Uygulanan son grubun son hesabı
+     */
+    public RateSweepState(long sweepId, String afterUUID) {
+        this.id = ROW_ID;
+        this.sweepId = sweepId;
+        this.afterUUID = afterUUID;
+    }
+
+    public long getSweepId() {
+        return sweepId;
+    }
+
+    public String getAfterUUID() {
+        return afterUUID;
+    }
+
+    public UUID getAfterUUIDAsUUID() {
+        return UUID.fromString(afterUUID);
+    }
+
+    @Override
+    public String toString() {
+        return "RateSweepState{" +
+                "sweepId=" + sweepId +
+                ", afterUUID='" + afterUUID + '\'' +
+                '}';
+    }
+}
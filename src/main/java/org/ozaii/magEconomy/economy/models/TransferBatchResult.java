@@ -0,0 +1,80 @@
+package org.ozaii.magEconomy.economy.models;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Toplu transferin adım bazlı sonucu
+ */
+public final class TransferBatchResult {
+
+    public enum Status {
+        // Adım uygulandı ve kalıcı hale geldi
+        APPLIED,
+        // Adım reddedildi (yetersiz bakiye, limit, hesap yok veya geçersiz adım)
+        REJECTED,
+        // Adım uygulanmadı (hepsi-ya-da-hiçbiri modunda başka bir adım reddedildi veya yazma başarısız)
+        NOT_APPLIED
+    }
+
+    private final List<TransferLeg> legs;
+    private final Status[] statuses;
+
+    public TransferBatchResult(List<TransferLeg> legs, Status[] statuses) {
+        if (legs.size() != statuses.length) {
+            throw new IllegalArgumentException("Adım ve sonuç sayısı eşleşmiyor!");
+        }
+        this.legs = List.copyOf(legs);
+        this.statuses = statuses.clone();
+    }
+
+    /**
+     * Hiçbir adımı uygulanmamış sonuç
+     */
+    public static TransferBatchResult failed(List<TransferLeg> legs) {
+        Status[] statuses = new Status[legs.size()];
+        Arrays.fill(statuses, Status.NOT_APPLIED);
+        return new TransferBatchResult(legs, statuses);
+    }
+
+    public List<TransferLeg> getLegs() {
+        return legs;
+    }
+
+    public Status getStatus(int index) {
+        return statuses[index];
+    }
+
+    public List<Status> getStatuses() {
+        return List.of(statuses);
+    }
+
+    public boolean isApplied(int index) {
+        return statuses[index] == Status.APPLIED;
+    }
+
+    public int getAppliedCount() {
+        int count = 0;
+        for (Status status : statuses) {
+            if (status == Status.APPLIED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tüm adımlar uygulandıysa true
+     */
+    public boolean isComplete() {
+        return getAppliedCount() == statuses.length;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferBatchResult{" +
+                "legs=" + legs.size() +
+                ", applied=" + getAppliedCount() +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package org.ozaii.magEconomy.economy.models;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Toplu transferin tek bir adımı: gönderen, alan ve miktar
+ */
+public final class TransferLeg {
+
+    private final UUID fromUUID;
+    private final UUID toUUID;
+    private final double amount;
+
+    public TransferLeg(UUID fromUUID, UUID toUUID, double amount) {
+        this.fromUUID = Objects.requireNonNull(fromUUID, "fromUUID");
+        this.toUUID = Objects.requireNonNull(toUUID, "toUUID");
+        this.amount = amount;
+    }
+
+    public UUID getFromUUID() {
+        return fromUUID;
+    }
+
+    public UUID getToUUID() {
+        return toUUID;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferLeg{" +
+                "fromUUID=" + fromUUID +
+                ", toUUID=" + toUUID +
+                ", amount=" + amount +
+                '}';
+    }
+}
@@ -0,0 +1,570 @@
+package org.ozaii.magEconomy.economy.services;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.config.ConfigManager;
+import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.daos.BankDao;
+import org.ozaii.magEconomy.economy.ledger.BankAccount;
+import org.ozaii.magEconomy.economy.ledger.MinorUnits;
+import org.ozaii.magEconomy.economy.models.Bank;
+import org.ozaii.magEconomy.economy.models.BankMember;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Ortak banka hesapları (kasaba, klan vb.).
+ *
+ * Bankalar başlangıçta tamamen belleğe yüklenir ve bellekteki durum tek doğru kaynaktır.
+ * Bakiyeler hücrelere bölünmüş sayaçlarda tutulur; çok sayıda eşzamanlı yatırma aynı kilidi
+ * veya satırı beklemez. Veritabanı yazmaları banka başına birleştirilir: yoğun bir bankada
+ * her işlem için değil, her veritabanı tur süresi için bir UPDATE yapılır.
+ *
+ * Bakiyeler journal'a yazılmaz. Başarısız bir yazma artan aralıklarla (1 sn'den 30 sn'ye) yeni
+ * değişiklik beklemeden tekrar denenir; yazma başarılı olmadan çökme son değişiklikleri kaybettirir.
+ */
+public class BankService {
+
+    private static BankService instance;
+    private JavaPlugin plugin;
+    private ConfigManager configManager;
+    private BankDao bankDao;
+
+    private final Map<String, BankAccount> banks;
+    // Başarısız yazması olan bankaların bir sonraki tekrar deneme aralığı
+    private final Map<String, Long> retryDelays;
+    private ScheduledExecutorService retryScheduler;
+
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+    private final AtomicLong loadGeneration;
+    private volatile boolean loaded;
+
+    private boolean enabled;
+    private int maxStripes;
+    private MinorUnits minorUnits;
+    private long maxBalanceMinor;
+
+    // İstatistikler
+    private final LongAdder deposits;
+    private final LongAdder withdrawals;
+    private final LongAdder writes;
+    private final LongAdder coalescedWrites;
+    private final LongAdder failedWrites;
+
+    private BankService() {
+        this.banks = new ConcurrentHashMap<>();
+        this.retryDelays = new ConcurrentHashMap<>();
+        this.loadGeneration = new AtomicLong();
+        this.deposits = new LongAdder();
+        this.withdrawals = new LongAdder();
+        this.writes = new LongAdder();
+        this.coalescedWrites = new LongAdder();
+        this.failedWrites = new LongAdder();
+    }
+
+    /**
+     * BankService singleton instance'ını döndürür
+     *
+     * @return BankService instance
+     */
+    public static BankService getInstance() {
+        if (instance == null) {
+            instance = new BankService();
+        }
+        return instance;
+    }
+
+    /**
+     * BankService'i başlatır. PlayerEconomyService'ten sonra çağrılmalıdır.
+     *
+     * @param plugin JavaPlugin instance
+     */
+    public void initialize(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = ConfigManager.getInstance();
+
+        setupBankConfig();
+        loadBankSettings();
+
+        if (!enabled) {
+            plugin.getLogger().info("Banka sistemi kapalı.");
+            return;
+        }
+
+        this.bankDao = new BankDao(plugin);
+        startRetryScheduler();
+        DatabaseManager.getInstance().createTable(Bank.class)
+                .thenCompose(ignored -> DatabaseManager.getInstance().createTable(BankMember.class))
+                .thenRun(this::loadBanks);
+
+        plugin.getLogger().info("BankService başlatıldı!");
+    }
+
+    private void setupBankConfig() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+
+        if (!economyConfig.contains("banks.enabled")) {
+            economyConfig.set("banks.enabled", true);
+            economyConfig.set("banks.max-stripes", 16);
+
+            configManager.saveConfig("economy");
+        }
+    }
+
+    private void loadBankSettings() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+        PlayerEconomyService economyService = PlayerEconomyService.getInstance();
+
+        this.enabled = economyConfig.getBoolean("banks.enabled", true);
+        this.maxStripes = economyConfig.getInt("banks.max-stripes", 16);
+        this.minorUnits = new MinorUnits(economyService.getFractionalDigits());
+        this.maxBalanceMinor = minorUnits.toMinor(economyService.getMaxBalance());
+    }
+
+    /**
+     * Tüm bankaları ve üyelikleri belleğe yükler. Yükleme bitene kadar banka işlemleri reddedilir.
+     */
+    private void loadBanks() {
+        long generation = loadGeneration.incrementAndGet();
+        bankDao.getAllBanks().thenCombine(bankDao.getAllMembers(), (bankList, memberList) -> {
+            if (generation != loadGeneration.get()) {
+                return null;
+            }
+            for (Bank bank : bankList) {
+                banks.put(bank.getKey(), new BankAccount(bank.getKey(), bank.getName(), bank.getOwnerUUID(),
+                        minorUnits.toMinor(bank.getBalance()), maxStripes));
+            }
+            for (BankMember member : memberList) {
+                BankAccount bank = banks.get(member.getBankKey());
+                if (bank != null) {
+                    bank.addMember(member.getMemberUUID());
+                }
+            }
+            loaded = true;
+            plugin.getLogger().info("Bankalar yüklendi: " + bankList.size() + " banka, " + memberList.size() + " üyelik");
+            return null;
+        }).exceptionally(throwable -> {
+            plugin.getLogger().log(Level.SEVERE, "Bankalar yüklenemedi, banka işlemleri devre dışı", throwable);
+            return null;
+        });
+    }
+
+    /**
+     * Banka sistemi açık ve yüklenmiş mi?
+     */
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private BankAccount getBank(String name) {
+        if (!isReady() || name == null) {
+            return null;
+        }
+        BankAccount bank = banks.get(Bank.keyOf(name));
+        return bank == null || bank.isDeleted() ? null : bank;
+    }
+
+    public boolean exists(String name) {
+        return getBank(name) != null;
+    }
+
+    /**
+     * Yeni banka oluşturur
+     *
+     * @param name      Banka adı
+     * @param ownerUUID Sahip UUID
+     * @return CompletableFuture<Boolean> Aynı isimde banka varsa veya isim geçersizse false
+     */
+    public CompletableFuture<Boolean> createBank(String name, UUID ownerUUID) {
+        if (!isReady() || !isValidName(name) || ownerUUID == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        Bank bank = new Bank(name, ownerUUID);
+        BankAccount account = new BankAccount(bank.getKey(), name, ownerUUID, 0, maxStripes);
+        // İsim bellekte hemen ayrılır, aynı anda gelen ikinci oluşturma reddedilir
+        if (banks.putIfAbsent(bank.getKey(), account) != null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return bankDao.create(bank).handle((created, throwable) -> {
+            if (throwable != null || !Boolean.TRUE.equals(created)) {
+                banks.remove(bank.getKey(), account);
+                return false;
+            }
+            if (account.isDirty()) {
+                // Kayıt oluşmadan yapılan işlemlerin yazması boşa gitmiş olabilir
+                requestWrite(account);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Bankayı ve üyeliklerini siler. Bankadaki para silinir.
+     *
+     * @param name Banka adı
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> deleteBank(String name) {
+        BankAccount bank = getBank(name);
+        if (bank == null || !banks.remove(bank.getKey(), bank)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        bank.markDeleted();
+
+        return bankDao.delete(bank.getKey()).handle((deleted, throwable) -> {
+            if (throwable != null || !Boolean.TRUE.equals(deleted)) {
+                // Veritabanından silinemedi, banka geri yüklenir
+                BankAccount restored = new BankAccount(bank.getKey(), bank.getName(), bank.getOwnerUUID(),
+                        bank.getBalance().sum(), maxStripes);
+                bank.getMembers().forEach(restored::addMember);
+                if (banks.putIfAbsent(bank.getKey(), restored) == null) {
+                    requestWrite(restored);
+                }
+                return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Banka bakiyesi (tüm hücrelerin toplamı)
+     *
+     * @param name Banka adı
+     * @return Bakiye, banka yoksa boş
+     */
+    public OptionalDouble getBalance(String name) {
+        BankAccount bank = getBank(name);
+        return bank == null ? OptionalDouble.empty() : OptionalDouble.of(minorUnits.toMajor(bank.getBalance().sum()));
+    }
+
+    /**
+     * Bankaya para yatırır. Maksimum bakiyeye yaklaşılmadıkça kilitsizdir; aynı bankaya yapılan
+     * yatırmalar birbirini beklemez.
+     *
+     * @param name   Banka adı
+     * @param amount Miktar
+     * @return Yatırıldıysa true; banka yoksa, miktar geçersizse veya limit aşılıyorsa false
+     */
+    public boolean deposit(String name, double amount) {
+        BankAccount bank = getBank(name);
+        long minor = toMinorAmount(amount);
+        if (bank == null || minor <= 0 || !bank.getBalance().add(minor, maxBalanceMinor)) {
+            return false;
+        }
+        deposits.increment();
+        requestWrite(bank);
+        return true;
+    }
+
+    /**
+     * Bankadan para çeker
+     *
+     * @param name   Banka adı
+     * @param amount Miktar
+     * @return Çekildiyse true; banka yoksa, miktar geçersizse veya bakiye yetersizse false
+     */
+    public boolean withdraw(String name, double amount) {
+        BankAccount bank = getBank(name);
+        long minor = toMinorAmount(amount);
+        if (bank == null || minor <= 0 || !bank.getBalance().withdraw(minor)) {
+            return false;
+        }
+        withdrawals.increment();
+        requestWrite(bank);
+        return true;
+    }
+
+    public boolean isOwner(String name, UUID playerUUID) {
+        BankAccount bank = getBank(name);
+        return bank != null && bank.isOwner(playerUUID);
+    }
+
+    /**
+     * Oyuncu bankanın üyesi mi? Sahip de üye sayılır.
+     */
+    public boolean isMember(String name, UUID playerUUID) {
+        BankAccount bank = getBank(name);
+        return bank != null && bank.isMember(playerUUID);
+    }
+
+    /**
+     * @return Banka sahibinin UUID'si, banka yoksa null
+     */
+    public UUID getOwner(String name) {
+        BankAccount bank = getBank(name);
+        return bank != null ? bank.getOwnerUUID() : null;
+    }
+
+    /**
+     * Bankanın üyeleri (sahip hariç)
+     */
+    public Set<UUID> getMembers(String name) {
+        BankAccount bank = getBank(name);
+        return bank != null ? bank.getMembers() : Set.of();
+    }
+
+    /**
+     * Bankaya üye ekler
+     *
+     * @return CompletableFuture<Boolean> Banka yoksa veya oyuncu zaten üyeyse false
+     */
+    public CompletableFuture<Boolean> addMember(String name, UUID playerUUID) {
+        BankAccount bank = getBank(name);
+        if (bank == null || bank.isMember(playerUUID) || !bank.addMember(playerUUID)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return bankDao.addMember(new BankMember(bank.getKey(), playerUUID)).handle((added, throwable) -> {
+            if (throwable != null || !Boolean.TRUE.equals(added)) {
+                bank.removeMember(playerUUID);
+                return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Bankadan üye çıkarır. Sahip çıkarılamaz.
+     *
+     * @return CompletableFuture<Boolean> Banka yoksa veya oyuncu üye değilse false
+     */
+    public CompletableFuture<Boolean> removeMember(String name, UUID playerUUID) {
+        BankAccount bank = getBank(name);
+        if (bank == null || !bank.removeMember(playerUUID)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return bankDao.removeMember(bank.getKey(), playerUUID).handle((removed, throwable) -> {
+            if (throwable != null || !Boolean.TRUE.equals(removed)) {
+                bank.addMember(playerUUID);
+                return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Tüm banka adları
+     */
+    public List<String> getBankNames() {
+        List<String> names = new ArrayList<>();
+        if (!isReady()) {
+            return names;
+        }
+        for (BankAccount bank : banks.values()) {
+            if (!bank.isDeleted()) {
+                names.add(bank.getName());
+            }
+        }
+        return names;
+    }
+
+    private boolean isValidName(String name) {
+        return name != null && !name.isBlank() && name.length() <= Bank.MAX_NAME_LENGTH;
+    }
+
+    private long toMinorAmount(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount) || amount <= 0) {
+            return 0;
+        }
+        return minorUnits.toMinor(amount);
+    }
+
+    // === KALICI YAZMA ===
+
+    /**
+     * Bankayı dirty işaretler ve yazma sürmüyorsa yazmayı başlatır.
+     * Yazma sürüyorsa değişiklik, yazma bitince güncel toplamla birlikte yazılır.
+     */
+    private void requestWrite(BankAccount bank) {
+        bank.markDirty();
+        if (bank.tryBeginWrite()) {
+            writeBalance(bank);
+        } else {
+            coalescedWrites.increment();
+        }
+    }
+
+    private void writeBalance(BankAccount bank) {
+        bank.clearDirty();
+        long balanceMinor = bank.getBalance().sum();
+        bankDao.updateBalance(bank.getKey(), minorUnits.toMajor(balanceMinor), balanceMinor)
+                .whenComplete((updated, throwable) -> {
+                    boolean success = throwable == null && Boolean.TRUE.equals(updated);
+                    boolean retry = false;
+                    if (success) {
+                        writes.increment();
+                        retryDelays.remove(bank.getKey());
+                    } else if (!bank.isDeleted()) {
+                        bank.markDirty();
+                        failedWrites.increment();
+                        retry = true;
+                    }
+                    bank.endWrite();
+                    if (retry) {
+                        scheduleRetry(bank);
+                    } else if (success && bank.isDirty() && !bank.isDeleted() && bank.tryBeginWrite()) {
+                        writeBalance(bank);
+                    }
+                });
+    }
+
+    private void startRetryScheduler() {
+        if (retryScheduler != null) {
+            return;
+        }
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-BankRetry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void stopRetryScheduler() {
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+            retryScheduler = null;
+        }
+        retryDelays.clear();
+    }
+
+    /**
+     * Başarısız yazmayı, yeni değişiklik beklemeden artan aralıklarla tekrar dener
+     */
+    private void scheduleRetry(BankAccount bank) {
+        long delay = retryDelays.merge(bank.getKey(), MIN_RETRY_DELAY_MILLIS,
+                (previous, ignored) -> Math.min(previous * 2, MAX_RETRY_DELAY_MILLIS));
+        plugin.getLogger().warning("Banka bakiyesi yazılamadı, " + delay + "ms sonra tekrar denenecek: " + bank.getName());
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            scheduler.schedule(() -> {
+                // Banka bu arada silindiyse veya yeniden yüklendiyse yazılmaz
+                if (banks.get(bank.getKey()) == bank && !bank.isDeleted() && bank.isDirty() && bank.tryBeginWrite()) {
+                    writeBalance(bank);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Kapanıyor; bekleyenler flushAll ile yazılır
+        }
+    }
+
+    /**
+     * Yazılmamış tüm banka bakiyelerini senkron olarak yazar
+     */
+    public void flushAll() {
+        for (BankAccount bank : banks.values()) {
+            if (!bank.isDirty() || bank.isDeleted()) {
+                continue;
+            }
+            // Devam eden yazmanın bitmesi beklenir
+            if (!bank.beginWrite(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().severe("Banka bakiyesi yazılamadı (zaman aşımı): " + bank.getName());
+                continue;
+            }
+            try {
+                bank.clearDirty();
+                long balanceMinor = bank.getBalance().sum();
+                if (!bankDao.updateBalance(bank.getKey(), minorUnits.toMajor(balanceMinor), balanceMinor).join()) {
+                    bank.markDirty();
+                    plugin.getLogger().severe("Banka bakiyesi yazılamadı: " + bank.getName());
+                }
+            } catch (Exception e) {
+                bank.markDirty();
+                plugin.getLogger().log(Level.SEVERE, "Banka bakiyesi yazılamadı: " + bank.getName(), e);
+            } finally {
+                bank.endWrite();
+            }
+        }
+    }
+
+    /**
+     * Veritabanı yeniden yüklenmeden önce çağrılır: tekrar denemeler durur, bakiyeler yazılır
+     * ve bankalar bellekten çıkarılır
+     */
+    public void prepareReload() {
+        stopRetryScheduler();
+        if (enabled) {
+            flushAll();
+        }
+        loaded = false;
+        loadGeneration.incrementAndGet();
+        banks.clear();
+    }
+
+    /**
+     * Ayarları yeniden yükler ve bankaları yeni ayarlarla tekrar yükler.
+     * Önce {@link #prepareReload()} çağrılmış olmalıdır.
+     */
+    public void reloadSettings() {
+        loadBankSettings();
+        if (enabled) {
+            startRetryScheduler();
+            if (bankDao == null) {
+                this.bankDao = new BankDao(plugin);
+                DatabaseManager.getInstance().createTable(Bank.class)
+                        .thenCompose(ignored -> DatabaseManager.getInstance().createTable(BankMember.class))
+                        .thenRun(this::loadBanks);
+            } else {
+                loadBanks();
+            }
+        }
+    }
+
+    /**
+     * Banka istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        int maxStripesUsed = 0;
+        for (BankAccount bank : banks.values()) {
+            maxStripesUsed = Math.max(maxStripesUsed, bank.getBalance().getStripes());
+        }
+        return String.format(
+                "Bank Stats - Banks: %d, Deposits: %d, Withdrawals: %d, Writes: %d, Coalesced Writes: %d, " +
+                        "Failed Writes: %d, Max Stripes Used: %d/%d",
+                banks.size(),
+                deposits.sum(),
+                withdrawals.sum(),
+                writes.sum(),
+                coalescedWrites.sum(),
+                failedWrites.sum(),
+                maxStripesUsed,
+                maxStripes
+        );
+    }
+
+    /**
+     * Service'i kapatır, yazılmamış bakiyeleri yazar
+     */
+    public void shutdown() {
+        stopRetryScheduler();
+        if (enabled) {
+            flushAll();
+        }
+        loaded = false;
+        banks.clear();
+        plugin.getLogger().info("BankService kapatıldı.");
+    }
+}
@@ -0,0 +1,447 @@
+package org.ozaii.magEconomy.economy.services;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.config.ConfigManager;
+import org.ozaii.magEconomy.economy.ledger.BalanceColumn;
+import org.ozaii.magEconomy.economy.ledger.BalanceColumnStore;
+import org.ozaii.magEconomy.economy.ledger.MinorUnits;
+import org.ozaii.magEconomy.economy.models.BalanceChange;
+import org.ozaii.magEconomy.economy.models.Currency;
+import org.ozaii.magEconomy.economy.models.IdempotencyRecord;
+import org.ozaii.magEconomy.economy.models.PlayerEconomy;
+import org.ozaii.magEconomy.economy.models.TransferBatchResult;
+import org.ozaii.magEconomy.economy.models.TransferLeg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Para birimi kaydı ve varsayılan olmayan para birimlerindeki işlemler.
+ *
+ * Varsayılan para birimi ana bakiyeyi kullanır ve işlemleri PlayerEconomyService'e gider; bu
+ * servis sadece varsayılan olmayan birimleri yönetir. Her birim kendi bakiye sütununda tutulur,
+ * bu yüzden birim eklemek ana cache'i büyütmez. Sütun işlemleri bellekte yapılır ve anında
+ * sonuçlanır, kalıcı yazma arka planda toplu yapılır (journal yok; dayanıklılık için bkz.
+ * BalanceColumnStore).
+ */
+public class CurrencyService {
+
+    private static final String COLUMN_PREFIX = "currency:";
+
+    private static CurrencyService instance;
+    private JavaPlugin plugin;
+    private ConfigManager configManager;
+    private PlayerEconomyService economyService;
+
+    private volatile String defaultId = "default";
+    private volatile Currency defaultCurrency;
+    // Ayarlar yüklenirken bir kez hazırlanır, sonra sadece okunur
+    private volatile Map<String, Currency> currencies = Map.of();
+
+    private CurrencyService() {
+    }
+
+    /**
+     * CurrencyService singleton instance'ını döndürür
+     *
+     * @return CurrencyService instance
+     */
+    public static CurrencyService getInstance() {
+        if (instance == null) {
+            instance = new CurrencyService();
+        }
+        return instance;
+    }
+
+    /**
+     * CurrencyService'i başlatır. PlayerEconomyService'ten sonra çağrılmalıdır.
+     *
+     * @param plugin JavaPlugin instance
+     */
+    public void initialize(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = ConfigManager.getInstance();
+        this.economyService = PlayerEconomyService.getInstance();
+
+        setupCurrencyConfig();
+        loadCurrencies();
+    }
+
+    private void setupCurrencyConfig() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+
+        if (!economyConfig.contains("currencies.default-id")) {
+            economyConfig.set("currencies.default-id", "default");
+            economyConfig.set("currencies.extra", new HashMap<String, Object>());
+
+            configManager.saveConfig("economy");
+        }
+    }
+
+    /**
+     * Para birimlerini config'den okur ve sütunlarını kaydeder
+     */
+    private void loadCurrencies() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+        String configuredDefault = economyConfig.getString("currencies.default-id", "default");
+
+        Currency mainCurrency = new Currency(configuredDefault, economyService.getCurrencyName(),
+                economyService.getCurrencyNamePlural(), economyService.getFractionalDigits(),
+                economyService.getStartingBalance(), economyService.getMinBalance(), economyService.getMaxBalance(), null);
+        Map<String, Currency> registry = new LinkedHashMap<>();
+        registry.put(configuredDefault, mainCurrency);
+
+        ConfigurationSection section = economyConfig.getConfigurationSection("currencies.extra");
+        if (section != null) {
+            BalanceColumnStore columnStore = economyService.getColumnStore();
+            for (String id : section.getKeys(false)) {
+                if (registry.containsKey(id)) {
+                    plugin.getLogger().warning("Para birimi '" + id + "' varsayılan para birimi ile aynı, atlandı.");
+                    continue;
+                }
+
+                int fractionalDigits = section.getInt(id + ".fractional-digits", 0);
+                String columnKey = COLUMN_PREFIX + id;
+                columnStore.register(columnKey, new MinorUnits(fractionalDigits));
+                registry.put(id, new Currency(id,
+                        section.getString(id + ".singular", id),
+                        section.getString(id + ".plural", id),
+                        fractionalDigits,
+                        section.getDouble(id + ".starting-balance", 0.0),
+                        section.getDouble(id + ".min-balance", 0.0),
+                        section.getDouble(id + ".max-balance", 1000000000.0),
+                        columnStore.get(columnKey)));
+            }
+        }
+
+        this.defaultId = configuredDefault;
+        this.defaultCurrency = mainCurrency;
+        this.currencies = Collections.unmodifiableMap(registry);
+        plugin.getLogger().info("Para birimleri yüklendi: " + String.join(", ", registry.keySet()));
+    }
+
+    // === KAYIT ===
+
+    /**
+     * @return Para birimi, kayıtlı değilse null
+     */
+    public Currency getCurrency(String id) {
+        return id == null ? null : currencies.get(id);
+    }
+
+    public Currency getDefaultCurrency() {
+        return defaultCurrency;
+    }
+
+    public String getDefaultId() {
+        return defaultId;
+    }
+
+    /**
+     * Varsayılan para birimi mi? (ana bakiye yolu kullanılır)
+     */
+    public boolean isDefault(String id) {
+        return defaultId.equals(id);
+    }
+
+    public Collection<Currency> getCurrencies() {
+        return currencies.values();
+    }
+
+    // === SÜTUN İŞLEMLERİ (VARSAYILAN OLMAYAN PARA BİRİMLERİ) ===
+
+    /**
+     * Kaydı olmayan oyuncuda başlangıç bakiyesi döner
+     */
+    public double getBalance(Currency currency, UUID playerUUID) {
+        BalanceColumn column = columnOf(currency);
+        return currency.getMinorUnits().toMajor(column.get(playerUUID, currency.getStartingBalanceMinor()));
+    }
+
+    public BalanceChange withdraw(Currency currency, UUID playerUUID, double amount) {
+        return apply(currency, playerUUID, -amount);
+    }
+
+    public BalanceChange deposit(Currency currency, UUID playerUUID, double amount) {
+        return apply(currency, playerUUID, amount);
+    }
+
+    private BalanceChange apply(Currency currency, UUID playerUUID, double delta) {
+        BalanceColumn column = columnOf(currency);
+        if (!column.isLoaded()) {
+            return BalanceChange.notLoaded();
+        }
+        if (isKnownMissing(playerUUID)) {
+            return BalanceChange.rejected(0);
+        }
+        Long updated = column.add(playerUUID, currency.getMinorUnits().toMinor(delta),
+                currency.getMinBalanceMinor(), currency.getMaxBalanceMinor(), currency.getStartingBalanceMinor());
+        if (updated == null) {
+            return BalanceChange.rejected(getBalance(currency, playerUUID));
+        }
+        economyService.getColumnStore().requestWrite(column);
+        return BalanceChange.applied(currency.getMinorUnits().toMajor(updated));
+    }
+
+    /**
+     * Bakiyeyi ayarlar
+     * @return Bakiye limitler içindeyse ve sütun yüklüyse true
+     */
+    public boolean setBalance(Currency currency, UUID playerUUID, double balance) {
+        BalanceColumn column = columnOf(currency);
+        long minor = currency.getMinorUnits().toMinor(balance);
+        if (!column.isLoaded() || isKnownMissing(playerUUID)
+                || minor < currency.getMinBalanceMinor() || minor > currency.getMaxBalanceMinor()) {
+            return false;
+        }
+        column.set(playerUUID, minor, true);
+        economyService.getColumnStore().requestWrite(column);
+        return true;
+    }
+
+    /**
+     * İki oyuncu arasında tek adımda transfer yapar
+     */
+    public boolean transfer(Currency currency, UUID fromUUID, UUID toUUID, double amount) {
+        if (fromUUID.equals(toUUID)) {
+            return false;
+        }
+        TransferBatchResult result = transferBatch(currency, List.of(new TransferLeg(fromUUID, toUUID, amount)), true);
+        return result.isComplete();
+    }
+
+    /**
+     * Transferleri sırayla tek adımda uygular, kuralları ana bakiyedeki transferBatch ile aynıdır
+     */
+    public TransferBatchResult transferBatch(Currency currency, List<TransferLeg> legs, boolean allOrNothing) {
+        BalanceColumn column = columnOf(currency);
+        if (legs.isEmpty() || !column.isLoaded()) {
+            return TransferBatchResult.failed(legs);
+        }
+
+        Set<UUID> accounts = new LinkedHashSet<>();
+        for (TransferLeg leg : legs) {
+            accounts.add(leg.getFromUUID());
+            accounts.add(leg.getToUUID());
+        }
+        // Hesap kontrolü sütun kilitleri alınmadan önce yapılır
+        Set<UUID> missing = new HashSet<>();
+        for (UUID playerUUID : accounts) {
+            if (isKnownMissing(playerUUID)) {
+                missing.add(playerUUID);
+            }
+        }
+
+        TransferBatchResult[] result = new TransferBatchResult[1];
+        column.applyBatch(accounts, currency.getStartingBalanceMinor(), balances -> {
+            TransferBatchResult.Status[] statuses = new TransferBatchResult.Status[legs.size()];
+            Arrays.fill(statuses, TransferBatchResult.Status.NOT_APPLIED);
+            Map<UUID, Long> working = new HashMap<>(balances);
+
+            for (int i = 0; i < legs.size(); i++) {
+                TransferLeg leg = legs.get(i);
+                long amount = leg.getAmount() > 0 ? currency.getMinorUnits().toMinor(leg.getAmount()) : 0;
+                Long newFrom = null;
+                Long newTo = null;
+                if (amount > 0 && !leg.getFromUUID().equals(leg.getToUUID())
+                        && !missing.contains(leg.getFromUUID()) && !missing.contains(leg.getToUUID())) {
+                    newFrom = limited(currency, working.get(leg.getFromUUID()), -amount);
+                    newTo = newFrom == null ? null : limited(currency, working.get(leg.getToUUID()), amount);
+                }
+
+                if (newTo == null) {
+                    statuses[i] = TransferBatchResult.Status.REJECTED;
+                    if (allOrNothing) {
+                        Arrays.fill(statuses, 0, i, TransferBatchResult.Status.NOT_APPLIED);
+                        result[0] = new TransferBatchResult(legs, statuses);
+                        return Map.of();
+                    }
+                    continue;
+                }
+
+                working.put(leg.getFromUUID(), newFrom);
+                working.put(leg.getToUUID(), newTo);
+                statuses[i] = TransferBatchResult.Status.APPLIED;
+            }
+
+            result[0] = new TransferBatchResult(legs, statuses);
+            return changed(balances, working);
+        });
+
+        economyService.getColumnStore().requestWrite(column);
+        return result[0];
+    }
+
+    /**
+     * Birden fazla oyuncuya tek adımda para yatırır veya çeker; limite takılanlar atlanır
+     * @return Uygulanan oyuncuların yeni bakiyeleri
+     */
+    public Map<UUID, Double> applyBulk(Currency currency, Map<UUID, Double> amounts, boolean deposit) {
+        BalanceColumn column = columnOf(currency);
+        if (!column.isLoaded()) {
+            return Map.of();
+        }
+
+        Map<UUID, Long> deltas = new HashMap<>();
+        amounts.forEach((playerUUID, amount) -> {
+            if (amount != null && amount > 0 && !isKnownMissing(playerUUID)) {
+                long minor = currency.getMinorUnits().toMinor(amount);
+                deltas.put(playerUUID, deposit ? minor : -minor);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Long> updates = column.applyBatch(deltas.keySet(), currency.getStartingBalanceMinor(), balances -> {
+            Map<UUID, Long> planned = new HashMap<>();
+            balances.forEach((playerUUID, current) -> {
+                Long updated = limited(currency, current, deltas.get(playerUUID));
+                if (updated != null) {
+                    planned.put(playerUUID, updated);
+                }
+            });
+            return planned;
+        });
+        economyService.getColumnStore().requestWrite(column);
+
+        Map<UUID, Double> newBalances = new HashMap<>();
+        updates.forEach((playerUUID, minor) -> newBalances.put(playerUUID, currency.getMinorUnits().toMajor(minor)));
+        return newBalances;
+    }
+
+    /**
+     * İşlemi idempotency anahtarı ile çalıştırır, kurallar ana bakiyedeki ile aynıdır
+     *
+     * @param operationName İşlem türü (withdraw, deposit, transfer), anahtar işleme bağlanır
+     * @param accounts      İşlemdeki hesaplar, sırasıyla
+     */
+    public CompletableFuture<Boolean> idempotent(String idempotencyKey, String operationName, Currency currency,
+                                                 double amount, Supplier<Boolean> operation, UUID... accounts) {
+        return economyService.idempotent(idempotencyKey,
+                IdempotencyRecord.fingerprint(operationName, currency.getId(), amount, accounts),
+                () -> CompletableFuture.completedFuture(operation.get()));
+    }
+
+    // === İSTATİSTİKLER ===
+
+    /**
+     * En yüksek bakiyeli oyuncular (sütun bellekte taranır)
+     */
+    public List<PlayerEconomy> getTopPlayers(Currency currency, int limit) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[2]));
+        columnOf(currency).forEach((playerUUID, balance) -> {
+            if (heap.size() < limit) {
+                heap.add(new long[]{playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), balance});
+            } else if (balance > heap.peek()[2]) {
+                heap.poll();
+                heap.add(new long[]{playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(), balance});
+            }
+        });
+
+        List<long[]> entries = new ArrayList<>(heap);
+        entries.sort(Comparator.comparingLong((long[] entry) -> entry[2]).reversed());
+        List<PlayerEconomy> players = new ArrayList<>(entries.size());
+        for (long[] entry : entries) {
+            players.add(snapshot(currency, new UUID(entry[0], entry[1]), entry[2]));
+        }
+        return players;
+    }
+
+    /**
+     * Bakiyesi aralıkta olan oyuncular
+     */
+    public List<PlayerEconomy> getPlayersByBalanceRange(Currency currency, double minBalance, double maxBalance) {
+        long min = currency.getMinorUnits().toMinor(minBalance);
+        long max = currency.getMinorUnits().toMinor(maxBalance);
+        List<PlayerEconomy> players = new ArrayList<>();
+        columnOf(currency).forEach((playerUUID, balance) -> {
+            if (balance >= min && balance <= max) {
+                players.add(snapshot(currency, playerUUID, balance));
+            }
+        });
+        return players;
+    }
+
+    /**
+     * Para biriminde kaydı olan tüm oyuncuların toplam bakiyesi
+     */
+    public double getTotalValue(Currency currency) {
+        long[] total = new long[1];
+        columnOf(currency).forEach((playerUUID, balance) -> total[0] += balance);
+        return currency.getMinorUnits().toMajor(total[0]);
+    }
+
+    /**
+     * Sütun değerinden salt okunur PlayerEconomy kopyası (bakiye alanı para birimindeki bakiyedir)
+     */
+    private PlayerEconomy snapshot(Currency currency, UUID playerUUID, long balance) {
+        PlayerEconomy playerEconomy = new PlayerEconomy(playerUUID, Bukkit.getOfflinePlayer(playerUUID).getName());
+        playerEconomy.setBalance(currency.getMinorUnits().toMajor(balance), balance);
+        return playerEconomy;
+    }
+
+    private static BalanceColumn columnOf(Currency currency) {
+        if (currency.isDefault()) {
+            throw new IllegalArgumentException("Varsayılan para birimi ana bakiye üzerinden kullanılmalıdır!");
+        }
+        return currency.getColumn();
+    }
+
+    private static Long limited(Currency currency, long current, long delta) {
+        long updated;
+        try {
+            updated = Math.addExact(current, delta);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return updated < currency.getMinBalanceMinor() || updated > currency.getMaxBalanceMinor() ? null : updated;
+    }
+
+    private static Map<UUID, Long> changed(Map<UUID, Long> before, Map<UUID, Long> after) {
+        Map<UUID, Long> changed = new HashMap<>();
+        after.forEach((playerUUID, balance) -> {
+            if (!balance.equals(before.get(playerUUID))) {
+                changed.put(playerUUID, balance);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Hesap indeksine göre kesin olarak hesabı olmayan oyuncu
+     */
+    private boolean isKnownMissing(UUID playerUUID) {
+        return Boolean.FALSE.equals(economyService.hasAccountIfKnown(playerUUID));
+    }
+
+    /**
+     * Para birimlerini yeniden yükler. Eski sütunların bekleyen değişiklikleri önce yazılır.
+     */
+    public void reloadSettings() {
+        BalanceColumnStore columnStore = economyService.getColumnStore();
+        for (Currency currency : currencies.values()) {
+            if (!currency.isDefault()) {
+                columnStore.unregister(currency.getColumn().getKey());
+            }
+        }
+        loadCurrencies();
+    }
+}
@@ -0,0 +1,300 @@
+package org.ozaii.magEconomy.economy.services;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.ozaii.magEconomy.API.events.AsyncMagEconomyEvent;
+import org.ozaii.magEconomy.API.events.AsyncMoneyBulkEvent;
+import org.ozaii.magEconomy.API.events.AsyncMoneyDepositEvent;
+import org.ozaii.magEconomy.API.events.AsyncMoneyTransferEvent;
+import org.ozaii.magEconomy.API.events.AsyncMoneyWithdrawEvent;
+import org.ozaii.magEconomy.API.events.MagEconomyEvent;
+import org.ozaii.magEconomy.API.events.MoneyBulkEvent;
+import org.ozaii.magEconomy.API.events.MoneyDepositEvent;
+import org.ozaii.magEconomy.API.events.MoneyTransferEvent;
+import org.ozaii.magEconomy.API.events.MoneyWithdrawEvent;
+import org.ozaii.magEconomy.config.ConfigManager;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Ekonomi event'lerini doğru thread'de çağırır.
+ *
+ * İşlemler veritabanı veya ortak havuz thread'lerinde tamamlanır; senkron event'ler oradan
+ * çağrılamaz. Tamamlanan işlemlerin event'leri kilitsiz bir kuyruğa eklenir ve ana thread'de her
+ * tick bir kez, tick bütçesi dolana kadar çağrılır. Bütçeye sığmayan event'ler sonraki tick'e kalır,
+ * sıra korunur. Async event'ler (AsyncMoneyDepositEvent vb.) kuyruğa girmeden, işlemi tamamlayan
+ * thread'de hemen çağrılır.
+ *
+ * Dinleyicisi olmayan event'ler oluşturulmaz.
+ */
+public class EventDispatcher {
+
+    private static EventDispatcher instance;
+    private JavaPlugin plugin;
+    private ConfigManager configManager;
+
+    private final Queue<Event> queue;
+    private final AtomicLong backlog;
+    private volatile BukkitTask drainTask;
+    private ExecutorService asyncExecutor;
+    private volatile long tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(2);
+
+    // İstatistikler
+    private final LongAdder queued;
+    private final LongAdder dispatched;
+    private final LongAdder asyncDispatched;
+    private final LongAdder overBudgetTicks;
+    private final LongAdder dropped;
+    private final AtomicLong maxBacklog;
+
+    private EventDispatcher() {
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.backlog = new AtomicLong();
+        this.queued = new LongAdder();
+        this.dispatched = new LongAdder();
+        this.asyncDispatched = new LongAdder();
+        this.overBudgetTicks = new LongAdder();
+        this.dropped = new LongAdder();
+        this.maxBacklog = new AtomicLong();
+    }
+
+    /**
+     * EventDispatcher singleton instance'ını döndürür
+     *
+     * @return EventDispatcher instance
+     */
+    public static EventDispatcher getInstance() {
+        if (instance == null) {
+            instance = new EventDispatcher();
+        }
+        return instance;
+    }
+
+    /**
+     * Kuyruğu boşaltan tick görevini başlatır
+     *
+     * @param plugin JavaPlugin instance
+     */
+    public void initialize(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = ConfigManager.getInstance();
+
+        setupEventConfig();
+        loadEventSettings();
+
+        this.asyncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-AsyncEvents");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        plugin.getLogger().info("EventDispatcher başlatıldı!");
+    }
+
+    private void setupEventConfig() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+
+        if (!economyConfig.contains("events.tick-budget-ms")) {
+            economyConfig.set("events.tick-budget-ms", 2.0);
+
+            configManager.saveConfig("economy");
+        }
+    }
+
+    private void loadEventSettings() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+        double budgetMillis = Math.max(0.1, economyConfig.getDouble("events.tick-budget-ms", 2.0));
+        this.tickBudgetNanos = (long) (budgetMillis * 1_000_000L);
+    }
+
+    // === EVENT'LER ===
+
+    public void deposit(UUID playerUUID, double amount, double newBalance) {
+        if (hasListeners(MagEconomyEvent.getHandlerList())) {
+            fireSync(new MoneyDepositEvent(playerUUID, plugin, amount, newBalance));
+        }
+        if (hasListeners(AsyncMagEconomyEvent.getHandlerList())) {
+            fireAsync(new AsyncMoneyDepositEvent(playerUUID, plugin, amount, newBalance));
+        }
+    }
+
+    public void withdraw(UUID playerUUID, double amount, double newBalance) {
+        if (hasListeners(MagEconomyEvent.getHandlerList())) {
+            fireSync(new MoneyWithdrawEvent(playerUUID, plugin, amount, newBalance));
+        }
+        if (hasListeners(AsyncMagEconomyEvent.getHandlerList())) {
+            fireAsync(new AsyncMoneyWithdrawEvent(playerUUID, plugin, amount, newBalance));
+        }
+    }
+
+    public void transfer(UUID fromUUID, UUID toUUID, double amount) {
+        if (hasListeners(MagEconomyEvent.getHandlerList())) {
+            fireSync(new MoneyTransferEvent(fromUUID, toUUID, plugin, amount));
+        }
+        if (hasListeners(AsyncMagEconomyEvent.getHandlerList())) {
+            fireAsync(new AsyncMoneyTransferEvent(fromUUID, toUUID, plugin, amount));
+        }
+    }
+
+    public void bulk(MoneyBulkEvent.Type type, Map<UUID, Double> amounts, Map<UUID, Double> newBalances) {
+        if (hasListeners(MoneyBulkEvent.getHandlerList())) {
+            fireSync(new MoneyBulkEvent(plugin, type, amounts, newBalances));
+        }
+        if (hasListeners(AsyncMoneyBulkEvent.getHandlerList())) {
+            fireAsync(new AsyncMoneyBulkEvent(plugin, type, amounts, newBalances));
+        }
+    }
+
+    private static boolean hasListeners(HandlerList handlerList) {
+        return handlerList.getRegisteredListeners().length > 0;
+    }
+
+    /**
+     * Senkron event'i ana thread'de çağırır. Ana thread'den ve kuyruk boşken doğrudan çağrılır,
+     * aksi halde kuyruğa eklenir.
+     */
+    private void fireSync(Event event) {
+        if (Bukkit.isPrimaryThread() && backlog.get() == 0) {
+            dispatched.increment();
+            call(event);
+            return;
+        }
+        if (drainTask == null) {
+            // Başlatılmadı veya kapandı: ana thread dışından senkron event çağrılamaz
+            dropped.increment();
+            return;
+        }
+        // Sayaç önce artırılır; böylece kuyruktaki bir event varken ana thread doğrudan çağırıp sırayı bozmaz
+        long size = backlog.incrementAndGet();
+        queue.offer(event);
+        queued.increment();
+        maxBacklog.accumulateAndGet(size, Math::max);
+    }
+
+    /**
+     * Async event'i çağırır. Bukkit async event'lerin ana thread'den çağrılmasına izin vermez,
+     * bu durumda event ayrı bir thread'e verilir.
+     */
+    private void fireAsync(Event event) {
+        asyncDispatched.increment();
+        if (!Bukkit.isPrimaryThread()) {
+            call(event);
+            return;
+        }
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            dropped.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> call(event));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void call(Event event) {
+        try {
+            Bukkit.getPluginManager().callEvent(event);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Event çağrılırken hata: " + event.getEventName(), e);
+        }
+    }
+
+    /**
+     * Kuyruktaki event'leri tick bütçesi dolana kadar çağırır (ana thread)
+     */
+    private void drain() {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        Event event;
+        while ((event = queue.poll()) != null) {
+            backlog.decrementAndGet();
+            dispatched.increment();
+            call(event);
+            if (System.nanoTime() >= deadline) {
+                if (backlog.get() > 0) {
+                    overBudgetTicks.increment();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Kuyruktaki event sayısı
+     */
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Ayarları yeniden yükler
+     */
+    public void reloadSettings() {
+        loadEventSettings();
+    }
+
+    /**
+     * Event istatistiklerini string olarak döndürür
+     * @return String istatistikler
+     */
+    public String getStats() {
+        return String.format(
+                "Event Stats - Queued: %d, Dispatched: %d, Async: %d, Backlog: %d, Max Backlog: %d, Over-Budget Ticks: %d, Dropped: %d",
+                queued.sum(),
+                dispatched.sum(),
+                asyncDispatched.sum(),
+                backlog.get(),
+                maxBacklog.get(),
+                overBudgetTicks.sum(),
+                dropped.sum()
+        );
+    }
+
+    /**
+     * Tick görevini durdurur ve kalan event'leri bütçe uygulamadan çağırır.
+     * Ana thread'de, ekonomi servisleri kapatıldıktan sonra çağrılmalıdır.
+     */
+    public void shutdown() {
+        BukkitTask task = drainTask;
+        drainTask = null;
+        if (task != null) {
+            task.cancel();
+        }
+
+        Event event;
+        while ((event = queue.poll()) != null) {
+            backlog.decrementAndGet();
+            dispatched.increment();
+            call(event);
+        }
+
+        ExecutorService executor = asyncExecutor;
+        asyncExecutor = null;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (plugin != null) {
+            plugin.getLogger().info("EventDispatcher kapatıldı.");
+        }
+    }
+}
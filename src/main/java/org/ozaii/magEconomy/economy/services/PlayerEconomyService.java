@@ -3,33 +3,156 @@ package org.ozaii.magEconomy.economy.services;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.ozaii.magEconomy.API.events.MoneyDepositEvent;
-import org.ozaii.magEconomy.API.events.MoneyTransferEvent;
-import org.ozaii.magEconomy.API.events.MoneyWithdrawEvent;
+import org.ozaii.magEconomy.API.events.MoneyBulkEvent;
 import org.ozaii.magEconomy.config.ConfigManager;
 import org.ozaii.magEconomy.database.DatabaseManager;
+import org.ozaii.magEconomy.economy.daos.ColumnBalanceDao;
+import org.ozaii.magEconomy.economy.daos.IdempotencyDao;
 import org.ozaii.magEconomy.economy.daos.PlayerEconomyDao;
+import org.ozaii.magEconomy.economy.ledger.AccountIndex;
+import org.ozaii.magEconomy.economy.ledger.AccountTable;
+import org.ozaii.magEconomy.economy.ledger.BalanceColumnStore;
+import org.ozaii.magEconomy.economy.ledger.BalanceHistogram;
+import org.ozaii.magEconomy.economy.ledger.GroupCommitter;
+import org.ozaii.magEconomy.economy.ledger.IdempotencyGuard;
+import org.ozaii.magEconomy.economy.ledger.Leaderboard;
+import org.ozaii.magEconomy.economy.ledger.LeaderboardUpdater;
+import org.ozaii.magEconomy.economy.ledger.MinorUnits;
+import org.ozaii.magEconomy.economy.ledger.TransactionJournal;
+import org.ozaii.magEconomy.economy.ledger.WriteBehindFlusher;
+import org.ozaii.magEconomy.economy.models.BalanceChange;
+import org.ozaii.magEconomy.economy.models.ColumnBalance;
+import org.ozaii.magEconomy.economy.models.IdempotencyRecord;
+import org.ozaii.magEconomy.economy.models.LeaderboardEntry;
 import org.ozaii.magEconomy.economy.models.PlayerEconomy;
-
+import org.ozaii.magEconomy.economy.models.RateChunk;
+import org.ozaii.magEconomy.economy.models.RateSweepState;
+import org.ozaii.magEconomy.economy.models.TransferBatchResult;
+import org.ozaii.magEconomy.economy.models.TransferLeg;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class PlayerEconomyService {
 
+    // Anında işlemin journal kaydını en fazla bu kadar bekler (ana thread)
+    private static final long IMMEDIATE_JOURNAL_TIMEOUT_MILLIS = 1000;
+
     private static PlayerEconomyService instance;
     private JavaPlugin plugin;
     private PlayerEconomyDao playerEconomyDao;
     private ConfigManager configManager;
 
-    // Cache sistemi
-    private final ConcurrentHashMap<UUID, PlayerEconomy> playerCache;
+    // Cache sistemi: hesaplar segment kilitli primitive tabloda tutulur,
+    // aynı hesaba yapılan mutasyonlar segment kilidi altında atomiktir
+    private final AccountTable accountTable;
     private boolean cacheEnabled;
     private long cacheExpireTime;
-    private final ConcurrentHashMap<UUID, Long> cacheTimestamps;
+    private int cacheMaxSize;
+    private long cacheSweepInterval;
+    private ScheduledExecutorService cacheSweeper;
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
+
+    // Write-through modunda hesap bazlı sıralı yazma kuyruğu
+    private final ConcurrentHashMap<UUID, CompletableFuture<Boolean>> pendingWrites;
+
+    // Aynı hesap için eşzamanlı veritabanı okumaları tek okumada birleştirilir (single-flight)
+    private final ConcurrentHashMap<UUID, InFlightLoad> inFlightLoads;
+    private final LongAdder databaseLoads;
+    private final LongAdder coalescedLoads;
+
+    /**
+     * Devam eden okuma ve başladığı anda beklenen yazma. Sonradan başlayan bir yazma
+     * varsa okuma eski değeri getirebileceği için ona katılınmaz.
+     */
+    private static final class InFlightLoad {
+        final CompletableFuture<PlayerEconomy> result;
+        final CompletableFuture<Boolean> after;
+
+        InFlightLoad(CompletableFuture<PlayerEconomy> result, CompletableFuture<Boolean> after) {
+            this.result = result;
+            this.after = after;
+        }
+    }
+
+    // Veritabanında hesabı olan UUID'ler: hesabı olmayanlar için sorgu atılmaz
+    private final AccountIndex accountIndex;
+    private final AtomicLong accountIndexGeneration;
+    private final LongAdder fastNegatives;
+    private boolean existenceFilterEnabled;
+
+    // Canlı zenginlik sıralaması (top, sıra ve çevre sorguları veritabanına gitmez)
+    private final Leaderboard leaderboard;
+    private final AtomicLong leaderboardGeneration;
+    private LeaderboardUpdater leaderboardUpdater;
+    private boolean leaderboardEnabled;
+
+    // Log ölçekli bakiye histogramı (sabit bellekle yaklaşık sıra ve yüzdelik)
+    private volatile BalanceHistogram histogram;
+    private final AtomicLong histogramGeneration;
+    private boolean histogramEnabled;
+    private int histogramBucketsPerDecade;
+    private long histogramRebuildInterval;
+    private ScheduledExecutorService histogramRebuilder;
+
+    // Write-behind ayarları
+    private boolean writeBehindEnabled;
+    private long writeBehindFlushInterval;
+    private int writeBehindMaxBatchSize;
+    private WriteBehindFlusher writeBehindFlusher;
+
+    // Write-through'da eşzamanlı yazmaları ortak transaction'larda birleştirir
+    private boolean groupCommitEnabled;
+    private double groupCommitWindow;
+    private int groupCommitMaxBatchSize;
+    private GroupCommitter groupCommitter;
+
+    // Write-behind işlem günlüğü (çökme sonrası kurtarma)
+    private boolean journalEnabled;
+    private boolean journalFsync;
+    private boolean journalWaitImmediate;
+    private TransactionJournal journal;
+
+    // Idempotency anahtarlı işlemlerin tekrarını engelleyen tablo
+    private boolean idempotencyEnabled;
+    private long idempotencyWindow;
+    private int idempotencyMaxEntries;
+    private IdempotencyDao idempotencyDao;
+    private IdempotencyGuard idempotencyGuard;
+    private CompletableFuture<Void> idempotencyTableReady;
+
+    // Event'ler ana thread'de tick başına toplu çağrılır
+    private final EventDispatcher eventDispatcher;
+
+    // Ana bakiye dışındaki bakiyeler (dünya grupları, para birimleri), sütun başına bir kompakt tablo
+    private BalanceColumnStore columnStore;
 
     // Ekonomi ayarları
     private double startingBalance;
@@ -39,9 +162,27 @@ public class PlayerEconomyService {
     private String currencyNamePlural;
     private int fractionalDigits;
 
+    // Fixed-point (long en küçük birim) bakiye saklama
+    private boolean fixedPoint;
+    private MinorUnits minorUnits;
+    private long minBalanceMinor;
+    private long maxBalanceMinor;
+
     private PlayerEconomyService() {
-        this.playerCache = new ConcurrentHashMap<>();
-        this.cacheTimestamps = new ConcurrentHashMap<>();
+        this.accountTable = AccountTable.forAvailableProcessors();
+        this.cacheHits = new LongAdder();
+        this.cacheMisses = new LongAdder();
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.inFlightLoads = new ConcurrentHashMap<>();
+        this.databaseLoads = new LongAdder();
+        this.coalescedLoads = new LongAdder();
+        this.accountIndex = new AccountIndex();
+        this.accountIndexGeneration = new AtomicLong();
+        this.fastNegatives = new LongAdder();
+        this.leaderboard = new Leaderboard();
+        this.leaderboardGeneration = new AtomicLong();
+        this.histogramGeneration = new AtomicLong();
+        this.eventDispatcher = EventDispatcher.getInstance();
     }
 
     /**
@@ -65,14 +206,36 @@ public class PlayerEconomyService {
         this.plugin = plugin;
         this.configManager = ConfigManager.getInstance();
         this.playerEconomyDao = new PlayerEconomyDao(plugin);
+        this.idempotencyDao = new IdempotencyDao(plugin);
+        this.leaderboardUpdater = new LeaderboardUpdater(plugin, leaderboard);
 
         // Economy config'ini oluştur ve ayarları yükle
         setupEconomyConfig();
         loadEconomySettings();
 
         // Tabloları oluştur
-        DatabaseManager.getInstance().createTable(PlayerEconomy.class)
-                .thenRun(() -> plugin.getLogger().info("PlayerEconomy tablosu hazır!"));
+        CompletableFuture<Void> tableReady = DatabaseManager.getInstance().createTable(PlayerEconomy.class)
+                .thenCompose(ignored -> DatabaseManager.getInstance().createTable(RateSweepState.class))
+                .thenRun(this::migrateMinorUnits);
+        tableReady.thenRun(() -> plugin.getLogger().info("PlayerEconomy tablosu hazır!"));
+        this.idempotencyTableReady = DatabaseManager.getInstance().createTable(IdempotencyRecord.class)
+                .thenRun(idempotencyDao::migrateSync);
+        this.columnStore = new BalanceColumnStore(plugin, new ColumnBalanceDao(plugin),
+                DatabaseManager.getInstance().createTable(ColumnBalance.class));
+
+        // Önceki oturum çöktüyse journal'da kalan değişiklikler servis trafik almadan önce yazılır
+        if (TransactionJournal.hasSegments(getJournalDirectory())) {
+            tableReady.join();
+            replayJournal();
+        }
+
+        startWriteBehind();
+        startGroupCommit();
+        startCacheSweeper();
+        startIdempotency();
+        tableReady.thenRun(this::loadAccountIndex);
+        tableReady.thenRun(this::loadLeaderboard);
+        tableReady.thenRun(this::startHistogram);
 
         plugin.getLogger().info("PlayerEconomyService başlatıldı!");
     }
@@ -93,13 +256,85 @@ public class PlayerEconomyService {
             economyConfig.set("currency.singular", "MagCoin");
             economyConfig.set("currency.plural", "MagCoins");
 
-            economyConfig.set("cache.enabled", false);
+            economyConfig.set("cache.enabled", true);
             economyConfig.set("cache.expire-time-minutes", 30);
 
             economyConfig.set("####### author", "ozaii1337");
 
             configManager.saveConfig("economy");
         }
+
+        if (!economyConfig.contains("settings.fixed-point")) {
+            economyConfig.set("settings.fixed-point", false);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("cache.max-size")) {
+            economyConfig.set("cache.max-size", 10000);
+            economyConfig.set("cache.sweep-interval-seconds", 60);
+
+            configManager.saveConfig("economy");
+        }
+
+        // Vault çağrıları ana thread'den gelir; online hesaplara bellekten anında cevap verilebilmesi
+        // için yeni kurulumlarda write-behind (journal ile) açıktır
+        if (!economyConfig.contains("write-behind.enabled")) {
+            economyConfig.set("write-behind.enabled", true);
+            economyConfig.set("write-behind.flush-interval-ms", 1000);
+            economyConfig.set("write-behind.max-batch-size", 500);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("group-commit.enabled")) {
+            economyConfig.set("group-commit.enabled", false);
+            economyConfig.set("group-commit.window-ms", 2.0);
+            economyConfig.set("group-commit.max-batch-size", 128);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("write-behind.journal.enabled")) {
+            economyConfig.set("write-behind.journal.enabled", true);
+            economyConfig.set("write-behind.journal.fsync", true);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("write-behind.journal.wait-immediate")) {
+            economyConfig.set("write-behind.journal.wait-immediate", true);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("existence-filter.enabled")) {
+            economyConfig.set("existence-filter.enabled", false);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("leaderboard.enabled")) {
+            economyConfig.set("leaderboard.enabled", false);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("percentiles.enabled")) {
+            economyConfig.set("percentiles.enabled", true);
+            economyConfig.set("percentiles.buckets-per-decade", 20);
+            economyConfig.set("percentiles.rebuild-minutes", 60);
+
+            configManager.saveConfig("economy");
+        }
+
+        if (!economyConfig.contains("idempotency.enabled")) {
+            economyConfig.set("idempotency.enabled", true);
+            economyConfig.set("idempotency.window-minutes", 10);
+            economyConfig.set("idempotency.max-entries", 10000);
+
+            configManager.saveConfig("economy");
+        }
     }
 
     /**
@@ -113,11 +348,370 @@ public class PlayerEconomyService {
         this.minBalance = economyConfig.getDouble("settings.min-balance", 0.0);
         this.fractionalDigits = economyConfig.getInt("settings.fractional-digits", 2);
 
+        this.fixedPoint = economyConfig.getBoolean("settings.fixed-point", false);
+        this.minorUnits = new MinorUnits(fractionalDigits);
+        this.minBalanceMinor = minorUnits.toMinor(minBalance);
+        this.maxBalanceMinor = minorUnits.toMinor(maxBalance);
+        playerEconomyDao.configureBalanceStorage(minorUnits, fixedPoint);
+
         this.currencyName = economyConfig.getString("currency.singular", "Coin");
         this.currencyNamePlural = economyConfig.getString("currency.plural", "Coins");
 
         this.cacheEnabled = economyConfig.getBoolean("cache.enabled", true);
         this.cacheExpireTime = economyConfig.getLong("cache.expire-time-minutes", 30) * 60 * 1000; // Dakikayı milisaniyeye çevir
+        this.cacheMaxSize = economyConfig.getInt("cache.max-size", 10000);
+        this.cacheSweepInterval = Math.max(1, economyConfig.getLong("cache.sweep-interval-seconds", 60)) * 1000;
+        accountTable.setMaximumSize(cacheMaxSize);
+
+        this.writeBehindEnabled = economyConfig.getBoolean("write-behind.enabled", true);
+        this.writeBehindFlushInterval = economyConfig.getLong("write-behind.flush-interval-ms", 1000);
+        this.writeBehindMaxBatchSize = economyConfig.getInt("write-behind.max-batch-size", 500);
+        this.journalEnabled = economyConfig.getBoolean("write-behind.journal.enabled", true);
+        this.journalFsync = economyConfig.getBoolean("write-behind.journal.fsync", true);
+        this.journalWaitImmediate = economyConfig.getBoolean("write-behind.journal.wait-immediate", true);
+
+        this.groupCommitEnabled = economyConfig.getBoolean("group-commit.enabled", false);
+        this.groupCommitWindow = economyConfig.getDouble("group-commit.window-ms", 2.0);
+        this.groupCommitMaxBatchSize = economyConfig.getInt("group-commit.max-batch-size", 128);
+
+        this.existenceFilterEnabled = economyConfig.getBoolean("existence-filter.enabled", false);
+        this.leaderboardEnabled = economyConfig.getBoolean("leaderboard.enabled", false);
+        this.histogramEnabled = economyConfig.getBoolean("percentiles.enabled", true);
+        this.histogramBucketsPerDecade = Math.max(1, economyConfig.getInt("percentiles.buckets-per-decade", 20));
+        this.histogramRebuildInterval = economyConfig.getLong("percentiles.rebuild-minutes", 60) * 60 * 1000;
+
+        this.idempotencyEnabled = economyConfig.getBoolean("idempotency.enabled", true);
+        this.idempotencyWindow = Math.max(1, economyConfig.getLong("idempotency.window-minutes", 10)) * 60 * 1000;
+        this.idempotencyMaxEntries = economyConfig.getInt("idempotency.max-entries", 10000);
+
+        // Write-behind'da bellekteki hesap tek doğru kaynaktır, cache kapatılamaz
+        if (writeBehindEnabled && !cacheEnabled) {
+            plugin.getLogger().warning("Write-behind modu cache gerektirir, cache otomatik olarak açıldı.");
+            this.cacheEnabled = true;
+        }
+    }
+
+    /**
+     * balance_minor kolonunu hazırlar. fractional-digits son migrasyondan bu yana
+     * değiştiyse en küçük birim değerleri yeni ölçeğe göre yeniden hesaplanır.
+     */
+    private void migrateMinorUnits() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+        int migratedDigits = economyConfig.getInt("storage.minor-unit-digits", -1);
+        boolean rescale = migratedDigits != minorUnits.getFractionalDigits();
+
+        if (playerEconomyDao.migrateMinorUnitsSync(rescale) && rescale) {
+            economyConfig.set("storage.minor-unit-digits", minorUnits.getFractionalDigits());
+            configManager.saveConfig("economy");
+        }
+    }
+
+    /**
+     * Write-behind modu açıksa flusher'ı başlatır
+     */
+    private void startWriteBehind() {
+        if (!writeBehindEnabled || writeBehindFlusher != null) {
+            return;
+        }
+
+        if (journalEnabled) {
+            try {
+                journal = new TransactionJournal(plugin, getJournalDirectory(), journalFsync);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Journal açılamadı, write-behind journal olmadan çalışacak!", e);
+                journal = null;
+            }
+        }
+
+        writeBehindFlusher = new WriteBehindFlusher(plugin, playerEconomyDao, accountTable, this::decodeBalance,
+                journal, writeBehindFlushInterval, writeBehindMaxBatchSize);
+        writeBehindFlusher.start();
+    }
+
+    /**
+     * Write-behind kapalıysa group commit'i başlatır; write-behind zaten toplu yazar
+     */
+    private void startGroupCommit() {
+        if (!groupCommitEnabled || writeBehindEnabled || groupCommitWindow <= 0 || groupCommitter != null) {
+            return;
+        }
+        groupCommitter = new GroupCommitter(plugin, playerEconomyDao, groupCommitWindow, groupCommitMaxBatchSize);
+    }
+
+    /**
+     * Açık grubu commit eder ve group commit'i durdurur
+     */
+    private void stopGroupCommit() {
+        if (groupCommitter != null) {
+            groupCommitter.shutdown();
+            groupCommitter = null;
+        }
+    }
+
+    /**
+     * Tek hesabın bakiyesini veritabanına yazar; group commit açıksa ortak transaction'a katılır
+     */
+    private CompletableFuture<Boolean> writeBalance(UUID playerUUID, double balance) {
+        GroupCommitter committer = groupCommitter;
+        return committer != null
+                ? committer.submit(playerUUID, balance)
+                : playerEconomyDao.updateBalance(playerUUID, balance);
+    }
+
+    /**
+     * Flusher'ı durdurur ve bekleyen tüm değişiklikleri yazar
+     */
+    private void stopWriteBehind() {
+        if (writeBehindFlusher != null) {
+            writeBehindFlusher.shutdown();
+            writeBehindFlusher = null;
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Hesap indeksini veritabanından (yeniden) yükler. Yükleme bitene kadar indeks
+     * negatif cevap vermez; bu sırada oluşturulan hesaplar da indekse eklenir.
+     */
+    private void loadAccountIndex() {
+        long generation = accountIndexGeneration.incrementAndGet();
+        accountIndex.reset();
+        if (!existenceFilterEnabled) {
+            return;
+        }
+
+        playerEconomyDao.forEachUUID(accountIndex::add).thenAccept(count -> {
+            if (count >= 0 && generation == accountIndexGeneration.get()) {
+                accountIndex.markLoaded();
+                plugin.getLogger().info("Hesap indeksi yüklendi: " + count + " hesap (~"
+                        + accountIndex.estimateMemoryBytes() / 1024 + " KB)");
+            }
+        });
+    }
+
+    /**
+     * Sıralamayı veritabanından (yeniden) yükler. Yükleme sırasında değişen bakiyeler
+     * veritabanındaki eski değerle ezilmez; yazılmamış değişikliği olan hesaplar
+     * yükleme sonunda bellekteki bakiyeleriyle güncellenir.
+     */
+    private void loadLeaderboard() {
+        long generation = leaderboardGeneration.incrementAndGet();
+        leaderboard.reset();
+        if (!leaderboardEnabled) {
+            return;
+        }
+
+        playerEconomyDao.forEachAccount(playerEconomy -> leaderboard.putIfAbsent(
+                playerEconomy.getPlayerUUIDAsUUID(), playerEconomy.getPlayerName(), playerEconomy.getBalance())
+        ).thenAccept(count -> {
+            if (count < 0 || generation != leaderboardGeneration.get()) {
+                return;
+            }
+            for (int i = 0; i < accountTable.getSegmentCount(); i++) {
+                AccountTable.Segment segment = accountTable.segmentAt(i);
+                segment.lock();
+                try {
+                    for (int slot = 0; slot < segment.capacity(); slot++) {
+                        if (segment.isPresent(slot) && segment.hasUnflushedChanges(slot)) {
+                            leaderboardUpdater.submit(segment.uuidAt(slot), null, decodeBalance(segment.balanceAt(slot)));
+                        }
+                    }
+                } finally {
+                    segment.unlock();
+                }
+            }
+            leaderboard.markLoaded();
+            plugin.getLogger().info("Sıralama yüklendi: " + count + " hesap (~"
+                    + leaderboard.estimateMemoryBytes() / 1024 + " KB)");
+        });
+    }
+
+    /**
+     * Histogramı oluşturur, veritabanından doldurur ve periyodik yeniden oluşturmayı başlatır
+     */
+    private void startHistogram() {
+        if (!histogramEnabled || histogram != null) {
+            return;
+        }
+        histogram = new BalanceHistogram(histogramBucketsPerDecade, maxBalance);
+        rebuildHistogram();
+
+        if (histogramRebuildInterval > 0) {
+            histogramRebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "MagEconomy-Histogram");
+                thread.setDaemon(true);
+                return thread;
+            });
+            histogramRebuilder.scheduleWithFixedDelay(this::rebuildHistogram,
+                    histogramRebuildInterval, histogramRebuildInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void stopHistogram() {
+        histogramGeneration.incrementAndGet();
+        if (histogramRebuilder != null) {
+            histogramRebuilder.shutdownNow();
+            histogramRebuilder = null;
+        }
+        histogram = null;
+    }
+
+    /**
+     * Histogramı veritabanındaki bakiyelerden yeniden sayar. Artımlı güncellemelerin kaçırdığı
+     * değişiklikler (önceki bakiyesi bilinmeyen işlemler, aynı veritabanını paylaşan diğer
+     * sunucular) böylece düzelir. Saymadan önce bekleyen write-behind değişiklikleri yazılır.
+     */
+    private void rebuildHistogram() {
+        BalanceHistogram current = histogram;
+        if (current == null) {
+            return;
+        }
+        long generation = histogramGeneration.get();
+
+        flushPending().thenCompose(flushed -> {
+            long[] counts = current.newCounts();
+            return playerEconomyDao.forEachAccount(playerEconomy -> current.count(counts, playerEconomy.getBalance()))
+                    .thenAccept(count -> {
+                        if (count >= 0 && generation == histogramGeneration.get()) {
+                            current.replace(counts);
+                        }
+                    });
+        }).exceptionally(throwable -> {
+            plugin.getLogger().log(Level.WARNING, "Bakiye histogramı oluşturulamadı", throwable);
+            return null;
+        });
+    }
+
+    /**
+     * Değişen bakiyeyi sıralamaya ve histograma yansıtır. Segment kilidi altında çağrılır;
+     * sıralamanın global kilidi burada alınmaz, güncelleme arka plan thread'ine bırakılır.
+     *
+     * @param playerName      Oyuncu adı, null ise mevcut ad korunur
+     * @param previousBalance Önceki bakiye, bilinmiyorsa NaN (histogram bir sonraki yeniden oluşturmada düzelir)
+     */
+    private void trackBalance(UUID playerUUID, String playerName, double previousBalance, double balance) {
+        if (leaderboardEnabled) {
+            leaderboardUpdater.submit(playerUUID, playerName, balance);
+        }
+        BalanceHistogram current = histogram;
+        if (current != null && !Double.isNaN(previousBalance)) {
+            current.move(previousBalance, balance);
+        }
+    }
+
+    /**
+     * Yeni hesabı sıralamaya ve histograma ekler
+     */
+    private void trackCreated(UUID playerUUID, String playerName, double balance) {
+        if (leaderboardEnabled) {
+            leaderboardUpdater.submit(playerUUID, playerName, balance);
+        }
+        BalanceHistogram current = histogram;
+        if (current != null) {
+            current.add(balance);
+        }
+    }
+
+    /**
+     * İndekse göre hesabın kesinlikle olmadığı biliniyorsa true
+     */
+    private boolean isKnownMissing(UUID playerUUID) {
+        if (accountIndex.isLoaded() && !accountIndex.contains(playerUUID)) {
+            fastNegatives.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void startIdempotency() {
+        if (!idempotencyEnabled || idempotencyGuard != null) {
+            return;
+        }
+        idempotencyGuard = new IdempotencyGuard(plugin, idempotencyDao, idempotencyTableReady,
+                idempotencyWindow, idempotencyMaxEntries);
+        idempotencyGuard.start();
+    }
+
+    private void stopIdempotency() {
+        if (idempotencyGuard != null) {
+            idempotencyGuard.shutdown();
+            idempotencyGuard = null;
+        }
+    }
+
+    /**
+     * İşlemi idempotency anahtarı ile çalıştırır. Anahtar null ise veya özellik
+     * kapalıysa işlem doğrudan uygulanır.
+     *
+     * @param fingerprint İşlemin parametreleri, anahtar bunlara bağlanır (bkz. IdempotencyRecord#fingerprint)
+     */
+    CompletableFuture<Boolean> idempotent(String idempotencyKey, String fingerprint,
+                                          Supplier<CompletableFuture<Boolean>> operation) {
+        IdempotencyGuard guard = idempotencyGuard;
+        if (idempotencyKey == null || guard == null) {
+            return operation.get();
+        }
+        return guard.execute(idempotencyKey, fingerprint, operation);
+    }
+
+    private File getJournalDirectory() {
+        return new File(plugin.getDataFolder(), "journal");
+    }
+
+    /**
+     * Journal'da kalan kayıtları veritabanına yazar (senkron). Kayıtlar mutlak bakiye
+     * tuttuğu için her hesabın son kaydı yazılır; son tarama imleci de aynı transaction'da
+     * yazılır. Yazma başarısız olursa segmentler
+     * elle kurtarma için ".failed" uzantısıyla saklanır; daha sonra otomatik oynatılmazlar,
+     * çünkü sonraki oturumdaki yeni bakiyelerin üzerine yazarlar.
+     */
+    private void replayJournal() {
+        File directory = getJournalDirectory();
+        TransactionJournal.Recovered recovered = TransactionJournal.readAll(plugin, directory);
+        Map<UUID, Double> balances = recovered.getBalances();
+        if (balances.isEmpty() && recovered.getSweepState() == null) {
+            TransactionJournal.discardExisting(plugin, directory, true);
+            return;
+        }
+
+        boolean success = playerEconomyDao.updateBalancesBatchSync(balances, recovered.getSweepState());
+        TransactionJournal.discardExisting(plugin, directory, success);
+        if (success) {
+            plugin.getLogger().info("Journal kurtarması tamamlandı: " + balances.size() + " hesabın bakiyesi geri yüklendi.");
+        } else {
+            plugin.getLogger().severe("Journal kurtarması başarısız! Segmentler '.failed' olarak saklandı: " + directory);
+        }
+    }
+
+    /**
+     * Süresi dolan hesapları arka planda tablodan çıkaran görevi başlatır
+     */
+    private void startCacheSweeper() {
+        if (!cacheEnabled || cacheSweeper != null) {
+            return;
+        }
+        cacheSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-CacheSweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cacheSweeper.scheduleWithFixedDelay(() -> {
+            try {
+                accountTable.expire(System.currentTimeMillis(), cacheExpireTime);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Cache temizliği sırasında hata", e);
+            }
+        }, cacheSweepInterval, cacheSweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopCacheSweeper() {
+        if (cacheSweeper != null) {
+            cacheSweeper.shutdownNow();
+            cacheSweeper = null;
+        }
     }
 
     /**
@@ -144,10 +738,15 @@ public class PlayerEconomyService {
             }
 
             PlayerEconomy playerEconomy = new PlayerEconomy(playerUUID, playerName, startingBalance);
+            playerEconomy.setBalance(startingBalance, minorUnits.toMinor(startingBalance));
 
             return playerEconomyDao.createAccount(playerEconomy).thenApply(success -> {
-                if (success && cacheEnabled) {
-                    updateCache(playerEconomy);
+                if (success) {
+                    accountIndex.add(playerUUID);
+                    trackCreated(playerUUID, playerName, startingBalance);
+                    if (cacheEnabled) {
+                        cacheIfAbsent(playerEconomy, false);
+                    }
                 }
                 return success;
             });
@@ -174,7 +773,15 @@ public class PlayerEconomyService {
         if (cacheEnabled && isInCache(playerUUID)) {
             return CompletableFuture.completedFuture(true);
         }
-        return playerEconomyDao.exists(playerUUID);
+        if (isKnownMissing(playerUUID)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return playerEconomyDao.exists(playerUUID).thenApply(exists -> {
+            if (exists) {
+                accountIndex.add(playerUUID);
+            }
+            return exists;
+        });
     }
 
     /**
@@ -194,20 +801,13 @@ public class PlayerEconomyService {
      * @return CompletableFuture<Double>
      */
     public CompletableFuture<Double> getBalance(UUID playerUUID) {
-        if (cacheEnabled && isInCache(playerUUID)) {
-            PlayerEconomy cached = playerCache.get(playerUUID);
-            return CompletableFuture.completedFuture(cached.getBalance());
+        Double cached = getCachedBalance(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
-        return getPlayerEconomy(playerUUID).thenApply(playerEconomy -> {
-            if (playerEconomy != null) {
-                if (cacheEnabled) {
-                    updateCache(playerEconomy);
-                }
-                return playerEconomy.getBalance();
-            }
-            return 0.0;
-        });
+        return getPlayerEconomy(playerUUID).thenApply(playerEconomy ->
+                playerEconomy != null ? playerEconomy.getBalance() : 0.0);
     }
 
     /**
@@ -253,28 +853,30 @@ public class PlayerEconomyService {
     public CompletableFuture<Boolean> withdraw(UUID playerUUID, double amount) {
         if (amount < 0) return CompletableFuture.completedFuture(false);
 
-        return getPlayerEconomy(playerUUID).thenCompose(playerEconomy -> {
-            if (playerEconomy == null || !playerEconomy.hasBalance(amount)) {
-                return CompletableFuture.completedFuture(false);
-            }
-
-            double currentBalance = playerEconomy.getBalance();
-            double newBalance = currentBalance - amount;
-            if (newBalance < minBalance) {
-                return CompletableFuture.completedFuture(false);
+        return applyDelta(playerUUID, -amount).thenApply(newBalance -> {
+            if (newBalance == null) {
+                return false;
             }
-
-            return setBalance(playerUUID, newBalance).thenApply(success -> {
-                if (success) {
-                    // Event'i çağır
-                    MoneyWithdrawEvent event = new MoneyWithdrawEvent(playerUUID, plugin, amount, newBalance);
-                    Bukkit.getPluginManager().callEvent(event);
-                }
-                return success;
-            });
+            // Event ana thread'de çağrılır
+            eventDispatcher.withdraw(playerUUID, amount, newBalance);
+            return true;
         });
     }
 
+    /**
+     * Oyuncunun bakiyesinden idempotency anahtarı ile para çıkarır. Aynı anahtarla
+     * tekrar çağrılırsa işlem yeniden uygulanmaz, ilk sonuç döndürülür.
+     *
+     * @param playerUUID     Oyuncunun UUID'si
+     * @param amount         Çıkarılacak miktar
+     * @param idempotencyKey İşleme özel benzersiz anahtar (null ise kontrol yapılmaz)
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> withdraw(UUID playerUUID, double amount, String idempotencyKey) {
+        return idempotent(idempotencyKey, IdempotencyRecord.fingerprint("withdraw", null, amount, playerUUID),
+                () -> withdraw(playerUUID, amount));
+    }
+
     /**
      * Oyuncunun bakiyesine para ekler
      *
@@ -296,114 +898,1183 @@ public class PlayerEconomyService {
     public CompletableFuture<Boolean> deposit(UUID playerUUID, double amount) {
         if (amount < 0) return CompletableFuture.completedFuture(false);
 
-        return getBalance(playerUUID).thenCompose(currentBalance -> {
-            double newBalance = currentBalance + amount;
-            if (newBalance > maxBalance) {
-                return CompletableFuture.completedFuture(false);
+        return applyDelta(playerUUID, amount).thenApply(newBalance -> {
+            if (newBalance == null) {
+                return false;
             }
-
-            return setBalance(playerUUID, newBalance).thenApply(success -> {
-                if (success) {
-                    // Event'i çağır
-                    MoneyDepositEvent event = new MoneyDepositEvent(playerUUID, plugin, amount, newBalance);
-                    Bukkit.getPluginManager().callEvent(event);
-                }
-                return success;
-            });
+            // Event ana thread'de çağrılır
+            eventDispatcher.deposit(playerUUID, amount, newBalance);
+            return true;
         });
     }
 
     /**
-     * Oyuncunun bakiyesini ayarlar
+     * Oyuncunun bakiyesine idempotency anahtarı ile para ekler. Aynı anahtarla
+     * tekrar çağrılırsa işlem yeniden uygulanmaz, ilk sonuç döndürülür.
      *
-     * @param playerUUID Oyuncunun UUID'si
-     * @param balance    Yeni bakiye
+     * @param playerUUID     Oyuncunun UUID'si
+     * @param amount         Eklenecek miktar
+     * @param idempotencyKey İşleme özel benzersiz anahtar (null ise kontrol yapılmaz)
      * @return CompletableFuture<Boolean>
      */
-    public CompletableFuture<Boolean> setBalance(UUID playerUUID, double balance) {
-        if (balance < minBalance || balance > maxBalance) {
-            return CompletableFuture.completedFuture(false);
-        }
-
-        return playerEconomyDao.updateBalance(playerUUID, balance).thenApply(success -> {
-            if (success && cacheEnabled && playerCache.containsKey(playerUUID)) {
-                PlayerEconomy cached = playerCache.get(playerUUID);
-                cached.setBalance(balance);
-                updateCache(cached);
-            }
-            return success;
-        });
+    public CompletableFuture<Boolean> deposit(UUID playerUUID, double amount, String idempotencyKey) {
+        return idempotent(idempotencyKey, IdempotencyRecord.fingerprint("deposit", null, amount, playerUUID),
+                () -> deposit(playerUUID, amount));
     }
 
     /**
-     * PlayerEconomy nesnesini getirir
+     * Bakiyeye delta uygular. Bakiye kontrolü, limit doğrulaması ve güncelleme
+     * hesabın kilidi altında tek adımda yapılır; aynı hesaba gelen eşzamanlı
+     * işlemler birbirinin güncellemesini ezemez.
      *
      * @param playerUUID Oyuncunun UUID'si
-     * @return CompletableFuture<PlayerEconomy>
+     * @param delta      Pozitif ise yatırma, negatif ise çekme
+     * @return Yeni bakiye, işlem reddedildiyse null
      */
-    public CompletableFuture<PlayerEconomy> getPlayerEconomy(UUID playerUUID) {
-        if (cacheEnabled && isInCache(playerUUID)) {
-            return CompletableFuture.completedFuture(playerCache.get(playerUUID));
+    private CompletableFuture<Double> applyDelta(UUID playerUUID, double delta) {
+        if (!cacheEnabled) {
+            // Bellekte hesap yok: kontrol ve güncelleme veritabanında tek koşullu UPDATE ile yapılır
+            CompletableFuture<Double> result = delta < 0
+                    ? playerEconomyDao.withdrawDelta(playerUUID, -delta, Math.max(0.0, minBalance))
+                    : playerEconomyDao.depositDelta(playerUUID, delta, maxBalance);
+            return result.thenApply(newBalance -> {
+                if (newBalance != null) {
+                    trackBalance(playerUUID, null, newBalance - delta, newBalance);
+                }
+                return newBalance;
+            });
         }
 
-        return playerEconomyDao.getByUUID(playerUUID).thenApply(playerEconomy -> {
-            if (playerEconomy != null && cacheEnabled) {
-                updateCache(playerEconomy);
+        return loadAccount(playerUUID).thenCompose(found -> {
+            if (!found) {
+                return CompletableFuture.completedFuture(null);
             }
-            return playerEconomy;
+
+            Double newBalance;
+            CompletableFuture<Boolean> persisted;
+
+            AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+            segment.lock();
+            try {
+                int slot = segment.find(playerUUID);
+                if (slot < 0) {
+                    // Yükleme ile kilit arasında tablodan düştü, tekrar yükle
+                    persisted = null;
+                    newBalance = null;
+                } else {
+                    double previous = decodeBalance(segment.balanceAt(slot));
+                    newBalance = applyDeltaLocked(segment, slot, delta);
+                    if (newBalance == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    persisted = persistBalance(segment, slot, playerUUID, previous, newBalance);
+                }
+            } finally {
+                segment.unlock();
+            }
+
+            if (persisted == null) {
+                return applyDelta(playerUUID, delta);
+            }
+            return persisted.thenApply(success -> success ? newBalance : null);
         });
     }
 
     /**
-     * En zengin oyuncuları getirir
+     * Deltayı tablodaki hesaba uygular. Segment kilidi altında çağrılmalıdır.
+     * Fixed-point modunda aritmetik en küçük birim (long) üzerinde yapılır.
      *
-     * @param limit Limit
-     * @return CompletableFuture<List < PlayerEconomy>>
+     * @return Yeni bakiye, limitler aşılıyorsa null (hesap değişmez)
      */
-    public CompletableFuture<List<PlayerEconomy>> getTopPlayers(int limit) {
-        return playerEconomyDao.getTopPlayers(limit);
+    private Double applyDeltaLocked(AccountTable.Segment segment, int slot, double delta) {
+        Long updated = applyDeltaEncoded(segment.balanceAt(slot), delta);
+        if (updated == null) {
+            return null;
+        }
+        segment.setBalance(slot, updated);
+        return decodeBalance(updated);
     }
 
     /**
-     * Para formatlar
+     * Deltayı ham bakiyeye uygular ve limitleri kontrol eder
      *
-     * @param amount Miktar
-     * @return Formatlanmış string
+     * @return Yeni ham bakiye, limitler aşılıyorsa null
      */
-    public String format(double amount) {
-        if (fractionalDigits == 0) {
-            return String.format("%.0f %s", amount, amount == 1 ? currencyName : currencyNamePlural);
-        } else {
-            return String.format("%." + fractionalDigits + "f %s", amount, amount == 1 ? currencyName : currencyNamePlural);
+    private Long applyDeltaEncoded(long encoded, double delta) {
+        if (fixedPoint) {
+            long newMinor;
+            try {
+                newMinor = Math.addExact(encoded, minorUnits.toMinor(delta));
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            if ((delta < 0 && newMinor < 0) || newMinor < minBalanceMinor || newMinor > maxBalanceMinor) {
+                return null;
+            }
+            return newMinor;
         }
-    }
 
-    // Cache yönetimi metodları
-
-    private boolean isInCache(UUID playerUUID) {
-        if (!playerCache.containsKey(playerUUID)) {
-            return false;
+        double balance = Double.longBitsToDouble(encoded);
+        if (delta < 0 && balance < -delta) {
+            return null;
+        }
+        double newBalance = balance + delta;
+        if (newBalance < minBalance || newBalance > maxBalance) {
+            return null;
+        }
+        return Double.doubleToRawLongBits(newBalance);
+    }
+
+    /**
+     * Oyuncunun bakiyesini ayarlar
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param balance    Yeni bakiye
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> setBalance(UUID playerUUID, double balance) {
+        if (balance < minBalance || balance > maxBalance) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        if (!cacheEnabled) {
+            return writeBalance(playerUUID, balance).thenApply(success -> {
+                if (success) {
+                    trackBalance(playerUUID, null, Double.NaN, balance);
+                }
+                return success;
+            });
+        }
+
+        return loadAccount(playerUUID).thenCompose(found -> {
+            if (!found) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            long encoded = encodeBalance(balance);
+            CompletableFuture<Boolean> persisted;
+
+            AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+            segment.lock();
+            try {
+                int slot = segment.find(playerUUID);
+                if (slot < 0) {
+                    persisted = null;
+                } else {
+                    double previous = decodeBalance(segment.balanceAt(slot));
+                    segment.setBalance(slot, encoded);
+                    persisted = persistBalance(segment, slot, playerUUID, previous, decodeBalance(encoded));
+                }
+            } finally {
+                segment.unlock();
+            }
+
+            return persisted != null ? persisted : setBalance(playerUUID, balance);
+        });
+    }
+
+    /**
+     * Tabloda güncellenen bakiyeyi kalıcı hale getirir. Segment kilidi altında çağrılmalıdır.
+     *
+     * Write-behind açıksa hesap sadece dirty olarak işaretlenir. Kapalıysa yazma işlemi
+     * hesabın önceki yazmasının arkasına zincirlenir; böylece veritabanına yazılan son
+     * değer her zaman bellekteki son mutasyonla aynıdır. Yazma başarısız olursa deltası
+     * bellekten geri alınır ve çağırana false döner.
+     *
+     * @param segment         Hesabın segmenti
+     * @param slot            Hesabın slotu
+     * @param playerUUID      Oyuncunun UUID'si
+     * @param previousBalance Değişiklikten önceki bakiye
+     * @param balance         Yazılacak bakiye
+     * @return CompletableFuture<Boolean>
+     */
+    private CompletableFuture<Boolean> persistBalance(AccountTable.Segment segment, int slot, UUID playerUUID,
+                                                      double previousBalance, double balance) {
+        trackBalance(playerUUID, segment.nameAt(slot), previousBalance, balance);
+
+        WriteBehindFlusher flusher = writeBehindFlusher;
+        if (flusher != null) {
+            segment.markDirty(slot, System.currentTimeMillis());
+            flusher.onDirty();
+
+            TransactionJournal currentJournal = journal;
+            if (currentJournal == null) {
+                return CompletableFuture.completedFuture(true);
+            }
+            return confirmJournaled(flusher, currentJournal.append(playerUUID, balance),
+                    new UUID[]{playerUUID}, new double[]{previousBalance}, new double[]{balance});
+        }
+
+        // Önceki yazma başarısız olduysa bu yazma gönderilmez: yazılacak mutlak değer o yazmanın
+        // geri alınacak deltasını da içerir
+        CompletableFuture<Boolean> write = pendingWrites.compute(playerUUID, (uuid, previous) ->
+                previous == null
+                        ? writeBalance(uuid, balance)
+                        : succeeded(previous).thenCompose(ok -> ok
+                                ? writeBalance(uuid, balance)
+                                : CompletableFuture.completedFuture(false)));
+        segment.beginWrite(slot);
+
+        write.whenComplete((success, throwable) ->
+                settleWrite(playerUUID, write, throwable == null && Boolean.TRUE.equals(success), previousBalance, balance));
+        return write;
+    }
+
+    /**
+     * Birden fazla hesabın değişikliğini tek birim olarak kalıcı hale getirir. Tüm hesapların
+     * segment kilidi altında çağrılmalıdır.
+     *
+     * Write-behind açıksa değişiklikler journal'a tek birim olarak yazılır. Kapalıysa satırlar,
+     * tüm hesapların önceki yazmalarının arkasından tek bir transaction ile güncellenir; yazma
+     * başarısız olursa tüm hesapların deltaları geri alınır.
+     *
+     * @param sweepState Faiz/vergi grubunun imleci; verilirse bakiyelerle aynı journal biriminde
+     *                   ve aynı transaction'da yazılır, null olabilir
+     * @return CompletableFuture<Boolean>
+     */
+    private CompletableFuture<Boolean> persistAll(AccountTable.Segment[] segments, int[] slots, UUID[] uuids,
+                                                  double[] previousBalances, double[] balances,
+                                                  RateSweepState sweepState) {
+        for (int i = 0; i < uuids.length; i++) {
+            trackBalance(uuids[i], segments[i].nameAt(slots[i]), previousBalances[i], balances[i]);
+        }
+
+        WriteBehindFlusher flusher = writeBehindFlusher;
+        if (flusher != null) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < uuids.length; i++) {
+                segments[i].markDirty(slots[i], now);
+            }
+            if (sweepState != null) {
+                flusher.attachSweepState(sweepState);
+            }
+            flusher.onDirty();
+
+            TransactionJournal currentJournal = journal;
+            if (currentJournal == null) {
+                return CompletableFuture.completedFuture(true);
+            }
+            CompletableFuture<Boolean> journaled = confirmJournaled(flusher,
+                    currentJournal.appendAll(uuids, balances, sweepState), uuids, previousBalances, balances);
+            if (sweepState == null) {
+                return journaled;
+            }
+            // Grup geri alındıysa imleç de yazılmamalı
+            return journaled.thenApply(success -> {
+                if (!success) {
+                    flusher.detachSweepState(sweepState);
+                }
+                return success;
+            });
+        }
+
+        Map<UUID, Double> batch = new HashMap<>();
+        List<CompletableFuture<Boolean>> previous = new ArrayList<>(uuids.length);
+        for (int i = 0; i < uuids.length; i++) {
+            batch.put(uuids[i], balances[i]);
+            CompletableFuture<Boolean> pending = pendingWrites.get(uuids[i]);
+            if (pending != null) {
+                previous.add(succeeded(pending));
+            }
+        }
+
+        CompletableFuture<Boolean> write = CompletableFuture.allOf(previous.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(ignored -> {
+                    for (CompletableFuture<Boolean> ok : previous) {
+                        if (!ok.join()) {
+                            return CompletableFuture.completedFuture(false);
+                        }
+                    }
+                    if (sweepState != null) {
+                        return playerEconomyDao.updateBalancesBatch(batch, sweepState);
+                    }
+                    GroupCommitter committer = groupCommitter;
+                    return committer != null
+                            ? committer.submit(batch)
+                            : playerEconomyDao.updateBalancesBatch(batch);
+                });
+        for (int i = 0; i < uuids.length; i++) {
+            pendingWrites.put(uuids[i], write);
+            segments[i].beginWrite(slots[i]);
+        }
+
+        write.whenComplete((success, throwable) -> {
+            boolean written = throwable == null && Boolean.TRUE.equals(success);
+            for (int i = 0; i < uuids.length; i++) {
+                settleWrite(uuids[i], write, written, previousBalances[i], balances[i]);
+            }
+        });
+        return write;
+    }
+
+    /**
+     * Write-behind işlemini journal kaydı diske yazıldıktan sonra onaylar. Journal yazılamazsa
+     * değişiklikler hemen flush edilir (senkron write-through'a düşülür); flush da başarısız
+     * olursa deltalar bellekten geri alınır ve çağırana false döner.
+     */
+    private CompletableFuture<Boolean> confirmJournaled(WriteBehindFlusher flusher, CompletableFuture<Void> appended,
+                                                        UUID[] uuids, double[] previousBalances, double[] balances) {
+        return appended.handle((ignored, throwable) -> throwable == null).thenCompose(journaled -> {
+            if (journaled) {
+                return CompletableFuture.completedFuture(true);
+            }
+            plugin.getLogger().warning("Journal yazılamadı, değişiklik doğrudan veritabanına yazılıyor.");
+            CompletableFuture<Boolean> flushed;
+            try {
+                flushed = flusher.flushAsync();
+            } catch (RejectedExecutionException e) {
+                flushed = CompletableFuture.completedFuture(false);
+            }
+            return flushed.handle((result, error) -> {
+                boolean success = error == null && Boolean.TRUE.equals(result);
+                if (!success) {
+                    for (int i = 0; i < uuids.length; i++) {
+                        revertDelta(uuids[i], previousBalances[i], balances[i]);
+                    }
+                }
+                return success;
+            });
+        });
+    }
+
+    /**
+     * Yazmanın sonucu: başarılıysa true, başarısız olduysa veya hata verdiyse false
+     */
+    private static CompletableFuture<Boolean> succeeded(CompletableFuture<Boolean> write) {
+        return write.handle((result, throwable) -> throwable == null && Boolean.TRUE.equals(result));
+    }
+
+    /**
+     * Write-through yazması tamamlandığında çağrılır. Başarısız yazmanın deltası segment kilidi
+     * altında bellekten geri alınır; arkasına zincirlenen yazmalar da başarısız olup kendi
+     * deltalarını geri aldığından bellek veritabanındaki son başarılı değere döner. Hesap,
+     * zincirdeki son yazma bitene kadar tablodan çıkarılmaz.
+     */
+    private void settleWrite(UUID playerUUID, CompletableFuture<Boolean> write, boolean success,
+                             double previousBalance, double balance) {
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            if (!success) {
+                revertDelta(playerUUID, previousBalance, balance);
+            }
+            int slot = segment.find(playerUUID);
+            if (pendingWrites.remove(playerUUID, write) && slot >= 0) {
+                segment.endWrite(slot);
+            }
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Onaylanmayan bir değişikliğin deltasını tablodaki bakiyeden geri alır (sonraki
+     * değişiklikler korunur)
+     */
+    private void revertDelta(UUID playerUUID, double previousBalance, double balance) {
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = segment.find(playerUUID);
+            if (slot < 0) {
+                return;
+            }
+            long current = segment.balanceAt(slot);
+            long reverted = fixedPoint
+                    ? current - (minorUnits.toMinor(balance) - minorUnits.toMinor(previousBalance))
+                    : Double.doubleToRawLongBits(Double.longBitsToDouble(current) - (balance - previousBalance));
+            segment.setBalance(slot, reverted);
+            trackBalance(playerUUID, segment.nameAt(slot), decodeBalance(current), decodeBalance(reverted));
+            WriteBehindFlusher flusher = writeBehindFlusher;
+            if (flusher != null) {
+                segment.markDirty(slot, System.currentTimeMillis());
+                flusher.onDirty();
+            }
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * PlayerEconomy nesnesini getirir. Hesap tablodaysa tablodaki değerlerden
+     * oluşturulan bir kopya döndürülür.
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return CompletableFuture<PlayerEconomy>
+     */
+    public CompletableFuture<PlayerEconomy> getPlayerEconomy(UUID playerUUID) {
+        PlayerEconomy cached = getCachedSnapshot(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return loadFromDatabase(playerUUID).thenApply(playerEconomy -> {
+            if (playerEconomy != null && cacheEnabled) {
+                cacheIfAbsent(playerEconomy, false);
+                PlayerEconomy snapshot = getCachedSnapshot(playerUUID);
+                return snapshot != null ? snapshot : playerEconomy;
+            }
+            return playerEconomy;
+        });
+    }
+
+    /**
+     * Hesabın tabloda olmasını sağlar, gerekirse veritabanından yükler
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return Hesap varsa true
+     */
+    private CompletableFuture<Boolean> loadAccount(UUID playerUUID) {
+        if (isInCache(playerUUID)) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return loadFromDatabase(playerUUID).thenApply(playerEconomy -> {
+            if (playerEconomy == null) {
+                return false;
+            }
+            // Mutasyon için hesap tabloda olmalı, admission kararı uygulanmaz
+            cacheIfAbsent(playerEconomy, true);
+            return true;
+        });
+    }
+
+    /**
+     * Hesabı veritabanından okur. Aynı hesap için devam eden bir okuma varsa yeni sorgu
+     * atılmaz, o okumanın sonucu paylaşılır (her çağırana ayrı kopya verilir).
+     */
+    private CompletableFuture<PlayerEconomy> loadFromDatabase(UUID playerUUID) {
+        if (isKnownMissing(playerUUID)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Boolean> pending = pendingWrites.get(playerUUID);
+        InFlightLoad existing = inFlightLoads.get(playerUUID);
+        if (existing != null && existing.after == pending) {
+            coalescedLoads.increment();
+            return existing.result.thenApply(PlayerEconomyService::copyOf);
+        }
+
+        CompletableFuture<PlayerEconomy> result = new CompletableFuture<>();
+        InFlightLoad load = new InFlightLoad(result, pending);
+        if (existing == null) {
+            existing = inFlightLoads.putIfAbsent(playerUUID, load);
+            if (existing != null && existing.after == pending) {
+                coalescedLoads.increment();
+                return existing.result.thenApply(PlayerEconomyService::copyOf);
+            }
+        } else {
+            inFlightLoads.replace(playerUUID, existing, load);
+        }
+
+        databaseLoads.increment();
+        readFromDatabase(playerUUID, pending).whenComplete((playerEconomy, throwable) -> {
+            inFlightLoads.remove(playerUUID, load);
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(playerEconomy);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Hesabı veritabanından okur. Hesabın devam eden bir yazması varsa okuma
+     * onun arkasından yapılır, böylece eski bir değer tabloya geri yüklenmez.
+     */
+    private CompletableFuture<PlayerEconomy> readFromDatabase(UUID playerUUID, CompletableFuture<Boolean> pending) {
+        CompletableFuture<?> ready = pending == null
+                ? CompletableFuture.completedFuture(null)
+                : pending.handle((result, throwable) -> null);
+
+        return ready.thenCompose(ignored -> playerEconomyDao.getByUUID(playerUUID)).thenApply(playerEconomy -> {
+            if (playerEconomy != null) {
+                // Başka bir sunucunun oluşturduğu hesaplar da indekse girer
+                accountIndex.add(playerUUID);
+            }
+            if (playerEconomy != null && fixedPoint) {
+                // Fixed-point modunda esas değer balance_minor kolonudur
+                playerEconomy.setBalance(minorUnits.toMajor(playerEconomy.getBalanceMinor()), playerEconomy.getBalanceMinor());
+            }
+            if (playerEconomy != null && leaderboardEnabled) {
+                // Başka bir sunucunun oluşturduğu hesaplar da sıralamaya girer
+                leaderboard.putIfAbsent(playerUUID, playerEconomy.getPlayerName(), playerEconomy.getBalance());
+            }
+            return playerEconomy;
+        });
+    }
+
+    private static PlayerEconomy copyOf(PlayerEconomy playerEconomy) {
+        if (playerEconomy == null) {
+            return null;
+        }
+        PlayerEconomy copy = new PlayerEconomy(playerEconomy.getPlayerUUIDAsUUID(), playerEconomy.getPlayerName(), playerEconomy.getBalance());
+        copy.setBalance(playerEconomy.getBalance(), playerEconomy.getBalanceMinor());
+        copy.setCreatedAt(playerEconomy.getCreatedAt());
+        copy.setUpdatedAt(playerEconomy.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * En zengin oyuncuları getirir
+     *
+     * @param limit Limit
+     * @return CompletableFuture<List < PlayerEconomy>>
+     */
+    public CompletableFuture<List<PlayerEconomy>> getTopPlayers(int limit) {
+        if (leaderboard.isLoaded()) {
+            List<PlayerEconomy> top = new ArrayList<>();
+            for (LeaderboardEntry entry : leaderboard.range(1, limit)) {
+                PlayerEconomy playerEconomy = new PlayerEconomy(entry.getPlayerUUID(), entry.getPlayerName(), entry.getBalance());
+                playerEconomy.setBalance(entry.getBalance(), minorUnits.toMinor(entry.getBalance()));
+                top.add(playerEconomy);
+            }
+            return CompletableFuture.completedFuture(top);
+        }
+        return flushPending().thenCompose(flushed -> playerEconomyDao.getTopPlayers(limit));
+    }
+
+    /**
+     * Sıralamanın bir sayfasını döndürür (veritabanına gitmez)
+     *
+     * @param fromRank İlk sıra (1'den başlar)
+     * @param count    En fazla hesap sayısı
+     * @return Sıralama yüklenmediyse boş liste
+     */
+    public List<LeaderboardEntry> getLeaderboard(int fromRank, int count) {
+        return leaderboard.isLoaded() ? leaderboard.range(fromRank, count) : List.of();
+    }
+
+    /**
+     * Oyuncunun zenginlik sırası (1 en zengin)
+     *
+     * @return Sıra, hesap yoksa veya sıralama yüklenmediyse -1
+     */
+    public int getRank(UUID playerUUID) {
+        return leaderboard.isLoaded() ? leaderboard.rankOf(playerUUID) : -1;
+    }
+
+    /**
+     * Oyuncunun üstündeki ve altındaki radius kadar hesap ve kendisi
+     *
+     * @return Hesap yoksa veya sıralama yüklenmediyse boş liste
+     */
+    public List<LeaderboardEntry> getPlayersAround(UUID playerUUID, int radius) {
+        return leaderboard.isLoaded() ? leaderboard.around(playerUUID, Math.max(0, radius)) : List.of();
+    }
+
+    /**
+     * Oyuncunun yaklaşık yüzdelik dilimi: hesapların yüzde kaçı oyuncunun altında (0-100).
+     * Histogramdan hesaplanır; hesap bellekte değilse bakiyesi okunur.
+     *
+     * @return Yüzdelik, hesap yoksa veya histogram kapalıysa/yüklenmediyse -1
+     */
+    public CompletableFuture<Double> getPercentile(UUID playerUUID) {
+        BalanceHistogram current = histogram;
+        if (current == null || !current.isLoaded()) {
+            return CompletableFuture.completedFuture(-1.0);
+        }
+        Double cached = getCachedBalance(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(current.percentileOf(cached));
+        }
+        return getPlayerEconomy(playerUUID).thenApply(playerEconomy ->
+                playerEconomy != null ? current.percentileOf(playerEconomy.getBalance()) : -1.0);
+    }
+
+    /**
+     * Bakiyenin yaklaşık yüzdelik dilimi (0-100), histogram kullanılamıyorsa -1
+     */
+    public double getPercentileOf(double balance) {
+        BalanceHistogram current = histogram;
+        return current != null && current.isLoaded() ? current.percentileOf(balance) : -1.0;
+    }
+
+    /**
+     * Bakiyenin histograma göre yaklaşık sırası (1 en zengin), histogram kullanılamıyorsa -1
+     */
+    public long getApproximateRank(double balance) {
+        BalanceHistogram current = histogram;
+        return current != null && current.isLoaded() ? current.approximateRank(balance) : -1;
+    }
+
+    /**
+     * Hesapların yüzde percentile kadarının altında kaldığı yaklaşık bakiye.
+     * Örneğin 97 en zengin %3'e girmek için gereken bakiyeyi verir.
+     *
+     * @return Bakiye, histogram kullanılamıyorsa -1
+     */
+    public double getBalanceAtPercentile(double percentile) {
+        BalanceHistogram current = histogram;
+        return current != null && current.isLoaded() ? current.balanceAt(percentile) : -1.0;
+    }
+
+    /**
+     * Sıralamadaki hesap sayısı, sıralama yüklenmediyse -1
+     */
+    public int getRankedPlayerCount() {
+        return leaderboard.isLoaded() ? leaderboard.size() : -1;
+    }
+
+    /**
+     * Write-behind açıksa bekleyen değişiklikleri veritabanına yazar
+     * Veritabanından toplu okuma yapan sorgulardan önce çağrılır
+     *
+     * @return CompletableFuture<Boolean>
+     */
+    private CompletableFuture<Boolean> flushPending() {
+        if (writeBehindFlusher == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return writeBehindFlusher.flushAsync();
+    }
+
+    /**
+     * Para formatlar
+     *
+     * @param amount Miktar
+     * @return Formatlanmış string
+     */
+    public String format(double amount) {
+        if (fractionalDigits == 0) {
+            return String.format("%.0f %s", amount, amount == 1 ? currencyName : currencyNamePlural);
+        } else {
+            return String.format("%." + fractionalDigits + "f %s", amount, amount == 1 ? currencyName : currencyNamePlural);
+        }
+    }
+
+    // Cache yönetimi metodları
+
+    /**
+     * Bakiyeyi tabloda saklanan ham long değere çevirir:
+     * fixed-point modunda en küçük birim, diğer durumda double'ın bitleri
+     */
+    private long encodeBalance(double balance) {
+        return fixedPoint ? minorUnits.toMinor(balance) : Double.doubleToRawLongBits(balance);
+    }
+
+    private double decodeBalance(long encoded) {
+        return fixedPoint ? minorUnits.toMajor(encoded) : Double.longBitsToDouble(encoded);
+    }
+
+    private boolean isInCache(UUID playerUUID) {
+        return getCachedBalance(playerUUID) != null;
+    }
+
+    /**
+     * Tablodaki hesabın slotunu döndürür ve hit/miss sayaçlarını günceller.
+     * Süresi dolan hesaplar arka plan görevi tarafından çıkarılır.
+     * Segment kilidi altında çağrılmalıdır.
+     */
+    private int lookupCached(AccountTable.Segment segment, UUID playerUUID) {
+        int slot = segment.lookup(playerUUID);
+        if (slot < 0) {
+            cacheMisses.increment();
+        } else {
+            cacheHits.increment();
+        }
+        return slot;
+    }
+
+    /**
+     * Tablodaki bakiyeyi döndürür, hesap yoksa veya süresi dolduysa null
+     */
+    private Double getCachedBalance(UUID playerUUID) {
+        if (!cacheEnabled) {
+            return null;
+        }
+
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = lookupCached(segment, playerUUID);
+            return slot < 0 ? null : decodeBalance(segment.balanceAt(slot));
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Tablodaki hesabın PlayerEconomy kopyasını oluşturur, yoksa null
+     */
+    private PlayerEconomy getCachedSnapshot(UUID playerUUID) {
+        if (!cacheEnabled) {
+            return null;
+        }
+
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = lookupCached(segment, playerUUID);
+            if (slot < 0) {
+                return null;
+            }
+            long encoded = segment.balanceAt(slot);
+            double balance = decodeBalance(encoded);
+            PlayerEconomy snapshot = new PlayerEconomy(playerUUID, segment.nameAt(slot), balance);
+            snapshot.setBalance(balance, fixedPoint ? encoded : minorUnits.toMinor(balance));
+            return snapshot;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Hesabı tabloya ekler. Hesap zaten tablodaysa mevcut değerler korunur;
+     * böylece bir hesap için bellekte her zaman tek bir kayıt bulunur ve
+     * kilit altındaki mutasyonlar kaybolmaz.
+     *
+     * @param playerEconomy Veritabanından yüklenen hesap
+     * @param force         false ise tablo doluyken TinyLFU admission kararı uygulanır
+     */
+    private void cacheIfAbsent(PlayerEconomy playerEconomy, boolean force) {
+        UUID playerUUID = playerEconomy.getPlayerUUIDAsUUID();
+        long encoded = fixedPoint ? playerEconomy.getBalanceMinor() : Double.doubleToRawLongBits(playerEconomy.getBalance());
+        long now = System.currentTimeMillis();
+
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = force
+                    ? segment.putIfAbsent(playerUUID, playerEconomy.getPlayerName(), encoded, now)
+                    : segment.tryPutIfAbsent(playerUUID, playerEconomy.getPlayerName(), encoded, now);
+            if (slot >= 0) {
+                segment.touch(slot, now);
+            }
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Hesabı tabloya ekler ve sabitler
+     *
+     * @param playerEconomy Veritabanından yüklenen hesap
+     */
+    private void cacheAndPin(PlayerEconomy playerEconomy) {
+        UUID playerUUID = playerEconomy.getPlayerUUIDAsUUID();
+        long encoded = fixedPoint ? playerEconomy.getBalanceMinor() : Double.doubleToRawLongBits(playerEconomy.getBalance());
+        long now = System.currentTimeMillis();
+
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = segment.putIfAbsent(playerUUID, playerEconomy.getPlayerName(), encoded, now);
+            segment.touch(slot, now);
+            segment.pin(slot);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Hesabı tablodan düşürür
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param force      false ise yazılmamış değişikliği olan veya sabitlenmiş hesap düşürülmez
+     * @return Düşürülen hesap sabitlenmiş ise true
+     */
+    private boolean evict(UUID playerUUID, boolean force) {
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = segment.find(playerUUID);
+            if (slot >= 0 && (force || segment.isEvictable(slot))) {
+                boolean pinned = segment.isPinned(slot);
+                segment.remove(slot);
+                return pinned;
+            }
+            return false;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Oyuncunun hesabını oturum boyunca bellekte tutmak üzere yükler, hesap yoksa oluşturur.
+     * Sabitlenen hesap süre dolumu veya boyut sınırı ile düşürülmez; online oyuncuların
+     * bakiye okumaları veritabanına gitmez.
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param playerName Oyuncunun adı
+     * @return Hesap hazırsa true
+     */
+    public CompletableFuture<Boolean> preloadAccount(UUID playerUUID, String playerName) {
+        if (cacheEnabled && pinIfCached(playerUUID)) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return loadFromDatabase(playerUUID).thenCompose(playerEconomy -> {
+            if (playerEconomy != null) {
+                return CompletableFuture.completedFuture(playerEconomy);
+            }
+
+            PlayerEconomy created = new PlayerEconomy(playerUUID, playerName, startingBalance);
+            created.setBalance(startingBalance, minorUnits.toMinor(startingBalance));
+            return playerEconomyDao.createAccount(created).thenCompose(success -> {
+                // Başarısızsa hesap başka bir yerden oluşturulmuş olabilir, indeks onu da kapsamalı
+                accountIndex.add(playerUUID);
+                if (success) {
+                    trackCreated(playerUUID, playerName, startingBalance);
+                    plugin.getLogger().info(playerName + " için yeni hesap oluşturuldu.");
+                    return CompletableFuture.completedFuture(created);
+                }
+                return loadFromDatabase(playerUUID);
+            });
+        }).thenApply(playerEconomy -> {
+            if (playerEconomy == null) {
+                return false;
+            }
+            if (cacheEnabled) {
+                cacheAndPin(playerEconomy);
+            }
+            return true;
+        });
+    }
+
+    private boolean pinIfCached(UUID playerUUID) {
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = segment.find(playerUUID);
+            if (slot < 0) {
+                return false;
+            }
+            segment.pin(slot);
+            return true;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Oyuncu çıkınca hesabın sabitlemesini kaldırır, bekleyen değişiklikleri yazar
+     * ve hesabı bellekten düşürür
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return CompletableFuture<Void>
+     */
+    public CompletableFuture<Void> releaseAccount(UUID playerUUID) {
+        if (!cacheEnabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = segment.find(playerUUID);
+            if (slot >= 0) {
+                segment.unpin(slot);
+            }
+        } finally {
+            segment.unlock();
+        }
+
+        // Flush sonrası hesap temizse düşürülür; oyuncu bu arada tekrar girdiyse sabit kalır
+        return flushPending().thenRun(() -> evict(playerUUID, false));
+    }
+
+    /**
+     * Online tüm oyuncuların hesaplarını yükleyip sabitler (reload sonrası için)
+     */
+    public void preloadOnlinePlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            preloadAccount(player.getUniqueId(), player.getName());
+        }
+    }
+
+    /**
+     * Hesap oturum için bellekte sabitlenmiş mi?
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return Sabitlenmiş ise true
+     */
+    public boolean isAccountPinned(UUID playerUUID) {
+        if (!cacheEnabled) {
+            return false;
+        }
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = segment.find(playerUUID);
+            return slot >= 0 && segment.isPinned(slot);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    // Bloklamayan senkron metodlar: sadece bellekteki hesaplar üzerinde çalışır,
+    // ana thread'den güvenle çağrılabilir ve hiçbir zaman veritabanını beklemez
+
+    /**
+     * Hesap bellekteyse bakiyesini döndürür
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return Bakiye, hesap bellekte değilse boş
+     */
+    public OptionalDouble getBalanceIfLoaded(UUID playerUUID) {
+        Double cached = getCachedBalance(playerUUID);
+        return cached != null ? OptionalDouble.of(cached) : OptionalDouble.empty();
+    }
+
+    /**
+     * Hesap bellekteyse hemen para çeker. Bakiye bellekte anında değişir, kalıcı yazma
+     * arka planda yapılır. write-behind.enabled (varsayılan) ve write-behind.journal.enabled
+     * gerekir; write-through modunda her zaman false döner, bkz. {@link #canApplyNow}.
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param amount     Çıkarılacak miktar
+     * @return Para çekildiyse true; hesap bellekte değilse, bakiye yetersizse veya limit aşılıyorsa false
+     */
+    public boolean tryWithdrawNow(UUID playerUUID, double amount) {
+        return withdrawNow(playerUUID, amount).isApplied();
+    }
+
+    /**
+     * Hesap bellekteyse hemen para yatırır. Bakiye bellekte anında değişir, kalıcı yazma
+     * arka planda yapılır. write-behind.enabled (varsayılan) ve write-behind.journal.enabled
+     * gerekir; write-through modunda her zaman false döner, bkz. {@link #canApplyNow}.
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param amount     Eklenecek miktar
+     * @return Para eklendiyse true; hesap bellekte değilse veya limit aşılıyorsa false
+     */
+    public boolean tryDepositNow(UUID playerUUID, double amount) {
+        return depositNow(playerUUID, amount).isApplied();
+    }
+
+    /**
+     * tryWithdrawNow ile aynıdır, sonuçla birlikte işlem sonrası bakiyeyi de döndürür
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param amount     Çıkarılacak miktar
+     * @return Sonuç; hesap bellekte değilse NOT_LOADED
+     */
+    public BalanceChange withdrawNow(UUID playerUUID, double amount) {
+        if (!(amount > 0)) {
+            Double current = getCachedBalance(playerUUID);
+            return current != null ? BalanceChange.rejected(current) : BalanceChange.notLoaded();
+        }
+        BalanceChange change = applyDeltaNow(playerUUID, -amount);
+        if (change.isApplied()) {
+            eventDispatcher.withdraw(playerUUID, amount, change.getBalance());
+        }
+        return change;
+    }
+
+    /**
+     * tryDepositNow ile aynıdır, sonuçla birlikte işlem sonrası bakiyeyi de döndürür
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param amount     Eklenecek miktar
+     * @return Sonuç; hesap bellekte değilse NOT_LOADED
+     */
+    public BalanceChange depositNow(UUID playerUUID, double amount) {
+        if (!(amount > 0)) {
+            Double current = getCachedBalance(playerUUID);
+            return current != null ? BalanceChange.rejected(current) : BalanceChange.notLoaded();
+        }
+        BalanceChange change = applyDeltaNow(playerUUID, amount);
+        if (change.isApplied()) {
+            eventDispatcher.deposit(playerUUID, amount, change.getBalance());
+        }
+        return change;
+    }
+
+    /**
+     * Anında işlem yapılabiliyor mu? Sonuç yazma beklenmeden döndüğü için bellekteki değerin
+     * esas kabul edildiği write-behind modu gerekir: orada başarısız flush hesabı tekrar dirty
+     * yapar ve değer geri alınmaz. Write-through modunda başarısız yazmanın deltası geri alınır,
+     * bu da onaylanmış bir işlemi sessizce geri çevirirdi; bu yüzden o modda anında yol kapalıdır.
+     *
+     * write-behind.journal.wait-immediate açıksa (varsayılan) işlem, asenkron yoldaki gibi journal
+     * kaydı diske yazıldıktan sonra onaylanır; ana thread sadece journal dosyasını bekler, veritabanını
+     * beklemez. Kapalıysa kayıt beklenmez ve sunucu kayıt yazılmadan çökerse son işlemler kaybolabilir.
+     */
+    private boolean isImmediateEnabled() {
+        return cacheEnabled && writeBehindFlusher != null && journal != null;
+    }
+
+    /**
+     * Anında (bloklamayan) para çekme/yatırma bu hesap için çalışır mı?
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return Hesap bellekteyse ve write-behind ile journal açıksa true
+     */
+    public boolean canApplyNow(UUID playerUUID) {
+        return isImmediateEnabled() && isLoaded(playerUUID);
+    }
+
+    /**
+     * Anında yolda değişikliği kalıcı hale getirir. Segment kilidi altında çağrılmalıdır.
+     *
+     * Hesap dirty olarak işaretlenir ve journal kaydı gönderilir. wait-immediate açıksa dönen
+     * future çağıran tarafından kilit dışında beklenir: journal yazılamazsa değişiklik veritabanına
+     * flush edilir, o da başarısız olursa geri alınır (bkz. {@link #confirmJournaled}). Kapalıysa
+     * null döner; journal yazılamazsa değişiklik bellekte kalır ve sadece flush ile yazılır.
+     *
+     * @return Kaydın sonucu, beklenmeyecekse null
+     */
+    private CompletableFuture<Boolean> persistImmediate(AccountTable.Segment segment, int slot, UUID playerUUID,
+                                                        double previousBalance, double balance) {
+        WriteBehindFlusher flusher = writeBehindFlusher;
+        TransactionJournal currentJournal = journal;
+        if (flusher == null || currentJournal == null) {
+            // Mod değişti (reload), normal yoldan yazılsın
+            return journalWaitImmediate ? persistBalance(segment, slot, playerUUID, previousBalance, balance) : null;
+        }
+
+        trackBalance(playerUUID, segment.nameAt(slot), previousBalance, balance);
+        segment.markDirty(slot, System.currentTimeMillis());
+        flusher.onDirty();
+        CompletableFuture<Void> appended = currentJournal.append(playerUUID, balance);
+        if (journalWaitImmediate) {
+            return confirmJournaled(flusher, appended,
+                    new UUID[]{playerUUID}, new double[]{previousBalance}, new double[]{balance});
+        }
+        appended.exceptionally(throwable -> {
+            plugin.getLogger().warning("Journal yazılamadı, anında işlem sadece flush ile korunuyor: " + playerUUID);
+            return null;
+        });
+        return null;
+    }
+
+    /**
+     * Anında işlemin kalıcılık sonucunu bekler. Süre dolarsa işlem onaylanır; kayıt arka planda
+     * tamamlanır ve başarısız olursa {@link #confirmJournaled} yolunu izler.
+     */
+    private boolean awaitImmediate(CompletableFuture<Boolean> persisted) {
+        try {
+            return Boolean.TRUE.equals(persisted.get(IMMEDIATE_JOURNAL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Journal kaydı " + IMMEDIATE_JOURNAL_TIMEOUT_MILLIS
+                    + "ms içinde yazılmadı, anında işlem beklemeden onaylandı.");
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deltayı sadece hesap tablodaysa uygular; hesabı yüklemez. Journal kaydı segment kilidi
+     * bırakıldıktan sonra beklenir.
+     */
+    private BalanceChange applyDeltaNow(UUID playerUUID, double delta) {
+        if (!isImmediateEnabled()) {
+            return BalanceChange.notLoaded();
         }
 
-        Long timestamp = cacheTimestamps.get(playerUUID);
-        if (timestamp == null) {
-            return false;
+        Double newBalance;
+        CompletableFuture<Boolean> persisted;
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            int slot = lookupCached(segment, playerUUID);
+            if (slot < 0) {
+                return BalanceChange.notLoaded();
+            }
+            double previous = decodeBalance(segment.balanceAt(slot));
+            newBalance = applyDeltaLocked(segment, slot, delta);
+            if (newBalance == null) {
+                return BalanceChange.rejected(previous);
+            }
+            persisted = persistImmediate(segment, slot, playerUUID, previous, newBalance);
+        } finally {
+            segment.unlock();
         }
 
-        // Cache süresi dolmuş mu kontrol et
-        if (System.currentTimeMillis() - timestamp > cacheExpireTime) {
-            playerCache.remove(playerUUID);
-            cacheTimestamps.remove(playerUUID);
-            return false;
+        if (persisted != null && !awaitImmediate(persisted)) {
+            // Değişiklik geri alındı
+            Double current = getCachedBalance(playerUUID);
+            return current != null ? BalanceChange.rejected(current) : BalanceChange.notLoaded();
+        }
+        return BalanceChange.applied(newBalance);
+    }
+
+    /**
+     * Para çeker ve işlem sonrası bakiyeyi döndürür. Hesap bellekte değilse yüklenir.
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param amount     Çıkarılacak miktar
+     * @return CompletableFuture<BalanceChange> Hesap yoksa NOT_LOADED
+     */
+    public CompletableFuture<BalanceChange> withdrawDetailed(UUID playerUUID, double amount) {
+        BalanceChange now = withdrawNow(playerUUID, amount);
+        if (now.getStatus() != BalanceChange.Status.NOT_LOADED || !(amount > 0)) {
+            return CompletableFuture.completedFuture(now);
+        }
+        return applyDelta(playerUUID, -amount).thenCompose(newBalance -> {
+            if (newBalance == null) {
+                return rejectedChange(playerUUID);
+            }
+            eventDispatcher.withdraw(playerUUID, amount, newBalance);
+            return CompletableFuture.completedFuture(BalanceChange.applied(newBalance));
+        });
+    }
+
+    /**
+     * Para yatırır ve işlem sonrası bakiyeyi döndürür. Hesap bellekte değilse yüklenir.
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @param amount     Eklenecek miktar
+     * @return CompletableFuture<BalanceChange> Hesap yoksa NOT_LOADED
+     */
+    public CompletableFuture<BalanceChange> depositDetailed(UUID playerUUID, double amount) {
+        BalanceChange now = depositNow(playerUUID, amount);
+        if (now.getStatus() != BalanceChange.Status.NOT_LOADED || !(amount > 0)) {
+            return CompletableFuture.completedFuture(now);
         }
+        return applyDelta(playerUUID, amount).thenCompose(newBalance -> {
+            if (newBalance == null) {
+                return rejectedChange(playerUUID);
+            }
+            eventDispatcher.deposit(playerUUID, amount, newBalance);
+            return CompletableFuture.completedFuture(BalanceChange.applied(newBalance));
+        });
+    }
+
+    private CompletableFuture<BalanceChange> rejectedChange(UUID playerUUID) {
+        return getPlayerEconomy(playerUUID).thenApply(playerEconomy -> playerEconomy != null
+                ? BalanceChange.rejected(playerEconomy.getBalance())
+                : BalanceChange.notLoaded());
+    }
 
-        return true;
+    /**
+     * Hesabın varlığı bellekten kesin olarak biliniyorsa cevabı döndürür
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return true/false, bilinmiyorsa null (veritabanına sorulmalı)
+     */
+    public Boolean hasAccountIfKnown(UUID playerUUID) {
+        if (isLoaded(playerUUID)) {
+            return true;
+        }
+        if (accountIndex.isLoaded()) {
+            return accountIndex.contains(playerUUID);
+        }
+        return null;
     }
 
-    private void updateCache(PlayerEconomy playerEconomy) {
-        if (cacheEnabled) {
-            playerCache.put(playerEconomy.getPlayerUUIDAsUUID(), playerEconomy);
-            cacheTimestamps.put(playerEconomy.getPlayerUUIDAsUUID(), System.currentTimeMillis());
+    /**
+     * Hesap bellekte mi? (true ise bloklamayan bakiye okumaları bu hesap için çalışır)
+     *
+     * @param playerUUID Oyuncunun UUID'si
+     * @return Bellekteyse true
+     */
+    public boolean isLoaded(UUID playerUUID) {
+        if (!cacheEnabled) {
+            return false;
+        }
+        AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+        segment.lock();
+        try {
+            return segment.find(playerUUID) >= 0;
+        } finally {
+            segment.unlock();
         }
     }
 
@@ -411,19 +2082,76 @@ public class PlayerEconomyService {
      * Cache'i temizler
      */
     public void clearCache() {
-        playerCache.clear();
-        cacheTimestamps.clear();
-        plugin.getLogger().info("Player cache temizlendi.");
+        clearCache(false);
+    }
+
+    /**
+     * Yazılmamış değişikliği olmayan hesapları cache'den kaldırır. Dirty veya yazılmakta olan
+     * hesaplar bellekteki tek kopya olabileceğinden tutulur ve sonraki flush ile yazılır.
+     *
+     * @param dropPinned true ise temiz sabitlenmiş hesaplar da kaldırılır (tekrar sabitlenecekleri zaman)
+     */
+    private void clearCache(boolean dropPinned) {
+        // Write-behind açıksa önce bekleyen değişiklikleri yaz
+        if (writeBehindFlusher != null && !writeBehindFlusher.flush()) {
+            plugin.getLogger().warning("Cache temizlenmeden önce flush başarısız oldu, yazılamayan hesaplar cache'de tutuluyor.");
+        }
+
+        int kept = 0;
+        for (int i = 0; i < accountTable.getSegmentCount(); i++) {
+            AccountTable.Segment segment = accountTable.segmentAt(i);
+            segment.lock();
+            try {
+                int slot = 0;
+                while (slot < segment.capacity()) {
+                    if (segment.isPresent(slot) && !segment.hasUnflushedChanges(slot)
+                            && (dropPinned || !segment.isPinned(slot))) {
+                        // Backward shift sonraki bir hesabı bu slota taşıyabilir, slot tekrar kontrol edilir
+                        segment.remove(slot);
+                        continue;
+                    }
+                    if (segment.isPresent(slot)) {
+                        kept++;
+                    }
+                    slot++;
+                }
+            } finally {
+                segment.unlock();
+            }
+        }
+        plugin.getLogger().info("Player cache temizlendi." + (kept > 0 ? " Cache'de tutulan hesap: " + kept : ""));
+    }
+
+    /**
+     * fractional-digits değiştiğinde cache'de kalan hesapların bakiyelerini yeni ölçeğe çevirir
+     *
+     * @param previous Bakiyelerin kodlandığı eski ölçek
+     */
+    private void rescaleCache(MinorUnits previous) {
+        for (int i = 0; i < accountTable.getSegmentCount(); i++) {
+            AccountTable.Segment segment = accountTable.segmentAt(i);
+            segment.lock();
+            try {
+                for (int slot = 0; slot < segment.capacity(); slot++) {
+                    if (segment.isPresent(slot)) {
+                        segment.setBalance(slot, minorUnits.toMinor(previous.toMajor(segment.balanceAt(slot))));
+                    }
+                }
+            } finally {
+                segment.unlock();
+            }
+        }
     }
 
     /**
      * Belirtilen oyuncuyu cache'den kaldırır
+     * Yazılmamış değişikliği olan hesaplar flush sonrası süre dolunca düşer,
+     * online oyuncuların hesapları çıkışa kadar düşürülmez
      *
      * @param playerUUID Oyuncunun UUID'si
      */
     public void removeFromCache(UUID playerUUID) {
-        playerCache.remove(playerUUID);
-        cacheTimestamps.remove(playerUUID);
+        evict(playerUUID, false);
     }
 
     /**
@@ -432,7 +2160,44 @@ public class PlayerEconomyService {
      * @return Cache boyutu
      */
     public int getCacheSize() {
-        return playerCache.size();
+        return accountTable.size();
+    }
+
+    /**
+     * Cache istatistiklerini string olarak döndürür
+     *
+     * @return String istatistikler
+     */
+    public String getCacheStats() {
+        long hits = cacheHits.sum();
+        long misses = cacheMisses.sum();
+        long requests = hits + misses;
+        return String.format(
+                "Cache Stats - Size: %d/%s, Pinned: %d, Hits: %d, Misses: %d, Hit Rate: %.1f%%, Evictions: %d, Expired: %d, Rejected: %d, " +
+                        "DB Loads: %d, Coalesced Loads: %d, Known Accounts: %s, Fast Negatives: %d",
+                accountTable.size(),
+                cacheMaxSize > 0 ? String.valueOf(cacheMaxSize) : "∞",
+                accountTable.getPinnedCount(),
+                hits,
+                misses,
+                requests == 0 ? 0.0 : hits * 100.0 / requests,
+                accountTable.getEvictionCount(),
+                accountTable.getExpirationCount(),
+                accountTable.getRejectionCount(),
+                databaseLoads.sum(),
+                coalescedLoads.sum(),
+                accountIndex.isLoaded() ? String.valueOf(accountIndex.size()) : "-",
+                fastNegatives.sum()
+        );
+    }
+
+    /**
+     * Hesap tablosunun yaklaşık bellek kullanımı
+     *
+     * @return byte cinsinden bellek
+     */
+    public long getCacheMemoryBytes() {
+        return accountTable.estimateMemoryBytes();
     }
 
     // Getter metodları
@@ -461,13 +2226,116 @@ public class PlayerEconomyService {
         return fractionalDigits;
     }
 
+    public MinorUnits getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Ana bakiye dışındaki bakiye sütunları (dünya grupları, para birimleri)
+     */
+    public BalanceColumnStore getColumnStore() {
+        return columnStore;
+    }
+
+    /**
+     * Write-behind istatistiklerini döndürür
+     *
+     * @return İstatistik string'i veya write-behind kapalıysa null
+     */
+    public String getWriteBehindStats() {
+        if (writeBehindFlusher == null) {
+            return null;
+        }
+        TransactionJournal currentJournal = journal;
+        return currentJournal != null
+                ? writeBehindFlusher.getStats() + " | " + currentJournal.getStats()
+                : writeBehindFlusher.getStats();
+    }
+
+    /**
+     * Group commit istatistikleri, özellik kapalıysa null
+     */
+    public String getGroupCommitStats() {
+        GroupCommitter committer = groupCommitter;
+        return committer != null ? committer.getStats() : null;
+    }
+
+    /**
+     * Sıralama istatistikleri, sıralama kapalıysa veya yüklenmediyse null
+     */
+    public String getLeaderboardStats() {
+        if (!leaderboard.isLoaded()) {
+            return null;
+        }
+        return String.format("Leaderboard Stats - Ranked: %d, Memory: ~%d KB, Updates: %s",
+                leaderboard.size(), leaderboard.estimateMemoryBytes() / 1024, leaderboardUpdater.getStats());
+    }
+
+    /**
+     * Histogram istatistikleri, histogram kapalıysa veya yüklenmediyse null
+     */
+    public String getHistogramStats() {
+        BalanceHistogram current = histogram;
+        if (current == null || !current.isLoaded()) {
+            return null;
+        }
+        return String.format("Histogram Stats - Accounts: %d, Buckets: %d, Memory: %d B, Median: %.2f, Top 1%%: %.2f",
+                current.getTotal(), current.getBucketCount(), current.estimateMemoryBytes(),
+                current.balanceAt(50), current.balanceAt(99));
+    }
+
+    /**
+     * Idempotency istatistikleri, özellik kapalıysa null
+     */
+    public String getIdempotencyStats() {
+        IdempotencyGuard guard = idempotencyGuard;
+        return guard != null ? guard.getStats() : null;
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return writeBehindFlusher != null;
+    }
+
+    /**
+     * Veritabanı yeniden yüklenmeden önce çağrılır: arka plan görevleri durur ve bekleyen tüm
+     * değişiklikler eski ayarlarla, bağlantılar hâlâ açıkken yazılır
+     */
+    public void prepareReload() {
+        stopWriteBehind();
+        stopGroupCommit();
+        stopCacheSweeper();
+        stopIdempotency();
+        stopHistogram();
+        columnStore.flushAll();
+        // Temiz hesaplar eski ayarlarla kodlanmış olabilir; online oyuncular yüklemeden sonra tekrar sabitlenir.
+        // Yazılamayan hesaplar tutulur ve yeni flusher ile yazılır
+        clearCache(true);
+        if (TransactionJournal.hasSegments(getJournalDirectory())) {
+            replayJournal(); // Son flush başarısız olduysa kalan kayıtlar yazılır
+        }
+    }
+
     /**
-     * Ayarları yeniden yükler
+     * Ayarları yeniden yükler ve arka plan görevlerini yeni veritabanı bağlantısıyla başlatır.
+     * Önce {@link #prepareReload()} çağrılmış olmalıdır.
      */
     public void reloadSettings() {
         configManager.reloadConfig("economy");
+        MinorUnits previousUnits = minorUnits;
         loadEconomySettings();
-        clearCache(); // Cache'i temizle çünkü ayarlar değişmiş olabilir
+        if (previousUnits.getFractionalDigits() != minorUnits.getFractionalDigits()) {
+            rescaleCache(previousUnits);
+        }
+        startWriteBehind();
+        startGroupCommit();
+        startCacheSweeper();
+        startIdempotency();
+        loadAccountIndex();
+        loadLeaderboard();
+        startHistogram();
+        // fractional-digits değiştiyse yeniden ölçekle, ardından cache temizlendiği için online oyuncuları tekrar sabitle
+        CompletableFuture.runAsync(this::migrateMinorUnits, DatabaseManager.getInstance().getExecutor())
+                .thenRun(this::preloadOnlinePlayers);
         plugin.getLogger().info("Economy ayarları yeniden yüklendi!");
     }
 
@@ -486,7 +2354,7 @@ public class PlayerEconomyService {
      * @return CompletableFuture<Double>
      */
     public CompletableFuture<Double> getTotalEconomicValue() {
-        return playerEconomyDao.getTotalEconomicValue();
+        return flushPending().thenCompose(flushed -> playerEconomyDao.getTotalEconomicValue());
     }
 
     /**
@@ -496,16 +2364,28 @@ public class PlayerEconomyService {
      * @return CompletableFuture<Boolean>
      */
     public CompletableFuture<Boolean> deleteAccount(UUID playerUUID) {
-        return playerEconomyDao.delete(playerUUID).thenApply(success -> {
+        return playerEconomyDao.delete(playerUUID).thenApply(storedBalance -> {
+            boolean success = storedBalance != null;
             if (success) {
-                removeFromCache(playerUUID);
+                // Histogramda hesabın son bilinen bakiyesi vardır: bellekteyse oradaki, değilse satırdaki
+                BalanceHistogram current = histogram;
+                Double cached = getCachedBalance(playerUUID);
+                if (current != null) {
+                    current.remove(cached != null ? cached : storedBalance);
+                }
+                // Silinen hesabın bekleyen değişiklikleri de atılır
+                evict(playerUUID, true);
+                accountIndex.remove(playerUUID);
+                leaderboard.remove(playerUUID);
+                columnStore.deletePlayer(playerUUID);
             }
             return success;
         });
     }
 
     /**
-     * İki oyuncu arasında para transferi yapar
+     * İki oyuncu arasında para transferi yapar. Transfer tek adımda yapılır: ya her iki
+     * bakiye de değişir ya da hiçbiri. Event'ler sadece transfer kalıcı hale geldikten sonra çağrılır.
      *
      * @param fromUUID Gönderen oyuncu UUID
      * @param toUUID   Alan oyuncu UUID
@@ -513,35 +2393,542 @@ public class PlayerEconomyService {
      * @return CompletableFuture<Boolean>
      */
     public CompletableFuture<Boolean> transfer(UUID fromUUID, UUID toUUID, double amount) {
-        if (amount <= 0) {
+        if (amount <= 0 || fromUUID.equals(toUUID)) {
             return CompletableFuture.completedFuture(false);
         }
 
-        return withdraw(fromUUID, amount).thenCompose(withdrawSuccess -> {
-            if (!withdrawSuccess) {
-                return CompletableFuture.completedFuture(false);
+        CompletableFuture<double[]> result;
+        if (!cacheEnabled) {
+            // Bellekte hesap yok: iki satır tek transaction içinde UUID sırasıyla güncellenir
+            result = playerEconomyDao.transfer(fromUUID, toUUID, amount, Math.max(0.0, minBalance), maxBalance);
+        } else {
+            result = transferInMemory(fromUUID, toUUID, amount);
+        }
+
+        return result.thenApply(balances -> {
+            if (balances == null) {
+                return false;
             }
+            if (!cacheEnabled) {
+                trackBalance(fromUUID, null, balances[0] + amount, balances[0]);
+                trackBalance(toUUID, null, balances[1] - amount, balances[1]);
+            }
+            // Transfer commit edildi, event'leri çağır
+            eventDispatcher.withdraw(fromUUID, amount, balances[0]);
+            eventDispatcher.deposit(toUUID, amount, balances[1]);
+            eventDispatcher.transfer(fromUUID, toUUID, amount);
+            return true;
+        });
+    }
+
+    /**
+     * İki oyuncu arasında idempotency anahtarı ile para transferi yapar. Aynı anahtarla
+     * tekrar çağrılırsa transfer yeniden uygulanmaz, ilk sonuç döndürülür.
+     *
+     * @param fromUUID       Gönderen oyuncu UUID
+     * @param toUUID         Alan oyuncu UUID
+     * @param amount         Transfer miktarı
+     * @param idempotencyKey İşleme özel benzersiz anahtar (null ise kontrol yapılmaz)
+     * @return CompletableFuture<Boolean>
+     */
+    public CompletableFuture<Boolean> transfer(UUID fromUUID, UUID toUUID, double amount, String idempotencyKey) {
+        return idempotent(idempotencyKey, IdempotencyRecord.fingerprint("transfer", null, amount, fromUUID, toUUID),
+                () -> transfer(fromUUID, toUUID, amount));
+    }
 
-            return deposit(toUUID, amount).thenCompose(depositSuccess -> {
-                if (!depositSuccess) {
-                    // Deposit başarısız olursa parayı geri ver
-                    return deposit(fromUUID, amount).thenApply(rollbackSuccess -> {
-                        if (!rollbackSuccess) {
-                            plugin.getLogger().severe("Transfer rollback başarısız! " +
-                                    "Oyuncu: " + fromUUID + ", Miktar: " + amount);
+    /**
+     * Transferi bellekteki tabloda uygular. İki hesabın segmentleri segment numarası sırasıyla
+     * kilitlenir; böylece ters yönde eşzamanlı transferler birbirini bekleyerek kilitlenemez.
+     *
+     * @return {gönderenin yeni bakiyesi, alanın yeni bakiyesi}, reddedildiyse null
+     */
+    private CompletableFuture<double[]> transferInMemory(UUID fromUUID, UUID toUUID, double amount) {
+        return loadAccount(fromUUID).thenCombine(loadAccount(toUUID), (fromFound, toFound) -> fromFound && toFound)
+                .thenCompose(found -> {
+                    if (!found) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    AccountTable.Segment fromSegment = accountTable.segmentFor(fromUUID);
+                    AccountTable.Segment toSegment = accountTable.segmentFor(toUUID);
+                    boolean fromFirst = accountTable.segmentIndexFor(fromUUID) <= accountTable.segmentIndexFor(toUUID);
+                    AccountTable.Segment first = fromFirst ? fromSegment : toSegment;
+                    AccountTable.Segment second = fromFirst ? toSegment : fromSegment;
+
+                    double[] balances;
+                    CompletableFuture<Boolean> persisted;
+
+                    first.lock();
+                    second.lock(); // Aynı segmentse ReentrantLock tekrar alınır
+                    try {
+                        int fromSlot = fromSegment.find(fromUUID);
+                        int toSlot = toSegment.find(toUUID);
+                        if (fromSlot < 0 || toSlot < 0) {
+                            // Yükleme ile kilit arasında tablodan düştü, tekrar yükle
+                            balances = null;
+                            persisted = null;
+                        } else {
+                            long previousFrom = fromSegment.balanceAt(fromSlot);
+                            long previousTo = toSegment.balanceAt(toSlot);
+                            Double fromBalance = applyDeltaLocked(fromSegment, fromSlot, -amount);
+                            if (fromBalance == null) {
+                                return CompletableFuture.completedFuture(null);
+                            }
+                            Double toBalance = applyDeltaLocked(toSegment, toSlot, amount);
+                            if (toBalance == null) {
+                                // Alan tarafın limiti aşıldı, gönderen kilit bırakılmadan geri alınır
+                                fromSegment.setBalance(fromSlot, previousFrom);
+                                return CompletableFuture.completedFuture(null);
+                            }
+
+                            balances = new double[]{fromBalance, toBalance};
+                            persisted = persistAll(new AccountTable.Segment[]{fromSegment, toSegment},
+                                    new int[]{fromSlot, toSlot},
+                                    new UUID[]{fromUUID, toUUID},
+                                    new double[]{decodeBalance(previousFrom), decodeBalance(previousTo)},
+                                    new double[]{fromBalance, toBalance}, null);
                         }
-                        return false;
-                    });
-                } else {
-                    // Transfer başarılı, event'i çağır
-                    MoneyTransferEvent event = new MoneyTransferEvent(fromUUID, toUUID, plugin, amount);
-                    Bukkit.getPluginManager().callEvent(event);
+                    } finally {
+                        second.unlock();
+                        first.unlock();
+                    }
+
+                    if (persisted == null) {
+                        return transferInMemory(fromUUID, toUUID, amount);
+                    }
+                    return persisted.thenApply(success -> success ? balances : null);
+                });
+    }
+
+    /**
+     * Birden fazla transferi tek işlem olarak uygular (maaş ödemeleri, hesaplaşmalar vb.).
+     * Adımlar verilen sırayla uygulanır; bir adımda para alan hesap sonraki adımda gönderen olabilir.
+     * Tüm kontroller yazmadan önce yapılır ve değişen bakiyeler tek seferde kalıcı hale getirilir.
+     * Her uygulanan adım için commit sonrası MoneyTransferEvent çağrılır.
+     *
+     * @param legs         Transfer adımları
+     * @param allOrNothing true ise bir adım reddedildiğinde hiçbiri uygulanmaz,
+     *                     false ise sadece reddedilen adımlar atlanır
+     * @return CompletableFuture<TransferBatchResult> Adım bazlı sonuç
+     */
+    public CompletableFuture<TransferBatchResult> transferBatch(List<TransferLeg> legs, boolean allOrNothing) {
+        List<TransferLeg> batch = List.copyOf(legs);
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(new TransferBatchResult(batch, new TransferBatchResult.Status[0]));
+        }
+
+        Set<UUID> accounts = new HashSet<>();
+        for (TransferLeg leg : batch) {
+            accounts.add(leg.getFromUUID());
+            accounts.add(leg.getToUUID());
+        }
+
+        CompletableFuture<TransferBatchResult> result = applyBatch(accounts,
+                balances -> planTransferBatch(batch, allOrNothing, balances),
+                TransferBatchResult.failed(batch));
+
+        return result.thenApply(batchResult -> {
+            for (int i = 0; i < batch.size(); i++) {
+                if (batchResult.isApplied(i)) {
+                    TransferLeg leg = batch.get(i);
+                    eventDispatcher.transfer(leg.getFromUUID(), leg.getToUUID(), leg.getAmount());
+                }
+            }
+            return batchResult;
+        });
+    }
+
+    /**
+     * Birden fazla oyuncuya tek işlemle para yatırır (ödül dağıtımı vb.).
+     * Limitler bellekte kontrol edilir; limiti aşacak veya hesabı olmayan oyuncular atlanır.
+     * Tek tek MoneyDepositEvent yerine commit sonrası tek bir MoneyBulkEvent çağrılır.
+     *
+     * @param amounts Oyuncu UUID -> yatırılacak miktar
+     * @return CompletableFuture<Map<UUID, Double>> Uygulanan oyuncuların yeni bakiyeleri
+     */
+    public CompletableFuture<Map<UUID, Double>> depositAll(Map<UUID, Double> amounts) {
+        return applyBulk(amounts, MoneyBulkEvent.Type.DEPOSIT);
+    }
+
+    /**
+     * Birden fazla oyuncudan tek işlemle para çeker (vergi vb.).
+     * Bakiyesi yetmeyen veya hesabı olmayan oyuncular atlanır.
+     * Tek tek MoneyWithdrawEvent yerine commit sonrası tek bir MoneyBulkEvent çağrılır.
+     *
+     * @param amounts Oyuncu UUID -> çekilecek miktar
+     * @return CompletableFuture<Map<UUID, Double>> Uygulanan oyuncuların yeni bakiyeleri
+     */
+    public CompletableFuture<Map<UUID, Double>> withdrawAll(Map<UUID, Double> amounts) {
+        return applyBulk(amounts, MoneyBulkEvent.Type.WITHDRAW);
+    }
+
+    private CompletableFuture<Map<UUID, Double>> applyBulk(Map<UUID, Double> amounts, MoneyBulkEvent.Type type) {
+        Map<UUID, Double> deltas = new HashMap<>();
+        amounts.forEach((playerUUID, amount) -> {
+            if (amount != null && amount > 0) {
+                deltas.put(playerUUID, type == MoneyBulkEvent.Type.DEPOSIT ? amount : -amount);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+
+        return applyBatch(deltas.keySet(), balances -> planBulk(deltas, balances), Map.<UUID, Double>of())
+                .thenApply(newBalances -> {
+                    if (!newBalances.isEmpty()) {
+                        Map<UUID, Double> applied = new HashMap<>();
+                        for (UUID playerUUID : newBalances.keySet()) {
+                            applied.put(playerUUID, Math.abs(deltas.get(playerUUID)));
+                        }
+                        eventDispatcher.bulk(type, applied, newBalances);
+                    }
+                    return newBalances;
+                });
+    }
+
+    /**
+     * Toplu yatırma/çekme deltalarını ham bakiyelere uygular, limiti aşanları atlar
+     *
+     * @return Uygulanan hesapların yeni bakiyeleri
+     */
+    private Map<UUID, Double> planBulk(Map<UUID, Double> deltas, Map<UUID, Long> balances) {
+        Map<UUID, Double> newBalances = new HashMap<>();
+        deltas.forEach((playerUUID, delta) -> {
+            Long current = balances.get(playerUUID);
+            if (current == null) {
+                return;
+            }
+            Long updated = applyDeltaEncoded(current, delta);
+            if (updated != null) {
+                balances.put(playerUUID, updated);
+                newBalances.put(playerUUID, decodeBalance(updated));
+            }
+        });
+        return newBalances;
+    }
+
+    /**
+     * Birden fazla hesabı tek birim olarak günceller. Planlayıcı, var olan hesapların ham
+     * bakiyelerini alır ve değiştirmek istediklerini map üzerinde günceller; değişen bakiyeler
+     * tek seferde kalıcı hale getirilir.
+     *
+     * Cache açıksa ilgili tüm segmentler segment numarası sırasıyla kilitlenir ve değişiklikler
+     * tek journal birimi veya tek batch transaction ile yazılır. Kapalıysa satırlar veritabanında
+     * tek transaction içinde kilitlenip okunur ve tek bir JDBC batch ile yazılır.
+     *
+     * @param accounts Etkilenecek hesaplar
+     * @param planner  Ham bakiyeler üzerinde çalışan planlayıcı
+     * @param failed   Yazma başarısız olursa döndürülecek sonuç
+     */
+    private <R> CompletableFuture<R> applyBatch(Set<UUID> accounts, Function<Map<UUID, Long>, R> planner, R failed) {
+        return applyBatch(accounts, planner, failed, null);
+    }
+
+    /**
+     * @param sweepState Faiz/vergi grubunun imleci; değişikliklerle aynı birimde kalıcı hale getirilir
+     */
+    private <R> CompletableFuture<R> applyBatch(Set<UUID> accounts, Function<Map<UUID, Long>, R> planner, R failed,
+                                                RateSweepState sweepState) {
+        return cacheEnabled
+                ? applyBatchInMemory(accounts, planner, failed, sweepState)
+                : applyBatchInDatabase(accounts, planner, failed, sweepState);
+    }
+
+    private <R> CompletableFuture<R> applyBatchInMemory(Set<UUID> accounts, Function<Map<UUID, Long>, R> planner, R failed,
+                                                        RateSweepState sweepState) {
+        Map<UUID, CompletableFuture<Boolean>> loads = new HashMap<>();
+        for (UUID playerUUID : accounts) {
+            loads.put(playerUUID, loadAccount(playerUUID));
+        }
+
+        return CompletableFuture.allOf(loads.values().toArray(new CompletableFuture<?>[0])).thenCompose(ignored -> {
+            List<UUID> found = new ArrayList<>();
+            loads.forEach((playerUUID, load) -> {
+                if (load.join()) {
+                    found.add(playerUUID);
                 }
-                return CompletableFuture.completedFuture(true);
             });
+
+            int[] segmentIndexes = found.stream().mapToInt(accountTable::segmentIndexFor).distinct().sorted().toArray();
+
+            R result;
+            CompletableFuture<Boolean> persisted;
+
+            for (int index : segmentIndexes) {
+                accountTable.segmentAt(index).lock();
+            }
+            try {
+                Map<UUID, Long> balances = new HashMap<>();
+                Map<UUID, Integer> slots = new HashMap<>();
+                for (UUID playerUUID : found) {
+                    AccountTable.Segment segment = accountTable.segmentFor(playerUUID);
+                    int slot = segment.find(playerUUID);
+                    if (slot < 0) {
+                        break;
+                    }
+                    balances.put(playerUUID, segment.balanceAt(slot));
+                    slots.put(playerUUID, slot);
+                }
+
+                if (slots.size() < found.size()) {
+                    // Yükleme ile kilit arasında tablodan düştü, tekrar yükle
+                    result = null;
+                    persisted = null;
+                } else {
+                    Map<UUID, Long> original = new HashMap<>(balances);
+                    result = planner.apply(balances);
+                    List<UUID> changed = changedAccounts(original, balances);
+
+                    if (changed.isEmpty()) {
+                        persisted = sweepState != null
+                                ? persistSweepState(sweepState)
+                                : CompletableFuture.completedFuture(true);
+                    } else {
+                        AccountTable.Segment[] segments = new AccountTable.Segment[changed.size()];
+                        int[] changedSlots = new int[changed.size()];
+                        UUID[] uuids = changed.toArray(new UUID[0]);
+                        double[] previousBalances = new double[changed.size()];
+                        double[] newBalances = new double[changed.size()];
+                        for (int i = 0; i < uuids.length; i++) {
+                            segments[i] = accountTable.segmentFor(uuids[i]);
+                            changedSlots[i] = slots.get(uuids[i]);
+                            long encoded = balances.get(uuids[i]);
+                            segments[i].setBalance(changedSlots[i], encoded);
+                            previousBalances[i] = decodeBalance(original.get(uuids[i]));
+                            newBalances[i] = decodeBalance(encoded);
+                        }
+                        persisted = persistAll(segments, changedSlots, uuids, previousBalances, newBalances, sweepState);
+                    }
+                }
+            } finally {
+                for (int i = segmentIndexes.length - 1; i >= 0; i--) {
+                    accountTable.segmentAt(segmentIndexes[i]).unlock();
+                }
+            }
+
+            if (persisted == null) {
+                return applyBatchInMemory(accounts, planner, failed, sweepState);
+            }
+            return persisted.thenApply(success -> success ? result : failed);
         });
     }
 
+    private <R> CompletableFuture<R> applyBatchInDatabase(Set<UUID> accounts, Function<Map<UUID, Long>, R> planner, R failed,
+                                                          RateSweepState sweepState) {
+        AtomicReference<R> planned = new AtomicReference<>();
+        AtomicReference<Map<UUID, Double>> previous = new AtomicReference<>();
+        AtomicReference<Map<UUID, Double>> written = new AtomicReference<>();
+        return playerEconomyDao.updateBalancesAtomically(accounts, current -> {
+            previous.set(current);
+            Map<UUID, Long> balances = new HashMap<>();
+            current.forEach((playerUUID, balance) -> balances.put(playerUUID, encodeBalance(balance)));
+            Map<UUID, Long> original = new HashMap<>(balances);
+            planned.set(planner.apply(balances));
+
+            Map<UUID, Double> updates = new HashMap<>();
+            for (UUID playerUUID : changedAccounts(original, balances)) {
+                updates.put(playerUUID, decodeBalance(balances.get(playerUUID)));
+            }
+            written.set(updates);
+            return updates;
+        }, sweepState).thenApply(committed -> {
+            if (!committed) {
+                return failed;
+            }
+            written.get().forEach((playerUUID, balance) ->
+                    trackBalance(playerUUID, null, previous.get().getOrDefault(playerUUID, Double.NaN), balance));
+            return planned.get();
+        });
+    }
+
+    /**
+     * Hiçbir bakiyeyi değiştirmeyen faiz/vergi grubunun imlecini kaydeder
+     */
+    private CompletableFuture<Boolean> persistSweepState(RateSweepState sweepState) {
+        WriteBehindFlusher flusher = writeBehindFlusher;
+        if (flusher != null) {
+            flusher.attachSweepState(sweepState);
+            return CompletableFuture.completedFuture(true);
+        }
+        return playerEconomyDao.updateBalancesBatch(Map.of(), sweepState);
+    }
+
+    private static List<UUID> changedAccounts(Map<UUID, Long> original, Map<UUID, Long> balances) {
+        List<UUID> changed = new ArrayList<>();
+        balances.forEach((playerUUID, encoded) -> {
+            if (!encoded.equals(original.get(playerUUID))) {
+                changed.add(playerUUID);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Transfer adımlarını ham bakiyeler üzerinde sırayla uygular; tabloya veya veritabanına dokunmaz.
+     *
+     * @param balances Hesapların ham bakiyeleri (hesabı olmayanlar bulunmaz); uygulanan adımlara göre güncellenir
+     * @return Adım bazlı sonuç
+     */
+    private TransferBatchResult planTransferBatch(List<TransferLeg> legs, boolean allOrNothing, Map<UUID, Long> balances) {
+        TransferBatchResult.Status[] statuses = new TransferBatchResult.Status[legs.size()];
+        Arrays.fill(statuses, TransferBatchResult.Status.NOT_APPLIED);
+        Map<UUID, Long> working = new HashMap<>(balances);
+
+        for (int i = 0; i < legs.size(); i++) {
+            TransferLeg leg = legs.get(i);
+            Long from = working.get(leg.getFromUUID());
+            Long to = working.get(leg.getToUUID());
+
+            Long newFrom = null;
+            Long newTo = null;
+            if (leg.getAmount() > 0 && !leg.getFromUUID().equals(leg.getToUUID()) && from != null && to != null) {
+                newFrom = applyDeltaEncoded(from, -leg.getAmount());
+                newTo = newFrom == null ? null : applyDeltaEncoded(to, leg.getAmount());
+            }
+
+            if (newTo == null) {
+                statuses[i] = TransferBatchResult.Status.REJECTED;
+                if (allOrNothing) {
+                    Arrays.fill(statuses, 0, i, TransferBatchResult.Status.NOT_APPLIED);
+                    return new TransferBatchResult(legs, statuses);
+                }
+                continue;
+            }
+
+            working.put(leg.getFromUUID(), newFrom);
+            working.put(leg.getToUUID(), newTo);
+            statuses[i] = TransferBatchResult.Status.APPLIED;
+        }
+
+        balances.putAll(working);
+        return new TransferBatchResult(legs, statuses);
+    }
+
+    /**
+     * Faiz/vergi taramasının bir grubunu uygular. Hesaplar birincil anahtar sırasıyla tek sorguda
+     * okunur ve tek tek yüklenmek yerine tabloya doğrudan konur; tabloda zaten olan hesapların
+     * bellekteki değeri esas alınır. Değişiklikler applyBatch ile tek birim olarak kalıcı hale
+     * getirilir, yani cache, journal ve write-behind tutarlı kalır.
+     *
+     * Write-behind açıksa grup bitince bekleyen değişiklikler yazılır ve sadece tarama için
+     * tabloya konan hesaplar tekrar çıkarılır; tarama cache'i büyütmez.
+     *
+     * Grubun son hesabı, taramanın imleci olarak bakiyelerle aynı birimde yazılır (aynı
+     * transaction ya da aynı journal kaydı); kaldığı yer {@link #getSweepState()} ile okunur.
+     *
+     * @param sweepId    Taramanın kimliği, imlece yazılır
+     * @param afterUUID  Bu anahtardan sonraki hesaplar, ilk grup için null
+     * @param limit      Grup boyutu
+     * @param minBalance Sadece bakiyesi bundan büyük hesaplar okunur
+     * @param rates      Bakiyeden uygulanacak tutarı hesaplar (faiz pozitif, vergi negatif)
+     * @return Grup sonucu; yazma başarısız olursa exceptionally tamamlanır
+     */
+    public CompletableFuture<RateChunk> applyRateChunk(long sweepId, String afterUUID, int limit, double minBalance,
+                                                       DoubleUnaryOperator rates) {
+        // Okuma sırasında yazması süren hesaplar tabloya konmaz, normal yolla yüklenir
+        Set<UUID> busy = new HashSet<>(pendingWrites.keySet());
+
+        return playerEconomyDao.getAccountsAfter(afterUUID, limit, minBalance).thenCompose(rows -> {
+            if (rows.isEmpty()) {
+                return CompletableFuture.completedFuture(new RateChunk(afterUUID, 0, Map.of(), Map.of()));
+            }
+
+            String lastUUID = rows.get(rows.size() - 1).getPlayerUUID();
+            Set<UUID> accounts = new HashSet<>();
+            List<UUID> seeded = new ArrayList<>();
+            for (PlayerEconomy row : rows) {
+                UUID playerUUID = row.getPlayerUUIDAsUUID();
+                accounts.add(playerUUID);
+                if (cacheEnabled && !busy.contains(playerUUID) && !pendingWrites.containsKey(playerUUID)
+                        && !isInCache(playerUUID)) {
+                    cacheIfAbsent(row, true);
+                    seeded.add(playerUUID);
+                }
+            }
+
+            RateSweepState sweepState = new RateSweepState(sweepId, lastUUID);
+            return applyBatch(accounts, balances -> planRates(balances, rates, lastUUID, rows.size()), null, sweepState)
+                    .thenCompose(chunk -> {
+                        if (chunk == null) {
+                            seeded.forEach(playerUUID -> evict(playerUUID, false));
+                            return CompletableFuture.<RateChunk>failedFuture(
+                                    new IllegalStateException("Hesap grubu yazılamadı: " + afterUUID));
+                        }
+                        fireRateEvents(chunk);
+                        return flushPending().thenApply(flushed -> {
+                            seeded.forEach(playerUUID -> evict(playerUUID, false));
+                            return chunk;
+                        });
+                    });
+        });
+    }
+
+    /**
+     * Faiz/vergi taramasının en son commit edilen imleci
+     *
+     * @return İmleç, hiç tarama yapılmadıysa null
+     */
+    public CompletableFuture<RateSweepState> getSweepState() {
+        return playerEconomyDao.getSweepState();
+    }
+
+    /**
+     * Oranları ham bakiyelere uygular. Limit aşılıyorsa tutar sınıra kadar uygulanır.
+     */
+    private RateChunk planRates(Map<UUID, Long> balances, DoubleUnaryOperator rates, String lastUUID, int scanned) {
+        Map<UUID, Double> deltas = new HashMap<>();
+        Map<UUID, Double> newBalances = new HashMap<>();
+        for (Map.Entry<UUID, Long> entry : balances.entrySet()) {
+            long encoded = entry.getValue();
+            double balance = decodeBalance(encoded);
+            double delta = rates.applyAsDouble(balance);
+            if (delta == 0 || Double.isNaN(delta)) {
+                continue;
+            }
+
+            Long updated = applyDeltaEncoded(encoded, delta);
+            if (updated == null) {
+                double bound = delta > 0 ? maxBalance : Math.max(0.0, minBalance);
+                if (delta > 0 ? balance >= bound : balance <= bound) {
+                    continue;
+                }
+                updated = encodeBalance(bound);
+            }
+
+            double newBalance = decodeBalance(updated);
+            if (newBalance == balance) {
+                // Fixed-point modunda en küçük birimin altında kalan tutar
+                continue;
+            }
+            entry.setValue(updated);
+            deltas.put(entry.getKey(), newBalance - balance);
+            newBalances.put(entry.getKey(), newBalance);
+        }
+        return new RateChunk(lastUUID, scanned, deltas, newBalances);
+    }
+
+    private void fireRateEvents(RateChunk chunk) {
+        Map<UUID, Double> deposits = new HashMap<>();
+        Map<UUID, Double> withdrawals = new HashMap<>();
+        chunk.getDeltas().forEach((playerUUID, delta) -> {
+            if (delta > 0) {
+                deposits.put(playerUUID, delta);
+            } else {
+                withdrawals.put(playerUUID, -delta);
+            }
+        });
+        if (!deposits.isEmpty()) {
+            Map<UUID, Double> balances = new HashMap<>(chunk.getNewBalances());
+            balances.keySet().retainAll(deposits.keySet());
+            eventDispatcher.bulk(MoneyBulkEvent.Type.DEPOSIT, deposits, balances);
+        }
+        if (!withdrawals.isEmpty()) {
+            Map<UUID, Double> balances = new HashMap<>(chunk.getNewBalances());
+            balances.keySet().retainAll(withdrawals.keySet());
+            eventDispatcher.bulk(MoneyBulkEvent.Type.WITHDRAW, withdrawals, balances);
+        }
+    }
+
     /**
      * Belirtilen bakiye aralığındaki oyuncuları getirir
      *
@@ -550,13 +2937,21 @@ public class PlayerEconomyService {
      * @return CompletableFuture<List < PlayerEconomy>>
      */
     public CompletableFuture<List<PlayerEconomy>> getPlayersByBalanceRange(double minBalance, double maxBalance) {
-        return playerEconomyDao.getPlayersByBalanceRange(minBalance, maxBalance);
+        return flushPending().thenCompose(flushed -> playerEconomyDao.getPlayersByBalanceRange(minBalance, maxBalance));
     }
 
     /**
      * Service'i kapatır ve temizlik yapar
      */
     public void shutdown() {
+        columnStore.shutdown();
+        columnStore.flushAll();
+        stopWriteBehind();
+        stopGroupCommit();
+        stopHistogram();
+        leaderboardUpdater.shutdown();
+        stopCacheSweeper();
+        stopIdempotency();
         clearCache();
         plugin.getLogger().info("PlayerEconomyService kapatıldı.");
     }
@@ -0,0 +1,428 @@
+package org.ozaii.magEconomy.economy.services;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.config.ConfigManager;
+import org.ozaii.magEconomy.economy.ledger.RateSchedule;
+import org.ozaii.magEconomy.economy.models.RateChunk;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Zamanlanmış faiz ve servet vergisi.
+ *
+ * Tarama, hesapları birincil anahtar sırasıyla gruplar halinde okur ve her grubu tek birim olarak
+ * uygular (bkz. PlayerEconomyService#applyRateChunk). Oranın etkilemediği hesaplar sorguda elenir.
+ * Kalınan anahtar (imleç) grubun bakiyeleriyle aynı transaction'da, write-behind açıksa aynı
+ * journal kaydında yazılır; bir grup imleci olmadan ya da imleç grubu olmadan commit edilemez.
+ * Sunucu tarama sırasında kapanırsa tarama bir sonraki açılışta baştan değil, kaldığı gruptan
+ * devam eder ve hiçbir grup iki kez uygulanmaz.
+ *
+ * Aynı veritabanını paylaşan sunuculardan sadece birinde açılmalıdır.
+ */
+public class RateService {
+
+    private static final String STATE_CONFIG = "rates-state";
+    private static final long CHECK_INTERVAL_SECONDS = 60;
+    private static final int LOG_EVERY_CHUNKS = 50;
+
+    private static RateService instance;
+    private JavaPlugin plugin;
+    private ConfigManager configManager;
+    private PlayerEconomyService economyService;
+
+    private boolean enabled;
+    private long intervalMillis;
+    private int chunkSize;
+    private volatile RateSchedule interest = RateSchedule.empty();
+    private volatile RateSchedule tax = RateSchedule.empty();
+
+    private ScheduledExecutorService scheduler;
+    private final Object sweepLock = new Object();
+    private CompletableFuture<SweepProgress> currentSweep;
+    private volatile SweepProgress lastProgress;
+    private volatile boolean stopping;
+
+    /**
+     * Bir taramanın ilerlemesi. Tarama sürerken güncellenir.
+     */
+    public static final class SweepProgress {
+        private final long startedAt;
+        private volatile long finishedAt;
+        private volatile long scannedAccounts;
+        private volatile long changedAccounts;
+        private volatile long chunks;
+        private volatile double interestPaid;
+        private volatile double taxCollected;
+        private volatile boolean failed;
+        // Kapanış/yeniden yükleme nedeniyle yarıda bırakıldı, imleçten devam edilecek
+        private volatile boolean interrupted;
+
+        SweepProgress(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        void record(RateChunk chunk) {
+            scannedAccounts += chunk.getScanned();
+            changedAccounts += chunk.getDeltas().size();
+            chunks++;
+            interestPaid += chunk.getTotalDeposited();
+            taxCollected += chunk.getTotalWithdrawn();
+        }
+
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        /**
+         * @return Bitiş zamanı, tarama sürüyorsa 0
+         */
+        public long getFinishedAt() {
+            return finishedAt;
+        }
+
+        public boolean isRunning() {
+            return finishedAt == 0;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        public long getScannedAccounts() {
+            return scannedAccounts;
+        }
+
+        public long getChangedAccounts() {
+            return changedAccounts;
+        }
+
+        public long getChunks() {
+            return chunks;
+        }
+
+        public double getInterestPaid() {
+            return interestPaid;
+        }
+
+        public double getTaxCollected() {
+            return taxCollected;
+        }
+
+        /**
+         * Saniyede taranan hesap sayısı
+         */
+        public double getThroughput() {
+            long end = finishedAt == 0 ? System.currentTimeMillis() : finishedAt;
+            long elapsed = Math.max(1, end - startedAt);
+            return scannedAccounts * 1000.0 / elapsed;
+        }
+
+        @Override
+        public String toString() {
+            long end = finishedAt == 0 ? System.currentTimeMillis() : finishedAt;
+            return String.format(
+                    "Sweep - %s, Scanned: %d, Changed: %d, Chunks: %d, Interest: %.2f, Tax: %.2f, Throughput: %.0f/s, Elapsed: %d ms",
+                    failed ? "Failed" : (finishedAt == 0 ? "Running" : "Done"),
+                    scannedAccounts,
+                    changedAccounts,
+                    chunks,
+                    interestPaid,
+                    taxCollected,
+                    getThroughput(),
+                    end - startedAt
+            );
+        }
+    }
+
+    private RateService() {
+    }
+
+    /**
+     * RateService singleton instance'ını döndürür
+     *
+     * @return RateService instance
+     */
+    public static RateService getInstance() {
+        if (instance == null) {
+            instance = new RateService();
+        }
+        return instance;
+    }
+
+    /**
+     * RateService'i başlatır. PlayerEconomyService'ten sonra çağrılmalıdır.
+     *
+     * @param plugin JavaPlugin instance
+     */
+    public void initialize(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = ConfigManager.getInstance();
+        this.economyService = PlayerEconomyService.getInstance();
+        this.stopping = false;
+
+        setupRateConfig();
+        loadRateSettings();
+        startScheduler();
+    }
+
+    private void setupRateConfig() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+
+        if (!economyConfig.contains("rates.enabled")) {
+            economyConfig.set("rates.enabled", false);
+            economyConfig.set("rates.interval-minutes", 1440);
+            economyConfig.set("rates.chunk-size", 500);
+            economyConfig.set("rates.interest.tiers", List.of(
+                    Map.of("min-balance", 0.0, "rate", 0.01),
+                    Map.of("min-balance", 100000.0, "rate", 0.005)));
+            economyConfig.set("rates.interest.max-per-account", 1000.0);
+            economyConfig.set("rates.tax.tiers", List.of(
+                    Map.of("min-balance", 1000000.0, "rate", 0.02)));
+            economyConfig.set("rates.tax.max-per-account", 0.0);
+
+            configManager.saveConfig("economy");
+        }
+    }
+
+    private void loadRateSettings() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+
+        this.enabled = economyConfig.getBoolean("rates.enabled", false);
+        this.intervalMillis = TimeUnit.MINUTES.toMillis(Math.max(1, economyConfig.getLong("rates.interval-minutes", 1440)));
+        this.chunkSize = Math.max(1, economyConfig.getInt("rates.chunk-size", 500));
+        this.interest = loadSchedule(economyConfig, "rates.interest");
+        this.tax = loadSchedule(economyConfig, "rates.tax");
+    }
+
+    private RateSchedule loadSchedule(FileConfiguration config, String path) {
+        List<Map<?, ?>> tiers = config.getMapList(path + ".tiers");
+        double[] thresholds = new double[tiers.size()];
+        double[] rates = new double[tiers.size()];
+        try {
+            for (int i = 0; i < tiers.size(); i++) {
+                thresholds[i] = toDouble(tiers.get(i).get("min-balance"));
+                rates[i] = toDouble(tiers.get(i).get("rate"));
+            }
+            return RateSchedule.of(thresholds, rates, config.getDouble(path + ".max-per-account", 0.0));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Geçersiz oran dilimleri (" + path + "), kapatıldı: " + e.getMessage());
+            return RateSchedule.empty();
+        }
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("min-balance ve rate zorunludur");
+        }
+        return Double.parseDouble(value.toString());
+    }
+
+    private void startScheduler() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        if (interest.isEmpty() && tax.isEmpty()) {
+            plugin.getLogger().warning("Faiz/vergi açık ama hiç dilim tanımlı değil.");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MagEconomy-Rates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                checkSchedule();
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Faiz/vergi zamanlaması kontrol edilemedi", e);
+            }
+        }, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        plugin.getLogger().info("Faiz/vergi zamanlayıcısı başlatıldı (her " + TimeUnit.MILLISECONDS.toMinutes(intervalMillis) + " dakika)");
+    }
+
+    private void stopScheduler() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Yarım kalan tarama varsa devam ettirir, yoksa süre dolduysa yeni tarama başlatır
+     */
+    private void checkSchedule() {
+        FileConfiguration state = configManager.getConfig(STATE_CONFIG);
+        boolean interrupted = state.contains("current.started-at");
+        long lastRun = state.getLong("last-run", 0L);
+        if (interrupted || System.currentTimeMillis() - lastRun >= intervalMillis) {
+            runSweep();
+        }
+    }
+
+    /**
+     * Taramayı hemen başlatır. Tarama zaten sürüyorsa mevcut tarama döner.
+     *
+     * @return Tarama bitince tamamlanan CompletableFuture
+     */
+    public CompletableFuture<SweepProgress> runSweep() {
+        synchronized (sweepLock) {
+            if (currentSweep != null && !currentSweep.isDone()) {
+                return currentSweep;
+            }
+            if (interest.isEmpty() && tax.isEmpty()) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Faiz/vergi dilimi tanımlı değil"));
+            }
+
+            FileConfiguration state = configManager.getConfig(STATE_CONFIG);
+            long startedAt = state.getLong("current.started-at", 0L);
+            boolean resuming = startedAt != 0;
+            if (!resuming) {
+                startedAt = System.currentTimeMillis();
+                state.set("current.started-at", startedAt);
+                configManager.saveConfig(STATE_CONFIG);
+                plugin.getLogger().info("Faiz/vergi taraması başlatıldı.");
+            }
+
+            SweepProgress progress = new SweepProgress(System.currentTimeMillis());
+            lastProgress = progress;
+            long sweepStartedAt = startedAt;
+            RateSchedule sweepInterest = interest;
+            RateSchedule sweepTax = tax;
+            // İmleç sadece bu taramaya aitse kullanılır; önceki taramalardan kalan imleç yok sayılır
+            CompletableFuture<String> resumeAfter = resuming
+                    ? economyService.getSweepState().thenApply(cursor ->
+                            cursor != null && cursor.getSweepId() == sweepStartedAt ? cursor.getAfterUUID() : null)
+                    : CompletableFuture.completedFuture(null);
+            currentSweep = resumeAfter.thenCompose(after -> {
+                if (resuming) {
+                    plugin.getLogger().info("Yarım kalan faiz/vergi taraması devam ediyor"
+                            + (after != null ? " (" + after + " sonrasından)" : ""));
+                }
+                return sweepFrom(sweepStartedAt, after, progress, sweepInterest, sweepTax);
+            }).handle((ignored, throwable) -> {
+                progress.finishedAt = System.currentTimeMillis();
+                if (throwable != null) {
+                    progress.failed = true;
+                    plugin.getLogger().log(Level.SEVERE, "Faiz/vergi taraması durdu, bir sonraki kontrolde devam edecek", throwable);
+                } else if (!progress.interrupted) {
+                    state.set("last-run", sweepStartedAt);
+                    state.set("current", null);
+                    configManager.saveConfig(STATE_CONFIG);
+                    plugin.getLogger().info("Faiz/vergi taraması tamamlandı: " + progress);
+                }
+                return progress;
+            });
+            return currentSweep;
+        }
+    }
+
+    /**
+     * Grupları sırayla uygular; son grup boyutundan küçükse tarama biter
+     */
+    private CompletableFuture<Void> sweepFrom(long sweepId, String afterUUID, SweepProgress progress,
+                                              RateSchedule interest, RateSchedule tax) {
+        if (stopping) {
+            progress.interrupted = true;
+            return CompletableFuture.completedFuture(null);
+        }
+        double minBalance = Math.min(interest.getLowestThreshold(), tax.getLowestThreshold());
+
+        return economyService.applyRateChunk(sweepId, afterUUID, chunkSize, minBalance,
+                balance -> interest.amountFor(balance) - tax.amountFor(balance)
+        ).thenCompose(chunk -> {
+            progress.record(chunk);
+            if (progress.getChunks() % LOG_EVERY_CHUNKS == 0) {
+                plugin.getLogger().info("Faiz/vergi taraması sürüyor: " + progress);
+            }
+            if (chunk.getScanned() < chunkSize) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return sweepFrom(sweepId, chunk.getLastUUID(), progress, interest, tax);
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Süren veya son taramanın ilerlemesi
+     *
+     * @return İlerleme, bu oturumda tarama yapılmadıysa null
+     */
+    public SweepProgress getProgress() {
+        return lastProgress;
+    }
+
+    /**
+     * Son tamamlanan taramanın başlangıç zamanı
+     *
+     * @return Epoch milisaniye, hiç tarama yapılmadıysa 0
+     */
+    public long getLastRun() {
+        return configManager.getConfig(STATE_CONFIG).getLong("last-run", 0L);
+    }
+
+    public RateSchedule getInterest() {
+        return interest;
+    }
+
+    public RateSchedule getTax() {
+        return tax;
+    }
+
+    /**
+     * Veritabanı yeniden yüklenmeden önce çağrılır: zamanlayıcı durur, süren tarama mevcut grubu
+     * bitirip durur. Kalan kısım {@link #reloadSettings()} sonrası imleçten devam eder.
+     */
+    public void prepareReload() {
+        stopping = true;
+        stopScheduler();
+        awaitSweep();
+    }
+
+    /**
+     * Ayarları yeniden yükler ve zamanlayıcıyı başlatır. {@link #prepareReload()} ile durdurulan
+     * tarama bir sonraki kontrolde yeni oranlarla devam eder.
+     */
+    public void reloadSettings() {
+        stopScheduler();
+        stopping = false;
+        loadRateSettings();
+        startScheduler();
+    }
+
+    /**
+     * Zamanlayıcıyı durdurur. Süren tarama mevcut grubu bitirip durur, kalan kısmı sonraki açılışta uygulanır.
+     */
+    public void shutdown() {
+        stopping = true;
+        stopScheduler();
+        awaitSweep();
+        plugin.getLogger().info("RateService kapatıldı.");
+    }
+
+    private void awaitSweep() {
+        CompletableFuture<SweepProgress> sweep;
+        synchronized (sweepLock) {
+            sweep = currentSweep;
+        }
+        if (sweep != null && !sweep.isDone()) {
+            try {
+                sweep.get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Faiz/vergi taraması beklenemedi: " + e.getMessage());
+            }
+        }
+    }
+}
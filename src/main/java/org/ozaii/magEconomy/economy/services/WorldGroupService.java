@@ -0,0 +1,240 @@
+package org.ozaii.magEconomy.economy.services;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.config.ConfigManager;
+import org.ozaii.magEconomy.economy.ledger.BalanceColumn;
+import org.ozaii.magEconomy.economy.ledger.BalanceColumnStore;
+import org.ozaii.magEconomy.economy.ledger.MinorUnits;
+import org.ozaii.magEconomy.economy.models.BalanceChange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dünya gruplarına bölünmüş bakiyeler.
+ *
+ * Config'de tanımlanan her grup kendi bakiyesine sahiptir ve ayrı bir bakiye sütununda tutulur.
+ * Hiçbir gruba ait olmayan dünyalar ana bakiyeyi kullanır, bu yüzden grup tanımlanmadığında
+ * davranış ve performans değişmez. Dünya adından gruba çözümleme, ayarlar yüklenirken
+ * hazırlanan tablodan tek bir hash araması ile yapılır.
+ *
+ * Grup işlemleri bellekten onaylanır ve journal'a yazılmaz; kalıcı yazma ve başarısız yazmaların
+ * tekrar denenmesi için bkz. BalanceColumnStore.
+ */
+public class WorldGroupService {
+
+    private static final String COLUMN_PREFIX = "world:";
+
+    private static WorldGroupService instance;
+    private JavaPlugin plugin;
+    private ConfigManager configManager;
+    private PlayerEconomyService economyService;
+
+    private boolean enabled;
+    // Ayarlar yüklenirken bir kez hazırlanır, sonra sadece okunur
+    private volatile Map<String, WorldGroup> worldToGroup = Map.of();
+    private volatile List<WorldGroup> groups = List.of();
+
+    /**
+     * Bir dünya grubu ve bakiyelerinin tutulduğu sütun
+     */
+    public static final class WorldGroup {
+        private final String name;
+        private final List<String> worlds;
+        private final BalanceColumn column;
+        private final long startingBalanceMinor;
+
+        WorldGroup(String name, List<String> worlds, BalanceColumn column, long startingBalanceMinor) {
+            this.name = name;
+            this.worlds = worlds;
+            this.column = column;
+            this.startingBalanceMinor = startingBalanceMinor;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getWorlds() {
+            return worlds;
+        }
+
+        public boolean isLoaded() {
+            return column.isLoaded();
+        }
+    }
+
+    private WorldGroupService() {
+    }
+
+    /**
+     * WorldGroupService singleton instance'ını döndürür
+     *
+     * @return WorldGroupService instance
+     */
+    public static WorldGroupService getInstance() {
+        if (instance == null) {
+            instance = new WorldGroupService();
+        }
+        return instance;
+    }
+
+    /**
+     * WorldGroupService'i başlatır. PlayerEconomyService'ten sonra çağrılmalıdır.
+     *
+     * @param plugin JavaPlugin instance
+     */
+    public void initialize(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = ConfigManager.getInstance();
+        this.economyService = PlayerEconomyService.getInstance();
+
+        setupWorldGroupConfig();
+        loadWorldGroups();
+    }
+
+    private void setupWorldGroupConfig() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+
+        if (!economyConfig.contains("world-groups.enabled")) {
+            economyConfig.set("world-groups.enabled", false);
+            economyConfig.set("world-groups.groups.skyblock.worlds", List.of("skyblock", "skyblock_nether"));
+            economyConfig.set("world-groups.groups.skyblock.starting-balance", 0.0);
+
+            configManager.saveConfig("economy");
+        }
+    }
+
+    /**
+     * Grupları config'den okur, sütunlarını kaydeder ve dünya -> grup tablosunu hazırlar
+     */
+    private void loadWorldGroups() {
+        FileConfiguration economyConfig = configManager.getConfig("economy");
+        this.enabled = economyConfig.getBoolean("world-groups.enabled", false);
+
+        ConfigurationSection section = economyConfig.getConfigurationSection("world-groups.groups");
+        if (!enabled || section == null) {
+            worldToGroup = Map.of();
+            groups = List.of();
+            return;
+        }
+
+        BalanceColumnStore columnStore = economyService.getColumnStore();
+        MinorUnits minorUnits = economyService.getMinorUnits();
+        Map<String, WorldGroup> lookup = new HashMap<>();
+        List<WorldGroup> loaded = new ArrayList<>();
+
+        for (String name : section.getKeys(false)) {
+            List<String> worlds = section.getStringList(name + ".worlds");
+            if (worlds.isEmpty()) {
+                plugin.getLogger().warning("Dünya grubu '" + name + "' hiç dünya içermiyor, atlandı.");
+                continue;
+            }
+
+            String columnKey = COLUMN_PREFIX + name;
+            columnStore.register(columnKey, minorUnits);
+            long startingBalance = minorUnits.toMinor(section.getDouble(name + ".starting-balance", 0.0));
+            WorldGroup group = new WorldGroup(name, List.copyOf(worlds), columnStore.get(columnKey), startingBalance);
+            loaded.add(group);
+
+            for (String world : worlds) {
+                WorldGroup previous = lookup.put(world, group);
+                if (previous != null) {
+                    plugin.getLogger().warning("Dünya '" + world + "' birden fazla grupta tanımlı, '" + name + "' kullanılacak.");
+                }
+            }
+        }
+
+        worldToGroup = Collections.unmodifiableMap(lookup);
+        groups = List.copyOf(loaded);
+        plugin.getLogger().info("Dünya grupları yüklendi: " + loaded.size() + " grup, " + lookup.size() + " dünya");
+    }
+
+    /**
+     * Dünyanın ait olduğu grup
+     *
+     * @param worldName Dünya adı
+     * @return Grup, dünya ana bakiyeyi kullanıyorsa null
+     */
+    public WorldGroup resolve(String worldName) {
+        return worldName == null ? null : worldToGroup.get(worldName);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<WorldGroup> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Gruptaki bakiye. Oyuncunun grupta kaydı yoksa grubun başlangıç bakiyesi döner.
+     */
+    public double getBalance(WorldGroup group, UUID playerUUID) {
+        MinorUnits minorUnits = economyService.getMinorUnits();
+        return minorUnits.toMajor(group.column.get(playerUUID, group.startingBalanceMinor));
+    }
+
+    /**
+     * Gruptaki bakiyeden para çeker
+     *
+     * @return Sonuç; grup henüz yüklenmediyse NOT_LOADED
+     */
+    public BalanceChange withdraw(WorldGroup group, UUID playerUUID, double amount) {
+        return apply(group, playerUUID, -amount);
+    }
+
+    /**
+     * Gruptaki bakiyeye para yatırır
+     *
+     * @return Sonuç; grup henüz yüklenmediyse NOT_LOADED
+     */
+    public BalanceChange deposit(WorldGroup group, UUID playerUUID, double amount) {
+        return apply(group, playerUUID, amount);
+    }
+
+    private BalanceChange apply(WorldGroup group, UUID playerUUID, double delta) {
+        if (!group.column.isLoaded()) {
+            return BalanceChange.notLoaded();
+        }
+        if (isKnownMissing(playerUUID)) {
+            // Hesabı olmayan UUID için sütun satırı oluşturulmaz
+            return BalanceChange.rejected(0);
+        }
+        MinorUnits minorUnits = economyService.getMinorUnits();
+        Long updated = group.column.add(playerUUID, minorUnits.toMinor(delta),
+                minorUnits.toMinor(economyService.getMinBalance()),
+                minorUnits.toMinor(economyService.getMaxBalance()),
+                group.startingBalanceMinor);
+        if (updated == null) {
+            return BalanceChange.rejected(getBalance(group, playerUUID));
+        }
+        economyService.getColumnStore().requestWrite(group.column);
+        return BalanceChange.applied(minorUnits.toMajor(updated));
+    }
+
+    /**
+     * Hesap indeksine göre kesin olarak hesabı olmayan oyuncu
+     */
+    private boolean isKnownMissing(UUID playerUUID) {
+        return Boolean.FALSE.equals(economyService.hasAccountIfKnown(playerUUID));
+    }
+
+    /**
+     * Grupları yeniden yükler. Eski grupların bekleyen değişiklikleri önce yazılır.
+     */
+    public void reloadSettings() {
+        BalanceColumnStore columnStore = economyService.getColumnStore();
+        for (WorldGroup group : groups) {
+            columnStore.unregister(group.column.getKey());
+        }
+        loadWorldGroups();
+    }
+}
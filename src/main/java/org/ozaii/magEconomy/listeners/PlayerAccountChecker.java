@@ -3,16 +3,32 @@ package org.ozaii.magEconomy.listeners;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.ozaii.magEconomy.economy.services.PlayerEconomyService;
 
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
 public class PlayerAccountChecker implements Listener {
 
+    // Giriş thread'i hesap yüklenirken en fazla bu kadar bekletilir
+    private static final long PRELOAD_TIMEOUT_SECONDS = 5;
+
     private static PlayerAccountChecker instance;
     private JavaPlugin plugin;
 
+    // Ön yüklemesi başarısız olan oyuncular, girişte tekrar denenir
+    private final Set<UUID> pendingPreloads = ConcurrentHashMap.newKeySet();
+
     private PlayerAccountChecker() {
         // private constructor
     }
@@ -27,18 +43,60 @@ public class PlayerAccountChecker implements Listener {
     public void initialize(JavaPlugin plugin) {
         this.plugin = plugin;
         Bukkit.getPluginManager().registerEvents(this, plugin);
+        // Plugin sunucu açıkken yüklendiyse online oyuncuların pre-login'i kaçırılmıştır
+        PlayerEconomyService.getInstance().preloadOnlinePlayers();
         plugin.getLogger().info("PlayerAccountChecker başarıyla başlatıldı.");
     }
 
+    /**
+     * Hesabı oyuncu sunucuya girmeden önce yükler (veya oluşturur) ve oturum boyunca bellekte sabitler.
+     * Bu event zaten asenkron thread'de çalıştığı için beklemek ana thread'i bloklamaz.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        pendingPreloads.add(event.getUniqueId());
+        try {
+            boolean loaded = PlayerEconomyService.getInstance()
+                    .preloadAccount(event.getUniqueId(), event.getName())
+                    .get(PRELOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (loaded) {
+                pendingPreloads.remove(event.getUniqueId());
+            } else {
+                plugin.getLogger().warning(event.getName() + " için hesap yüklenemedi, girişte tekrar denenecek.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, event.getName() + " için hesap ön yüklemesi başarısız", e);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        // Başka bir plugin girişi reddettiyse ön yüklenen hesap serbest bırakılır
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            pendingPreloads.remove(event.getPlayer().getUniqueId());
+            PlayerEconomyService.getInstance().releaseAccount(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
-        PlayerEconomyService.getInstance().hasAccount(player).thenAccept(hasAccount -> {
-            if (!hasAccount) {
-                PlayerEconomyService.getInstance().createAccount(player.getUniqueId(), player.getName());
-                plugin.getLogger().info(player.getName() + " için yeni hesap oluşturuldu.");
-            }
-        });
+        // Ön yükleme başarısız olduysa veya zaman aşımına uğradıysa tekrar dene
+        if (pendingPreloads.remove(player.getUniqueId())) {
+            PlayerEconomyService.getInstance().preloadAccount(player.getUniqueId(), player.getName());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        pendingPreloads.remove(event.getPlayer().getUniqueId());
+        PlayerEconomyService.getInstance().releaseAccount(event.getPlayer().getUniqueId());
     }
 }
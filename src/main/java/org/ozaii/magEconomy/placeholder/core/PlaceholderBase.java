@@ -3,9 +3,12 @@ package org.ozaii.magEconomy.placeholder.core;
 
 import org.bukkit.OfflinePlayer;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.ozaii.magEconomy.economy.models.LeaderboardEntry;
 import org.ozaii.magEconomy.economy.services.PlayerEconomyService;
 
 import java.text.DecimalFormat;
+import java.util.List;
+import java.util.OptionalDouble;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,7 +30,13 @@ public abstract class PlaceholderBase implements PlaceholderService {
             "currency_name_plural",
             "max_balance",
             "min_balance",
-            "starting_balance"
+            "starting_balance",
+            "rank",
+            "top_<sıra>_name",
+            "top_<sıra>_balance",
+            "percentile",
+            "top_percent",
+            "approx_rank"
     };
 
     public PlaceholderBase(JavaPlugin plugin) {
@@ -58,7 +67,12 @@ public abstract class PlaceholderBase implements PlaceholderService {
         }
 
         try {
-            switch (parameter.toLowerCase()) {
+            String lower = parameter.toLowerCase();
+            if (lower.startsWith("top_") && !lower.equals("top_percent")) {
+                return getTopEntry(lower);
+            }
+
+            switch (lower) {
                 case "balance":
                     return player != null ? getBalanceSync(player) : "";
 
@@ -83,6 +97,14 @@ public abstract class PlaceholderBase implements PlaceholderService {
                 case "starting_balance":
                     return decimalFormat.format(economyService.getStartingBalance());
 
+                case "rank":
+                    return player != null ? getRank(player) : "";
+
+                case "percentile":
+                case "top_percent":
+                case "approx_rank":
+                    return player != null ? getPercentilePlaceholder(player, lower) : "";
+
                 default:
                     return "";
             }
@@ -110,6 +132,11 @@ public abstract class PlaceholderBase implements PlaceholderService {
             case "min_balance":
             case "starting_balance":
                 return "0.00";
+            case "rank":
+            case "percentile":
+            case "top_percent":
+            case "approx_rank":
+                return "-";
             default:
                 return "";
         }
@@ -154,6 +181,72 @@ public abstract class PlaceholderBase implements PlaceholderService {
         }
     }
 
+    /**
+     * Oyuncunun zenginlik sırası, sıralamada yoksa "-"
+     */
+    protected String getRank(OfflinePlayer player) {
+        int rank = economyService.getRank(player.getUniqueId());
+        return rank > 0 ? String.valueOf(rank) : "-";
+    }
+
+    /**
+     * Histograma göre percentile, top_percent ve approx_rank. Bakiye bellekte değilse
+     * (oyuncu offline) veritabanına gidilmez, "-" döner.
+     */
+    protected String getPercentilePlaceholder(OfflinePlayer player, String parameter) {
+        OptionalDouble balance = economyService.getBalanceIfLoaded(player.getUniqueId());
+        if (balance.isEmpty()) {
+            return "-";
+        }
+
+        if (parameter.equals("approx_rank")) {
+            long rank = economyService.getApproximateRank(balance.getAsDouble());
+            return rank > 0 ? String.valueOf(rank) : "-";
+        }
+
+        double percentile = economyService.getPercentileOf(balance.getAsDouble());
+        if (percentile < 0) {
+            return "-";
+        }
+        // Bir hesabın kendisi de sayıldığından en zengin oyuncu "%0" yerine en az "%0.1" görür
+        double value = parameter.equals("top_percent") ? Math.max(0.1, 100.0 - percentile) : percentile;
+        return String.format("%.1f", value);
+    }
+
+    /**
+     * top_<sıra>_name ve top_<sıra>_balance placeholder'ları
+     */
+    protected String getTopEntry(String parameter) {
+        String[] parts = parameter.split("_");
+        if (parts.length != 3) {
+            return "";
+        }
+
+        int rank;
+        try {
+            rank = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            return "";
+        }
+        if (rank <= 0) {
+            return "";
+        }
+
+        List<LeaderboardEntry> entries = economyService.getLeaderboard(rank, 1);
+        if (entries.isEmpty()) {
+            return "-";
+        }
+        LeaderboardEntry entry = entries.get(0);
+        switch (parts[2]) {
+            case "name":
+                return entry.getPlayerName() != null ? entry.getPlayerName() : "-";
+            case "balance":
+                return economyService.format(entry.getBalance());
+            default:
+                return "";
+        }
+    }
+
     /**
      * Sayıyı kısa formatta formatla (K, M, B)
      */
@@ -55,6 +55,55 @@ public class EconomyMiniPlaceholdersExpansion extends PlaceholderBase {
                         return Tag.selfClosingInserting(Component.text(balance));
                     })
 
+                    .audiencePlaceholder("rank", (audience, queue, ctx) -> {
+                        if (!(audience instanceof OfflinePlayer)) {
+                            return Tag.selfClosingInserting(Component.text(""));
+                        }
+                        OfflinePlayer player = (OfflinePlayer) audience;
+                        String rank = processPlaceholder(player, "rank");
+                        return Tag.selfClosingInserting(Component.text(rank));
+                    })
+
+                    .audiencePlaceholder("percentile", (audience, queue, ctx) -> {
+                        if (!(audience instanceof OfflinePlayer)) {
+                            return Tag.selfClosingInserting(Component.text(""));
+                        }
+                        OfflinePlayer player = (OfflinePlayer) audience;
+                        String percentile = processPlaceholder(player, "percentile");
+                        return Tag.selfClosingInserting(Component.text(percentile));
+                    })
+
+                    .audiencePlaceholder("top_percent", (audience, queue, ctx) -> {
+                        if (!(audience instanceof OfflinePlayer)) {
+                            return Tag.selfClosingInserting(Component.text(""));
+                        }
+                        OfflinePlayer player = (OfflinePlayer) audience;
+                        String topPercent = processPlaceholder(player, "top_percent");
+                        return Tag.selfClosingInserting(Component.text(topPercent));
+                    })
+
+                    .audiencePlaceholder("approx_rank", (audience, queue, ctx) -> {
+                        if (!(audience instanceof OfflinePlayer)) {
+                            return Tag.selfClosingInserting(Component.text(""));
+                        }
+                        OfflinePlayer player = (OfflinePlayer) audience;
+                        String rank = processPlaceholder(player, "approx_rank");
+                        return Tag.selfClosingInserting(Component.text(rank));
+                    })
+
+                    // Leaderboard placeholders: <mageconomy_top_name:1>
+                    .globalPlaceholder("top_name", (queue, ctx) -> {
+                        String rank = queue.hasNext() ? queue.pop().value() : "1";
+                        String name = processPlaceholder(null, "top_" + rank + "_name");
+                        return Tag.selfClosingInserting(Component.text(name));
+                    })
+
+                    .globalPlaceholder("top_balance", (queue, ctx) -> {
+                        String rank = queue.hasNext() ? queue.pop().value() : "1";
+                        String balance = processPlaceholder(null, "top_" + rank + "_balance");
+                        return Tag.selfClosingInserting(Component.text(balance));
+                    })
+
                     // Currency info placeholders
                     .globalPlaceholder("currency_name", (queue, ctx) -> {
                         String currencyName = processPlaceholder(null, "currency_name");
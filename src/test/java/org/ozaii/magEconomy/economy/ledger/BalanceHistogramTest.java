@@ -0,0 +1,135 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceHistogramTest {
+
+    @Test
+    void prefixCountsAreExactAtBucketBoundaries() {
+        // Onluk başına bir kova: <1, 1-10, 10-100, 100-1000, 1000+
+        BalanceHistogram histogram = new BalanceHistogram(1, 1000);
+        assertEquals(5, histogram.getBucketCount());
+        for (double balance : new double[]{0.5, 5, 50, 50, 500}) {
+            histogram.add(balance);
+        }
+
+        assertEquals(5, histogram.getTotal());
+        assertEquals(1.0, histogram.countBelow(1));
+        assertEquals(2.0, histogram.countBelow(10));
+        assertEquals(4.0, histogram.countBelow(100));
+        assertEquals(5.0, histogram.countBelow(1000));
+        assertEquals(5.0, histogram.countBelow(1e9));
+    }
+
+    @Test
+    void prefixCountsMatchABruteForceCount() {
+        BalanceHistogram histogram = new BalanceHistogram(4, 1e6);
+        Random random = new Random(3);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.pow(10, random.nextDouble() * 6);
+            histogram.add(values[i]);
+        }
+
+        for (int decade = 0; decade <= 6; decade++) {
+            double boundary = Math.pow(10, decade);
+            long expected = 0;
+            for (long value : values) {
+                if (value < boundary) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, histogram.countBelow(boundary), 1e-9, "below " + boundary);
+        }
+    }
+
+    @Test
+    void replaceMatchesIncrementalAdds() {
+        BalanceHistogram incremental = new BalanceHistogram(20, 1e9);
+        BalanceHistogram rebuilt = new BalanceHistogram(20, 1e9);
+        long[] counts = rebuilt.newCounts();
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            double balance = Math.pow(10, random.nextDouble() * 9);
+            incremental.add(balance);
+            rebuilt.count(counts, balance);
+        }
+
+        assertFalse(rebuilt.isLoaded());
+        rebuilt.replace(counts);
+
+        assertTrue(rebuilt.isLoaded());
+        assertEquals(incremental.getTotal(), rebuilt.getTotal());
+        for (double balance = 0.5; balance < 1e10; balance *= 1.7) {
+            assertEquals(incremental.countBelow(balance), rebuilt.countBelow(balance), 1e-9, "below " + balance);
+        }
+    }
+
+    @Test
+    void updatesKeepTheTotal() {
+        BalanceHistogram histogram = new BalanceHistogram(20, 1e6);
+        histogram.add(100);
+        histogram.add(2000);
+
+        histogram.move(100, 50_000);
+        assertEquals(2, histogram.getTotal());
+        assertEquals(1.0, histogram.countBelow(10_000), 1e-9);
+
+        // Aynı kovada kalan değişiklik
+        histogram.move(2000, 2001);
+        assertEquals(2, histogram.getTotal());
+
+        histogram.remove(50_000);
+        assertEquals(1, histogram.getTotal());
+
+        histogram.reset();
+        assertEquals(0, histogram.getTotal());
+        assertFalse(histogram.isLoaded());
+    }
+
+    @Test
+    void percentileAndRankOfUniformBalances() {
+        BalanceHistogram histogram = new BalanceHistogram(100, 1e6);
+        for (int balance = 1; balance <= 10_000; balance++) {
+            histogram.add(balance);
+        }
+
+        assertEquals(50.0, histogram.percentileOf(5000), 1.0);
+        assertEquals(90.0, histogram.percentileOf(9000), 1.0);
+        assertEquals(100.0, histogram.percentileOf(1e7));
+        assertEquals(1000, histogram.approximateRank(9000), 50);
+        assertEquals(1, histogram.approximateRank(1e7));
+        assertEquals(10_000, histogram.approximateRank(0.5));
+    }
+
+    @Test
+    void balanceAtInvertsPercentileOf() {
+        BalanceHistogram histogram = new BalanceHistogram(100, 1e6);
+        Random random = new Random(5);
+        for (int i = 0; i < 20_000; i++) {
+            histogram.add(Math.pow(10, 1 + random.nextDouble() * 4));
+        }
+
+        // Hata en fazla bir kova genişliği (~%2.3)
+        for (double balance : new double[]{20, 100, 1000, 5000, 50_000}) {
+            double roundTrip = histogram.balanceAt(histogram.percentileOf(balance));
+            assertEquals(balance, roundTrip, balance * 0.05, "balance " + balance);
+        }
+    }
+
+    @Test
+    void emptyHistogram() {
+        BalanceHistogram histogram = new BalanceHistogram(20, 1e6);
+
+        assertEquals(0, histogram.getTotal());
+        assertEquals(100.0, histogram.percentileOf(500));
+        assertEquals(0.0, histogram.balanceAt(50));
+        assertEquals(1, histogram.approximateRank(500));
+    }
+}
@@ -0,0 +1,59 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void unseenKeyHasZeroFrequency() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+
+        assertEquals(0, sketch.frequency(AccountTable.hash(1, 2)));
+    }
+
+    @Test
+    void frequencyNeverUnderestimates() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (long key = 0; key < 200; key++) {
+            for (int i = 0; i < key % 10; i++) {
+                sketch.increment(AccountTable.hash(key, key));
+            }
+        }
+
+        for (long key = 0; key < 200; key++) {
+            assertTrue(sketch.frequency(AccountTable.hash(key, key)) >= key % 10, "key " + key);
+        }
+    }
+
+    @Test
+    void countersSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        long key = AccountTable.hash(42, 42);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(key);
+        }
+
+        assertEquals(15, sketch.frequency(key));
+    }
+
+    @Test
+    void countersAreHalvedWhenTheSampleIsFull() {
+        // maximumSize 8 -> örnek boyutu 80 artış
+        FrequencySketch sketch = new FrequencySketch(8);
+        long key = AccountTable.hash(7, 7);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment(key);
+        }
+        assertEquals(15, sketch.frequency(key));
+
+        // Doymuş sayaçlar artış sayılmaz; diğer anahtarlar örneği doldurur
+        for (long other = 100; sketch.frequency(key) == 15; other++) {
+            sketch.increment(AccountTable.hash(other, -other));
+        }
+
+        assertEquals(7, sketch.frequency(key));
+    }
+}
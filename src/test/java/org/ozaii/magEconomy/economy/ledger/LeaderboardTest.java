@@ -0,0 +1,179 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.ozaii.magEconomy.economy.models.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardTest {
+
+    private static final UUID ALICE = new UUID(1, 1);
+    private static final UUID BOB = new UUID(2, 2);
+    private static final UUID CAROL = new UUID(3, 3);
+    private static final UUID DAVE = new UUID(4, 4);
+
+    @Test
+    void richestAccountRanksFirst() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(ALICE, "Alice", 100);
+        leaderboard.update(BOB, "Bob", 300);
+        leaderboard.update(CAROL, "Carol", 200);
+
+        assertEquals(1, leaderboard.rankOf(BOB));
+        assertEquals(2, leaderboard.rankOf(CAROL));
+        assertEquals(3, leaderboard.rankOf(ALICE));
+        assertEquals(-1, leaderboard.rankOf(DAVE));
+        assertEquals(3, leaderboard.size());
+    }
+
+    @Test
+    void updateMovesTheAccount() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(ALICE, "Alice", 100);
+        leaderboard.update(BOB, "Bob", 300);
+        leaderboard.update(CAROL, "Carol", 200);
+
+        leaderboard.update(ALICE, null, 500);
+
+        assertEquals(1, leaderboard.rankOf(ALICE));
+        assertEquals(2, leaderboard.rankOf(BOB));
+        assertEquals(3, leaderboard.size());
+        // Ad verilmezse eskisi korunur
+        assertEquals("Alice", leaderboard.range(1, 1).get(0).getPlayerName());
+    }
+
+    @Test
+    void removeShiftsTheRanksBelow() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(ALICE, "Alice", 100);
+        leaderboard.update(BOB, "Bob", 300);
+        leaderboard.update(CAROL, "Carol", 200);
+
+        leaderboard.remove(BOB);
+
+        assertEquals(-1, leaderboard.rankOf(BOB));
+        assertEquals(1, leaderboard.rankOf(CAROL));
+        assertEquals(2, leaderboard.rankOf(ALICE));
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void equalBalancesAreOrderedByUuid() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(CAROL, "Carol", 50);
+        leaderboard.update(ALICE, "Alice", 50);
+        leaderboard.update(BOB, "Bob", 50);
+
+        assertEquals(1, leaderboard.rankOf(ALICE));
+        assertEquals(2, leaderboard.rankOf(BOB));
+        assertEquals(3, leaderboard.rankOf(CAROL));
+    }
+
+    @Test
+    void putIfAbsentKeepsNewerBalances() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(ALICE, "Alice", 100);
+
+        // Yükleme, yükleme sırasında güncellenmiş bakiyeyi ezmez
+        leaderboard.putIfAbsent(ALICE, "Alice", 5);
+        leaderboard.putIfAbsent(BOB, "Bob", 50);
+
+        List<LeaderboardEntry> entries = leaderboard.range(1, 10);
+        assertEquals(2, entries.size());
+        assertEquals(ALICE, entries.get(0).getPlayerUUID());
+        assertEquals(100.0, entries.get(0).getBalance());
+        assertEquals(BOB, entries.get(1).getPlayerUUID());
+    }
+
+    @Test
+    void rangeAndAroundReturnRankedPages() {
+        Leaderboard leaderboard = new Leaderboard();
+        for (int i = 1; i <= 10; i++) {
+            leaderboard.update(new UUID(0, i), "p" + i, i * 10);
+        }
+
+        List<LeaderboardEntry> page = leaderboard.range(3, 3);
+        assertEquals(List.of(3, 4, 5), ranks(page));
+        assertEquals(List.of(80.0, 70.0, 60.0), balances(page));
+        assertEquals(List.of(9, 10), ranks(leaderboard.range(9, 5)));
+        assertTrue(leaderboard.range(11, 5).isEmpty());
+
+        // 50 bakiyeli hesap 6. sırada
+        assertEquals(List.of(4, 5, 6, 7, 8), ranks(leaderboard.around(new UUID(0, 5), 2)));
+        assertEquals(List.of(1, 2, 3), ranks(leaderboard.around(new UUID(0, 10), 2)));
+        assertEquals(List.of(8, 9, 10), ranks(leaderboard.around(new UUID(0, 1), 2)));
+        assertTrue(leaderboard.around(new UUID(9, 9), 2).isEmpty());
+    }
+
+    @Test
+    void ranksMatchASortedList() {
+        Leaderboard leaderboard = new Leaderboard();
+        Map<UUID, Double> balances = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 5000; step++) {
+            // Az sayıda farklı bakiye: çok sayıda eşitlik
+            UUID player = new UUID(random.nextInt(50) - 25, random.nextInt(4));
+            if (random.nextInt(5) == 0) {
+                leaderboard.remove(player);
+                balances.remove(player);
+            } else {
+                double balance = random.nextInt(20);
+                leaderboard.update(player, player.toString(), balance);
+                balances.put(player, balance);
+            }
+        }
+
+        List<UUID> expected = new ArrayList<>(balances.keySet());
+        expected.sort(Comparator.<UUID>comparingDouble(balances::get).reversed()
+                .thenComparingLong(UUID::getMostSignificantBits)
+                .thenComparingLong(UUID::getLeastSignificantBits));
+
+        assertEquals(expected.size(), leaderboard.size());
+        List<LeaderboardEntry> all = leaderboard.range(1, expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, leaderboard.rankOf(expected.get(i)));
+            assertEquals(expected.get(i), all.get(i).getPlayerUUID());
+            assertEquals(i + 1, all.get(i).getRank());
+        }
+    }
+
+    @Test
+    void resetEmptiesTheBoard() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(ALICE, "Alice", 100);
+        leaderboard.markLoaded();
+
+        leaderboard.reset();
+
+        assertEquals(0, leaderboard.size());
+        assertEquals(-1, leaderboard.rankOf(ALICE));
+        assertFalse(leaderboard.isLoaded());
+    }
+
+    private static List<Integer> ranks(List<LeaderboardEntry> entries) {
+        List<Integer> ranks = new ArrayList<>();
+        for (LeaderboardEntry entry : entries) {
+            ranks.add(entry.getRank());
+        }
+        return ranks;
+    }
+
+    private static List<Double> balances(List<LeaderboardEntry> entries) {
+        List<Double> balances = new ArrayList<>();
+        for (LeaderboardEntry entry : entries) {
+            balances.add(entry.getBalance());
+        }
+        return balances;
+    }
+}
@@ -0,0 +1,69 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MinorUnitsTest {
+
+    @Test
+    void toMinorRoundsHalfUpOnTheDecimalValue() {
+        MinorUnits units = new MinorUnits(2);
+
+        assertEquals(1234, units.toMinor(12.34));
+        // 12.345 double olarak 12.3449999... ama BigDecimal.valueOf kısa gösterimi kullanır
+        assertEquals(1235, units.toMinor(12.345));
+        assertEquals(13, units.toMinor(0.125));
+        assertEquals(-13, units.toMinor(-0.125));
+        assertEquals(30, units.toMinor(0.1 + 0.2));
+    }
+
+    @Test
+    void toMajorReturnsTheOriginalAmount() {
+        MinorUnits units = new MinorUnits(2);
+
+        for (double amount : new double[]{0.0, 0.01, 12.34, -7.5, 999_999_999.99}) {
+            assertEquals(amount, units.toMajor(units.toMinor(amount)));
+        }
+    }
+
+    @Test
+    void repeatedAdditionDoesNotDrift() {
+        MinorUnits units = new MinorUnits(2);
+        long total = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            total += units.toMinor(0.1);
+        }
+
+        assertEquals(100_000.0, units.toMajor(total));
+    }
+
+    @Test
+    void toMinorSaturatesOutOfRangeAmounts() {
+        MinorUnits units = new MinorUnits(2);
+
+        assertEquals(Long.MAX_VALUE, units.toMinor(1e300));
+        assertEquals(Long.MIN_VALUE, units.toMinor(-1e300));
+        assertEquals(Long.MAX_VALUE, units.toMinor(Double.POSITIVE_INFINITY));
+        assertEquals(Long.MIN_VALUE, units.toMinor(Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    void toMinorRejectsNaN() {
+        assertThrows(IllegalArgumentException.class, () -> new MinorUnits(2).toMinor(Double.NaN));
+    }
+
+    @Test
+    void fractionalDigitsAreClamped() {
+        MinorUnits none = new MinorUnits(-3);
+        assertEquals(0, none.getFractionalDigits());
+        assertEquals(1, none.getScale());
+        assertEquals(3, none.toMinor(2.5));
+        assertEquals(3.0, none.toMajor(3));
+
+        MinorUnits many = new MinorUnits(12);
+        assertEquals(8, many.getFractionalDigits());
+        assertEquals(100_000_000L, many.getScale());
+    }
+}
@@ -0,0 +1,84 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateScheduleTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void eachRateAppliesOnlyToItsTier() {
+        RateSchedule schedule = RateSchedule.of(new double[]{0, 100_000}, new double[]{0.01, 0.005}, 0);
+
+        // 100000 * %1 + 50000 * %0.5
+        assertEquals(1250.0, schedule.amountFor(150_000), DELTA);
+        assertEquals(1000.0, schedule.amountFor(100_000), DELTA);
+        assertEquals(500.0, schedule.amountFor(50_000), DELTA);
+    }
+
+    @Test
+    void amountIsContinuousAtTierBoundaries() {
+        RateSchedule schedule = RateSchedule.of(new double[]{0, 1000, 5000}, new double[]{0.03, 0.02, 0.01}, 0);
+
+        for (double boundary : new double[]{1000, 5000}) {
+            assertEquals(schedule.amountFor(boundary), schedule.amountFor(boundary + 1e-6), 1e-6);
+        }
+    }
+
+    @Test
+    void unsortedTiersAreSorted() {
+        RateSchedule sorted = RateSchedule.of(new double[]{0, 1000, 5000}, new double[]{0.03, 0.02, 0.01}, 0);
+        RateSchedule unsorted = RateSchedule.of(new double[]{5000, 0, 1000}, new double[]{0.01, 0.03, 0.02}, 0);
+
+        for (double balance : new double[]{0, 500, 1000, 3000, 5000, 12_345}) {
+            assertEquals(sorted.amountFor(balance), unsorted.amountFor(balance), DELTA, "balance " + balance);
+        }
+        assertEquals(0.0, unsorted.getLowestThreshold());
+        assertEquals(3, unsorted.getTierCount());
+    }
+
+    @Test
+    void balancesAtOrBelowTheLowestThresholdPayNothing() {
+        RateSchedule schedule = RateSchedule.of(new double[]{1000}, new double[]{0.1}, 0);
+
+        assertEquals(0.0, schedule.amountFor(0));
+        assertEquals(0.0, schedule.amountFor(1000));
+        assertEquals(0.0, schedule.amountFor(-50));
+        assertEquals(10.0, schedule.amountFor(1100), DELTA);
+    }
+
+    @Test
+    void capLimitsTheAmountPerAccount() {
+        RateSchedule schedule = RateSchedule.of(new double[]{0}, new double[]{0.01}, 100);
+
+        assertEquals(50.0, schedule.amountFor(5000), DELTA);
+        assertEquals(100.0, schedule.amountFor(1_000_000), DELTA);
+    }
+
+    @Test
+    void invalidTiersAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.of(new double[]{0, 100}, new double[]{0.01}, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.of(new double[]{-1}, new double[]{0.01}, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.of(new double[]{0}, new double[]{-0.01}, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.of(new double[]{Double.NaN}, new double[]{0.01}, 0));
+    }
+
+    @Test
+    void emptyScheduleAppliesNothing() {
+        RateSchedule empty = RateSchedule.empty();
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.getTierCount());
+        assertEquals(Double.POSITIVE_INFINITY, empty.getLowestThreshold());
+        assertEquals(0.0, empty.amountFor(1_000_000));
+        assertTrue(RateSchedule.of(new double[0], new double[0], 0).isEmpty());
+    }
+}
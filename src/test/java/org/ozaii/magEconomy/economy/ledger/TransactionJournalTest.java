@@ -0,0 +1,202 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ozaii.magEconomy.economy.models.RateSweepState;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionJournalTest {
+
+    private static final int RECORD_SIZE = 32;
+
+    private static final UUID ALICE = new UUID(1, 1);
+    private static final UUID BOB = new UUID(2, 2);
+    private static final UUID CAROL = new UUID(3, 3);
+
+    @TempDir
+    File directory;
+
+    private JavaPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = mock(JavaPlugin.class);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("TransactionJournalTest"));
+    }
+
+    @Test
+    void replayReturnsTheLastBalanceOfEachAccount() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.append(ALICE, 10.0).join();
+        journal.append(BOB, 20.0).join();
+        journal.append(ALICE, 15.5).join();
+        journal.close();
+
+        Map<UUID, Double> balances = TransactionJournal.readAll(plugin, directory).getBalances();
+
+        assertEquals(Map.of(ALICE, 15.5, BOB, 20.0), balances);
+        // Son yazılan hesap en sonda
+        assertEquals(List.of(BOB, ALICE), List.copyOf(balances.keySet()));
+    }
+
+    @Test
+    void tornUnitAtTheEndIsSkippedAsAWhole() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.append(ALICE, 10.0).join();
+        journal.appendAll(new UUID[]{ALICE, BOB, CAROL}, new double[]{5.0, 25.0, 30.0}).join();
+        journal.close();
+
+        // Birimin son kaydı yarım kalmış gibi
+        File segment = onlySegment();
+        truncate(segment, segment.length() - RECORD_SIZE / 2);
+
+        assertEquals(Map.of(ALICE, 10.0), TransactionJournal.readAll(plugin, directory).getBalances());
+    }
+
+    @Test
+    void unitMissingWholeRecordsIsSkipped() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.append(ALICE, 10.0).join();
+        journal.appendAll(new UUID[]{BOB, CAROL}, new double[]{25.0, 30.0}).join();
+        journal.close();
+
+        File segment = onlySegment();
+        truncate(segment, segment.length() - RECORD_SIZE);
+
+        assertEquals(Map.of(ALICE, 10.0), TransactionJournal.readAll(plugin, directory).getBalances());
+    }
+
+    @Test
+    void corruptRecordStopsTheSegment() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.append(ALICE, 10.0).join();
+        journal.append(BOB, 20.0).join();
+        journal.append(CAROL, 30.0).join();
+        journal.close();
+
+        // İkinci kaydın bakiyesinde bir bit değişir, CRC tutmaz
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment(), "rw")) {
+            file.seek(RECORD_SIZE + 16);
+            int value = file.read();
+            file.seek(RECORD_SIZE + 16);
+            file.write(value ^ 1);
+        }
+
+        assertEquals(Map.of(ALICE, 10.0), TransactionJournal.readAll(plugin, directory).getBalances());
+    }
+
+    @Test
+    void sweepStateIsRecoveredWithItsUnit() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.appendAll(new UUID[]{ALICE, BOB}, new double[]{11.0, 22.0}, new RateSweepState(77L, BOB.toString())).join();
+        journal.close();
+
+        TransactionJournal.Recovered recovered = TransactionJournal.readAll(plugin, directory);
+
+        assertEquals(Map.of(ALICE, 11.0, BOB, 22.0), recovered.getBalances());
+        assertNotNull(recovered.getSweepState());
+        assertEquals(77L, recovered.getSweepState().getSweepId());
+        assertEquals(BOB, recovered.getSweepState().getAfterUUIDAsUUID());
+    }
+
+    @Test
+    void tornSweepUnitDoesNotMoveTheCursor() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.appendAll(new UUID[]{ALICE, BOB}, new double[]{11.0, 22.0}, new RateSweepState(77L, BOB.toString())).join();
+        journal.close();
+
+        // İmleç birimin son kaydıdır; o kayıt olmadan grup uygulanmamış sayılır
+        File segment = onlySegment();
+        truncate(segment, segment.length() - RECORD_SIZE);
+
+        TransactionJournal.Recovered recovered = TransactionJournal.readAll(plugin, directory);
+        assertTrue(recovered.getBalances().isEmpty());
+        assertNull(recovered.getSweepState());
+    }
+
+    @Test
+    void truncateDeletesRotatedSegmentsOnly() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.append(ALICE, 10.0).join();
+        long rotated = journal.rotate();
+        journal.append(BOB, 20.0).join();
+
+        // Flush başarılı oldu: rotasyondan önceki kayıtlar veritabanında
+        journal.truncate(rotated);
+        journal.close();
+
+        assertEquals(Map.of(BOB, 20.0), TransactionJournal.readAll(plugin, directory).getBalances());
+    }
+
+    @Test
+    void segmentsOfTheNextSessionComeAfterExistingOnes() throws IOException {
+        TransactionJournal first = new TransactionJournal(plugin, directory, false);
+        first.append(ALICE, 10.0).join();
+        first.close();
+
+        TransactionJournal second = new TransactionJournal(plugin, directory, false);
+        second.append(ALICE, 12.0).join();
+        second.close();
+
+        assertEquals(Map.of(ALICE, 12.0), TransactionJournal.readAll(plugin, directory).getBalances());
+    }
+
+    @Test
+    void discardExistingRemovesOrSetsAsideSegments() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.append(ALICE, 10.0).join();
+        journal.close();
+        assertTrue(TransactionJournal.hasSegments(directory));
+
+        // Başarısız replay: segment saklanır ama tekrar oynatılmaz
+        TransactionJournal.discardExisting(plugin, directory, false);
+        assertFalse(TransactionJournal.hasSegments(directory));
+        assertEquals(1, directory.listFiles((dir, name) -> name.endsWith(".failed")).length);
+        assertTrue(TransactionJournal.readAll(plugin, directory).getBalances().isEmpty());
+
+        journal = new TransactionJournal(plugin, directory, false);
+        journal.append(BOB, 20.0).join();
+        journal.close();
+        TransactionJournal.discardExisting(plugin, directory, true);
+        assertFalse(TransactionJournal.hasSegments(directory));
+    }
+
+    @Test
+    void closedJournalRejectsAppends() throws IOException {
+        TransactionJournal journal = new TransactionJournal(plugin, directory, false);
+        journal.close();
+
+        assertTrue(journal.append(ALICE, 1.0).isCompletedExceptionally());
+        assertEquals(-1, journal.rotate());
+    }
+
+    private File onlySegment() {
+        File[] segments = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        assertNotNull(segments);
+        assertEquals(1, segments.length);
+        return segments[0];
+    }
+
+    private static void truncate(File file, long length) throws IOException {
+        try (RandomAccessFile handle = new RandomAccessFile(file, "rw")) {
+            handle.setLength(length);
+        }
+    }
+}
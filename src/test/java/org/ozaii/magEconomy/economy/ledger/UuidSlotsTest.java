@@ -0,0 +1,165 @@
+package org.ozaii.magEconomy.economy.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidSlotsTest {
+
+    @Test
+    void insertedKeysAreFound() {
+        UuidSlots slots = new UuidSlots(16, UuidSlots.NO_VALUES);
+        int slot = slots.insert(1, 2);
+
+        assertEquals(slot, slots.find(1, 2));
+        assertTrue(slots.isUsed(slot));
+        assertEquals(1, slots.hiAt(slot));
+        assertEquals(2, slots.loAt(slot));
+        assertEquals(-1, slots.find(2, 1));
+        assertEquals(1, slots.size());
+    }
+
+    @Test
+    void tableGrowsAboveThreeQuartersLoad() {
+        UuidSlots slots = new UuidSlots(8, UuidSlots.NO_VALUES);
+        for (long key = 0; key < 6; key++) {
+            slots.insert(key, key);
+        }
+        assertEquals(8, slots.capacity());
+
+        slots.insert(6, 6);
+
+        assertEquals(16, slots.capacity());
+        for (long key = 0; key < 7; key++) {
+            assertNotEquals(-1, slots.find(key, key), "key " + key);
+        }
+    }
+
+    @Test
+    void removalInsideAClusterKeepsTheRestReachable() {
+        // Aynı ana slota düşen anahtarlar tek bir küme oluşturur
+        int capacity = 64;
+        List<long[]> cluster = new ArrayList<>();
+        for (long key = 0; cluster.size() < 5; key++) {
+            if (((int) AccountTable.hash(key, 0) & (capacity - 1)) == 3) {
+                cluster.add(new long[]{key, 0});
+            }
+        }
+
+        for (int removed = 0; removed < cluster.size(); removed++) {
+            UuidSlots slots = new UuidSlots(capacity, UuidSlots.NO_VALUES);
+            for (long[] key : cluster) {
+                slots.insert(key[0], key[1]);
+            }
+
+            slots.remove(slots.find(cluster.get(removed)[0], cluster.get(removed)[1]));
+
+            assertEquals(-1, slots.find(cluster.get(removed)[0], cluster.get(removed)[1]));
+            for (int i = 0; i < cluster.size(); i++) {
+                if (i != removed) {
+                    assertNotEquals(-1, slots.find(cluster.get(i)[0], cluster.get(i)[1]), "removed " + removed + ", key " + i);
+                }
+            }
+            assertEquals(cluster.size() - 1, slots.size());
+        }
+    }
+
+    @Test
+    void valuesFollowTheirKeysThroughMovesAndResizes() {
+        RecordingValues values = new RecordingValues(8);
+        UuidSlots slots = new UuidSlots(8, values);
+        values.slots = slots;
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            // Küçük anahtar uzayı: çok sayıda çakışma, silme ve yeniden ekleme
+            long key = random.nextInt(500);
+            int slot = slots.find(key, ~key);
+            if (random.nextInt(3) == 0) {
+                if (slot >= 0) {
+                    slots.remove(slot);
+                    expected.remove(key);
+                }
+            } else if (slot < 0) {
+                long value = random.nextLong();
+                // insert tabloyu büyütüp diziyi değiştirebilir, slot önce alınır
+                int inserted = slots.insert(key, ~key);
+                values.data[inserted] = value;
+                expected.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), slots.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            int slot = slots.find(entry.getKey(), ~entry.getKey());
+            assertNotEquals(-1, slot, "key " + entry.getKey());
+            assertEquals((long) entry.getValue(), values.data[slot], "key " + entry.getKey());
+        }
+        for (int slot = 0; slot < slots.capacity(); slot++) {
+            if (!slots.isUsed(slot)) {
+                assertEquals(0, values.data[slot], "slot " + slot);
+            }
+        }
+    }
+
+    @Test
+    void resetDropsAllKeys() {
+        UuidSlots slots = new UuidSlots(8, UuidSlots.NO_VALUES);
+        slots.insert(1, 1);
+        slots.insert(2, 2);
+
+        slots.reset(32);
+
+        assertEquals(0, slots.size());
+        assertEquals(32, slots.capacity());
+        assertEquals(-1, slots.find(1, 1));
+        for (int slot = 0; slot < slots.capacity(); slot++) {
+            assertFalse(slots.isUsed(slot));
+        }
+    }
+
+    /**
+     * Slotlara paralel tek bir long dizisi; taşımaların doğru slotlara yapıldığını doğrular
+     */
+    private static final class RecordingValues implements UuidSlots.Values {
+
+        long[] data;
+        UuidSlots slots;
+
+        RecordingValues(int capacity) {
+            this.data = new long[capacity];
+        }
+
+        @Override
+        public void resize(int capacity, int[] moves) {
+            long[] resized = new long[capacity];
+            for (int i = 0; i < moves.length; i++) {
+                if (moves[i] >= 0) {
+                    resized[moves[i]] = data[i];
+                }
+            }
+            data = resized;
+        }
+
+        @Override
+        public void move(int from, int to) {
+            assertTrue(slots.isUsed(from));
+            data[to] = data[from];
+        }
+
+        @Override
+        public void clear(int slot) {
+            data[slot] = 0;
+        }
+    }
+}